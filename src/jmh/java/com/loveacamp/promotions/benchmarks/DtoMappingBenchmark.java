@@ -0,0 +1,59 @@
+package com.loveacamp.promotions.benchmarks;
+
+import com.loveacamp.promotions.dto.PersonDto;
+import com.loveacamp.promotions.dto.ProductDto;
+import com.loveacamp.promotions.dto.UserDto;
+import com.loveacamp.promotions.entities.Person;
+import com.loveacamp.promotions.entities.Product;
+import com.loveacamp.promotions.entities.User;
+import com.loveacamp.promotions.enums.UserLevel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DtoMappingBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<Product> products;
+
+    private List<Person> people;
+
+    private List<User> users;
+
+    @Setup
+    public void setup() {
+        this.products = LongStream.rangeClosed(1, this.size)
+                .mapToObj(id -> new Product(id, "Produto " + id))
+                .collect(Collectors.toList());
+        this.people = LongStream.rangeClosed(1, this.size)
+                .mapToObj(id -> new Person(id, "Pessoa " + id, "pessoa" + id + "@email.com"))
+                .collect(Collectors.toList());
+        this.users = LongStream.rangeClosed(1, this.size)
+                .mapToObj(id -> new User(id, "usuario" + id, "senha", UserLevel.USER))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ProductDto> productToDto() {
+        return ProductDto.toDto(this.products);
+    }
+
+    @Benchmark
+    public List<PersonDto> personToDto() {
+        return PersonDto.toDto(this.people);
+    }
+
+    @Benchmark
+    public List<UserDto> userToDto() {
+        return UserDto.toDto(this.users);
+    }
+}
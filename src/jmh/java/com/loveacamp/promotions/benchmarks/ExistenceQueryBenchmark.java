@@ -0,0 +1,105 @@
+package com.loveacamp.promotions.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por chamada das verificações de existência em H2 com {@link #ROWS} linhas: "CASE WHEN COUNT(...) > 0" e
+ * carregamento de entidade contra o SQL com FETCH FIRST 1 ROWS ONLY gerado pelo Spring Data para métodos existsBy*.
+ * PEOPLE consulta um e-mail de outra pessoa (conflito); PRODUCT consulta o próprio nome do produto, o caso comum de
+ * uma atualização que não troca o nome, então a entidade é encontrada e o EXISTS não acha outro id.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ExistenceQueryBenchmark {
+    private static final int ROWS = 200_000;
+
+    private Connection connection;
+
+    private PreparedStatement peopleCount;
+
+    private PreparedStatement peopleExists;
+
+    private PreparedStatement productEntity;
+
+    private PreparedStatement productExists;
+
+    private int i;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        this.connection = DriverManager.getConnection("jdbc:h2:mem:existence", "sa", "");
+
+        try (Statement statement = this.connection.createStatement()) {
+            statement.execute("CREATE TABLE PEOPLE (ID BIGINT PRIMARY KEY, NAME VARCHAR(255) NOT NULL, EMAIL VARCHAR(255) NOT NULL, CONSTRAINT UK_PEOPLE_EMAIL UNIQUE (EMAIL))");
+            statement.execute("CREATE TABLE PRODUCT (ID BIGINT PRIMARY KEY, NAME VARCHAR(255) NOT NULL, CONSTRAINT UK_PRODUCT_NAME UNIQUE (NAME))");
+            statement.execute("INSERT INTO PEOPLE SELECT X, 'Pessoa ' || X, 'pessoa' || X || '@email.com' FROM SYSTEM_RANGE(1, " + ROWS + ")");
+            statement.execute("INSERT INTO PRODUCT SELECT X, 'Produto ' || X FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        }
+
+        this.peopleCount = this.connection.prepareStatement(
+                "SELECT CASE WHEN COUNT(p.ID) > 0 THEN TRUE ELSE FALSE END FROM PEOPLE p WHERE p.EMAIL = ? AND p.ID <> ?");
+        this.peopleExists = this.connection.prepareStatement(
+                "SELECT p.ID FROM PEOPLE p WHERE p.EMAIL = ? AND p.ID <> ? FETCH FIRST 1 ROWS ONLY");
+        this.productEntity = this.connection.prepareStatement(
+                "SELECT p.ID, p.NAME FROM PRODUCT p WHERE p.NAME = ? AND p.ID = ?");
+        this.productExists = this.connection.prepareStatement(
+                "SELECT p.ID FROM PRODUCT p WHERE p.NAME = ? AND p.ID <> ? FETCH FIRST 1 ROWS ONLY");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        this.connection.close();
+    }
+
+    @Benchmark
+    public boolean peopleCount() throws SQLException {
+        long id = this.nextId();
+
+        return this.execute(this.peopleCount, "pessoa" + id + "@email.com", id + 1);
+    }
+
+    @Benchmark
+    public boolean peopleExists() throws SQLException {
+        long id = this.nextId();
+
+        return this.execute(this.peopleExists, "pessoa" + id + "@email.com", id + 1);
+    }
+
+    @Benchmark
+    public boolean productEntity() throws SQLException {
+        long id = this.nextId();
+
+        return this.execute(this.productEntity, "Produto " + id, id);
+    }
+
+    @Benchmark
+    public boolean productExists() throws SQLException {
+        long id = this.nextId();
+
+        return this.execute(this.productExists, "Produto " + id, id);
+    }
+
+    private long nextId() {
+        return (this.i++ % ROWS) + 1;
+    }
+
+    private boolean execute(PreparedStatement statement, String key, long id) throws SQLException {
+        statement.setString(1, key);
+        statement.setLong(2, id);
+
+        try (ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next();
+        }
+    }
+}
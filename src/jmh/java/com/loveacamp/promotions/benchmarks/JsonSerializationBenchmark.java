@@ -0,0 +1,60 @@
+package com.loveacamp.promotions.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loveacamp.promotions.dto.PersonDto;
+import com.loveacamp.promotions.dto.ProductDto;
+import com.loveacamp.promotions.dto.UserDto;
+import com.loveacamp.promotions.enums.UserLevel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JsonSerializationBenchmark {
+    @Param({"1", "1000", "100000"})
+    private int size;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private List<ProductDto> products;
+
+    private List<PersonDto> people;
+
+    private List<UserDto> users;
+
+    @Setup
+    public void setup() {
+        this.products = LongStream.rangeClosed(1, this.size)
+                .mapToObj(id -> new ProductDto().setId(id).setName("Produto " + id))
+                .collect(Collectors.toList());
+        this.people = LongStream.rangeClosed(1, this.size)
+                .mapToObj(id -> new PersonDto().setId(id).setName("Pessoa " + id).setEmail("pessoa" + id + "@email.com"))
+                .collect(Collectors.toList());
+        this.users = LongStream.rangeClosed(1, this.size)
+                .mapToObj(id -> new UserDto().setId(id).setUsername("usuario" + id).setLevel(UserLevel.USER))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] products() throws JsonProcessingException {
+        return this.mapper.writeValueAsBytes(this.products);
+    }
+
+    @Benchmark
+    public byte[] people() throws JsonProcessingException {
+        return this.mapper.writeValueAsBytes(this.people);
+    }
+
+    @Benchmark
+    public byte[] users() throws JsonProcessingException {
+        return this.mapper.writeValueAsBytes(this.users);
+    }
+}
@@ -0,0 +1,130 @@
+package com.loveacamp.promotions.benchmarks;
+
+import com.loveacamp.promotions.PromotionsApplication;
+import com.loveacamp.promotions.dto.CartPriceDto;
+import com.loveacamp.promotions.dto.CursorPageDto;
+import com.loveacamp.promotions.dto.MultiGetDto;
+import com.loveacamp.promotions.dto.PersonDto;
+import com.loveacamp.promotions.dto.ProductDto;
+import com.loveacamp.promotions.dto.requests.CartItemRequestDto;
+import com.loveacamp.promotions.dto.requests.CartRequestDto;
+import com.loveacamp.promotions.entities.Person;
+import com.loveacamp.promotions.entities.Product;
+import com.loveacamp.promotions.repositories.PersonRepository;
+import com.loveacamp.promotions.repositories.ProductRepository;
+import com.loveacamp.promotions.services.ICartService;
+import com.loveacamp.promotions.services.IPersonService;
+import com.loveacamp.promotions.services.IProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Chamadas de ProductService e PersonService contra um H2 em memória com {@link #ROWS} linhas por tabela.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ServiceBenchmark {
+    private static final int ROWS = 10_000;
+
+    private ConfigurableApplicationContext context;
+
+    private IProductService productService;
+
+    private IPersonService personService;
+
+    private ICartService cartService;
+
+    private CartRequestDto cart;
+
+    private List<Long> hundredIds;
+
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.context = new SpringApplicationBuilder(PromotionsApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driverClassName=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.devtools.restart.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        this.context.getBean(ProductRepository.class).saveAll(LongStream.rangeClosed(1, ROWS)
+                .mapToObj(i -> new Product(null, "Produto " + i, BigDecimal.valueOf(i, 2)))
+                .collect(Collectors.toList()));
+        this.context.getBean(PersonRepository.class).saveAll(LongStream.rangeClosed(1, ROWS)
+                .mapToObj(i -> new Person(null, "Pessoa " + i, "pessoa" + i + "@email.com"))
+                .collect(Collectors.toList()));
+
+        this.productService = this.context.getBean(IProductService.class);
+        this.personService = this.context.getBean(IPersonService.class);
+        this.cartService = this.context.getBean(ICartService.class);
+        this.deepCursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(ROWS - 100).getBytes(StandardCharsets.UTF_8));
+        this.hundredIds = LongStream.rangeClosed(1, 100).map(i -> i * 97 % ROWS + 1).boxed().collect(Collectors.toList());
+        this.cart = new CartRequestDto()
+                .setPersonId(1L)
+                .setItems(this.hundredIds.stream().map(id -> new CartItemRequestDto(id, 2)).collect(Collectors.toList()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public ProductDto productFindByIdCached() {
+        return this.productService.findById(42L);
+    }
+
+    @Benchmark
+    public PersonDto personFindById() {
+        return this.personService.findById(ThreadLocalRandom.current().nextLong(1, ROWS + 1));
+    }
+
+    @Benchmark
+    public CursorPageDto<ProductDto> productFindAllDeepPage() {
+        return this.productService.findAll(this.deepCursor, 50);
+    }
+
+    @Benchmark
+    public CursorPageDto<PersonDto> personFindAllFirstPage() {
+        return this.personService.findAll(null, 50);
+    }
+
+    @Benchmark
+    public MultiGetDto<ProductDto> productFindAllById100() {
+        return this.productService.findAllById(this.hundredIds);
+    }
+
+    @Benchmark
+    public MultiGetDto<PersonDto> personFindAllById100() {
+        return this.personService.findAllById(this.hundredIds);
+    }
+
+    @Benchmark
+    public CartPriceDto cartPrice100Lines() {
+        return this.cartService.price(this.cart);
+    }
+}
@@ -0,0 +1,43 @@
+package com.loveacamp.promotions.config;
+
+import com.loveacamp.promotions.utils.CouponCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class CouponConfig {
+    public static final String GENERATION_EXECUTOR = "couponGenerationExecutor";
+
+    /**
+     * Sem valor padrão: com uma chave conhecida, qualquer um montaria códigos válidos. A aplicação não sobe sem
+     * {@code promotions.coupons.secret}.
+     */
+    @Bean
+    public CouponCodec couponCodec(@Value("${promotions.coupons.secret:}") String secret) {
+        if (secret.isBlank()) {
+            throw new IllegalStateException("promotions.coupons.secret (COUPONS_SECRET) não configurado.");
+        }
+
+        return new CouponCodec(secret);
+    }
+
+    /**
+     * Poucas threads de propósito: cada geração já satura o banco com batches, e gerações além do limite esperam na fila.
+     */
+    @Bean(name = GENERATION_EXECUTOR, destroyMethod = "shutdownNow")
+    public ExecutorService couponGenerationExecutor(@Value("${promotions.coupons.generation.threads:2}") int threads) {
+        AtomicInteger count = new AtomicInteger();
+
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "coupon-generation-" + count.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+}
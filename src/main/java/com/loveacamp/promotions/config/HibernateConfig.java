@@ -0,0 +1,21 @@
+package com.loveacamp.promotions.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+@Configuration
+public class HibernateConfig implements HibernatePropertiesCustomizer {
+    private final int allocationSize;
+
+    public HibernateConfig(@Value("${promotions.sequence.allocation-size:50}") int allocationSize) {
+        this.allocationSize = allocationSize;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(PooledSequenceGenerator.ALLOCATION_SIZE, this.allocationSize);
+    }
+}
@@ -0,0 +1,14 @@
+package com.loveacamp.promotions.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.datatype.joda.JodaModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+    @Bean
+    public Module jodaModule() {
+        return new JodaModule();
+    }
+}
@@ -0,0 +1,30 @@
+package com.loveacamp.promotions.config;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Gerador de sequência com otimizador pooled cujo incremento vem de {@code promotions.sequence.allocation-size},
+ * em vez de ficar fixo no {@code allocationSize} da anotação. Cada nextval reserva um bloco de ids, então
+ * inserções em massa não fazem uma ida ao banco por linha e podem ser enviadas em lotes JDBC.
+ * O INCREMENT BY da sequência no banco precisa ser igual ao valor configurado.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+    public static final String ALLOCATION_SIZE = "promotions.sequence.allocation_size";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Object allocationSize = serviceRegistry.getService(ConfigurationService.class).getSettings().get(ALLOCATION_SIZE);
+
+        params.setProperty(OptimizableGenerator.INCREMENT_PARAM, allocationSize == null ? "50" : allocationSize.toString());
+        params.setProperty(OptimizableGenerator.OPT_PARAM, "pooled");
+
+        super.configure(type, params, serviceRegistry);
+    }
+}
@@ -0,0 +1,28 @@
+package com.loveacamp.promotions.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+@Configuration
+public class SimulationConfig {
+    public static final String SIMULATION_POOL = "simulationPool";
+
+    /**
+     * Pool próprio, e não o {@link ForkJoinPool#commonPool()}, para que uma simulação longa não dispute threads com
+     * os parallel streams da aplicação. {@code parallelism} 0 usa um worker por processador.
+     */
+    @Bean(name = SIMULATION_POOL, destroyMethod = "shutdownNow")
+    public ForkJoinPool simulationPool(@Value("${promotions.simulations.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("simulation-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+
+            return thread;
+        }, null, false);
+    }
+}
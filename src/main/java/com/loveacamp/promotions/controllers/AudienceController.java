@@ -0,0 +1,51 @@
+package com.loveacamp.promotions.controllers;
+
+import com.loveacamp.promotions.dto.AudienceDto;
+import com.loveacamp.promotions.dto.requests.AudienceCompositionRequestDto;
+import com.loveacamp.promotions.dto.requests.AudienceRequestDto;
+import com.loveacamp.promotions.services.IAudienceService;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping(value = "/api/audiences", produces = "application/json;charset=UTF-8")
+public class AudienceController {
+    private final IAudienceService service;
+
+    public AudienceController(IAudienceService service) {
+        this.service = service;
+    }
+
+    @PostMapping
+    public ResponseEntity<AudienceDto> save(@Valid @RequestBody AudienceRequestDto audienceRequestDto) {
+        return ResponseEntity.ok(service.save(audienceRequestDto));
+    }
+
+    @PostMapping("/compose")
+    public ResponseEntity<AudienceDto> compose(@Valid @RequestBody AudienceCompositionRequestDto audienceCompositionRequestDto) {
+        return ResponseEntity.ok(service.compose(audienceCompositionRequestDto));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<AudienceDto> findById(@PathVariable("id") Long id) {
+        return ResponseEntity.ok(service.findById(id));
+    }
+
+    /**
+     * Substitui as pessoas do público. O corpo é texto com um id de pessoa por linha e é lido em streaming, então
+     * pode ter dezenas de milhões de linhas.
+     */
+    @PutMapping(value = "/{id}/members", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<AudienceDto> replaceMembers(@PathVariable("id") Long id, InputStream personIds) {
+        return ResponseEntity.ok(service.replaceMembers(id, personIds));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<AudienceDto> delete(@PathVariable("id") Long id) {
+        return ResponseEntity.ok(service.delete(id));
+    }
+}
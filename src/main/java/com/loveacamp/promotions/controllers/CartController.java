@@ -0,0 +1,28 @@
+package com.loveacamp.promotions.controllers;
+
+import com.loveacamp.promotions.dto.CartPriceDto;
+import com.loveacamp.promotions.dto.requests.CartRequestDto;
+import com.loveacamp.promotions.services.ICartService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(value = "/api/carts", produces = "application/json;charset=UTF-8")
+public class CartController {
+    private final ICartService service;
+
+    public CartController(ICartService service) {
+        this.service = service;
+    }
+
+    /**
+     * Preço do carrinho com os descontos vigentes. {@code level} é aceito como enviado, sem conferir o nível real de
+     * ninguém — pessoas não têm nível —, e libera as promoções desse nível: só exponha este endpoint a chamadores
+     * confiáveis, que resolvem o nível por conta própria.
+     */
+    @PostMapping("/price")
+    public ResponseEntity<CartPriceDto> price(@Valid @RequestBody CartRequestDto cartRequestDto) {
+        return ResponseEntity.ok(service.price(cartRequestDto));
+    }
+}
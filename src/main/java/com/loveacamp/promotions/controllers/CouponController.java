@@ -0,0 +1,38 @@
+package com.loveacamp.promotions.controllers;
+
+import com.loveacamp.promotions.dto.CouponGenerationDto;
+import com.loveacamp.promotions.dto.CursorPageDto;
+import com.loveacamp.promotions.dto.requests.CouponGenerationRequestDto;
+import com.loveacamp.promotions.services.ICouponService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(value = "/api/promotions/{id}", produces = "application/json;charset=UTF-8")
+public class CouponController {
+    private final ICouponService service;
+
+    public CouponController(ICouponService service) {
+        this.service = service;
+    }
+
+    /**
+     * Inicia a geração em segundo plano e responde 202; o progresso é consultado em
+     * {@code GET /api/promotions/{id}/coupons/generations/{generationId}}.
+     */
+    @PostMapping("/coupons:generate")
+    public ResponseEntity<CouponGenerationDto> generate(@PathVariable("id") Long id, @Valid @RequestBody CouponGenerationRequestDto couponGenerationRequestDto) {
+        return ResponseEntity.accepted().body(service.generate(id, couponGenerationRequestDto));
+    }
+
+    @GetMapping("/coupons/generations/{generationId}")
+    public ResponseEntity<CouponGenerationDto> findGeneration(@PathVariable("id") Long id, @PathVariable("generationId") Long generationId) {
+        return ResponseEntity.ok(service.findGeneration(id, generationId));
+    }
+
+    @GetMapping("/coupons")
+    public ResponseEntity<CursorPageDto<String>> findAll(@PathVariable("id") Long id, @RequestParam(value = "cursor", required = false) String cursor, @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        return ResponseEntity.ok(service.findAll(id, cursor, limit));
+    }
+}
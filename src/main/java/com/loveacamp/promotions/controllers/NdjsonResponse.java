@@ -0,0 +1,32 @@
+package com.loveacamp.promotions.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+final class NdjsonResponse {
+    static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private NdjsonResponse() {
+    }
+
+    static <T> ResponseEntity<StreamingResponseBody> of(ObjectMapper mapper, Class<T> type, Consumer<Consumer<T>> source) {
+        ObjectWriter writer = mapper.writerFor(type);
+
+        StreamingResponseBody body = output -> source.accept(item -> {
+            try {
+                output.write(writer.writeValueAsBytes(item));
+                output.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok(body);
+    }
+}
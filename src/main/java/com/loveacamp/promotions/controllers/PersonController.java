@@ -1,26 +1,47 @@
 package com.loveacamp.promotions.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loveacamp.promotions.dto.CursorPageDto;
+import com.loveacamp.promotions.dto.MultiGetDto;
 import com.loveacamp.promotions.dto.PersonDto;
 import com.loveacamp.promotions.dto.requests.PersonRequestDto;
 import com.loveacamp.promotions.services.IPersonService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
+@Validated
 @RestController
 @RequestMapping(value = "/api/people", produces = "application/json;charset=UTF-8")
 public class PersonController {
     private final IPersonService service;
 
-    public PersonController(IPersonService service) {
+    private final ObjectMapper mapper;
+
+    public PersonController(IPersonService service, ObjectMapper mapper) {
         this.service = service;
+        this.mapper = mapper;
     }
 
     @GetMapping
-    public ResponseEntity<List<PersonDto>> findAll() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<CursorPageDto<PersonDto>> findAll(@RequestParam(value = "cursor", required = false) String cursor, @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        return ResponseEntity.ok(service.findAll(cursor, limit));
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetDto<PersonDto>> findAllById(@RequestParam("ids") @Size(max = MultiGetDto.MAX_IDS) List<@NotNull Long> ids) {
+        return ResponseEntity.ok(service.findAllById(ids));
+    }
+
+    @GetMapping(produces = NdjsonResponse.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return NdjsonResponse.of(mapper, PersonDto.class, service::streamAll);
     }
 
     @PostMapping
@@ -1,21 +1,35 @@
 package com.loveacamp.promotions.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loveacamp.promotions.dto.CursorPageDto;
+import com.loveacamp.promotions.dto.MultiGetDto;
+import com.loveacamp.promotions.dto.ProductBatchItemDto;
 import com.loveacamp.promotions.dto.ProductDto;
+import com.loveacamp.promotions.dto.ProductPriceDto;
+import com.loveacamp.promotions.dto.requests.ProductBatchRequestDto;
 import com.loveacamp.promotions.dto.requests.ProductRequestDto;
 import com.loveacamp.promotions.services.IProductService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
+@Validated
 @RestController
 @RequestMapping(value = "/api/products", produces = "application/json;charset=UTF-8")
 public class ProductController {
     private final IProductService service;
 
-    public ProductController(IProductService service) {
+    private final ObjectMapper mapper;
+
+    public ProductController(IProductService service, ObjectMapper mapper) {
         this.service = service;
+        this.mapper = mapper;
     }
 
     @PostMapping
@@ -23,6 +37,11 @@ public class ProductController {
         return ResponseEntity.ok(service.save(productRequestDto));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<ProductBatchItemDto>> saveAll(@Valid @RequestBody ProductBatchRequestDto productBatchRequestDto) {
+        return ResponseEntity.ok(service.saveAll(productBatchRequestDto.getProducts()));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ProductDto> update(@PathVariable("id") Long id, @Valid @RequestBody ProductRequestDto productRequestDto) {
         return ResponseEntity.ok(service.update(id, productRequestDto));
@@ -34,8 +53,23 @@ public class ProductController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ProductDto>> findAll() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<CursorPageDto<ProductDto>> findAll(@RequestParam(value = "cursor", required = false) String cursor, @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        return ResponseEntity.ok(service.findAll(cursor, limit));
+    }
+
+    @GetMapping("/prices")
+    public ResponseEntity<CursorPageDto<ProductPriceDto>> findPrices(@RequestParam(value = "cursor", required = false) String cursor, @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        return ResponseEntity.ok(service.findPrices(cursor, limit));
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetDto<ProductDto>> findAllById(@RequestParam("ids") @Size(max = MultiGetDto.MAX_IDS) List<@NotNull Long> ids) {
+        return ResponseEntity.ok(service.findAllById(ids));
+    }
+
+    @GetMapping(produces = NdjsonResponse.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return NdjsonResponse.of(mapper, ProductDto.class, service::streamAll);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,114 @@
+package com.loveacamp.promotions.controllers;
+
+import com.loveacamp.promotions.dto.CursorPageDto;
+import com.loveacamp.promotions.dto.PromotionDiscountDto;
+import com.loveacamp.promotions.dto.PromotionDto;
+import com.loveacamp.promotions.dto.PromotionSnapshotDto;
+import com.loveacamp.promotions.dto.ReachDto;
+import com.loveacamp.promotions.dto.SimulationDto;
+import com.loveacamp.promotions.dto.requests.PromotionRequestDto;
+import com.loveacamp.promotions.enums.ReachEvent;
+import com.loveacamp.promotions.enums.UserLevel;
+import com.loveacamp.promotions.services.IPromotionService;
+import com.loveacamp.promotions.services.IReachService;
+import com.loveacamp.promotions.services.ISimulationService;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping(value = "/api/promotions", produces = "application/json;charset=UTF-8")
+public class PromotionController {
+    private final IPromotionService service;
+
+    private final ISimulationService simulationService;
+
+    private final IReachService reachService;
+
+    public PromotionController(IPromotionService service, ISimulationService simulationService, IReachService reachService) {
+        this.service = service;
+        this.simulationService = simulationService;
+        this.reachService = reachService;
+    }
+
+    @PostMapping
+    public ResponseEntity<PromotionDto> save(@Valid @RequestBody PromotionRequestDto promotionRequestDto) {
+        return ResponseEntity.ok(service.save(promotionRequestDto));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<PromotionDto> update(@PathVariable("id") Long id, @Valid @RequestBody PromotionRequestDto promotionRequestDto) {
+        return ResponseEntity.ok(service.update(id, promotionRequestDto));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PromotionDto> findById(@PathVariable("id") Long id) {
+        return ResponseEntity.ok(service.findById(id));
+    }
+
+    @GetMapping
+    public ResponseEntity<CursorPageDto<PromotionDto>> findAll(@RequestParam(value = "cursor", required = false) String cursor, @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        return ResponseEntity.ok(service.findAll(cursor, limit));
+    }
+
+    @GetMapping("/best")
+    public ResponseEntity<PromotionDiscountDto> findBest(@RequestParam("productId") Long productId,
+                                                         @RequestParam("price") BigDecimal price,
+                                                         @RequestParam(value = "level", required = false) UserLevel level,
+                                                         @RequestParam(value = "personId", required = false) Long personId) {
+        return ResponseEntity.ok(service.findBest(productId, price, level, personId));
+    }
+
+    /**
+     * Versão do catálogo de promoções vigentes usada agora nesta instância para calcular preços, e o tamanho dela. A
+     * versão muda a cada alteração efetiva do catálogo, mas é desta instância e recomeça a cada subida: só compare
+     * versões com o mesmo {@code instance}.
+     */
+    @GetMapping("/snapshot/version")
+    public ResponseEntity<PromotionSnapshotDto> findSnapshot() {
+        return ResponseEntity.ok(service.findSnapshot());
+    }
+
+    /**
+     * Pessoas distintas que viram ou resgataram a promoção entre {@code from} e {@code to} (ISO-8601), estimadas por
+     * HyperLogLog com o desvio padrão relativo em {@code standardError}.
+     */
+    @GetMapping("/{id}/reach")
+    public ResponseEntity<ReachDto> findReach(@PathVariable("id") Long id,
+                                              @RequestParam(value = "event", defaultValue = "IMPRESSION") ReachEvent event,
+                                              @RequestParam("from") String from,
+                                              @RequestParam("to") String to) {
+        return ResponseEntity.ok(reachService.findReach(id, event, from, to));
+    }
+
+    /**
+     * Simula a promoção sobre um CSV de carrinhos ({@code cartId,productId,quantity,unitPrice}). O upload vai para um
+     * arquivo temporário, lido em paralelo por faixas de bytes, e é apagado ao fim.
+     */
+    @PostMapping(value = "/simulations", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<SimulationDto> simulate(@Valid @RequestPart("promotion") PromotionRequestDto promotionRequestDto,
+                                                  @RequestPart("carts") MultipartFile carts,
+                                                  @RequestParam(value = "limit", defaultValue = "50") int limit) throws IOException {
+        Path file = Files.createTempFile("carts-", ".csv");
+
+        try {
+            carts.transferTo(file);
+
+            return ResponseEntity.ok(simulationService.simulate(promotionRequestDto, file, limit));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<PromotionDto> delete(@PathVariable("id") Long id) {
+        return ResponseEntity.ok(service.delete(id));
+    }
+}
@@ -0,0 +1,23 @@
+package com.loveacamp.promotions.controllers;
+
+import com.loveacamp.promotions.dto.RedemptionDto;
+import com.loveacamp.promotions.dto.requests.RedemptionRequestDto;
+import com.loveacamp.promotions.services.IRedemptionService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(value = "/api/redemptions", produces = "application/json;charset=UTF-8")
+public class RedemptionController {
+    private final IRedemptionService service;
+
+    public RedemptionController(IRedemptionService service) {
+        this.service = service;
+    }
+
+    @PostMapping
+    public ResponseEntity<RedemptionDto> redeem(@Valid @RequestBody RedemptionRequestDto redemptionRequestDto) {
+        return ResponseEntity.ok(service.redeem(redemptionRequestDto));
+    }
+}
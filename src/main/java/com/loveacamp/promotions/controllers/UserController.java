@@ -1,5 +1,6 @@
 package com.loveacamp.promotions.controllers;
 
+import com.loveacamp.promotions.dto.CursorPageDto;
 import com.loveacamp.promotions.dto.UserDto;
 import com.loveacamp.promotions.dto.requests.UserRequestDto;
 import com.loveacamp.promotions.services.IUserService;
@@ -7,8 +8,6 @@ import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping(value = "/api/users", produces = "application/json;charset=UTF-8")
 public class UserController {
@@ -29,7 +28,7 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<UserDto>> findAll() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<CursorPageDto<UserDto>> findAll(@RequestParam(value = "cursor", required = false) String cursor, @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        return ResponseEntity.ok(service.findAll(cursor, limit));
     }
 }
@@ -0,0 +1,67 @@
+package com.loveacamp.promotions.dto;
+
+import com.loveacamp.promotions.entities.Audience;
+
+public class AudienceDto {
+    private Long id;
+
+    private String name;
+
+    private Long members;
+
+    private Long sizeBytes;
+
+    public static AudienceDto toDto(Audience audience) {
+        return new AudienceDto()
+                .setId(audience.getId())
+                .setName(audience.getName())
+                .setMembers(audience.getMembers())
+                .setSizeBytes((long) audience.getBitmap().length);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public AudienceDto setId(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public AudienceDto setName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public Long getMembers() {
+        return members;
+    }
+
+    public AudienceDto setMembers(Long members) {
+        this.members = members;
+        return this;
+    }
+
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public AudienceDto setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AudienceDto({id:%s, name:%s, members:%s, sizeBytes:%s})",
+                this.getId(),
+                this.getName(),
+                this.getMembers(),
+                this.getSizeBytes()
+        );
+    }
+}
@@ -0,0 +1,99 @@
+package com.loveacamp.promotions.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class CartItemPriceDto {
+    private Long productId;
+
+    private Integer quantity;
+
+    private BigDecimal unitPrice;
+
+    private Long promotionId;
+
+    /**
+     * Promoções acumuladas, na ordem em que foram aplicadas; a primeira é {@link #promotionId}.
+     */
+    private List<Long> promotionIds;
+
+    private BigDecimal discount;
+
+    private BigDecimal total;
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public CartItemPriceDto setProductId(Long productId) {
+        this.productId = productId;
+        return this;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public CartItemPriceDto setQuantity(Integer quantity) {
+        this.quantity = quantity;
+        return this;
+    }
+
+    public BigDecimal getUnitPrice() {
+        return unitPrice;
+    }
+
+    public CartItemPriceDto setUnitPrice(BigDecimal unitPrice) {
+        this.unitPrice = unitPrice;
+        return this;
+    }
+
+    public Long getPromotionId() {
+        return promotionId;
+    }
+
+    public CartItemPriceDto setPromotionId(Long promotionId) {
+        this.promotionId = promotionId;
+        return this;
+    }
+
+    public List<Long> getPromotionIds() {
+        return promotionIds;
+    }
+
+    public CartItemPriceDto setPromotionIds(List<Long> promotionIds) {
+        this.promotionIds = promotionIds;
+        return this;
+    }
+
+    public BigDecimal getDiscount() {
+        return discount;
+    }
+
+    public CartItemPriceDto setDiscount(BigDecimal discount) {
+        this.discount = discount;
+        return this;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public CartItemPriceDto setTotal(BigDecimal total) {
+        this.total = total;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CartItemPriceDto({productId:%s, quantity:%s, unitPrice:%s, promotionId:%s, promotionIds:%s, discount:%s, total:%s})",
+                this.getProductId(),
+                this.getQuantity(),
+                this.getUnitPrice(),
+                this.getPromotionId(),
+                this.getPromotionIds(),
+                this.getDiscount(),
+                this.getTotal()
+        );
+    }
+}
@@ -0,0 +1,72 @@
+package com.loveacamp.promotions.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class CartPriceDto {
+    private Long personId;
+
+    private List<CartItemPriceDto> items;
+
+    private BigDecimal subtotal;
+
+    private BigDecimal discount;
+
+    private BigDecimal total;
+
+    public Long getPersonId() {
+        return personId;
+    }
+
+    public CartPriceDto setPersonId(Long personId) {
+        this.personId = personId;
+        return this;
+    }
+
+    public List<CartItemPriceDto> getItems() {
+        return items;
+    }
+
+    public CartPriceDto setItems(List<CartItemPriceDto> items) {
+        this.items = items;
+        return this;
+    }
+
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+
+    public CartPriceDto setSubtotal(BigDecimal subtotal) {
+        this.subtotal = subtotal;
+        return this;
+    }
+
+    public BigDecimal getDiscount() {
+        return discount;
+    }
+
+    public CartPriceDto setDiscount(BigDecimal discount) {
+        this.discount = discount;
+        return this;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public CartPriceDto setTotal(BigDecimal total) {
+        this.total = total;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CartPriceDto({personId:%s, items:%s, subtotal:%s, discount:%s, total:%s})",
+                this.getPersonId(),
+                this.getItems(),
+                this.getSubtotal(),
+                this.getDiscount(),
+                this.getTotal()
+        );
+    }
+}
@@ -0,0 +1,96 @@
+package com.loveacamp.promotions.dto;
+
+import com.loveacamp.promotions.enums.CouponGenerationStatus;
+import org.joda.time.DateTime;
+
+public class CouponGenerationDto {
+    private Long id;
+
+    private Long promotionId;
+
+    private Long quantity;
+
+    private Long generated;
+
+    private CouponGenerationStatus status;
+
+    private DateTime startedAt;
+
+    private DateTime finishedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public CouponGenerationDto setId(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public Long getPromotionId() {
+        return promotionId;
+    }
+
+    public CouponGenerationDto setPromotionId(Long promotionId) {
+        this.promotionId = promotionId;
+        return this;
+    }
+
+    public Long getQuantity() {
+        return quantity;
+    }
+
+    public CouponGenerationDto setQuantity(Long quantity) {
+        this.quantity = quantity;
+        return this;
+    }
+
+    public Long getGenerated() {
+        return generated;
+    }
+
+    public CouponGenerationDto setGenerated(Long generated) {
+        this.generated = generated;
+        return this;
+    }
+
+    public CouponGenerationStatus getStatus() {
+        return status;
+    }
+
+    public CouponGenerationDto setStatus(CouponGenerationStatus status) {
+        this.status = status;
+        return this;
+    }
+
+    public DateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public CouponGenerationDto setStartedAt(DateTime startedAt) {
+        this.startedAt = startedAt;
+        return this;
+    }
+
+    public DateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public CouponGenerationDto setFinishedAt(DateTime finishedAt) {
+        this.finishedAt = finishedAt;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CouponGenerationDto({id:%s, promotionId:%s, quantity:%s, generated:%s, status:%s, startedAt:%s, finishedAt:%s})",
+                this.getId(),
+                this.getPromotionId(),
+                this.getQuantity(),
+                this.getGenerated(),
+                this.getStatus(),
+                this.getStartedAt(),
+                this.getFinishedAt()
+        );
+    }
+}
@@ -0,0 +1,45 @@
+package com.loveacamp.promotions.dto;
+
+import java.util.List;
+
+public class CursorPageDto<T> {
+    private List<T> items;
+
+    private String next;
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public CursorPageDto<T> setItems(List<T> items) {
+        this.items = items;
+
+        return this;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public CursorPageDto<T> setNext(String next) {
+        this.next = next;
+
+        return this;
+    }
+
+    public static <T> CursorPageDto<T> toDto(List<T> items, String next) {
+        CursorPageDto<T> page = new CursorPageDto<>();
+
+        return page
+                .setItems(items)
+                .setNext(next);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CursorPageDto({items:%s, next:%s})",
+                this.getItems(),
+                this.getNext()
+        );
+    }
+}
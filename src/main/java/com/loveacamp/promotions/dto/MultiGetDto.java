@@ -0,0 +1,51 @@
+package com.loveacamp.promotions.dto;
+
+import java.util.List;
+
+public class MultiGetDto<T> {
+    /**
+     * Máximo de ids por consulta em {@code GET ?ids=}. É fixo porque é usado em {@code @Size}; não acompanha
+     * {@code promotions.products.batch.max-size}, que limita só o cadastro em lote.
+     */
+    public static final int MAX_IDS = 1000;
+
+    private List<T> items;
+
+    private List<Long> missing;
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public MultiGetDto<T> setItems(List<T> items) {
+        this.items = items;
+
+        return this;
+    }
+
+    public List<Long> getMissing() {
+        return missing;
+    }
+
+    public MultiGetDto<T> setMissing(List<Long> missing) {
+        this.missing = missing;
+
+        return this;
+    }
+
+    public static <T> MultiGetDto<T> toDto(List<T> items, List<Long> missing) {
+        MultiGetDto<T> multiGet = new MultiGetDto<>();
+
+        return multiGet
+                .setItems(items)
+                .setMissing(missing);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MultiGetDto({items:%s, missing:%s})",
+                this.getItems(),
+                this.getMissing()
+        );
+    }
+}
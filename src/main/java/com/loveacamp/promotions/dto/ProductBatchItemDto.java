@@ -0,0 +1,63 @@
+package com.loveacamp.promotions.dto;
+
+import com.loveacamp.promotions.entities.Product;
+
+public class ProductBatchItemDto {
+    private int index;
+
+    private ProductDto product;
+
+    private String error;
+
+    public int getIndex() {
+        return index;
+    }
+
+    public ProductBatchItemDto setIndex(int index) {
+        this.index = index;
+        return this;
+    }
+
+    public ProductDto getProduct() {
+        return product;
+    }
+
+    public ProductBatchItemDto setProduct(ProductDto product) {
+        this.product = product;
+        return this;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public ProductBatchItemDto setError(String error) {
+        this.error = error;
+        return this;
+    }
+
+    public static ProductBatchItemDto created(int index, Product product) {
+        ProductBatchItemDto item = new ProductBatchItemDto();
+
+        return item
+                .setIndex(index)
+                .setProduct(ProductDto.toDto(product));
+    }
+
+    public static ProductBatchItemDto rejected(int index, String error) {
+        ProductBatchItemDto item = new ProductBatchItemDto();
+
+        return item
+                .setIndex(index)
+                .setError(error);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ProductBatchItemDto({index:%s, product:%s, error:%s})",
+                this.getIndex(),
+                this.getProduct(),
+                this.getError()
+        );
+    }
+}
@@ -3,6 +3,7 @@ package com.loveacamp.promotions.dto;
 import com.loveacamp.promotions.entities.Product;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.json.JSONObject;
@@ -12,6 +13,8 @@ public class ProductDto implements Serializable {
 
     private String name;
 
+    private BigDecimal price;
+
     public Long getId() {
         return id;
     }
@@ -30,12 +33,22 @@ public class ProductDto implements Serializable {
         return this;
     }
 
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public ProductDto setPrice(BigDecimal price) {
+        this.price = price;
+        return this;
+    }
+
     public static ProductDto toDto(Product product) {
         ProductDto productDto = new ProductDto();
 
         return productDto
                 .setId(product.getId())
-                .setName(product.getName());
+                .setName(product.getName())
+                .setPrice(product.getPrice());
     }
 
     public static List<ProductDto> toDto(List<Product> products) {
@@ -44,9 +57,10 @@ public class ProductDto implements Serializable {
 
     @Override
     public String toString() {
-        return String.format("ProductDto({id:%s, name:%s})",
+        return String.format("ProductDto({id:%s, name:%s, price:%s})",
                 this.getId(),
-                this.getName()
+                this.getName(),
+                this.getPrice()
         );
     }
 
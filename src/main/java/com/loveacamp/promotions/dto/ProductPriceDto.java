@@ -0,0 +1,96 @@
+package com.loveacamp.promotions.dto;
+
+import com.loveacamp.promotions.entities.ProductPrice;
+import org.joda.time.DateTime;
+
+import java.math.BigDecimal;
+
+public class ProductPriceDto {
+    private Long productId;
+
+    private BigDecimal price;
+
+    private Long promotionId;
+
+    private BigDecimal discount;
+
+    private BigDecimal finalPrice;
+
+    private DateTime updatedAt;
+
+    public static ProductPriceDto toDto(ProductPrice productPrice) {
+        return new ProductPriceDto()
+                .setProductId(productPrice.getProductId())
+                .setPrice(productPrice.getPrice())
+                .setPromotionId(productPrice.getPromotionId())
+                .setDiscount(productPrice.getDiscount())
+                .setFinalPrice(productPrice.getFinalPrice())
+                .setUpdatedAt(productPrice.getUpdatedAt());
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public ProductPriceDto setProductId(Long productId) {
+        this.productId = productId;
+        return this;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public ProductPriceDto setPrice(BigDecimal price) {
+        this.price = price;
+        return this;
+    }
+
+    public Long getPromotionId() {
+        return promotionId;
+    }
+
+    public ProductPriceDto setPromotionId(Long promotionId) {
+        this.promotionId = promotionId;
+        return this;
+    }
+
+    public BigDecimal getDiscount() {
+        return discount;
+    }
+
+    public ProductPriceDto setDiscount(BigDecimal discount) {
+        this.discount = discount;
+        return this;
+    }
+
+    public BigDecimal getFinalPrice() {
+        return finalPrice;
+    }
+
+    public ProductPriceDto setFinalPrice(BigDecimal finalPrice) {
+        this.finalPrice = finalPrice;
+        return this;
+    }
+
+    public DateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public ProductPriceDto setUpdatedAt(DateTime updatedAt) {
+        this.updatedAt = updatedAt;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ProductPriceDto({productId:%s, price:%s, promotionId:%s, discount:%s, finalPrice:%s, updatedAt:%s})",
+                this.getProductId(),
+                this.getPrice(),
+                this.getPromotionId(),
+                this.getDiscount(),
+                this.getFinalPrice(),
+                this.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,75 @@
+package com.loveacamp.promotions.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class PromotionDiscountDto {
+    private Long productId;
+
+    private Long promotionId;
+
+    /**
+     * Promoções acumuladas, na ordem em que foram aplicadas; a primeira é {@link #promotionId}.
+     */
+    private List<Long> promotionIds;
+
+    private BigDecimal discount;
+
+    private BigDecimal price;
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public PromotionDiscountDto setProductId(Long productId) {
+        this.productId = productId;
+        return this;
+    }
+
+    public Long getPromotionId() {
+        return promotionId;
+    }
+
+    public PromotionDiscountDto setPromotionId(Long promotionId) {
+        this.promotionId = promotionId;
+        return this;
+    }
+
+    public List<Long> getPromotionIds() {
+        return promotionIds;
+    }
+
+    public PromotionDiscountDto setPromotionIds(List<Long> promotionIds) {
+        this.promotionIds = promotionIds;
+        return this;
+    }
+
+    public BigDecimal getDiscount() {
+        return discount;
+    }
+
+    public PromotionDiscountDto setDiscount(BigDecimal discount) {
+        this.discount = discount;
+        return this;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public PromotionDiscountDto setPrice(BigDecimal price) {
+        this.price = price;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PromotionDiscountDto({productId:%s, promotionId:%s, promotionIds:%s, discount:%s, price:%s})",
+                this.getProductId(),
+                this.getPromotionId(),
+                this.getPromotionIds(),
+                this.getDiscount(),
+                this.getPrice()
+        );
+    }
+}
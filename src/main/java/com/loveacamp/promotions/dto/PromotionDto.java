@@ -0,0 +1,212 @@
+package com.loveacamp.promotions.dto;
+
+import com.loveacamp.promotions.entities.Promotion;
+import com.loveacamp.promotions.enums.DiscountType;
+import com.loveacamp.promotions.enums.UserLevel;
+import org.joda.time.DateTime;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+public class PromotionDto {
+    private Long id;
+
+    private String name;
+
+    private DiscountType discountType;
+
+    private BigDecimal value;
+
+    private DateTime startsAt;
+
+    private DateTime endsAt;
+
+    private Set<Long> productIds;
+
+    private String productNamePrefix;
+
+    private Set<UserLevel> levels;
+
+    private Long maxRedemptions;
+
+    private Integer maxRedemptionsPerPerson;
+
+    private Long audienceId;
+
+    private String exclusivityGroup;
+
+    private Integer priority;
+
+    public Long getId() {
+        return id;
+    }
+
+    public PromotionDto setId(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public PromotionDto setName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public DiscountType getDiscountType() {
+        return discountType;
+    }
+
+    public PromotionDto setDiscountType(DiscountType discountType) {
+        this.discountType = discountType;
+        return this;
+    }
+
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    public PromotionDto setValue(BigDecimal value) {
+        this.value = value;
+        return this;
+    }
+
+    public DateTime getStartsAt() {
+        return startsAt;
+    }
+
+    public PromotionDto setStartsAt(DateTime startsAt) {
+        this.startsAt = startsAt;
+        return this;
+    }
+
+    public DateTime getEndsAt() {
+        return endsAt;
+    }
+
+    public PromotionDto setEndsAt(DateTime endsAt) {
+        this.endsAt = endsAt;
+        return this;
+    }
+
+    public Set<Long> getProductIds() {
+        return productIds;
+    }
+
+    public PromotionDto setProductIds(Set<Long> productIds) {
+        this.productIds = productIds;
+        return this;
+    }
+
+    public String getProductNamePrefix() {
+        return productNamePrefix;
+    }
+
+    public PromotionDto setProductNamePrefix(String productNamePrefix) {
+        this.productNamePrefix = productNamePrefix;
+        return this;
+    }
+
+    public Set<UserLevel> getLevels() {
+        return levels;
+    }
+
+    public PromotionDto setLevels(Set<UserLevel> levels) {
+        this.levels = levels;
+        return this;
+    }
+
+    public Long getMaxRedemptions() {
+        return maxRedemptions;
+    }
+
+    public PromotionDto setMaxRedemptions(Long maxRedemptions) {
+        this.maxRedemptions = maxRedemptions;
+        return this;
+    }
+
+    public Integer getMaxRedemptionsPerPerson() {
+        return maxRedemptionsPerPerson;
+    }
+
+    public PromotionDto setMaxRedemptionsPerPerson(Integer maxRedemptionsPerPerson) {
+        this.maxRedemptionsPerPerson = maxRedemptionsPerPerson;
+        return this;
+    }
+
+    public Long getAudienceId() {
+        return audienceId;
+    }
+
+    public PromotionDto setAudienceId(Long audienceId) {
+        this.audienceId = audienceId;
+        return this;
+    }
+
+    public String getExclusivityGroup() {
+        return exclusivityGroup;
+    }
+
+    public PromotionDto setExclusivityGroup(String exclusivityGroup) {
+        this.exclusivityGroup = exclusivityGroup;
+        return this;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public PromotionDto setPriority(Integer priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    public static PromotionDto toDto(Promotion promotion) {
+        PromotionDto promotionDto = new PromotionDto();
+
+        return promotionDto
+                .setId(promotion.getId())
+                .setName(promotion.getName())
+                .setDiscountType(promotion.getDiscountType())
+                .setValue(promotion.getValue())
+                .setStartsAt(promotion.getStartsAt())
+                .setEndsAt(promotion.getEndsAt())
+                .setProductIds(new TreeSet<>(promotion.getProductIds()))
+                .setProductNamePrefix(promotion.getProductNamePrefix())
+                .setLevels(new TreeSet<>(promotion.getLevels()))
+                .setMaxRedemptions(promotion.getMaxRedemptions())
+                .setMaxRedemptionsPerPerson(promotion.getMaxRedemptionsPerPerson())
+                .setAudienceId(promotion.getAudienceId())
+                .setExclusivityGroup(promotion.getExclusivityGroup())
+                .setPriority(promotion.getPriority());
+    }
+
+    public static List<PromotionDto> toDto(List<Promotion> promotions) {
+        return promotions.stream().map(PromotionDto::toDto).collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PromotionDto({id:%s, name:%s, discountType:%s, value:%s, startsAt:%s, endsAt:%s, productIds:%s, productNamePrefix:%s, levels:%s, maxRedemptions:%s, maxRedemptionsPerPerson:%s, audienceId:%s, exclusivityGroup:%s, priority:%s})",
+                this.getId(),
+                this.getName(),
+                this.getDiscountType(),
+                this.getValue(),
+                this.getStartsAt(),
+                this.getEndsAt(),
+                this.getProductIds(),
+                this.getProductNamePrefix(),
+                this.getLevels(),
+                this.getMaxRedemptions(),
+                this.getMaxRedemptionsPerPerson(),
+                this.getAudienceId(),
+                this.getExclusivityGroup(),
+                this.getPriority()
+        );
+    }
+}
@@ -0,0 +1,75 @@
+package com.loveacamp.promotions.dto;
+
+import org.joda.time.DateTime;
+
+/**
+ * Versão do catálogo em uso numa instância. A versão é contada em memória e recomeça a cada subida: duas versões só
+ * são comparáveis se vierem do mesmo {@code instance}, que muda a cada restart; {@code startedAt} é quando ele subiu.
+ */
+public class PromotionSnapshotDto {
+    private String instance;
+
+    private DateTime startedAt;
+
+    private Long version;
+
+    private Integer promotions;
+
+    private Integer products;
+
+    public String getInstance() {
+        return instance;
+    }
+
+    public PromotionSnapshotDto setInstance(String instance) {
+        this.instance = instance;
+        return this;
+    }
+
+    public DateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public PromotionSnapshotDto setStartedAt(DateTime startedAt) {
+        this.startedAt = startedAt;
+        return this;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public PromotionSnapshotDto setVersion(Long version) {
+        this.version = version;
+        return this;
+    }
+
+    public Integer getPromotions() {
+        return promotions;
+    }
+
+    public PromotionSnapshotDto setPromotions(Integer promotions) {
+        this.promotions = promotions;
+        return this;
+    }
+
+    public Integer getProducts() {
+        return products;
+    }
+
+    public PromotionSnapshotDto setProducts(Integer products) {
+        this.products = products;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PromotionSnapshotDto({instance:%s, startedAt:%s, version:%s, promotions:%s, products:%s})",
+                this.getInstance(),
+                this.getStartedAt(),
+                this.getVersion(),
+                this.getPromotions(),
+                this.getProducts()
+        );
+    }
+}
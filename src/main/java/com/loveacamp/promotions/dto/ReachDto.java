@@ -0,0 +1,84 @@
+package com.loveacamp.promotions.dto;
+
+import com.loveacamp.promotions.enums.ReachEvent;
+import org.joda.time.DateTime;
+
+public class ReachDto {
+    private Long promotionId;
+
+    private ReachEvent event;
+
+    private DateTime from;
+
+    private DateTime to;
+
+    private Long distinctPeople;
+
+    private Double standardError;
+
+    public Long getPromotionId() {
+        return promotionId;
+    }
+
+    public ReachDto setPromotionId(Long promotionId) {
+        this.promotionId = promotionId;
+        return this;
+    }
+
+    public ReachEvent getEvent() {
+        return event;
+    }
+
+    public ReachDto setEvent(ReachEvent event) {
+        this.event = event;
+        return this;
+    }
+
+    public DateTime getFrom() {
+        return from;
+    }
+
+    public ReachDto setFrom(DateTime from) {
+        this.from = from;
+        return this;
+    }
+
+    public DateTime getTo() {
+        return to;
+    }
+
+    public ReachDto setTo(DateTime to) {
+        this.to = to;
+        return this;
+    }
+
+    public Long getDistinctPeople() {
+        return distinctPeople;
+    }
+
+    public ReachDto setDistinctPeople(Long distinctPeople) {
+        this.distinctPeople = distinctPeople;
+        return this;
+    }
+
+    public Double getStandardError() {
+        return standardError;
+    }
+
+    public ReachDto setStandardError(Double standardError) {
+        this.standardError = standardError;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ReachDto({promotionId:%s, event:%s, from:%s, to:%s, distinctPeople:%s, standardError:%s})",
+                this.getPromotionId(),
+                this.getEvent(),
+                this.getFrom(),
+                this.getTo(),
+                this.getDistinctPeople(),
+                this.getStandardError()
+        );
+    }
+}
@@ -0,0 +1,59 @@
+package com.loveacamp.promotions.dto;
+
+import org.joda.time.DateTime;
+
+public class RedemptionDto {
+    private String code;
+
+    private Long promotionId;
+
+    private Long personId;
+
+    private DateTime redeemedAt;
+
+    public String getCode() {
+        return code;
+    }
+
+    public RedemptionDto setCode(String code) {
+        this.code = code;
+        return this;
+    }
+
+    public Long getPromotionId() {
+        return promotionId;
+    }
+
+    public RedemptionDto setPromotionId(Long promotionId) {
+        this.promotionId = promotionId;
+        return this;
+    }
+
+    public Long getPersonId() {
+        return personId;
+    }
+
+    public RedemptionDto setPersonId(Long personId) {
+        this.personId = personId;
+        return this;
+    }
+
+    public DateTime getRedeemedAt() {
+        return redeemedAt;
+    }
+
+    public RedemptionDto setRedeemedAt(DateTime redeemedAt) {
+        this.redeemedAt = redeemedAt;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RedemptionDto({code:%s, promotionId:%s, personId:%s, redeemedAt:%s})",
+                this.getCode(),
+                this.getPromotionId(),
+                this.getPersonId(),
+                this.getRedeemedAt()
+        );
+    }
+}
@@ -0,0 +1,108 @@
+package com.loveacamp.promotions.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class SimulationDto {
+    private Long carts;
+
+    private Long lines;
+
+    private Long discountedCarts;
+
+    private Long discountedLines;
+
+    private BigDecimal hitRate;
+
+    private BigDecimal subtotal;
+
+    private BigDecimal totalDiscount;
+
+    private List<SimulationProductDto> products;
+
+    public Long getCarts() {
+        return carts;
+    }
+
+    public SimulationDto setCarts(Long carts) {
+        this.carts = carts;
+        return this;
+    }
+
+    public Long getLines() {
+        return lines;
+    }
+
+    public SimulationDto setLines(Long lines) {
+        this.lines = lines;
+        return this;
+    }
+
+    public Long getDiscountedCarts() {
+        return discountedCarts;
+    }
+
+    public SimulationDto setDiscountedCarts(Long discountedCarts) {
+        this.discountedCarts = discountedCarts;
+        return this;
+    }
+
+    public Long getDiscountedLines() {
+        return discountedLines;
+    }
+
+    public SimulationDto setDiscountedLines(Long discountedLines) {
+        this.discountedLines = discountedLines;
+        return this;
+    }
+
+    public BigDecimal getHitRate() {
+        return hitRate;
+    }
+
+    public SimulationDto setHitRate(BigDecimal hitRate) {
+        this.hitRate = hitRate;
+        return this;
+    }
+
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+
+    public SimulationDto setSubtotal(BigDecimal subtotal) {
+        this.subtotal = subtotal;
+        return this;
+    }
+
+    public BigDecimal getTotalDiscount() {
+        return totalDiscount;
+    }
+
+    public SimulationDto setTotalDiscount(BigDecimal totalDiscount) {
+        this.totalDiscount = totalDiscount;
+        return this;
+    }
+
+    public List<SimulationProductDto> getProducts() {
+        return products;
+    }
+
+    public SimulationDto setProducts(List<SimulationProductDto> products) {
+        this.products = products;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SimulationDto({carts:%s, lines:%s, discountedCarts:%s, discountedLines:%s, hitRate:%s, subtotal:%s, totalDiscount:%s, products:%s})",
+                this.getCarts(),
+                this.getLines(),
+                this.getDiscountedCarts(),
+                this.getDiscountedLines(),
+                this.getHitRate(),
+                this.getSubtotal(),
+                this.getTotalDiscount(),
+                this.getProducts()
+        );
+    }
+}
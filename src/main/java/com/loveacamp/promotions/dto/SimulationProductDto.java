@@ -0,0 +1,59 @@
+package com.loveacamp.promotions.dto;
+
+import java.math.BigDecimal;
+
+public class SimulationProductDto {
+    private Long productId;
+
+    private Long lines;
+
+    private Long quantity;
+
+    private BigDecimal discount;
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public SimulationProductDto setProductId(Long productId) {
+        this.productId = productId;
+        return this;
+    }
+
+    public Long getLines() {
+        return lines;
+    }
+
+    public SimulationProductDto setLines(Long lines) {
+        this.lines = lines;
+        return this;
+    }
+
+    public Long getQuantity() {
+        return quantity;
+    }
+
+    public SimulationProductDto setQuantity(Long quantity) {
+        this.quantity = quantity;
+        return this;
+    }
+
+    public BigDecimal getDiscount() {
+        return discount;
+    }
+
+    public SimulationProductDto setDiscount(BigDecimal discount) {
+        this.discount = discount;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SimulationProductDto({productId:%s, lines:%s, quantity:%s, discount:%s})",
+                this.getProductId(),
+                this.getLines(),
+                this.getQuantity(),
+                this.getDiscount()
+        );
+    }
+}
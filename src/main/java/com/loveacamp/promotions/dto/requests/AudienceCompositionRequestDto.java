@@ -0,0 +1,59 @@
+package com.loveacamp.promotions.dto.requests;
+
+import jakarta.validation.constraints.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Público novo a partir de outros: a união de {@link #union}, intersectada com cada público de
+ * {@link #intersection}, menos as pessoas de qualquer público de {@link #exclusion}.
+ */
+public class AudienceCompositionRequestDto {
+    @NotBlank
+    @Size(max = 255)
+    private String name;
+
+    @NotEmpty
+    private List<@NotNull Long> union = new ArrayList<>();
+
+    private List<@NotNull Long> intersection = new ArrayList<>();
+
+    private List<@NotNull Long> exclusion = new ArrayList<>();
+
+    public String getName() {
+        return name;
+    }
+
+    public AudienceCompositionRequestDto setName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public List<Long> getUnion() {
+        return union;
+    }
+
+    public AudienceCompositionRequestDto setUnion(List<Long> union) {
+        this.union = union;
+        return this;
+    }
+
+    public List<Long> getIntersection() {
+        return intersection;
+    }
+
+    public AudienceCompositionRequestDto setIntersection(List<Long> intersection) {
+        this.intersection = intersection;
+        return this;
+    }
+
+    public List<Long> getExclusion() {
+        return exclusion;
+    }
+
+    public AudienceCompositionRequestDto setExclusion(List<Long> exclusion) {
+        this.exclusion = exclusion;
+        return this;
+    }
+}
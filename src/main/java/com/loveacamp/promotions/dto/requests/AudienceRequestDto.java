@@ -0,0 +1,25 @@
+package com.loveacamp.promotions.dto.requests;
+
+import jakarta.validation.constraints.*;
+
+public class AudienceRequestDto {
+    @NotBlank
+    @Size(max = 255)
+    private String name;
+
+    public AudienceRequestDto() {
+    }
+
+    public AudienceRequestDto(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public AudienceRequestDto setName(String name) {
+        this.name = name;
+        return this;
+    }
+}
@@ -0,0 +1,38 @@
+package com.loveacamp.promotions.dto.requests;
+
+import jakarta.validation.constraints.*;
+
+public class CartItemRequestDto {
+    @NotNull
+    private Long productId;
+
+    @NotNull
+    @Positive
+    private Integer quantity;
+
+    public CartItemRequestDto() {
+    }
+
+    public CartItemRequestDto(Long productId, Integer quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public CartItemRequestDto setProductId(Long productId) {
+        this.productId = productId;
+        return this;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public CartItemRequestDto setQuantity(Integer quantity) {
+        this.quantity = quantity;
+        return this;
+    }
+}
@@ -0,0 +1,45 @@
+package com.loveacamp.promotions.dto.requests;
+
+import com.loveacamp.promotions.enums.UserLevel;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CartRequestDto {
+    @NotNull
+    private Long personId;
+
+    private UserLevel level;
+
+    @NotEmpty
+    private List<@Valid @NotNull CartItemRequestDto> items = new ArrayList<>();
+
+    public Long getPersonId() {
+        return personId;
+    }
+
+    public CartRequestDto setPersonId(Long personId) {
+        this.personId = personId;
+        return this;
+    }
+
+    public UserLevel getLevel() {
+        return level;
+    }
+
+    public CartRequestDto setLevel(UserLevel level) {
+        this.level = level;
+        return this;
+    }
+
+    public List<CartItemRequestDto> getItems() {
+        return items;
+    }
+
+    public CartRequestDto setItems(List<CartItemRequestDto> items) {
+        this.items = items;
+        return this;
+    }
+}
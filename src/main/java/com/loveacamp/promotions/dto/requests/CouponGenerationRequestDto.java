@@ -0,0 +1,25 @@
+package com.loveacamp.promotions.dto.requests;
+
+import jakarta.validation.constraints.*;
+
+public class CouponGenerationRequestDto {
+    @NotNull
+    @Positive
+    private Long quantity;
+
+    public CouponGenerationRequestDto() {
+    }
+
+    public CouponGenerationRequestDto(Long quantity) {
+        this.quantity = quantity;
+    }
+
+    public Long getQuantity() {
+        return quantity;
+    }
+
+    public CouponGenerationRequestDto setQuantity(Long quantity) {
+        this.quantity = quantity;
+        return this;
+    }
+}
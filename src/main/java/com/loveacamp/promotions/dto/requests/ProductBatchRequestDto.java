@@ -0,0 +1,20 @@
+package com.loveacamp.promotions.dto.requests;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+
+import java.util.List;
+
+public class ProductBatchRequestDto {
+    @NotEmpty
+    private List<@Valid @NotNull ProductRequestDto> products;
+
+    public List<ProductRequestDto> getProducts() {
+        return products;
+    }
+
+    public ProductBatchRequestDto setProducts(List<ProductRequestDto> products) {
+        this.products = products;
+        return this;
+    }
+}
@@ -2,11 +2,17 @@ package com.loveacamp.promotions.dto.requests;
 
 import jakarta.validation.constraints.*;
 
+import java.math.BigDecimal;
+
 public class ProductRequestDto{
     @NotBlank
     @Size(min = 3, max = 250)
     private String name;
 
+    @PositiveOrZero
+    @Digits(integer = 17, fraction = 2)
+    private BigDecimal price;
+
     public String getName() {
         return name;
     }
@@ -15,4 +21,13 @@ public class ProductRequestDto{
         this.name = name;
         return this;
     }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public ProductRequestDto setPrice(BigDecimal price) {
+        this.price = price;
+        return this;
+    }
 }
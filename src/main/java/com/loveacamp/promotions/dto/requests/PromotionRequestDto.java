@@ -0,0 +1,169 @@
+package com.loveacamp.promotions.dto.requests;
+
+import com.loveacamp.promotions.enums.DiscountType;
+import com.loveacamp.promotions.enums.UserLevel;
+import jakarta.validation.constraints.*;
+import org.joda.time.DateTime;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+public class PromotionRequestDto {
+    @NotBlank
+    @Size(min = 3, max = 250)
+    private String name;
+
+    @NotNull
+    private DiscountType discountType;
+
+    @NotNull
+    @Positive
+    @Digits(integer = 17, fraction = 2)
+    private BigDecimal value;
+
+    @NotNull
+    private DateTime startsAt;
+
+    @NotNull
+    private DateTime endsAt;
+
+    @NotNull
+    private Set<@NotNull Long> productIds = new HashSet<>();
+
+    @Size(min = 1, max = 250)
+    private String productNamePrefix;
+
+    @NotNull
+    private Set<@NotNull UserLevel> levels = new HashSet<>();
+
+    @Positive
+    private Long maxRedemptions;
+
+    @Positive
+    private Integer maxRedemptionsPerPerson;
+
+    private Long audienceId;
+
+    @Size(min = 1, max = 64)
+    private String exclusivityGroup;
+
+    private Integer priority;
+
+    public String getName() {
+        return name;
+    }
+
+    public PromotionRequestDto setName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public DiscountType getDiscountType() {
+        return discountType;
+    }
+
+    public PromotionRequestDto setDiscountType(DiscountType discountType) {
+        this.discountType = discountType;
+        return this;
+    }
+
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    public PromotionRequestDto setValue(BigDecimal value) {
+        this.value = value;
+        return this;
+    }
+
+    public DateTime getStartsAt() {
+        return startsAt;
+    }
+
+    public PromotionRequestDto setStartsAt(DateTime startsAt) {
+        this.startsAt = startsAt;
+        return this;
+    }
+
+    public DateTime getEndsAt() {
+        return endsAt;
+    }
+
+    public PromotionRequestDto setEndsAt(DateTime endsAt) {
+        this.endsAt = endsAt;
+        return this;
+    }
+
+    public Set<Long> getProductIds() {
+        return productIds;
+    }
+
+    public PromotionRequestDto setProductIds(Set<Long> productIds) {
+        this.productIds = productIds;
+        return this;
+    }
+
+    public String getProductNamePrefix() {
+        return productNamePrefix;
+    }
+
+    public PromotionRequestDto setProductNamePrefix(String productNamePrefix) {
+        this.productNamePrefix = productNamePrefix;
+        return this;
+    }
+
+    public Set<UserLevel> getLevels() {
+        return levels;
+    }
+
+    public PromotionRequestDto setLevels(Set<UserLevel> levels) {
+        this.levels = levels;
+        return this;
+    }
+
+    public Long getMaxRedemptions() {
+        return maxRedemptions;
+    }
+
+    public PromotionRequestDto setMaxRedemptions(Long maxRedemptions) {
+        this.maxRedemptions = maxRedemptions;
+        return this;
+    }
+
+    public Integer getMaxRedemptionsPerPerson() {
+        return maxRedemptionsPerPerson;
+    }
+
+    public PromotionRequestDto setMaxRedemptionsPerPerson(Integer maxRedemptionsPerPerson) {
+        this.maxRedemptionsPerPerson = maxRedemptionsPerPerson;
+        return this;
+    }
+
+    public Long getAudienceId() {
+        return audienceId;
+    }
+
+    public PromotionRequestDto setAudienceId(Long audienceId) {
+        this.audienceId = audienceId;
+        return this;
+    }
+
+    public String getExclusivityGroup() {
+        return exclusivityGroup;
+    }
+
+    public PromotionRequestDto setExclusivityGroup(String exclusivityGroup) {
+        this.exclusivityGroup = exclusivityGroup;
+        return this;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public PromotionRequestDto setPriority(Integer priority) {
+        this.priority = priority;
+        return this;
+    }
+}
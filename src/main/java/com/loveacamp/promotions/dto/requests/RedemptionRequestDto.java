@@ -0,0 +1,37 @@
+package com.loveacamp.promotions.dto.requests;
+
+import jakarta.validation.constraints.*;
+
+public class RedemptionRequestDto {
+    @NotBlank
+    private String code;
+
+    @NotNull
+    private Long personId;
+
+    public RedemptionRequestDto() {
+    }
+
+    public RedemptionRequestDto(String code, Long personId) {
+        this.code = code;
+        this.personId = personId;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public RedemptionRequestDto setCode(String code) {
+        this.code = code;
+        return this;
+    }
+
+    public Long getPersonId() {
+        return personId;
+    }
+
+    public RedemptionRequestDto setPersonId(Long personId) {
+        this.personId = personId;
+        return this;
+    }
+}
@@ -0,0 +1,77 @@
+package com.loveacamp.promotions.entities;
+
+import com.loveacamp.promotions.config.PooledSequenceGenerator;
+import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+/**
+ * Público-alvo de promoções: um conjunto de ids de {@link Person} guardado como
+ * {@link com.loveacamp.promotions.utils.LongBitmap} serializado, e não uma linha por pessoa.
+ */
+@Entity
+@Table(name = "AUDIENCES")
+public class Audience {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "Audience_SEQ")
+    @GenericGenerator(name = "Audience_SEQ", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "Audience_SEQ"))
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "NAME", nullable = false, length = 255)
+    private String name;
+
+    @Column(name = "MEMBERS", nullable = false)
+    private long members;
+
+    @Column(name = "BITMAP", nullable = false, length = Integer.MAX_VALUE)
+    private byte[] bitmap;
+
+    public Audience() {
+    }
+
+    public Audience(Long id, String name, long members, byte[] bitmap) {
+        this.id = id;
+        this.name = name;
+        this.members = members;
+        this.bitmap = bitmap;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Audience setId(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Audience setName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public long getMembers() {
+        return members;
+    }
+
+    public Audience setMembers(long members) {
+        this.members = members;
+        return this;
+    }
+
+    public byte[] getBitmap() {
+        return bitmap;
+    }
+
+    public Audience setBitmap(byte[] bitmap) {
+        this.bitmap = bitmap;
+        return this;
+    }
+}
@@ -0,0 +1,45 @@
+package com.loveacamp.promotions.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * Contador de alterações de um conjunto de dados mantido em memória por cada instância (promoções, públicos-alvo).
+ * Incrementado na mesma transação da alteração; as instâncias comparam com a versão que já aplicaram para saber quando
+ * recarregar. Ver {@link com.loveacamp.promotions.services.impl.ChangeVersions}.
+ */
+@Entity
+@Table(name = "CHANGE_VERSIONS")
+public class ChangeVersion {
+    @Id
+    @Column(name = "NAME")
+    private String name;
+
+    @Column(name = "VERSION", nullable = false)
+    private Long version;
+
+    public ChangeVersion() {
+    }
+
+    public ChangeVersion(String name, Long version) {
+        this.name = name;
+        this.version = version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ChangeVersion setName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public ChangeVersion setVersion(Long version) {
+        this.version = version;
+        return this;
+    }
+}
@@ -0,0 +1,89 @@
+package com.loveacamp.promotions.entities;
+
+import jakarta.persistence.*;
+import org.joda.time.DateTime;
+
+/**
+ * Cupom de uso único. O código (ver {@link com.loveacamp.promotions.utils.CouponCodec}) é a própria chave primária,
+ * guardado como número: cada linha ocupa dois {@code BIGINT}.
+ * <p>
+ * Nas promoções com limite por pessoa, o resgate ocupa uma vaga ({@code REDEEMED_SLOT}, de {@code 0} ao limite menos
+ * um) de quem resgatou; {@link #UK_PERSON_SLOT} impede que dois resgates da mesma pessoa ocupem a mesma vaga. Sem
+ * limite, a vaga fica nula e não entra na restrição.
+ */
+@Entity
+@Table(name = "COUPONS",
+        indexes = @Index(name = "IDX_COUPONS_PROMOTION_CODE", columnList = "PROMOTION_ID, CODE"),
+        uniqueConstraints = @UniqueConstraint(name = Coupon.UK_PERSON_SLOT, columnNames = {"PROMOTION_ID", "REDEEMED_BY", "REDEEMED_SLOT"}))
+public class Coupon {
+    public static final String UK_PERSON_SLOT = "UK_COUPONS_PERSON_SLOT";
+
+    @Id
+    @Column(name = "CODE")
+    private Long code;
+
+    @Column(name = "PROMOTION_ID", nullable = false)
+    private Long promotionId;
+
+    @Column(name = "REDEEMED_AT")
+    private DateTime redeemedAt;
+
+    @Column(name = "REDEEMED_BY")
+    private Long redeemedBy;
+
+    @Column(name = "REDEEMED_SLOT")
+    private Integer redeemedSlot;
+
+    public Coupon() {
+    }
+
+    public Coupon(Long code, Long promotionId) {
+        this.code = code;
+        this.promotionId = promotionId;
+    }
+
+    public Long getCode() {
+        return code;
+    }
+
+    public Coupon setCode(Long code) {
+        this.code = code;
+        return this;
+    }
+
+    public Long getPromotionId() {
+        return promotionId;
+    }
+
+    public Coupon setPromotionId(Long promotionId) {
+        this.promotionId = promotionId;
+        return this;
+    }
+
+    public DateTime getRedeemedAt() {
+        return redeemedAt;
+    }
+
+    public Coupon setRedeemedAt(DateTime redeemedAt) {
+        this.redeemedAt = redeemedAt;
+        return this;
+    }
+
+    public Long getRedeemedBy() {
+        return redeemedBy;
+    }
+
+    public Coupon setRedeemedBy(Long redeemedBy) {
+        this.redeemedBy = redeemedBy;
+        return this;
+    }
+
+    public Integer getRedeemedSlot() {
+        return redeemedSlot;
+    }
+
+    public Coupon setRedeemedSlot(Integer redeemedSlot) {
+        this.redeemedSlot = redeemedSlot;
+        return this;
+    }
+}
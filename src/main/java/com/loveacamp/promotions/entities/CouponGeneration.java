@@ -0,0 +1,144 @@
+package com.loveacamp.promotions.entities;
+
+import com.loveacamp.promotions.config.PooledSequenceGenerator;
+import com.loveacamp.promotions.enums.CouponGenerationStatus;
+import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.joda.time.DateTime;
+
+/**
+ * Uma geração de cupons em massa e o seu progresso, consultável de qualquer instância. {@code UPDATED_AT} é renovado
+ * pela instância que executa a geração enquanto ela está na fila ou rodando; uma geração {@code RUNNING} que para de
+ * ser renovada ficou sem dono e é encerrada como {@code FAILED} por
+ * {@link com.loveacamp.promotions.services.impl.CouponGenerationTracker}.
+ */
+@Entity
+@Table(name = "COUPON_GENERATIONS")
+public class CouponGeneration {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "CouponGeneration_SEQ")
+    @GenericGenerator(name = "CouponGeneration_SEQ", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "CouponGeneration_SEQ"))
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "PROMOTION_ID", nullable = false)
+    private Long promotionId;
+
+    @Column(name = "FIRST_SERIAL", nullable = false)
+    private long firstSerial;
+
+    @Column(name = "QUANTITY", nullable = false)
+    private long quantity;
+
+    @Column(name = "GENERATED", nullable = false)
+    private long generated;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", nullable = false, length = 16)
+    private CouponGenerationStatus status;
+
+    @Column(name = "STARTED_AT", nullable = false)
+    private DateTime startedAt;
+
+    @Column(name = "UPDATED_AT", nullable = false)
+    private DateTime updatedAt;
+
+    @Column(name = "FINISHED_AT")
+    private DateTime finishedAt;
+
+    public CouponGeneration() {
+    }
+
+    public CouponGeneration(Long promotionId, long firstSerial, long quantity, DateTime startedAt) {
+        this.promotionId = promotionId;
+        this.firstSerial = firstSerial;
+        this.quantity = quantity;
+        this.status = CouponGenerationStatus.RUNNING;
+        this.startedAt = startedAt;
+        this.updatedAt = startedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public CouponGeneration setId(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public Long getPromotionId() {
+        return promotionId;
+    }
+
+    public CouponGeneration setPromotionId(Long promotionId) {
+        this.promotionId = promotionId;
+        return this;
+    }
+
+    public long getFirstSerial() {
+        return firstSerial;
+    }
+
+    public CouponGeneration setFirstSerial(long firstSerial) {
+        this.firstSerial = firstSerial;
+        return this;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public CouponGeneration setQuantity(long quantity) {
+        this.quantity = quantity;
+        return this;
+    }
+
+    public long getGenerated() {
+        return generated;
+    }
+
+    public CouponGeneration setGenerated(long generated) {
+        this.generated = generated;
+        return this;
+    }
+
+    public CouponGenerationStatus getStatus() {
+        return status;
+    }
+
+    public CouponGeneration setStatus(CouponGenerationStatus status) {
+        this.status = status;
+        return this;
+    }
+
+    public DateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public CouponGeneration setStartedAt(DateTime startedAt) {
+        this.startedAt = startedAt;
+        return this;
+    }
+
+    public DateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public CouponGeneration setUpdatedAt(DateTime updatedAt) {
+        this.updatedAt = updatedAt;
+        return this;
+    }
+
+    public DateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public CouponGeneration setFinishedAt(DateTime finishedAt) {
+        this.finishedAt = finishedAt;
+        return this;
+    }
+}
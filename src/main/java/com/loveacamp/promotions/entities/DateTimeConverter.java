@@ -0,0 +1,20 @@
+package com.loveacamp.promotions.entities;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.joda.time.DateTime;
+
+import java.sql.Timestamp;
+
+@Converter(autoApply = true)
+public class DateTimeConverter implements AttributeConverter<DateTime, Timestamp> {
+    @Override
+    public Timestamp convertToDatabaseColumn(DateTime dateTime) {
+        return dateTime == null ? null : new Timestamp(dateTime.getMillis());
+    }
+
+    @Override
+    public DateTime convertToEntityAttribute(Timestamp timestamp) {
+        return timestamp == null ? null : new DateTime(timestamp.getTime());
+    }
+}
@@ -1,10 +1,16 @@
 package com.loveacamp.promotions.entities;
 
+import com.loveacamp.promotions.config.PooledSequenceGenerator;
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 @Entity
-@Table(name = "PEOPLE")
+@Table(name = "PEOPLE", uniqueConstraints = @UniqueConstraint(name = Person.UK_EMAIL, columnNames = "email"))
 public class Person {
+    public static final String UK_EMAIL = "UK_PEOPLE_EMAIL";
+
     public Person(Long id, String name, String email) {
         this.id = id;
         this.name = name;
@@ -15,14 +21,16 @@ public class Person {
     }
 
     @Id
-    @GeneratedValue(strategy= GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "Person_SEQ")
+    @GenericGenerator(name = "Person_SEQ", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "Person_SEQ"))
     @Column(name = "ID")
     private Long id;
 
     @Column(name = "NAME", nullable = false, length = 255)
     private String name;
 
-    @Column(name = "email", nullable = false, unique = true, length = 255)
+    @Column(name = "email", nullable = false, length = 255)
     private String email;
 
     public Long getId() {
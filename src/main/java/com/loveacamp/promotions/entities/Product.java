@@ -1,18 +1,31 @@
 package com.loveacamp.promotions.entities;
 
+import com.loveacamp.promotions.config.PooledSequenceGenerator;
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.math.BigDecimal;
 
 @Entity
-@Table(name = "PRODUCT")
+@Table(name = "PRODUCT", uniqueConstraints = @UniqueConstraint(name = Product.UK_NAME, columnNames = "NAME"))
 public class Product {
+    public static final String UK_NAME = "UK_PRODUCT_NAME";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "Product_SEQ")
+    @GenericGenerator(name = "Product_SEQ", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "Product_SEQ"))
     @Column(name = "ID")
     private Long id;
 
-    @Column(name = "NAME", nullable = false, unique = true, length = 255)
+    @Column(name = "NAME", nullable = false, length = 255)
     private String name;
 
+    @Column(name = "PRICE", precision = 19, scale = 2)
+    private BigDecimal price;
+
     public Product() {
     }
 
@@ -21,6 +34,12 @@ public class Product {
         this.name = name;
     }
 
+    public Product(Long id, String name, BigDecimal price) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+    }
+
     public Long getId() {
         return id;
     }
@@ -38,4 +57,13 @@ public class Product {
         this.name = name;
         return this;
     }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public Product setPrice(BigDecimal price) {
+        this.price = price;
+        return this;
+    }
 }
@@ -0,0 +1,99 @@
+package com.loveacamp.promotions.entities;
+
+import jakarta.persistence.*;
+import org.joda.time.DateTime;
+
+import java.math.BigDecimal;
+
+/**
+ * Melhor preço vigente de cada produto para o público geral (sem nível nem pessoa), mantido por
+ * {@link com.loveacamp.promotions.services.impl.ProductPriceProjection}. Produtos sem preço não têm linha.
+ */
+@Entity
+@Table(name = "PRODUCT_PRICES")
+public class ProductPrice {
+    @Id
+    @Column(name = "PRODUCT_ID")
+    private Long productId;
+
+    @Column(name = "PRICE", nullable = false, precision = 19, scale = 2)
+    private BigDecimal price;
+
+    @Column(name = "PROMOTION_ID")
+    private Long promotionId;
+
+    @Column(name = "DISCOUNT", nullable = false, precision = 19, scale = 2)
+    private BigDecimal discount;
+
+    @Column(name = "FINAL_PRICE", nullable = false, precision = 19, scale = 2)
+    private BigDecimal finalPrice;
+
+    @Column(name = "UPDATED_AT", nullable = false)
+    private DateTime updatedAt;
+
+    public ProductPrice() {
+    }
+
+    public ProductPrice(Long productId, BigDecimal price, Long promotionId, BigDecimal discount, BigDecimal finalPrice, DateTime updatedAt) {
+        this.productId = productId;
+        this.price = price;
+        this.promotionId = promotionId;
+        this.discount = discount;
+        this.finalPrice = finalPrice;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public ProductPrice setProductId(Long productId) {
+        this.productId = productId;
+        return this;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public ProductPrice setPrice(BigDecimal price) {
+        this.price = price;
+        return this;
+    }
+
+    public Long getPromotionId() {
+        return promotionId;
+    }
+
+    public ProductPrice setPromotionId(Long promotionId) {
+        this.promotionId = promotionId;
+        return this;
+    }
+
+    public BigDecimal getDiscount() {
+        return discount;
+    }
+
+    public ProductPrice setDiscount(BigDecimal discount) {
+        this.discount = discount;
+        return this;
+    }
+
+    public BigDecimal getFinalPrice() {
+        return finalPrice;
+    }
+
+    public ProductPrice setFinalPrice(BigDecimal finalPrice) {
+        this.finalPrice = finalPrice;
+        return this;
+    }
+
+    public DateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public ProductPrice setUpdatedAt(DateTime updatedAt) {
+        this.updatedAt = updatedAt;
+        return this;
+    }
+}
@@ -0,0 +1,275 @@
+package com.loveacamp.promotions.entities;
+
+import com.loveacamp.promotions.config.PooledSequenceGenerator;
+import com.loveacamp.promotions.enums.DiscountType;
+import com.loveacamp.promotions.enums.UserLevel;
+import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.joda.time.DateTime;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+@Entity
+@Table(name = "PROMOTIONS")
+public class Promotion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "Promotion_SEQ")
+    @GenericGenerator(name = "Promotion_SEQ", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "Promotion_SEQ"))
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "NAME", nullable = false, length = 255)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "DISCOUNT_TYPE", nullable = false)
+    private DiscountType discountType;
+
+    @Column(name = "DISCOUNT_VALUE", nullable = false, precision = 19, scale = 2)
+    private BigDecimal value;
+
+    @Column(name = "STARTS_AT", nullable = false)
+    private DateTime startsAt;
+
+    @Column(name = "ENDS_AT", nullable = false)
+    private DateTime endsAt;
+
+    /**
+     * Produtos em que a promoção se aplica. Vazio, e sem {@link #productNamePrefix}, significa todos os produtos.
+     */
+    @ElementCollection
+    @BatchSize(size = 100)
+    @CollectionTable(name = "PROMOTION_PRODUCTS", joinColumns = @JoinColumn(name = "PROMOTION_ID"))
+    @Column(name = "PRODUCT_ID", nullable = false)
+    private Set<Long> productIds = new HashSet<>();
+
+    /**
+     * Regra de escopo por nome: a promoção vale também para todo produto cujo nome começa com este prefixo,
+     * sem diferenciar maiúsculas.
+     */
+    @Column(name = "PRODUCT_NAME_PREFIX", length = 255)
+    private String productNamePrefix;
+
+    /**
+     * Níveis de usuário elegíveis. Vazio significa todos os níveis.
+     */
+    @ElementCollection
+    @BatchSize(size = 100)
+    @Enumerated(EnumType.STRING)
+    @CollectionTable(name = "PROMOTION_LEVELS", joinColumns = @JoinColumn(name = "PROMOTION_ID"))
+    @Column(name = "USER_LEVEL", nullable = false)
+    private Set<UserLevel> levels = new HashSet<>();
+
+    /**
+     * Público-alvo ({@link Audience}). Nulo significa qualquer pessoa.
+     */
+    @Column(name = "AUDIENCE_ID")
+    private Long audienceId;
+
+    /**
+     * Grupo de exclusividade. No mesmo produto, a promoção se acumula com as de outros grupos, no máximo uma por
+     * grupo. Nulo significa exclusiva: não se acumula com nenhuma outra.
+     */
+    @Column(name = "EXCLUSIVITY_GROUP", length = 64)
+    private String exclusivityGroup;
+
+    /**
+     * Ordem de aplicação entre promoções acumuladas: maior prioridade primeiro, cada uma sobre o preço que sobrou das
+     * anteriores.
+     */
+    @ColumnDefault("0")
+    @Column(name = "PRIORITY", nullable = false)
+    private int priority;
+
+    /**
+     * Quantidade de números de série de cupom já reservados. Só é alterado por
+     * {@link com.loveacamp.promotions.repositories.CouponBatchRepository#reserveSerials}, nunca pelo update da promoção.
+     */
+    @ColumnDefault("0")
+    @Column(name = "COUPONS_ISSUED", nullable = false, updatable = false)
+    private long couponsIssued;
+
+    /**
+     * Limite de resgates da promoção somando todas as instâncias. Nulo significa sem limite.
+     */
+    @Column(name = "MAX_REDEMPTIONS")
+    private Long maxRedemptions;
+
+    /**
+     * Limite de resgates de cada pessoa. Nulo significa sem limite.
+     */
+    @Column(name = "MAX_REDEMPTIONS_PER_PERSON")
+    private Integer maxRedemptionsPerPerson;
+
+    /**
+     * Resgates já entregues em lotes às instâncias (ver {@link com.loveacamp.promotions.repositories.PromotionQuotaRepository}).
+     * Nunca passa de {@link #maxRedemptions}, o que garante que não há resgate além do limite.
+     */
+    @ColumnDefault("0")
+    @Column(name = "REDEMPTIONS_ALLOCATED", nullable = false, updatable = false)
+    private long redemptionsAllocated;
+
+    /**
+     * Resgates efetivados, gravados de forma assíncrona em lotes.
+     */
+    @ColumnDefault("0")
+    @Column(name = "REDEEMED", nullable = false, updatable = false)
+    private long redeemed;
+
+    public Promotion() {
+    }
+
+    public Promotion(Long id, String name, DiscountType discountType, BigDecimal value, DateTime startsAt, DateTime endsAt) {
+        this.id = id;
+        this.name = name;
+        this.discountType = discountType;
+        this.value = value;
+        this.startsAt = startsAt;
+        this.endsAt = endsAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Promotion setId(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Promotion setName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public DiscountType getDiscountType() {
+        return discountType;
+    }
+
+    public Promotion setDiscountType(DiscountType discountType) {
+        this.discountType = discountType;
+        return this;
+    }
+
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    public Promotion setValue(BigDecimal value) {
+        this.value = value;
+        return this;
+    }
+
+    public DateTime getStartsAt() {
+        return startsAt;
+    }
+
+    public Promotion setStartsAt(DateTime startsAt) {
+        this.startsAt = startsAt;
+        return this;
+    }
+
+    public DateTime getEndsAt() {
+        return endsAt;
+    }
+
+    public Promotion setEndsAt(DateTime endsAt) {
+        this.endsAt = endsAt;
+        return this;
+    }
+
+    public Set<Long> getProductIds() {
+        return productIds;
+    }
+
+    public Promotion setProductIds(Set<Long> productIds) {
+        this.productIds = productIds;
+        return this;
+    }
+
+    public String getProductNamePrefix() {
+        return productNamePrefix;
+    }
+
+    public Promotion setProductNamePrefix(String productNamePrefix) {
+        this.productNamePrefix = productNamePrefix;
+        return this;
+    }
+
+    public Set<UserLevel> getLevels() {
+        return levels;
+    }
+
+    public Promotion setLevels(Set<UserLevel> levels) {
+        this.levels = levels;
+        return this;
+    }
+
+    public long getCouponsIssued() {
+        return couponsIssued;
+    }
+
+    public Long getMaxRedemptions() {
+        return maxRedemptions;
+    }
+
+    public Promotion setMaxRedemptions(Long maxRedemptions) {
+        this.maxRedemptions = maxRedemptions;
+        return this;
+    }
+
+    public Long getAudienceId() {
+        return audienceId;
+    }
+
+    public Promotion setAudienceId(Long audienceId) {
+        this.audienceId = audienceId;
+        return this;
+    }
+
+    public String getExclusivityGroup() {
+        return exclusivityGroup;
+    }
+
+    public Promotion setExclusivityGroup(String exclusivityGroup) {
+        this.exclusivityGroup = exclusivityGroup;
+        return this;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public Promotion setPriority(int priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    public Integer getMaxRedemptionsPerPerson() {
+        return maxRedemptionsPerPerson;
+    }
+
+    public Promotion setMaxRedemptionsPerPerson(Integer maxRedemptionsPerPerson) {
+        this.maxRedemptionsPerPerson = maxRedemptionsPerPerson;
+        return this;
+    }
+
+    public long getRedemptionsAllocated() {
+        return redemptionsAllocated;
+    }
+
+    public long getRedeemed() {
+        return redeemed;
+    }
+}
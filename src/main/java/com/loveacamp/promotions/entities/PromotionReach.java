@@ -0,0 +1,79 @@
+package com.loveacamp.promotions.entities;
+
+import com.loveacamp.promotions.enums.ReachEvent;
+import jakarta.persistence.*;
+
+/**
+ * Pessoas distintas que viram ou resgataram uma promoção numa hora, como
+ * {@link com.loveacamp.promotions.utils.HyperLogLog} serializado, e não uma linha por pessoa. Gravado em batch por
+ * {@link com.loveacamp.promotions.services.impl.ReachTracker}.
+ */
+@Entity
+@IdClass(PromotionReachId.class)
+@Table(name = "PROMOTION_REACH")
+public class PromotionReach {
+    @Id
+    @Column(name = "PROMOTION_ID")
+    private Long promotionId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "EVENT", length = 16)
+    private ReachEvent event;
+
+    /**
+     * Hora coberta pelo sketch, em horas desde a época (UTC).
+     */
+    @Id
+    @Column(name = "HOUR_BUCKET")
+    private Long hour;
+
+    @Column(name = "SKETCH", nullable = false, length = Integer.MAX_VALUE)
+    private byte[] sketch;
+
+    public PromotionReach() {
+    }
+
+    public PromotionReach(Long promotionId, ReachEvent event, Long hour, byte[] sketch) {
+        this.promotionId = promotionId;
+        this.event = event;
+        this.hour = hour;
+        this.sketch = sketch;
+    }
+
+    public Long getPromotionId() {
+        return promotionId;
+    }
+
+    public PromotionReach setPromotionId(Long promotionId) {
+        this.promotionId = promotionId;
+        return this;
+    }
+
+    public ReachEvent getEvent() {
+        return event;
+    }
+
+    public PromotionReach setEvent(ReachEvent event) {
+        this.event = event;
+        return this;
+    }
+
+    public Long getHour() {
+        return hour;
+    }
+
+    public PromotionReach setHour(Long hour) {
+        this.hour = hour;
+        return this;
+    }
+
+    public byte[] getSketch() {
+        return sketch;
+    }
+
+    public PromotionReach setSketch(byte[] sketch) {
+        this.sketch = sketch;
+        return this;
+    }
+}
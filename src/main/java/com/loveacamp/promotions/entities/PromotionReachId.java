@@ -0,0 +1,42 @@
+package com.loveacamp.promotions.entities;
+
+import com.loveacamp.promotions.enums.ReachEvent;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class PromotionReachId implements Serializable {
+    private Long promotionId;
+
+    private ReachEvent event;
+
+    private Long hour;
+
+    public PromotionReachId() {
+    }
+
+    public PromotionReachId(Long promotionId, ReachEvent event, Long hour) {
+        this.promotionId = promotionId;
+        this.event = event;
+        this.hour = hour;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof PromotionReachId other)) {
+            return false;
+        }
+
+        return Objects.equals(this.promotionId, other.promotionId) && this.event == other.event
+                && Objects.equals(this.hour, other.hour);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.promotionId, this.event, this.hour);
+    }
+}
@@ -0,0 +1,59 @@
+package com.loveacamp.promotions.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * Quantos cupons de uma promoção uma pessoa já resgatou. Gravado em batch por
+ * {@link com.loveacamp.promotions.services.impl.PersonUsageTracker}, que mantém a contagem em memória.
+ */
+@Entity
+@IdClass(PromotionUsageId.class)
+@Table(name = "PROMOTION_USAGES")
+public class PromotionUsage {
+    @Id
+    @Column(name = "PROMOTION_ID")
+    private Long promotionId;
+
+    @Id
+    @Column(name = "PERSON_ID")
+    private Long personId;
+
+    @Column(name = "USES", nullable = false)
+    private Integer uses;
+
+    public PromotionUsage() {
+    }
+
+    public PromotionUsage(Long promotionId, Long personId, Integer uses) {
+        this.promotionId = promotionId;
+        this.personId = personId;
+        this.uses = uses;
+    }
+
+    public Long getPromotionId() {
+        return promotionId;
+    }
+
+    public PromotionUsage setPromotionId(Long promotionId) {
+        this.promotionId = promotionId;
+        return this;
+    }
+
+    public Long getPersonId() {
+        return personId;
+    }
+
+    public PromotionUsage setPersonId(Long personId) {
+        this.personId = personId;
+        return this;
+    }
+
+    public Integer getUses() {
+        return uses;
+    }
+
+    public PromotionUsage setUses(Integer uses) {
+        this.uses = uses;
+        return this;
+    }
+}
@@ -0,0 +1,36 @@
+package com.loveacamp.promotions.entities;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class PromotionUsageId implements Serializable {
+    private Long promotionId;
+
+    private Long personId;
+
+    public PromotionUsageId() {
+    }
+
+    public PromotionUsageId(Long promotionId, Long personId) {
+        this.promotionId = promotionId;
+        this.personId = personId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof PromotionUsageId other)) {
+            return false;
+        }
+
+        return Objects.equals(this.promotionId, other.promotionId) && Objects.equals(this.personId, other.personId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.promotionId, this.personId);
+    }
+}
@@ -1,14 +1,22 @@
 package com.loveacamp.promotions.entities;
 
+import com.loveacamp.promotions.config.PooledSequenceGenerator;
 import com.loveacamp.promotions.enums.UserLevel;
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 
 @Entity
-@Table(name = "USERS")
+@Table(name = "USERS", uniqueConstraints = @UniqueConstraint(name = User.UK_USERNAME, columnNames = "USERNAME"))
 public class User {
+    public static final String UK_USERNAME = "UK_USERS_USERNAME";
+
     @Id
-    @GeneratedValue(strategy=GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "User_SEQ")
+    @GenericGenerator(name = "User_SEQ", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "User_SEQ"))
     @Column(name = "ID")
     private Long id;
 
@@ -0,0 +1,7 @@
+package com.loveacamp.promotions.enums;
+
+public enum CouponClaimResult {
+    CLAIMED,
+    INVALID,
+    SLOT_TAKEN
+}
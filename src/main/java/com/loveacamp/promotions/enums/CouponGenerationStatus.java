@@ -0,0 +1,7 @@
+package com.loveacamp.promotions.enums;
+
+public enum CouponGenerationStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
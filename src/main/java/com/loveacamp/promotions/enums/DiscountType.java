@@ -0,0 +1,6 @@
+package com.loveacamp.promotions.enums;
+
+public enum DiscountType {
+    PERCENTAGE,
+    FIXED
+}
@@ -0,0 +1,6 @@
+package com.loveacamp.promotions.enums;
+
+public enum ReachEvent {
+    IMPRESSION,
+    REDEMPTION
+}
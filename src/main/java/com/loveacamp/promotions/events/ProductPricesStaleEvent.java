@@ -0,0 +1,17 @@
+package com.loveacamp.promotions.events;
+
+/**
+ * Publicado pelo {@link com.loveacamp.promotions.services.impl.PromotionEngine} depois de uma alteração que pode mudar
+ * o melhor desconto de alguns produtos.
+ *
+ * @param productIds produtos afetados, ou {@code null} se a alteração vale para todos (promoção sem escopo)
+ */
+public record ProductPricesStaleEvent(long[] productIds) {
+    public static ProductPricesStaleEvent allProducts() {
+        return new ProductPricesStaleEvent(null);
+    }
+
+    public boolean isAllProducts() {
+        return this.productIds == null;
+    }
+}
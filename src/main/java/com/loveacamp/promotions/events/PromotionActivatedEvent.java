@@ -0,0 +1,12 @@
+package com.loveacamp.promotions.events;
+
+import org.joda.time.DateTime;
+
+/**
+ * Publicado quando uma promoção entra no índice de avaliação por ter alcançado o início da vigência.
+ *
+ * @param scheduledAt início da vigência da promoção
+ * @param firedAt     instante em que o agendador efetivamente ativou a promoção
+ */
+public record PromotionActivatedEvent(Long promotionId, DateTime scheduledAt, DateTime firedAt) {
+}
@@ -0,0 +1,12 @@
+package com.loveacamp.promotions.events;
+
+import org.joda.time.DateTime;
+
+/**
+ * Publicado quando uma promoção sai do índice de avaliação por ter alcançado o fim da vigência.
+ *
+ * @param scheduledAt fim da vigência da promoção
+ * @param firedAt     instante em que o agendador efetivamente expirou a promoção
+ */
+public record PromotionExpiredEvent(Long promotionId, DateTime scheduledAt, DateTime firedAt) {
+}
@@ -0,0 +1,64 @@
+package com.loveacamp.promotions.exception;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Conta as exceções lançadas pelos controllers em promotions.http.errors{type, exception, handler} antes que
+ * {@link ValidationException} ou o {@code @ResponseStatus} de {@link BadRequestException} gerem a resposta.
+ * Não resolve nada: sempre devolve {@code null} para que o próximo resolver trate a exceção.
+ */
+@Component
+public class ErrorMetricsResolver implements HandlerExceptionResolver, Ordered {
+    public static final String ERRORS = "promotions.http.errors";
+
+    private final MeterRegistry registry;
+
+    public ErrorMetricsResolver(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Counter.builder(ERRORS)
+                .tag("type", type(ex))
+                .tag("exception", ex.getClass().getSimpleName())
+                .tag("handler", handler instanceof HandlerMethod method
+                        ? method.getBeanType().getSimpleName() + "." + method.getMethod().getName()
+                        : "none")
+                .register(this.registry)
+                .increment();
+
+        return null;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private static String type(Exception ex) {
+        if (ex instanceof BadRequestException) {
+            return "bad_request";
+        }
+
+        if (ex instanceof MethodArgumentNotValidException || ex instanceof ConstraintViolationException) {
+            return "validation";
+        }
+
+        if (ex instanceof RedemptionOutcomeUnknownException) {
+            return "outcome_unknown";
+        }
+
+        return "other";
+    }
+}
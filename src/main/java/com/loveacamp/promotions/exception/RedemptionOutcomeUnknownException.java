@@ -0,0 +1,16 @@
+package com.loveacamp.promotions.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * O resgate pode ou não ter sido registrado: o cupom foi marcado no banco, mas não foi possível confirmar o registro
+ * nem desfazê-lo. A cota e o uso por pessoa continuam consumidos; antes de tentar de novo, o cliente deve consultar o
+ * cupom.
+ */
+@ResponseStatus(code = HttpStatus.SERVICE_UNAVAILABLE)
+public class RedemptionOutcomeUnknownException extends RuntimeException {
+    public RedemptionOutcomeUnknownException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
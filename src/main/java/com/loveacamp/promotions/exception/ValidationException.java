@@ -1,5 +1,9 @@
 package com.loveacamp.promotions.exception;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.ElementKind;
+import jakarta.validation.Path;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -30,6 +34,30 @@ public class ValidationException {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Violações em parâmetros de controllers {@code @Validated}, como {@code @RequestParam}; o campo é o nome do
+     * parâmetro.
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ValidationErrorResponse> handleConstraintViolations(ConstraintViolationException ex) {
+        ValidationErrorResponse errorResponse = new ValidationErrorResponse();
+
+        for (ConstraintViolation<?> violation : ex.getConstraintViolations()) {
+            String field = null;
+
+            for (Path.Node node : violation.getPropertyPath()) {
+                if (node.getKind() == ElementKind.PARAMETER) {
+                    field = node.getName();
+                }
+            }
+
+            String code = violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName();
+            errorResponse.getErrors().add(new ValidationError(violation.getMessage(), field, code));
+        }
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     public static class ValidationError {
         private String message;
         private String field;
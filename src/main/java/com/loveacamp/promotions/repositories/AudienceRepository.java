@@ -0,0 +1,14 @@
+package com.loveacamp.promotions.repositories;
+
+import com.loveacamp.promotions.entities.Audience;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AudienceRepository extends JpaRepository<Audience, Long> {
+    @Query("SELECT a.id FROM Audience a")
+    List<Long> findAllIds();
+}
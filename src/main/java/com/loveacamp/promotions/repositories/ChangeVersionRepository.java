@@ -0,0 +1,19 @@
+package com.loveacamp.promotions.repositories;
+
+import com.loveacamp.promotions.entities.ChangeVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ChangeVersionRepository extends JpaRepository<ChangeVersion, String> {
+    @Modifying
+    @Query("UPDATE ChangeVersion v SET v.version = v.version + 1 WHERE v.name = ?1")
+    int increment(String name);
+
+    @Query("SELECT v.version FROM ChangeVersion v WHERE v.name = ?1")
+    Optional<Long> findVersionByName(String name);
+}
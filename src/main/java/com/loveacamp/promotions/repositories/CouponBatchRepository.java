@@ -0,0 +1,61 @@
+package com.loveacamp.promotions.repositories;
+
+import com.loveacamp.promotions.enums.CouponClaimResult;
+
+import java.util.List;
+
+/**
+ * Operações de cupom em JDBC puro, para geração em massa sem passar pelo contexto de persistência do JPA.
+ */
+public interface CouponBatchRepository {
+    /**
+     * Vaga de {@link #claim} nas promoções sem limite por pessoa.
+     */
+    int NO_SLOT = -1;
+
+    /**
+     * Reserva {@code quantity} números de série de cupom da promoção, de forma atômica entre instâncias.
+     *
+     * @return o primeiro número reservado, ou {@code -1} se a promoção não existir ou a reserva passar de {@code max}
+     */
+    long reserveSerials(long promotionId, long quantity, long max);
+
+    /**
+     * Insere as {@code count} primeiras posições de {@code codes} num único batch JDBC, numa transação própria.
+     */
+    void insertBatch(long promotionId, long[] codes, int count);
+
+    /**
+     * Marca o cupom como usado por {@code personId} em {@code redeemedAt} (epoch millis) com um único {@code UPDATE}
+     * condicional, sem abrir transação: entre instâncias, só um resgate do mesmo código passa. Nas promoções com limite
+     * por pessoa, o resgate ocupa a vaga {@code slot} da pessoa, e no mesmo comando
+     * {@link com.loveacamp.promotions.entities.Coupon#UK_PERSON_SLOT} garante que ela não esteja ocupada; sem limite,
+     * {@code slot} é {@link #NO_SLOT}.
+     *
+     * @return {@link CouponClaimResult#INVALID} se o cupom não existe, não é da promoção ou já foi usado, ou
+     * {@link CouponClaimResult#SLOT_TAKEN} se a vaga já é de outro resgate; nos dois casos nada é gravado
+     */
+    CouponClaimResult claim(long code, long promotionId, long personId, int slot, long redeemedAt);
+
+    /**
+     * As vagas já ocupadas pelos resgates da pessoa na promoção (ver {@link #claim}).
+     */
+    List<Integer> findSlots(long promotionId, long personId);
+
+    /**
+     * Se o cupom está marcado como usado exatamente em {@code redeemedAt}, isto é, se o {@link #claim} com esse instante
+     * chegou ao banco.
+     */
+    boolean isClaimedAt(long code, long redeemedAt);
+
+    /**
+     * Percorre os números de série já reservados ({@code COUPONS_ISSUED}) de cada promoção que tem algum: os cupons da
+     * promoção são os códigos dos números de {@code 0} a {@code issued - 1}, gravados ou ainda em geração.
+     */
+    void forEachIssued(IssuedHandler handler);
+
+    @FunctionalInterface
+    interface IssuedHandler {
+        void accept(long promotionId, long issued);
+    }
+}
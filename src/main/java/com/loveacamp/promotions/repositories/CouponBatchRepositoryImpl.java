@@ -0,0 +1,97 @@
+package com.loveacamp.promotions.repositories;
+
+import com.loveacamp.promotions.enums.CouponClaimResult;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+class CouponBatchRepositoryImpl implements CouponBatchRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    CouponBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public long reserveSerials(long promotionId, long quantity, long max) {
+        // O UPDATE trava a linha até o commit, então o SELECT seguinte lê exatamente o valor gravado por ele.
+        int updated = this.jdbcTemplate.update(
+                "UPDATE PROMOTIONS SET COUPONS_ISSUED = COUPONS_ISSUED + ? WHERE ID = ? AND COUPONS_ISSUED <= ?",
+                quantity, promotionId, max - quantity);
+
+        if (updated == 0) {
+            return -1;
+        }
+
+        Long issued = this.jdbcTemplate.queryForObject("SELECT COUPONS_ISSUED FROM PROMOTIONS WHERE ID = ?", Long.class, promotionId);
+
+        return issued - quantity;
+    }
+
+    @Override
+    @Transactional
+    public void insertBatch(long promotionId, long[] codes, int count) {
+        this.jdbcTemplate.batchUpdate("INSERT INTO COUPONS (CODE, PROMOTION_ID) VALUES (?, ?)", new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, codes[i]);
+                ps.setLong(2, promotionId);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return count;
+            }
+        });
+    }
+
+    /**
+     * Com uma vaga, a única restrição que o {@code UPDATE} pode violar é a da vaga da pessoa.
+     */
+    @Override
+    public CouponClaimResult claim(long code, long promotionId, long personId, int slot, long redeemedAt) {
+        try {
+            int updated = this.jdbcTemplate.update(
+                    "UPDATE COUPONS SET REDEEMED_AT = ?, REDEEMED_BY = ?, REDEEMED_SLOT = ? WHERE CODE = ? AND PROMOTION_ID = ? AND REDEEMED_AT IS NULL",
+                    new Timestamp(redeemedAt), personId, new SqlParameterValue(Types.INTEGER, slot == NO_SLOT ? null : slot),
+                    code, promotionId);
+
+            return updated == 1 ? CouponClaimResult.CLAIMED : CouponClaimResult.INVALID;
+        } catch (DuplicateKeyException e) {
+            return CouponClaimResult.SLOT_TAKEN;
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Integer> findSlots(long promotionId, long personId) {
+        return this.jdbcTemplate.queryForList(
+                "SELECT REDEEMED_SLOT FROM COUPONS WHERE PROMOTION_ID = ? AND REDEEMED_BY = ? AND REDEEMED_SLOT IS NOT NULL",
+                Integer.class, promotionId, personId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isClaimedAt(long code, long redeemedAt) {
+        Integer count = this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM COUPONS WHERE CODE = ? AND REDEEMED_AT = ?",
+                Integer.class, code, new Timestamp(redeemedAt));
+
+        return count != null && count > 0;
+    }
+
+    @Override
+    public void forEachIssued(IssuedHandler handler) {
+        this.jdbcTemplate.query("SELECT ID, COUPONS_ISSUED FROM PROMOTIONS WHERE COUPONS_ISSUED > 0",
+                (RowCallbackHandler) rs -> handler.accept(rs.getLong(1), rs.getLong(2)));
+    }
+}
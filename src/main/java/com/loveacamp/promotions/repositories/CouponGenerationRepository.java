@@ -0,0 +1,56 @@
+package com.loveacamp.promotions.repositories;
+
+import com.loveacamp.promotions.entities.CouponGeneration;
+import com.loveacamp.promotions.enums.CouponGenerationStatus;
+import org.joda.time.DateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/**
+ * As alterações só valem para gerações ainda {@code RUNNING}: uma geração já encerrada, inclusive por
+ * {@link #failStalled}, não volta a andar.
+ */
+@Repository
+public interface CouponGenerationRepository extends JpaRepository<CouponGeneration, Long> {
+    /**
+     * Grava o progresso e renova {@code UPDATED_AT}.
+     *
+     * @return {@code 0} se a geração não está mais {@code RUNNING}
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE CouponGeneration g SET g.generated = ?2, g.updatedAt = ?3 "
+            + "WHERE g.id = ?1 AND g.status = com.loveacamp.promotions.enums.CouponGenerationStatus.RUNNING")
+    int advance(Long id, long generated, DateTime updatedAt);
+
+    /**
+     * Renova {@code UPDATED_AT} das gerações desta instância, inclusive as que ainda esperam na fila.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE CouponGeneration g SET g.updatedAt = ?2 "
+            + "WHERE g.id IN ?1 AND g.status = com.loveacamp.promotions.enums.CouponGenerationStatus.RUNNING")
+    int touch(Collection<Long> ids, DateTime updatedAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE CouponGeneration g SET g.status = ?2, g.finishedAt = ?3 "
+            + "WHERE g.id = ?1 AND g.status = com.loveacamp.promotions.enums.CouponGenerationStatus.RUNNING")
+    int finish(Long id, CouponGenerationStatus status, DateTime finishedAt);
+
+    /**
+     * Encerra como {@code FAILED} as gerações {@code RUNNING} que ninguém renova desde {@code before}: a instância que
+     * as executava caiu.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE CouponGeneration g SET g.status = com.loveacamp.promotions.enums.CouponGenerationStatus.FAILED, "
+            + "g.finishedAt = ?2 "
+            + "WHERE g.status = com.loveacamp.promotions.enums.CouponGenerationStatus.RUNNING AND g.updatedAt < ?1")
+    int failStalled(DateTime before, DateTime finishedAt);
+}
@@ -0,0 +1,19 @@
+package com.loveacamp.promotions.repositories;
+
+import com.loveacamp.promotions.entities.Coupon;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CouponRepository extends JpaRepository<Coupon, Long>, CouponBatchRepository {
+    List<Coupon> findByPromotionIdAndCodeGreaterThanOrderByCodeAsc(Long promotionId, Long code, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Coupon c WHERE c.promotionId = ?1")
+    int deleteByPromotionId(Long promotionId);
+}
@@ -1,21 +1,31 @@
 package com.loveacamp.promotions.repositories;
 
 import com.loveacamp.promotions.entities.Person;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PersonRepository  extends JpaRepository<Person, Long> {
 
     Optional<Person> findByEmail(String email);
 
-    @Query("""
-            SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END
-            FROM Person p  WHERE p.email = :email AND p.id <> :id        
-    """)
-    boolean existsByEmailNotId(@Param("email") String email, @Param("id") long id);
+    boolean existsByEmailAndIdNot(String email, long id);
+
+    List<Person> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Person p ORDER BY p.id")
+    Stream<Person> streamAll();
 }
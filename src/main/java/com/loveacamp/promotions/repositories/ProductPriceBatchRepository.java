@@ -0,0 +1,30 @@
+package com.loveacamp.promotions.repositories;
+
+import org.joda.time.DateTime;
+
+import java.math.BigDecimal;
+
+/**
+ * Gravação em JDBC puro da tabela de melhores preços, sem carregar entidades no contexto de persistência.
+ */
+public interface ProductPriceBatchRepository {
+    /**
+     * Grava o preço e o melhor desconto de {@code productIds[i]} para as {@code count} primeiras posições, criando as
+     * linhas que ainda não existem, numa única transação. {@code promotionIds[i]} é {@code null} se nenhuma promoção
+     * vale para o produto.
+     */
+    void upsert(long[] productIds, BigDecimal[] prices, Long[] promotionIds, BigDecimal[] discounts, DateTime updatedAt, int count);
+
+    /**
+     * Remove as linhas das {@code count} primeiras posições de {@code productIds}.
+     */
+    void delete(long[] productIds, int count);
+
+    /**
+     * Remove as linhas de produtos que não existem mais ou estão sem preço. Decide pelo estado de {@code PRODUCT}, não
+     * por quando a linha foi gravada, então não apaga o que uma recomposição em outra instância acabou de gravar.
+     *
+     * @return quantas linhas foram removidas
+     */
+    int deleteUnpriced();
+}
@@ -0,0 +1,116 @@
+package com.loveacamp.promotions.repositories;
+
+import org.joda.time.DateTime;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+class ProductPriceBatchRepositoryImpl implements ProductPriceBatchRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    ProductPriceBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Um batch de UPDATE e, só para as linhas que ele não encontrou, um batch de INSERT, como em
+     * {@link PromotionUsageBatchRepositoryImpl#addUsages}.
+     */
+    @Override
+    @Transactional
+    public void upsert(long[] productIds, BigDecimal[] prices, Long[] promotionIds, BigDecimal[] discounts, DateTime updatedAt, int count) {
+        Timestamp timestamp = new Timestamp(updatedAt.getMillis());
+
+        int[] updated = this.jdbcTemplate.batchUpdate(
+                "UPDATE PRODUCT_PRICES SET PRICE = ?, PROMOTION_ID = ?, DISCOUNT = ?, FINAL_PRICE = ?, UPDATED_AT = ? WHERE PRODUCT_ID = ?",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        setPrice(ps, 1, prices[i], promotionIds[i], discounts[i], timestamp);
+                        ps.setLong(6, productIds[i]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return count;
+                    }
+                });
+
+        int[] missing = new int[count];
+        int missingCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            if (updated[i] == 0) {
+                missing[missingCount++] = i;
+            }
+        }
+
+        if (missingCount == 0) {
+            return;
+        }
+
+        int inserts = missingCount;
+
+        this.jdbcTemplate.batchUpdate(
+                "INSERT INTO PRODUCT_PRICES (PRICE, PROMOTION_ID, DISCOUNT, FINAL_PRICE, UPDATED_AT, PRODUCT_ID) VALUES (?, ?, ?, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        int j = missing[i];
+
+                        setPrice(ps, 1, prices[j], promotionIds[j], discounts[j], timestamp);
+                        ps.setLong(6, productIds[j]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return inserts;
+                    }
+                });
+    }
+
+    @Override
+    @Transactional
+    public void delete(long[] productIds, int count) {
+        this.jdbcTemplate.batchUpdate("DELETE FROM PRODUCT_PRICES WHERE PRODUCT_ID = ?",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, productIds[i]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return count;
+                    }
+                });
+    }
+
+    @Override
+    @Transactional
+    public int deleteUnpriced() {
+        return this.jdbcTemplate.update("DELETE FROM PRODUCT_PRICES pp WHERE NOT EXISTS "
+                + "(SELECT 1 FROM PRODUCT p WHERE p.ID = pp.PRODUCT_ID AND p.PRICE IS NOT NULL)");
+    }
+
+    private static void setPrice(PreparedStatement ps, int index, BigDecimal price, Long promotionId, BigDecimal discount,
+                                 Timestamp updatedAt) throws SQLException {
+        ps.setBigDecimal(index, price);
+
+        if (promotionId == null) {
+            ps.setNull(index + 1, Types.BIGINT);
+        } else {
+            ps.setLong(index + 1, promotionId);
+        }
+
+        ps.setBigDecimal(index + 2, discount);
+        ps.setBigDecimal(index + 3, price.subtract(discount));
+        ps.setTimestamp(index + 4, updatedAt);
+    }
+}
@@ -0,0 +1,13 @@
+package com.loveacamp.promotions.repositories;
+
+import com.loveacamp.promotions.entities.ProductPrice;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductPriceRepository extends JpaRepository<ProductPrice, Long>, ProductPriceBatchRepository {
+    List<ProductPrice> findByProductIdGreaterThanOrderByProductIdAsc(Long productId, Pageable pageable);
+}
@@ -1,14 +1,39 @@
 package com.loveacamp.promotions.repositories;
 
 import com.loveacamp.promotions.entities.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository  extends JpaRepository<Product, Long> {
     Optional<Product> findByName(String name);
 
-    Optional<Product> findByIdAndName(Long id, String name);
+    boolean existsByNameAndIdNot(String name, Long id);
+
+    @Query("SELECT p.name FROM Product p WHERE p.name IN :names")
+    Set<String> findNamesIn(@Param("names") Collection<String> names);
+
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT p.id FROM Product p WHERE LOWER(p.name) LIKE ?#{escape([0])}% ESCAPE ?#{escapeCharacter()}")
+    List<Long> findIdsByNamePrefix(String prefix);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAll();
 }
@@ -0,0 +1,31 @@
+package com.loveacamp.promotions.repositories;
+
+import org.joda.time.DateTime;
+
+/**
+ * Cota de resgates das promoções em JDBC puro: a linha da promoção só é travada para entregar um lote de resgates a
+ * uma instância e para gravar em lote o que foi consumido, nunca a cada resgate.
+ */
+public interface PromotionQuotaRepository {
+    /**
+     * Entrega até {@code chunk} resgates da promoção, respeitando {@code MAX_REDEMPTIONS}, se ela estiver vigente em
+     * {@code now}.
+     *
+     * @return o lote entregue; {@link RedemptionChunk#granted()} é 0 se a promoção não existir, não estiver vigente ou
+     * estiver esgotada
+     */
+    RedemptionChunk claimRedemptions(long promotionId, long chunk, DateTime now);
+
+    /**
+     * Soma {@code redeemed[i]} aos resgates efetivados e devolve {@code released[i]} resgates não usados ao saldo da
+     * promoção {@code promotionIds[i]}, num único batch JDBC.
+     */
+    void flushRedemptions(long[] promotionIds, long[] redeemed, long[] released, int count);
+
+    /**
+     * @param maxPerPerson {@code MAX_REDEMPTIONS_PER_PERSON} da promoção, ou {@code null} se não houver limite
+     */
+    record RedemptionChunk(long granted, DateTime endsAt, Integer maxPerPerson) {
+        public static final RedemptionChunk NONE = new RedemptionChunk(0, null, null);
+    }
+}
@@ -0,0 +1,64 @@
+package com.loveacamp.promotions.repositories;
+
+import org.joda.time.DateTime;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+class PromotionQuotaRepositoryImpl implements PromotionQuotaRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    PromotionQuotaRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public RedemptionChunk claimRedemptions(long promotionId, long chunk, DateTime now) {
+        Timestamp timestamp = new Timestamp(now.getMillis());
+        List<RedemptionChunk> chunks = this.jdbcTemplate.query(
+                "SELECT MAX_REDEMPTIONS, MAX_REDEMPTIONS_PER_PERSON, REDEMPTIONS_ALLOCATED, ENDS_AT FROM PROMOTIONS WHERE ID = ? AND STARTS_AT <= ? AND ENDS_AT > ? FOR UPDATE",
+                (rs, rowNum) -> {
+                    long max = rs.getLong("MAX_REDEMPTIONS");
+                    long granted = rs.wasNull() ? chunk : Math.min(chunk, max - rs.getLong("REDEMPTIONS_ALLOCATED"));
+                    Integer maxPerPerson = rs.getObject("MAX_REDEMPTIONS_PER_PERSON", Integer.class);
+
+                    return new RedemptionChunk(Math.max(0, granted), new DateTime(rs.getTimestamp("ENDS_AT").getTime()), maxPerPerson);
+                },
+                promotionId, timestamp, timestamp);
+
+        if (chunks.isEmpty() || chunks.get(0).granted() == 0) {
+            return RedemptionChunk.NONE;
+        }
+
+        this.jdbcTemplate.update("UPDATE PROMOTIONS SET REDEMPTIONS_ALLOCATED = REDEMPTIONS_ALLOCATED + ? WHERE ID = ?",
+                chunks.get(0).granted(), promotionId);
+
+        return chunks.get(0);
+    }
+
+    @Override
+    @Transactional
+    public void flushRedemptions(long[] promotionIds, long[] redeemed, long[] released, int count) {
+        this.jdbcTemplate.batchUpdate(
+                "UPDATE PROMOTIONS SET REDEEMED = REDEEMED + ?, REDEMPTIONS_ALLOCATED = REDEMPTIONS_ALLOCATED - ? WHERE ID = ?",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, redeemed[i]);
+                        ps.setLong(2, released[i]);
+                        ps.setLong(3, promotionIds[i]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return count;
+                    }
+                });
+    }
+}
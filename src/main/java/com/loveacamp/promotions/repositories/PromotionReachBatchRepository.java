@@ -0,0 +1,21 @@
+package com.loveacamp.promotions.repositories;
+
+import com.loveacamp.promotions.enums.ReachEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * Leitura e gravação dos sketches de alcance em JDBC puro, sem carregar entidades no contexto de persistência.
+ */
+public interface PromotionReachBatchRepository {
+    /**
+     * Junta {@code sketches[i]} ao sketch gravado de {@code promotionIds[i]}, {@code events[i]} e {@code hours[i]},
+     * criando as linhas que ainda não existem, para as {@code count} primeiras posições e numa única transação.
+     */
+    void mergeSketches(long[] promotionIds, ReachEvent[] events, long[] hours, byte[][] sketches, int count);
+
+    /**
+     * Percorre, sem carregar tudo em memória de uma vez, os sketches da promoção nas horas {@code [fromHour, toHour)}.
+     */
+    void forEachSketch(long promotionId, ReachEvent event, long fromHour, long toHour, Consumer<byte[]> consumer);
+}
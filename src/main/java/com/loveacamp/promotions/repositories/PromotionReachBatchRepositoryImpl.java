@@ -0,0 +1,148 @@
+package com.loveacamp.promotions.repositories;
+
+import com.loveacamp.promotions.enums.ReachEvent;
+import com.loveacamp.promotions.utils.HyperLogLog;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class PromotionReachBatchRepositoryImpl implements PromotionReachBatchRepository {
+    private static final int FETCH_SIZE = 1_000;
+
+    /**
+     * Chaves por SELECT de trava: 3 parâmetros cada, bem abaixo do limite de parâmetros por comando do driver.
+     */
+    private static final int LOCK_CHUNK_SIZE = 100;
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparingLong(Key::promotionId)
+            .thenComparing(key -> key.event().name())
+            .thenComparingLong(Key::hour);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    PromotionReachBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Lê com {@code FOR UPDATE}, pela chave primária, só as linhas das chaves recebidas, junta os sketches em memória e
+     * grava um batch de UPDATE e outro de INSERT para as linhas que não existiam. A trava serializa os flushes de
+     * instâncias diferentes sobre a mesma linha, então nenhum merge se perde, sem bloquear as demais promoções da mesma
+     * hora. As chaves são travadas sempre na mesma ordem, para que dois flushes concorrentes não se travem mutuamente. Se outra instância inserir a mesma linha no meio, a chave primária
+     * derruba a transação inteira e quem chamou refaz tudo depois, como em
+     * {@link PromotionUsageBatchRepositoryImpl#addUsages}; refazer é seguro porque o merge é idempotente.
+     */
+    @Override
+    @Transactional
+    public void mergeSketches(long[] promotionIds, ReachEvent[] events, long[] hours, byte[][] sketches, int count) {
+        Key[] keys = IntStream.range(0, count)
+                .mapToObj(i -> new Key(promotionIds[i], events[i], hours[i]))
+                .sorted(KEY_ORDER)
+                .toArray(Key[]::new);
+        Map<Key, byte[]> stored = new HashMap<>();
+
+        for (int from = 0; from < keys.length; from += LOCK_CHUNK_SIZE) {
+            this.lock(Arrays.copyOfRange(keys, from, Math.min(from + LOCK_CHUNK_SIZE, keys.length)), stored);
+        }
+
+        byte[][] merged = new byte[count][];
+        int[] updates = new int[count];
+        int[] inserts = new int[count];
+        int updateCount = 0;
+        int insertCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            byte[] current = stored.get(new Key(promotionIds[i], events[i], hours[i]));
+
+            if (current == null) {
+                merged[i] = sketches[i];
+                inserts[insertCount++] = i;
+            } else {
+                merged[i] = HyperLogLog.fromBytes(current).merge(sketches[i]).toBytes();
+                updates[updateCount++] = i;
+            }
+        }
+
+        this.write("UPDATE PROMOTION_REACH SET SKETCH = ? WHERE PROMOTION_ID = ? AND EVENT = ? AND HOUR_BUCKET = ?",
+                updates, updateCount, promotionIds, events, hours, merged);
+        this.write("INSERT INTO PROMOTION_REACH (SKETCH, PROMOTION_ID, EVENT, HOUR_BUCKET) VALUES (?, ?, ?, ?)",
+                inserts, insertCount, promotionIds, events, hours, merged);
+    }
+
+    /**
+     * Transacional porque o driver do Postgres só usa cursor (e respeita o fetch size) fora de autocommit.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachSketch(long promotionId, ReachEvent event, long fromHour, long toHour, Consumer<byte[]> consumer) {
+        this.jdbcTemplate.query(connection -> {
+                    PreparedStatement ps = connection.prepareStatement(
+                            "SELECT SKETCH FROM PROMOTION_REACH WHERE PROMOTION_ID = ? AND EVENT = ? AND HOUR_BUCKET >= ? AND HOUR_BUCKET < ?");
+                    ps.setFetchSize(FETCH_SIZE);
+                    ps.setLong(1, promotionId);
+                    ps.setString(2, event.name());
+                    ps.setLong(3, fromHour);
+                    ps.setLong(4, toHour);
+
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> consumer.accept(rs.getBytes(1)));
+    }
+
+    private void lock(Key[] keys, Map<Key, byte[]> stored) {
+        Object[] args = new Object[keys.length * 3];
+
+        for (int i = 0; i < keys.length; i++) {
+            args[3 * i] = keys[i].promotionId();
+            args[3 * i + 1] = keys[i].event().name();
+            args[3 * i + 2] = keys[i].hour();
+        }
+
+        String where = Arrays.stream(keys)
+                .map(key -> "(PROMOTION_ID = ? AND EVENT = ? AND HOUR_BUCKET = ?)")
+                .collect(Collectors.joining(" OR "));
+
+        this.jdbcTemplate.query(
+                "SELECT PROMOTION_ID, EVENT, HOUR_BUCKET, SKETCH FROM PROMOTION_REACH WHERE " + where
+                        + " ORDER BY PROMOTION_ID, EVENT, HOUR_BUCKET FOR UPDATE",
+                (RowCallbackHandler) rs -> stored.put(new Key(rs.getLong(1), ReachEvent.valueOf(rs.getString(2)), rs.getLong(3)), rs.getBytes(4)),
+                args);
+    }
+
+    private void write(String sql, int[] rows, int count, long[] promotionIds, ReachEvent[] events, long[] hours, byte[][] sketches) {
+        if (count == 0) {
+            return;
+        }
+
+        this.jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                int j = rows[i];
+
+                ps.setBytes(1, sketches[j]);
+                ps.setLong(2, promotionIds[j]);
+                ps.setString(3, events[j].name());
+                ps.setLong(4, hours[j]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return count;
+            }
+        });
+    }
+
+    private record Key(long promotionId, ReachEvent event, long hour) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.loveacamp.promotions.repositories;
+
+import com.loveacamp.promotions.entities.PromotionReach;
+import com.loveacamp.promotions.entities.PromotionReachId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PromotionReachRepository extends JpaRepository<PromotionReach, PromotionReachId>, PromotionReachBatchRepository {
+    @Modifying
+    @Query("DELETE FROM PromotionReach r WHERE r.promotionId = ?1")
+    int deleteByPromotionId(Long promotionId);
+}
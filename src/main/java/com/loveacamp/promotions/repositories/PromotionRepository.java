@@ -0,0 +1,21 @@
+package com.loveacamp.promotions.repositories;
+
+import com.loveacamp.promotions.entities.Promotion;
+import org.joda.time.DateTime;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PromotionRepository extends JpaRepository<Promotion, Long>, PromotionQuotaRepository {
+    @Query("SELECT DISTINCT p FROM Promotion p LEFT JOIN FETCH p.productIds LEFT JOIN FETCH p.levels WHERE p.endsAt > :now")
+    List<Promotion> findNotEndedAt(@Param("now") DateTime now);
+
+    List<Promotion> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    boolean existsByAudienceId(Long audienceId);
+}
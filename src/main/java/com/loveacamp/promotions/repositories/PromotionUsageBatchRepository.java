@@ -0,0 +1,24 @@
+package com.loveacamp.promotions.repositories;
+
+import org.joda.time.DateTime;
+
+/**
+ * Leitura e gravação dos usos por pessoa em JDBC puro, sem carregar entidades no contexto de persistência.
+ */
+public interface PromotionUsageBatchRepository {
+    /**
+     * Percorre, sem carregar tudo em memória de uma vez, os usos das promoções ainda não encerradas em {@code now}.
+     */
+    void forEachUsageNotEndedAt(DateTime now, UsageHandler handler);
+
+    /**
+     * Soma {@code deltas[i]} aos usos de {@code personIds[i]} na promoção {@code promotionIds[i]}, criando as linhas
+     * que ainda não existem, para as {@code count} primeiras posições e numa única transação.
+     */
+    void addUsages(long[] promotionIds, long[] personIds, int[] deltas, int count);
+
+    @FunctionalInterface
+    interface UsageHandler {
+        void accept(long promotionId, long personId, int uses);
+    }
+}
@@ -0,0 +1,94 @@
+package com.loveacamp.promotions.repositories;
+
+import org.joda.time.DateTime;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+class PromotionUsageBatchRepositoryImpl implements PromotionUsageBatchRepository {
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    PromotionUsageBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Transacional porque o driver do Postgres só usa cursor (e respeita o fetch size) fora de autocommit.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachUsageNotEndedAt(DateTime now, UsageHandler handler) {
+        this.jdbcTemplate.query(connection -> {
+                    PreparedStatement ps = connection.prepareStatement(
+                            "SELECT U.PROMOTION_ID, U.PERSON_ID, U.USES FROM PROMOTION_USAGES U JOIN PROMOTIONS P ON P.ID = U.PROMOTION_ID WHERE P.ENDS_AT > ?");
+                    ps.setFetchSize(FETCH_SIZE);
+                    ps.setTimestamp(1, new Timestamp(now.getMillis()));
+
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> handler.accept(rs.getLong(1), rs.getLong(2), rs.getInt(3)));
+    }
+
+    /**
+     * Um batch de UPDATE e, só para as linhas que ele não encontrou, um batch de INSERT. Se outra instância inserir a
+     * mesma linha no meio, a chave primária derruba a transação inteira e quem chamou refaz tudo depois, quando o
+     * UPDATE já encontra a linha.
+     */
+    @Override
+    @Transactional
+    public void addUsages(long[] promotionIds, long[] personIds, int[] deltas, int count) {
+        int[] updated = this.jdbcTemplate.batchUpdate(
+                "UPDATE PROMOTION_USAGES SET USES = USES + ? WHERE PROMOTION_ID = ? AND PERSON_ID = ?",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setInt(1, deltas[i]);
+                        ps.setLong(2, promotionIds[i]);
+                        ps.setLong(3, personIds[i]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return count;
+                    }
+                });
+
+        int[] missing = new int[count];
+        int missingCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            if (updated[i] == 0) {
+                missing[missingCount++] = i;
+            }
+        }
+
+        if (missingCount == 0) {
+            return;
+        }
+
+        int inserts = missingCount;
+
+        this.jdbcTemplate.batchUpdate(
+                "INSERT INTO PROMOTION_USAGES (PROMOTION_ID, PERSON_ID, USES) VALUES (?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, promotionIds[missing[i]]);
+                        ps.setLong(2, personIds[missing[i]]);
+                        ps.setInt(3, deltas[missing[i]]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return inserts;
+                    }
+                });
+    }
+}
@@ -0,0 +1,15 @@
+package com.loveacamp.promotions.repositories;
+
+import com.loveacamp.promotions.entities.PromotionUsage;
+import com.loveacamp.promotions.entities.PromotionUsageId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PromotionUsageRepository extends JpaRepository<PromotionUsage, PromotionUsageId>, PromotionUsageBatchRepository {
+    @Modifying
+    @Query("DELETE FROM PromotionUsage u WHERE u.promotionId = ?1")
+    int deleteByPromotionId(Long promotionId);
+}
@@ -0,0 +1,19 @@
+package com.loveacamp.promotions.services;
+
+import com.loveacamp.promotions.dto.AudienceDto;
+import com.loveacamp.promotions.dto.requests.AudienceCompositionRequestDto;
+import com.loveacamp.promotions.dto.requests.AudienceRequestDto;
+
+import java.io.InputStream;
+
+public interface IAudienceService {
+    AudienceDto save(AudienceRequestDto audienceRequestDto);
+
+    AudienceDto findById(Long id);
+
+    AudienceDto replaceMembers(Long id, InputStream personIds);
+
+    AudienceDto compose(AudienceCompositionRequestDto audienceCompositionRequestDto);
+
+    AudienceDto delete(Long id);
+}
@@ -0,0 +1,8 @@
+package com.loveacamp.promotions.services;
+
+import com.loveacamp.promotions.dto.CartPriceDto;
+import com.loveacamp.promotions.dto.requests.CartRequestDto;
+
+public interface ICartService {
+    CartPriceDto price(CartRequestDto cartRequestDto);
+}
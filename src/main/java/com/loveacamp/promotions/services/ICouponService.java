@@ -0,0 +1,13 @@
+package com.loveacamp.promotions.services;
+
+import com.loveacamp.promotions.dto.CouponGenerationDto;
+import com.loveacamp.promotions.dto.CursorPageDto;
+import com.loveacamp.promotions.dto.requests.CouponGenerationRequestDto;
+
+public interface ICouponService {
+    CouponGenerationDto generate(Long promotionId, CouponGenerationRequestDto couponGenerationRequestDto);
+
+    CouponGenerationDto findGeneration(Long promotionId, Long generationId);
+
+    CursorPageDto<String> findAll(Long promotionId, String cursor, int limit);
+}
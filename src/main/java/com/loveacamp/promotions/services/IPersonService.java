@@ -1,18 +1,25 @@
 package com.loveacamp.promotions.services;
 
+import com.loveacamp.promotions.dto.CursorPageDto;
+import com.loveacamp.promotions.dto.MultiGetDto;
 import com.loveacamp.promotions.dto.PersonDto;
 import com.loveacamp.promotions.dto.requests.PersonRequestDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IPersonService {
     PersonDto save(PersonRequestDto personRequest);
 
-    List<PersonDto> findAll();
+    CursorPageDto<PersonDto> findAll(String cursor, int limit);
+
+    void streamAll(Consumer<PersonDto> consumer);
 
     PersonDto update(long id, PersonRequestDto personRequest);
 
     PersonDto findById(long id);
 
+    MultiGetDto<PersonDto> findAllById(List<Long> ids);
+
     PersonDto delete(long id);
 }
@@ -1,18 +1,31 @@
 package com.loveacamp.promotions.services;
 
+import com.loveacamp.promotions.dto.CursorPageDto;
+import com.loveacamp.promotions.dto.MultiGetDto;
+import com.loveacamp.promotions.dto.ProductBatchItemDto;
 import com.loveacamp.promotions.dto.ProductDto;
+import com.loveacamp.promotions.dto.ProductPriceDto;
 import com.loveacamp.promotions.dto.requests.ProductRequestDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IProductService {
     ProductDto save(ProductRequestDto productRequestDto);
 
+    List<ProductBatchItemDto> saveAll(List<ProductRequestDto> productRequests);
+
     ProductDto update(Long id, ProductRequestDto productRequestDto);
 
     ProductDto findById(Long id);
 
-    List<ProductDto> findAll();
+    MultiGetDto<ProductDto> findAllById(List<Long> ids);
+
+    CursorPageDto<ProductDto> findAll(String cursor, int limit);
+
+    CursorPageDto<ProductPriceDto> findPrices(String cursor, int limit);
+
+    void streamAll(Consumer<ProductDto> consumer);
 
     ProductDto delete(Long id);
 }
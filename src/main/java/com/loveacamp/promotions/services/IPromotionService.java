@@ -0,0 +1,26 @@
+package com.loveacamp.promotions.services;
+
+import com.loveacamp.promotions.dto.CursorPageDto;
+import com.loveacamp.promotions.dto.PromotionDiscountDto;
+import com.loveacamp.promotions.dto.PromotionDto;
+import com.loveacamp.promotions.dto.PromotionSnapshotDto;
+import com.loveacamp.promotions.dto.requests.PromotionRequestDto;
+import com.loveacamp.promotions.enums.UserLevel;
+
+import java.math.BigDecimal;
+
+public interface IPromotionService {
+    PromotionDto save(PromotionRequestDto promotionRequestDto);
+
+    PromotionDto update(Long id, PromotionRequestDto promotionRequestDto);
+
+    PromotionDto findById(Long id);
+
+    CursorPageDto<PromotionDto> findAll(String cursor, int limit);
+
+    PromotionDiscountDto findBest(Long productId, BigDecimal price, UserLevel level, Long personId);
+
+    PromotionSnapshotDto findSnapshot();
+
+    PromotionDto delete(Long id);
+}
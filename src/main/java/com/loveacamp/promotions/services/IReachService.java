@@ -0,0 +1,8 @@
+package com.loveacamp.promotions.services;
+
+import com.loveacamp.promotions.dto.ReachDto;
+import com.loveacamp.promotions.enums.ReachEvent;
+
+public interface IReachService {
+    ReachDto findReach(Long promotionId, ReachEvent event, String from, String to);
+}
@@ -0,0 +1,8 @@
+package com.loveacamp.promotions.services;
+
+import com.loveacamp.promotions.dto.RedemptionDto;
+import com.loveacamp.promotions.dto.requests.RedemptionRequestDto;
+
+public interface IRedemptionService {
+    RedemptionDto redeem(RedemptionRequestDto redemptionRequestDto);
+}
@@ -0,0 +1,10 @@
+package com.loveacamp.promotions.services;
+
+import com.loveacamp.promotions.dto.SimulationDto;
+import com.loveacamp.promotions.dto.requests.PromotionRequestDto;
+
+import java.nio.file.Path;
+
+public interface ISimulationService {
+    SimulationDto simulate(PromotionRequestDto promotionRequestDto, Path carts, int limit);
+}
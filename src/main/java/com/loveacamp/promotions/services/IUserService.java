@@ -1,14 +1,13 @@
 package com.loveacamp.promotions.services;
 
+import com.loveacamp.promotions.dto.CursorPageDto;
 import com.loveacamp.promotions.dto.UserDto;
 import com.loveacamp.promotions.dto.requests.UserRequestDto;
 
-import java.util.List;
-
 public interface IUserService {
     UserDto save(UserRequestDto user);
 
-    List<UserDto> findAll();
+    CursorPageDto<UserDto> findAll(String cursor, int limit);
 
     UserDto update(long id, UserRequestDto user);
 
@@ -0,0 +1,28 @@
+package com.loveacamp.promotions.services.impl;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Efeitos em memória de uma alteração gravada no banco (engine, agendador, cotas, contadores), adiados para depois do
+ * commit: se a transação for desfeita, a memória continua igual ao banco. Fora de uma transação, roda na hora.
+ */
+final class AfterCommit {
+    private AfterCommit() {
+    }
+
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
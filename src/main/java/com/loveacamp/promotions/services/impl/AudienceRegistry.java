@@ -0,0 +1,186 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.repositories.AudienceRepository;
+import com.loveacamp.promotions.utils.LongBitmap;
+import com.loveacamp.promotions.utils.LongObjectHashMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bitmaps dos públicos em memória, para que a checagem de público no {@link PromotionEngine} não vá ao banco. O mapa
+ * publicado nunca muda: cada alteração publica uma cópia, e quem avalia um carrinho lê uma única versão.
+ * <p>
+ * Carregado do banco na subida da aplicação. As alterações feitas nesta instância chegam por
+ * {@link #put(long, LongBitmap, long)} e {@link #remove(long, long)}; as feitas em outras instâncias são percebidas pela
+ * versão {@link ChangeVersions#AUDIENCES}, consultada a cada {@code promotions.audiences.reload-interval}, e levam a um
+ * novo {@link #load()}, como a reconciliação do {@link PromotionScheduler}. A memória ocupada pelos bitmaps é publicada
+ * em {@value #MEMORY_GAUGE}.
+ */
+@Component
+public class AudienceRegistry {
+    public static final String MEMORY_GAUGE = "promotions.audiences.memory";
+
+    private final AudienceRepository repository;
+
+    private final ChangeVersions versions;
+
+    private final long reloadMillis;
+
+    private final Counter reloads;
+
+    private final Counter failures;
+
+    private volatile LongObjectHashMap<LongBitmap> bitmaps = new LongObjectHashMap<>();
+
+    /**
+     * Versão de {@link ChangeVersions#AUDIENCES} refletida nos bitmaps.
+     */
+    private long version;
+
+    private ScheduledExecutorService executor;
+
+    public AudienceRegistry(AudienceRepository repository, ChangeVersions versions, MeterRegistry registry,
+                            @Value("${promotions.audiences.reload-interval:PT5S}") Duration reloadInterval) {
+        this.repository = repository;
+        this.versions = versions;
+        this.reloadMillis = reloadInterval.toMillis();
+        this.reloads = Counter.builder("promotions.audiences.reloads").register(registry);
+        this.failures = Counter.builder("promotions.audiences.reload.failures").register(registry);
+
+        Gauge.builder(MEMORY_GAUGE, this, AudienceRegistry::sizeInBytes).baseUnit("bytes").register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        this.load();
+
+        if (this.executor == null) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "audience-reload");
+                thread.setDaemon(true);
+
+                return thread;
+            });
+            this.executor.scheduleWithFixedDelay(this::reloadQuietly, this.reloadMillis, this.reloadMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Carrega um público por vez, para nunca ter mais de um bitmap serializado em memória.
+     */
+    public synchronized void load() {
+        // Lida antes dos públicos: uma alteração que entre entre as duas leituras só causa outra carga.
+        long version = this.versions.current(ChangeVersions.AUDIENCES);
+        LongObjectHashMap<LongBitmap> bitmaps = new LongObjectHashMap<>();
+
+        for (Long id : this.repository.findAllIds()) {
+            this.repository.findById(id).ifPresent(audience -> bitmaps.put(id, LongBitmap.fromBytes(audience.getBitmap())));
+        }
+
+        this.bitmaps = bitmaps;
+        this.version = version;
+    }
+
+    /**
+     * Recarrega os públicos se outra instância os alterou desde a última versão aplicada aqui.
+     */
+    public void reload() {
+        long current = this.versions.current(ChangeVersions.AUDIENCES);
+
+        synchronized (this) {
+            if (current == this.version) {
+                return;
+            }
+        }
+
+        this.reloads.increment();
+        this.load();
+    }
+
+    /**
+     * Aplica um público gravado nesta instância, já commitado com a versão {@code version}.
+     */
+    public synchronized void put(long audienceId, LongBitmap bitmap, long version) {
+        this.put(audienceId, bitmap);
+        this.applied(version);
+    }
+
+    /**
+     * Aplica a remoção de um público feita nesta instância, já commitada com a versão {@code version}.
+     */
+    public synchronized void remove(long audienceId, long version) {
+        this.remove(audienceId);
+        this.applied(version);
+    }
+
+    public synchronized void put(long audienceId, LongBitmap bitmap) {
+        LongObjectHashMap<LongBitmap> bitmaps = this.bitmaps.copy();
+        bitmaps.put(audienceId, bitmap);
+
+        this.bitmaps = bitmaps;
+    }
+
+    public synchronized void remove(long audienceId) {
+        LongObjectHashMap<LongBitmap> bitmaps = this.bitmaps.copy();
+        bitmaps.remove(audienceId);
+
+        this.bitmaps = bitmaps;
+    }
+
+    public LongBitmap get(long audienceId) {
+        return this.bitmaps.get(audienceId);
+    }
+
+    /**
+     * Versão atual dos bitmaps, para avaliar várias promoções contra os mesmos públicos.
+     */
+    LongObjectHashMap<LongBitmap> snapshot() {
+        return this.bitmaps;
+    }
+
+    private void reloadQuietly() {
+        try {
+            this.reload();
+        } catch (RuntimeException e) {
+            // Uma exceção aqui cancelaria as execuções seguintes do scheduleWithFixedDelay.
+            this.failures.increment();
+        }
+    }
+
+    /**
+     * Só avança a versão quando ela é a seguinte à aplicada: havendo um intervalo, falta aqui alguma alteração, e a
+     * próxima consulta recarrega tudo.
+     */
+    private void applied(long version) {
+        if (version == this.version + 1) {
+            this.version = version;
+        }
+    }
+
+    private double sizeInBytes() {
+        long[] bytes = new long[1];
+
+        this.bitmaps.forEach((audienceId, bitmap) -> bytes[0] += bitmap.sizeInBytes());
+
+        return bytes[0];
+    }
+}
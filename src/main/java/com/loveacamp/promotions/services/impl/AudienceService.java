@@ -0,0 +1,191 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.config.MetricsConfig;
+import com.loveacamp.promotions.dto.AudienceDto;
+import com.loveacamp.promotions.dto.requests.AudienceCompositionRequestDto;
+import com.loveacamp.promotions.dto.requests.AudienceRequestDto;
+import com.loveacamp.promotions.entities.Audience;
+import com.loveacamp.promotions.exception.BadRequestException;
+import com.loveacamp.promotions.repositories.AudienceRepository;
+import com.loveacamp.promotions.repositories.PromotionRepository;
+import com.loveacamp.promotions.services.IAudienceService;
+import com.loveacamp.promotions.utils.LongBitmap;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class AudienceService implements IAudienceService {
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final AudienceRepository repository;
+
+    private final PromotionRepository promotionRepository;
+
+    private final AudienceRegistry registry;
+
+    private final ChangeVersions versions;
+
+    /**
+     * Transação só da gravação e da versão: o corpo de {@link #replaceMembers} é lido antes, sem conexão presa.
+     */
+    private final TransactionTemplate transaction;
+
+    private final long maxMembers;
+
+    public AudienceService(AudienceRepository repository, PromotionRepository promotionRepository, AudienceRegistry registry,
+                           ChangeVersions versions, PlatformTransactionManager transactionManager,
+                           @Value("${promotions.audiences.max-members:100000000}") long maxMembers) {
+        this.repository = repository;
+        this.promotionRepository = promotionRepository;
+        this.registry = registry;
+        this.versions = versions;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.maxMembers = maxMembers;
+    }
+
+    @Override
+    public AudienceDto save(AudienceRequestDto audienceRequestDto) {
+        return this.store(new Audience().setName(audienceRequestDto.getName()), new LongBitmap());
+    }
+
+    @Override
+    public AudienceDto findById(Long id) {
+        return AudienceDto.toDto(this.audienceDoesNotExistThrowAnException(id));
+    }
+
+    /**
+     * Substitui as pessoas do público pelos ids lidos do corpo, um por linha (vírgulas e espaços também separam). O
+     * corpo é lido em blocos direto para o bitmap, sem materializar a lista de ids.
+     */
+    @Override
+    public AudienceDto replaceMembers(Long id, InputStream personIds) {
+        Audience audience = this.audienceDoesNotExistThrowAnException(id);
+
+        try {
+            return this.store(audience, this.read(personIds));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public AudienceDto compose(AudienceCompositionRequestDto audienceCompositionRequestDto) {
+        LongBitmap bitmap = this.union(audienceCompositionRequestDto.getUnion());
+
+        for (Long id : audienceCompositionRequestDto.getIntersection()) {
+            bitmap = LongBitmap.and(bitmap, this.bitmap(id));
+        }
+
+        if (!audienceCompositionRequestDto.getExclusion().isEmpty()) {
+            bitmap = LongBitmap.andNot(bitmap, this.union(audienceCompositionRequestDto.getExclusion()));
+        }
+
+        return this.store(new Audience().setName(audienceCompositionRequestDto.getName()), bitmap);
+    }
+
+    @Override
+    public AudienceDto delete(Long id) {
+        Audience audience = this.audienceDoesNotExistThrowAnException(id);
+
+        if (this.promotionRepository.existsByAudienceId(id)) {
+            throw new BadRequestException("O público está em uso por promoções.");
+        }
+
+        this.transaction.executeWithoutResult(status -> {
+            this.repository.delete(audience);
+            long version = this.versions.bump(ChangeVersions.AUDIENCES);
+
+            AfterCommit.run(() -> this.registry.remove(id, version));
+        });
+
+        return AudienceDto.toDto(audience);
+    }
+
+    private AudienceDto store(Audience audience, LongBitmap bitmap) {
+        audience.setBitmap(bitmap.trim().toBytes()).setMembers(bitmap.cardinality());
+
+        Audience saved = this.transaction.execute(status -> {
+            Audience stored = this.repository.save(audience);
+            long version = this.versions.bump(ChangeVersions.AUDIENCES);
+
+            AfterCommit.run(() -> this.registry.put(stored.getId(), bitmap, version));
+
+            return stored;
+        });
+
+        return AudienceDto.toDto(saved);
+    }
+
+    private LongBitmap union(List<Long> ids) {
+        LongBitmap bitmap = new LongBitmap();
+
+        for (Long id : ids) {
+            bitmap = LongBitmap.or(bitmap, this.bitmap(id));
+        }
+
+        return bitmap;
+    }
+
+    private LongBitmap bitmap(Long id) {
+        LongBitmap bitmap = this.registry.get(id);
+
+        if (bitmap == null) {
+            throw new BadRequestException("Público %s não encontrado.", id);
+        }
+
+        return bitmap;
+    }
+
+    private LongBitmap read(InputStream input) throws IOException {
+        LongBitmap bitmap = new LongBitmap();
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        long value = 0;
+        boolean digits = false;
+        long line = 1;
+        long members = 0;
+
+        for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+            for (int i = 0; i < read; i++) {
+                byte b = buffer[i];
+
+                if (b >= '0' && b <= '9') {
+                    if (value > (Long.MAX_VALUE - (b - '0')) / 10) {
+                        throw new BadRequestException("Id de pessoa inválido na linha %s.", line);
+                    }
+
+                    value = value * 10 + (b - '0');
+                    digits = true;
+                } else if (b == '\n' || b == '\r' || b == ',' || b == ' ' || b == '\t') {
+                    if (digits && bitmap.add(value) && ++members > this.maxMembers) {
+                        throw new BadRequestException("O público deve conter no máximo %s pessoas.", this.maxMembers);
+                    }
+
+                    line += b == '\n' ? 1 : 0;
+                    value = 0;
+                    digits = false;
+                } else {
+                    throw new BadRequestException("Id de pessoa inválido na linha %s.", line);
+                }
+            }
+        }
+
+        if (digits && bitmap.add(value) && ++members > this.maxMembers) {
+            throw new BadRequestException("O público deve conter no máximo %s pessoas.", this.maxMembers);
+        }
+
+        return bitmap;
+    }
+
+    private Audience audienceDoesNotExistThrowAnException(Long id) {
+        return this.repository.findById(id).orElseThrow(() -> new BadRequestException("Público não encontrado."));
+    }
+}
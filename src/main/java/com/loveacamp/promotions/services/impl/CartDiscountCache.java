@@ -0,0 +1,100 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.loveacamp.promotions.enums.UserLevel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Descontos já resolvidos pelo {@link StackingSolver} por assinatura de carrinho: produtos e preços na ordem das
+ * linhas, nível, pessoa e as instâncias do índice e dos públicos usadas na avaliação. Qualquer alteração de promoção,
+ * produto ou público troca essas instâncias, então uma entrada nunca é servida depois de desatualizada; o TTL só
+ * limita quanto tempo índices antigos ficam presos no cache. A quantidade não entra na assinatura, já que o desconto
+ * é por unidade. As métricas são publicadas como cache.gets/cache.evictions{cache=carts}.
+ */
+@Component
+public class CartDiscountCache implements MeterBinder {
+    private final Cache<Signature, Discount[]> cache;
+
+    public CartDiscountCache(@Value("${promotions.carts.cache.max-size:10000}") long maxSize,
+                             @Value("${promotions.carts.cache.ttl:PT1M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * O array devolvido é compartilhado entre as chamadas e não deve ser alterado, assim como {@code productIds} e
+     * {@code prices} depois da chamada.
+     */
+    Discount[] get(Object index, Object audiences, UserLevel level, Long personId, long[] productIds, BigDecimal[] prices,
+                   Supplier<Discount[]> solver) {
+        return this.cache.get(new Signature(index, audiences, level, personId, productIds, prices), signature -> solver.get());
+    }
+
+    public CacheStats stats() {
+        return this.cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, this.cache, "carts");
+    }
+
+    private static final class Signature {
+        private final Object index;
+
+        private final Object audiences;
+
+        private final UserLevel level;
+
+        private final Long personId;
+
+        private final long[] productIds;
+
+        private final BigDecimal[] prices;
+
+        private final int hash;
+
+        private Signature(Object index, Object audiences, UserLevel level, Long personId, long[] productIds, BigDecimal[] prices) {
+            this.index = index;
+            this.audiences = audiences;
+            this.level = level;
+            this.personId = personId;
+            this.productIds = productIds;
+            this.prices = prices;
+            this.hash = Objects.hash(System.identityHashCode(index), System.identityHashCode(audiences), level, personId,
+                    Arrays.hashCode(productIds), Arrays.hashCode(prices));
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Signature signature
+                    && this.hash == signature.hash
+                    && this.index == signature.index
+                    && this.audiences == signature.audiences
+                    && this.level == signature.level
+                    && Objects.equals(this.personId, signature.personId)
+                    && Arrays.equals(this.productIds, signature.productIds)
+                    && Arrays.equals(this.prices, signature.prices);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.loveacamp.promotions.services.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Avalia uma faixa de bytes do arquivo de carrinhos. Faixas maiores que {@code splitBytes} são divididas ao meio e as
+ * metades rodam em paralelo no {@link java.util.concurrent.ForkJoinPool}; cada faixa fica com as linhas que começam
+ * dentro dela, mesmo que terminem depois, então o corte pode cair no meio de uma linha.
+ * <p>
+ * Cada linha é {@code cartId,productId,quantity,unitPrice}, com o preço em no máximo duas casas decimais; as linhas de
+ * um carrinho precisam estar juntas. Uma primeira linha que não começa com dígito é tratada como cabeçalho. O arquivo
+ * é lido com leituras posicionais, sem objeto por linha.
+ */
+final class CartFileTask extends RecursiveTask<CartTally> {
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Dígitos por campo; com isso quantidade vezes preço em centavos só estoura {@code long} em linhas absurdas, que
+     * também são tratadas como inválidas.
+     */
+    private static final int MAX_DIGITS = 15;
+
+    private final FileChannel channel;
+
+    private final SimulatedPromotion promotion;
+
+    private final long from;
+
+    private final long to;
+
+    private final long splitBytes;
+
+    CartFileTask(FileChannel channel, SimulatedPromotion promotion, long from, long to, long splitBytes) {
+        this.channel = channel;
+        this.promotion = promotion;
+        this.from = from;
+        this.to = to;
+        this.splitBytes = splitBytes;
+    }
+
+    @Override
+    protected CartTally compute() {
+        if (this.to - this.from <= this.splitBytes) {
+            try {
+                return this.scan();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        long middle = this.from + (this.to - this.from) / 2;
+        CartFileTask left = new CartFileTask(this.channel, this.promotion, this.from, middle, this.splitBytes);
+        CartFileTask right = new CartFileTask(this.channel, this.promotion, middle, this.to, this.splitBytes);
+
+        right.fork();
+        CartTally tally = left.compute();
+
+        return CartTally.merge(tally, right.join());
+    }
+
+    private CartTally scan() throws IOException {
+        CartTally tally = new CartTally();
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        long[] fields = new long[4];
+        int field = 0;
+        int digits = 0;
+        int decimals = -1;
+        long lineStart = -1;
+        boolean header = false;
+        // A linha que começa antes da faixa é da faixa anterior: pula até o primeiro '\n' a partir do byte anterior.
+        boolean skipping = this.from > 0;
+        long position = skipping ? this.from - 1 : 0;
+
+        while (true) {
+            buffer.clear();
+            int read = this.channel.read(buffer, position);
+
+            if (read <= 0) {
+                break;
+            }
+
+            byte[] bytes = buffer.array();
+
+            for (int i = 0; i < read; i++) {
+                byte b = bytes[i];
+                long offset = position + i;
+
+                if (skipping) {
+                    skipping = b != '\n';
+                    continue;
+                }
+
+                if (lineStart < 0) {
+                    if (offset >= this.to) {
+                        return tally;
+                    }
+
+                    lineStart = offset;
+                    header = offset == 0 && (b < '0' || b > '9');
+                }
+
+                if (b == '\n') {
+                    if (!header && !this.accept(tally, fields, field, digits, decimals, lineStart)) {
+                        return tally;
+                    }
+
+                    fields[0] = fields[1] = fields[2] = fields[3] = 0;
+                    field = 0;
+                    digits = 0;
+                    decimals = -1;
+                    lineStart = -1;
+                } else if (header || b == '\r') {
+                    continue;
+                } else if (b >= '0' && b <= '9') {
+                    if (decimals >= 0 && ++decimals > 2 || ++digits > MAX_DIGITS) {
+                        tally.invalidAt = lineStart;
+
+                        return tally;
+                    }
+
+                    fields[field] = fields[field] * 10 + (b - '0');
+                } else if (b == ',' && field < 3 && digits > 0) {
+                    field++;
+                    digits = 0;
+                } else if (b == '.' && field == 3 && decimals < 0 && digits > 0) {
+                    decimals = 0;
+                } else {
+                    tally.invalidAt = lineStart;
+
+                    return tally;
+                }
+            }
+
+            position += read;
+        }
+
+        // Última linha sem '\n'.
+        if (lineStart >= 0 && !header) {
+            this.accept(tally, fields, field, digits, decimals, lineStart);
+        }
+
+        return tally;
+    }
+
+    /**
+     * @return {@code false} se a linha for inválida; a posição dela fica em {@link CartTally#invalidAt}
+     */
+    private boolean accept(CartTally tally, long[] fields, int field, int digits, int decimals, long lineStart) {
+        if (field == 0 && digits == 0) {
+            // Linha em branco.
+            return true;
+        }
+
+        if (field < 3 || digits == 0 || fields[2] == 0) {
+            tally.invalidAt = lineStart;
+
+            return false;
+        }
+
+        long unitCents = decimals <= 0 ? fields[3] * 100 : decimals == 1 ? fields[3] * 10 : fields[3];
+        long quantity = fields[2];
+
+        try {
+            long discountCents = this.promotion.appliesTo(fields[1]) ? this.promotion.discountCents(unitCents) : 0;
+
+            tally.add(fields[0], fields[1], quantity, Math.multiplyExact(unitCents, quantity), Math.multiplyExact(discountCents, quantity));
+        } catch (ArithmeticException e) {
+            tally.invalidAt = lineStart;
+
+            return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,120 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.config.MetricsConfig;
+import com.loveacamp.promotions.dto.CartItemPriceDto;
+import com.loveacamp.promotions.dto.CartPriceDto;
+import com.loveacamp.promotions.dto.requests.CartItemRequestDto;
+import com.loveacamp.promotions.dto.requests.CartRequestDto;
+import com.loveacamp.promotions.entities.Product;
+import com.loveacamp.promotions.enums.ReachEvent;
+import com.loveacamp.promotions.exception.BadRequestException;
+import com.loveacamp.promotions.repositories.PersonRepository;
+import com.loveacamp.promotions.repositories.ProductRepository;
+import com.loveacamp.promotions.services.ICartService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class CartService implements ICartService {
+    private final ProductRepository productRepository;
+
+    private final PersonRepository personRepository;
+
+    private final PromotionEngine engine;
+
+    private final ReachTracker reach;
+
+    private final int maxItems;
+
+    public CartService(ProductRepository productRepository, PersonRepository personRepository, PromotionEngine engine,
+                       ReachTracker reach, @Value("${promotions.carts.max-items:500}") int maxItems) {
+        this.productRepository = productRepository;
+        this.personRepository = personRepository;
+        this.engine = engine;
+        this.reach = reach;
+        this.maxItems = maxItems;
+    }
+
+    @Override
+    public CartPriceDto price(CartRequestDto cartRequestDto) {
+        List<CartItemRequestDto> items = cartRequestDto.getItems();
+
+        if (items.size() > this.maxItems) {
+            throw new BadRequestException("O carrinho deve conter no máximo %s itens.", this.maxItems);
+        }
+
+        if (!this.personRepository.existsById(cartRequestDto.getPersonId())) {
+            throw new BadRequestException("Pessoa não encontrada.");
+        }
+
+        Map<Long, Product> products = MultiGet.load(
+                items.stream().map(CartItemRequestDto::getProductId).collect(Collectors.toList()),
+                this.productRepository::findAllById, Product::getId);
+        long[] productIds = new long[items.size()];
+        BigDecimal[] prices = new BigDecimal[items.size()];
+
+        for (int i = 0; i < items.size(); i++) {
+            Product product = products.get(items.get(i).getProductId());
+
+            if (product == null) {
+                throw new BadRequestException("Produto %s não encontrado.", items.get(i).getProductId());
+            }
+
+            if (product.getPrice() == null) {
+                throw new BadRequestException("Produto %s sem preço cadastrado.", product.getId());
+            }
+
+            productIds[i] = product.getId();
+            prices[i] = product.getPrice();
+        }
+
+        Discount[] discounts = this.engine.bestForCart(productIds, prices, cartRequestDto.getLevel(), cartRequestDto.getPersonId());
+        List<CartItemPriceDto> lines = new ArrayList<>(items.size());
+        BigDecimal subtotal = BigDecimal.ZERO;
+        BigDecimal discount = BigDecimal.ZERO;
+        Set<Long> seen = new HashSet<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            BigDecimal quantity = BigDecimal.valueOf(items.get(i).getQuantity());
+            BigDecimal lineSubtotal = prices[i].multiply(quantity);
+            BigDecimal lineDiscount = discounts[i] == null ? BigDecimal.ZERO : discounts[i].amount().multiply(quantity);
+
+            lines.add(new CartItemPriceDto()
+                    .setProductId(productIds[i])
+                    .setQuantity(items.get(i).getQuantity())
+                    .setUnitPrice(prices[i])
+                    .setPromotionId(discounts[i] == null ? null : discounts[i].promotionId())
+                    .setPromotionIds(discounts[i] == null ? List.of() : discounts[i].promotionIds())
+                    .setDiscount(lineDiscount)
+                    .setTotal(lineSubtotal.subtract(lineDiscount)));
+
+            subtotal = subtotal.add(lineSubtotal);
+            discount = discount.add(lineDiscount);
+
+            if (discounts[i] != null) {
+                seen.addAll(discounts[i].promotionIds());
+            }
+        }
+
+        for (Long promotionId : seen) {
+            this.reach.record(promotionId, ReachEvent.IMPRESSION, cartRequestDto.getPersonId());
+        }
+
+        return new CartPriceDto()
+                .setPersonId(cartRequestDto.getPersonId())
+                .setItems(lines)
+                .setSubtotal(subtotal)
+                .setDiscount(discount)
+                .setTotal(subtotal.subtract(discount));
+    }
+}
@@ -0,0 +1,142 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.utils.LongObjectHashMap;
+
+/**
+ * Totais de um trecho do arquivo de carrinhos numa simulação, em centavos. Os carrinhos são contados por sequência de
+ * linhas com o mesmo id; como um carrinho pode ser cortado entre dois trechos, cada um guarda o primeiro e o último
+ * carrinho, e {@link #merge(CartTally, CartTally)} conta uma vez só o carrinho que aparece nas duas pontas.
+ */
+final class CartTally {
+    static final long VALID = -1;
+
+    long lines;
+
+    long discountedLines;
+
+    long carts;
+
+    long discountedCarts;
+
+    long subtotalCents;
+
+    long discountCents;
+
+    long firstCart;
+
+    boolean firstDiscounted;
+
+    long lastCart;
+
+    boolean lastDiscounted;
+
+    /**
+     * Byte onde começa a primeira linha inválida do trecho, ou {@link #VALID}.
+     */
+    long invalidAt = VALID;
+
+    /**
+     * Por produto: linhas, quantidade e desconto em centavos.
+     */
+    LongObjectHashMap<long[]> products = new LongObjectHashMap<>();
+
+    void add(long cartId, long productId, long quantity, long subtotalCents, long discountCents) {
+        boolean discounted = discountCents > 0;
+
+        if (this.lines == 0 || cartId != this.lastCart) {
+            if (this.lines == 0) {
+                this.firstCart = cartId;
+            } else if (this.carts == 1) {
+                this.firstDiscounted = this.lastDiscounted;
+            }
+
+            this.carts++;
+            this.lastCart = cartId;
+            this.lastDiscounted = false;
+        }
+
+        if (discounted && !this.lastDiscounted) {
+            this.lastDiscounted = true;
+            this.discountedCarts++;
+        }
+
+        this.lines++;
+        this.subtotalCents = Math.addExact(this.subtotalCents, subtotalCents);
+
+        if (discounted) {
+            this.discountedLines++;
+            this.discountCents = Math.addExact(this.discountCents, discountCents);
+        }
+
+        long[] product = this.products.get(productId);
+
+        if (product == null) {
+            product = new long[3];
+            this.products.put(productId, product);
+        }
+
+        product[0]++;
+        product[1] += quantity;
+        product[2] += discountCents;
+    }
+
+    /**
+     * {@code left} precisa ser o trecho imediatamente anterior a {@code right} no arquivo. Reaproveita os dois.
+     */
+    static CartTally merge(CartTally left, CartTally right) {
+        // Um trecho inválido pode não ter linha nenhuma, então a validade vem antes do trecho vazio.
+        if (left.invalidAt != VALID) {
+            return left;
+        }
+
+        if (right.invalidAt != VALID || left.lines == 0) {
+            return right;
+        }
+
+        if (right.lines == 0) {
+            return left;
+        }
+
+        // O primeiro carrinho só fica com o estado final em add() quando chega o segundo.
+        boolean leftFirst = left.carts == 1 ? left.lastDiscounted : left.firstDiscounted;
+        boolean rightFirst = right.carts == 1 ? right.lastDiscounted : right.firstDiscounted;
+        boolean joined = left.lastCart == right.firstCart;
+        boolean joinedDiscounted = left.lastDiscounted || rightFirst;
+
+        CartTally merged = left.products.size() >= right.products.size() ? left : right;
+        CartTally other = merged == left ? right : left;
+
+        other.products.forEach((productId, product) -> {
+            long[] current = merged.products.get(productId);
+
+            if (current == null) {
+                merged.products.put(productId, product);
+            } else {
+                current[0] += product[0];
+                current[1] += product[1];
+                current[2] += product[2];
+            }
+        });
+
+        long carts = left.carts + right.carts;
+        long discountedCarts = left.discountedCarts + right.discountedCarts;
+
+        if (joined) {
+            carts--;
+            discountedCarts -= (left.lastDiscounted ? 1 : 0) + (rightFirst ? 1 : 0) - (joinedDiscounted ? 1 : 0);
+        }
+
+        merged.firstDiscounted = joined && left.carts == 1 ? joinedDiscounted : leftFirst;
+        merged.lastDiscounted = joined && right.carts == 1 ? joinedDiscounted : right.lastDiscounted;
+        merged.firstCart = left.firstCart;
+        merged.lastCart = right.lastCart;
+        merged.carts = carts;
+        merged.discountedCarts = discountedCarts;
+        merged.lines = left.lines + right.lines;
+        merged.discountedLines = left.discountedLines + right.discountedLines;
+        merged.subtotalCents = Math.addExact(left.subtotalCents, right.subtotalCents);
+        merged.discountCents = Math.addExact(left.discountCents, right.discountCents);
+
+        return merged;
+    }
+}
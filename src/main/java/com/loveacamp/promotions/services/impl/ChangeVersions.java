@@ -0,0 +1,48 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.entities.ChangeVersion;
+import com.loveacamp.promotions.repositories.ChangeVersionRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Versões em {@code CHANGE_VERSIONS} dos dados que cada instância mantém em memória. Quem altera incrementa a versão
+ * na própria transação; os componentes em memória consultam {@link #current} periodicamente e recarregam quando ela
+ * difere da última que aplicaram, o que leva às demais instâncias as alterações feitas em uma delas.
+ */
+@Component
+public class ChangeVersions {
+    public static final String PROMOTIONS = "PROMOTIONS";
+
+    public static final String AUDIENCES = "AUDIENCES";
+
+    private final ChangeVersionRepository repository;
+
+    public ChangeVersions(ChangeVersionRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Incrementa a versão dentro da transação da alteração e devolve a nova. O {@code UPDATE} trava a linha até o
+     * commit, então duas alterações concorrentes recebem versões distintas e consecutivas.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long bump(String name) {
+        if (this.repository.increment(name) == 0) {
+            // Primeira alteração desde a criação da tabela.
+            this.repository.saveAndFlush(new ChangeVersion(name, 1L));
+
+            return 1;
+        }
+
+        return this.repository.findVersionByName(name).orElseThrow();
+    }
+
+    /**
+     * Versão já gravada, ou zero se nada foi alterado ainda.
+     */
+    public long current(String name) {
+        return this.repository.findVersionByName(name).orElse(0L);
+    }
+}
@@ -0,0 +1,101 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.entities.Promotion;
+import com.loveacamp.promotions.enums.DiscountType;
+import com.loveacamp.promotions.enums.UserLevel;
+import com.loveacamp.promotions.utils.LongBitmap;
+import com.loveacamp.promotions.utils.LongObjectHashMap;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Promoção achatada para avaliação: janela de validade em epoch millis e níveis elegíveis como máscara de bits
+ * (um bit por {@link UserLevel#ordinal()}), para que a checagem no caminho da requisição seja só comparação de primitivos.
+ * O escopo fica como ids de produto ordenados e prefixo de nome em minúsculas, usados só na manutenção do índice.
+ * O público fica só como id: o bitmap é lido do {@link AudienceRegistry} a cada avaliação, e uma troca das pessoas do
+ * público não exige recompilar a promoção. O grupo de exclusividade e a prioridade só são lidos pelo
+ * {@link StackingSolver}.
+ */
+record CompiledPromotion(long id, DiscountType type, BigDecimal value, long startsAt, long endsAt, int levels,
+                         long[] productIds, String prefix, long audienceId, String group, int priority) {
+    static final int ALL_LEVELS = -1;
+
+    /**
+     * Ids de sequência começam em 1.
+     */
+    static final long NO_AUDIENCE = 0;
+
+    static CompiledPromotion compile(Promotion promotion) {
+        int levels = promotion.getLevels().isEmpty() ? ALL_LEVELS : 0;
+
+        for (UserLevel level : promotion.getLevels()) {
+            levels |= 1 << level.ordinal();
+        }
+
+        long[] productIds = promotion.getProductIds().stream().mapToLong(Long::longValue).sorted().toArray();
+        String prefix = promotion.getProductNamePrefix() == null || promotion.getProductNamePrefix().isBlank()
+                ? null
+                : normalize(promotion.getProductNamePrefix());
+
+        return new CompiledPromotion(promotion.getId(), promotion.getDiscountType(), promotion.getValue(),
+                promotion.getStartsAt().getMillis(), promotion.getEndsAt().getMillis(), levels, productIds, prefix,
+                promotion.getAudienceId() == null ? NO_AUDIENCE : promotion.getAudienceId(),
+                promotion.getExclusivityGroup(), promotion.getPriority());
+    }
+
+    static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    boolean isActiveAt(long now) {
+        return now >= this.startsAt && now < this.endsAt;
+    }
+
+    boolean isEligible(UserLevel level) {
+        return level == null ? this.levels == ALL_LEVELS : (this.levels & 1 << level.ordinal()) != 0;
+    }
+
+    /**
+     * Sem pessoa identificada, só valem promoções sem público. Um público que não está em {@code audiences} não tem
+     * ninguém.
+     */
+    boolean isTargeted(Long personId, LongObjectHashMap<LongBitmap> audiences) {
+        if (this.audienceId == NO_AUDIENCE) {
+            return true;
+        }
+
+        LongBitmap audience = personId == null ? null : audiences.get(this.audienceId);
+
+        return audience != null && audience.contains(personId);
+    }
+
+    boolean isExclusive() {
+        return this.group == null;
+    }
+
+    boolean isGlobal() {
+        return this.productIds.length == 0 && this.prefix == null;
+    }
+
+    boolean lists(long productId) {
+        return Arrays.binarySearch(this.productIds, productId) >= 0;
+    }
+
+    /**
+     * @param name nome do produto já normalizado com {@link #normalize(String)}
+     */
+    boolean matches(String name) {
+        return this.prefix != null && name.startsWith(this.prefix);
+    }
+
+    BigDecimal discount(BigDecimal price) {
+        BigDecimal discount = this.type == DiscountType.PERCENTAGE
+                ? price.multiply(this.value).movePointLeft(2).setScale(2, RoundingMode.HALF_EVEN)
+                : this.value;
+
+        return discount.min(price);
+    }
+}
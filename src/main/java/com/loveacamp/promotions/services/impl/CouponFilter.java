@@ -0,0 +1,322 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.repositories.CouponRepository;
+import com.loveacamp.promotions.utils.BloomFilter;
+import com.loveacamp.promotions.utils.CouponCodec;
+import com.loveacamp.promotions.utils.LongIntHashMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Filtro de Bloom com os códigos de todos os cupons, consultado antes de qualquer acesso ao banco no resgate: um
+ * código que não passa com certeza não existe, e só ele já responde à maior parte das tentativas de adivinhar códigos.
+ * O filtro não lê {@code COUPONS}: os códigos de uma promoção são os de seus números de série de {@code 0} a
+ * {@code COUPONS_ISSUED - 1}, recalculados por {@link CouponCodec}. Ele é dimensionado para o dobro dos números
+ * reservados (no mínimo {@code expected-insertions}) com taxa de falsos positivos {@code fpp}, montado ao subir a
+ * aplicação e remontado do zero a cada {@code rebuild-interval}, ou antes, se a taxa estimada passar do dobro da
+ * configurada. Enquanto remonta, o filtro anterior continua respondendo.
+ * <p>
+ * Os cupons gerados nesta instância entram no filtro assim que gravados. Os reservados em outra instância entram a
+ * cada {@code sync-interval}, quando o {@code COUPONS_ISSUED} de uma promoção cresce: só a faixa nova é calculada, e
+ * a geração que ainda está gravando já tem a faixa inteira no filtro. Números reservados e ainda não gravados, os de
+ * uma geração que falhou e os cupons já usados passam pelo filtro, o que só custa uma consulta ao banco.
+ * <p>
+ * A taxa estimada com os cupons atuais é publicada em {@value #FPP_GAUGE}, a memória em {@value #MEMORY_GAUGE}, os
+ * códigos recusados em {@value #REJECTIONS} e os acrescentados pelas faixas novas em {@value #SYNCED}.
+ */
+@Component
+public class CouponFilter {
+    public static final String REJECTIONS = "promotions.coupons.filter.rejections";
+
+    public static final String FPP_GAUGE = "promotions.coupons.filter.fpp";
+
+    public static final String MEMORY_GAUGE = "promotions.coupons.filter.memory";
+
+    public static final String SYNCED = "promotions.coupons.filter.synced";
+
+    private static final int SYNC_BATCH_SIZE = 1_024;
+
+    private final CouponRepository repository;
+
+    private final CouponCodec codec;
+
+    private final double fpp;
+
+    private final long expectedInsertions;
+
+    private final long rebuildIntervalMillis;
+
+    private final long syncIntervalMillis;
+
+    private final Counter rejections;
+
+    private final Counter synced;
+
+    private final Timer rebuilds;
+
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+
+    /**
+     * {@code null} até a primeira montagem: enquanto isso nenhum código é recusado.
+     */
+    private volatile BloomFilter filter;
+
+    /**
+     * O filtro em montagem, que também recebe os cupons gravados durante a leitura da tabela. Guardado pelo lock da
+     * instância, junto com a troca de {@link #filter}.
+     */
+    private BloomFilter next;
+
+    /**
+     * {@code COUPONS_ISSUED} por promoção já calculado no filtro. Guardado por {@link #rangesLock}, que também
+     * serializa montagem e sincronização.
+     */
+    private LongIntHashMap issued = new LongIntHashMap();
+
+    private final Object rangesLock = new Object();
+
+    private ScheduledExecutorService executor;
+
+    public CouponFilter(CouponRepository repository, CouponCodec codec, MeterRegistry registry,
+                        @Value("${promotions.coupons.filter.fpp:0.001}") double fpp,
+                        @Value("${promotions.coupons.filter.expected-insertions:1000000}") long expectedInsertions,
+                        @Value("${promotions.coupons.filter.rebuild-interval:PT10M}") Duration rebuildInterval,
+                        @Value("${promotions.coupons.filter.sync-interval:PT5S}") Duration syncInterval) {
+        // Valida fpp e expected-insertions na subida, e não na primeira montagem.
+        BloomFilter.create(1, fpp);
+
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("expected-insertions deve ser positivo: " + expectedInsertions);
+        }
+
+        this.repository = repository;
+        this.codec = codec;
+        this.fpp = fpp;
+        this.expectedInsertions = expectedInsertions;
+        this.rebuildIntervalMillis = rebuildInterval.toMillis();
+        this.syncIntervalMillis = syncInterval.toMillis();
+        this.rejections = Counter.builder(REJECTIONS).register(registry);
+        this.synced = Counter.builder(SYNCED).register(registry);
+        this.rebuilds = Timer.builder("promotions.coupons.filter.rebuild").register(registry);
+
+        Gauge.builder(FPP_GAUGE, this, CouponFilter::expectedFpp).register(registry);
+        Gauge.builder(MEMORY_GAUGE, this, CouponFilter::sizeInBytes)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * A primeira montagem é feita aqui mesmo, antes de a aplicação ser dada como pronta; se falhar, fica para o agendador
+     * e os códigos passam direto até lá.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ScheduledExecutorService executor;
+
+        synchronized (this) {
+            if (this.executor != null) {
+                return;
+            }
+
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "coupon-filter-rebuild");
+                thread.setDaemon(true);
+
+                return thread;
+            });
+            this.executor = executor;
+        }
+
+        // Fora do lock: os cupons gerados durante a montagem entram no filtro em montagem por add.
+        long initialDelay = this.rebuildQuietly() ? this.rebuildIntervalMillis : 0;
+        executor.scheduleWithFixedDelay(this::rebuildQuietly, initialDelay, this.rebuildIntervalMillis, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::syncQuietly, this.syncIntervalMillis, this.syncIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+    }
+
+    /**
+     * @return {@code false} se o código com certeza não é de nenhum cupom
+     */
+    public boolean mightExist(long code) {
+        BloomFilter filter = this.filter;
+
+        if (filter == null || filter.mightContain(code)) {
+            return true;
+        }
+
+        this.rejections.increment();
+
+        return false;
+    }
+
+    /**
+     * Acrescenta os {@code count} primeiros códigos, já gravados no banco.
+     */
+    public void add(long[] codes, int count) {
+        boolean saturated;
+
+        synchronized (this) {
+            for (int i = 0; i < count; i++) {
+                if (this.filter != null) {
+                    this.filter.put(codes[i]);
+                }
+
+                if (this.next != null) {
+                    this.next.put(codes[i]);
+                }
+            }
+
+            saturated = this.filter != null && this.filter.expectedFpp() > 2 * this.fpp;
+        }
+
+        if (saturated && this.rebuildRequested.compareAndSet(false, true)) {
+            synchronized (this) {
+                if (this.executor != null) {
+                    this.executor.execute(this::rebuildQuietly);
+                } else {
+                    this.rebuildRequested.set(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Monta um filtro novo a partir do {@code COUPONS_ISSUED} de cada promoção e troca o atual por ele. O filtro novo é
+     * publicado antes de calcular os códigos, para receber também o que for gravado nesta instância durante o cálculo;
+     * o que outras instâncias reservarem depois da leitura entra no {@link #sync} seguinte.
+     */
+    void rebuild() {
+        this.rebuilds.record(() -> {
+            synchronized (this.rangesLock) {
+                this.rebuildRequested.set(false);
+
+                LongIntHashMap issued = this.readIssued();
+                long[] total = new long[1];
+                issued.forEach((promotionId, count) -> total[0] += count);
+
+                BloomFilter rebuilt = BloomFilter.create(Math.max(this.expectedInsertions, 2 * total[0]), this.fpp);
+
+                synchronized (this) {
+                    this.next = rebuilt;
+                }
+
+                try {
+                    issued.forEach((promotionId, count) -> {
+                        for (int serial = 0; serial < count; serial++) {
+                            rebuilt.put(this.codec.encode(promotionId, serial));
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    synchronized (this) {
+                        this.next = null;
+                    }
+
+                    throw e;
+                }
+
+                synchronized (this) {
+                    this.filter = rebuilt;
+                    this.next = null;
+                }
+
+                this.issued = issued;
+            }
+        });
+    }
+
+    /**
+     * Acrescenta ao filtro os códigos das faixas reservadas desde a última leitura, em qualquer instância. Antes da
+     * primeira montagem não faz nada: ela já vai incluir tudo.
+     */
+    void sync() {
+        synchronized (this.rangesLock) {
+            if (this.filter == null) {
+                return;
+            }
+
+            LongIntHashMap current = this.readIssued();
+            LongIntHashMap known = this.issued;
+            long[] codes = new long[SYNC_BATCH_SIZE];
+            int[] count = new int[1];
+
+            current.forEach((promotionId, issued) -> {
+                for (int serial = known.get(promotionId); serial < issued; serial++) {
+                    codes[count[0]++] = this.codec.encode(promotionId, serial);
+
+                    if (count[0] == codes.length) {
+                        this.add(codes, count[0]);
+                        this.synced.increment(count[0]);
+                        count[0] = 0;
+                    }
+                }
+            });
+
+            if (count[0] > 0) {
+                this.add(codes, count[0]);
+                this.synced.increment(count[0]);
+            }
+
+            this.issued = current;
+        }
+    }
+
+    double expectedFpp() {
+        BloomFilter filter = this.filter;
+
+        return filter == null ? 1 : filter.expectedFpp();
+    }
+
+    long sizeInBytes() {
+        BloomFilter filter = this.filter;
+
+        return filter == null ? 0 : filter.sizeInBytes();
+    }
+
+    private LongIntHashMap readIssued() {
+        LongIntHashMap issued = new LongIntHashMap();
+
+        // COUPONS_ISSUED nunca passa de CouponCodec.MAX_FIELD + 1, então cabe num int.
+        this.repository.forEachIssued((promotionId, count) -> issued.put(promotionId, (int) count));
+
+        return issued;
+    }
+
+    private void syncQuietly() {
+        try {
+            this.sync();
+        } catch (RuntimeException e) {
+            // Nada foi marcado como calculado; a próxima rodada tenta de novo.
+        }
+    }
+
+    private boolean rebuildQuietly() {
+        try {
+            this.rebuild();
+
+            return true;
+        } catch (RuntimeException e) {
+            // O filtro anterior continua valendo; a próxima rodada tenta de novo.
+            return false;
+        }
+    }
+}
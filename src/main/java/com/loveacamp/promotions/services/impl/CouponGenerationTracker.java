@@ -0,0 +1,125 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.entities.CouponGeneration;
+import com.loveacamp.promotions.enums.CouponGenerationStatus;
+import com.loveacamp.promotions.repositories.CouponGenerationRepository;
+import jakarta.annotation.PreDestroy;
+import org.joda.time.DateTime;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gerações de cupons em {@code COUPON_GENERATIONS}, para que o progresso sobreviva a um restart e seja consultável de
+ * qualquer instância. Enquanto uma geração desta instância está na fila ou rodando, {@code UPDATED_AT} é renovado a
+ * cada batch e a cada quarto de {@code stale-after}. Na subida e a cada renovação, as gerações {@code RUNNING} que
+ * ninguém renova há {@code stale-after} — a instância que as executava caiu — são encerradas como {@code FAILED}; os
+ * cupons já gravados continuam válidos e o resto da faixa de números de série não é reaproveitado.
+ */
+@Component
+public class CouponGenerationTracker {
+    private final CouponGenerationRepository repository;
+
+    private final long staleAfterMillis;
+
+    private final Set<Long> active = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService executor;
+
+    public CouponGenerationTracker(CouponGenerationRepository repository,
+                                   @Value("${promotions.coupons.generation.stale-after:PT1M}") Duration staleAfter) {
+        this.repository = repository;
+        this.staleAfterMillis = staleAfter.toMillis();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (this.executor == null) {
+            this.heartbeatQuietly();
+
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "coupon-generation-heartbeat");
+                thread.setDaemon(true);
+
+                return thread;
+            });
+            long interval = this.staleAfterMillis / 4;
+            this.executor.scheduleWithFixedDelay(this::heartbeatQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Grava uma geração {@code RUNNING} desta instância. Ela deve terminar em {@link #finish}.
+     */
+    public CouponGeneration create(long promotionId, long firstSerial, long quantity) {
+        CouponGeneration generation = this.repository.save(new CouponGeneration(promotionId, firstSerial, quantity, DateTime.now()));
+
+        this.active.add(generation.getId());
+
+        return generation;
+    }
+
+    /**
+     * Grava o progresso da geração.
+     *
+     * @return {@code false} se ela já foi encerrada como {@code FAILED} por ter ficado sem renovação: a geração deve
+     * parar
+     */
+    public boolean advance(long generationId, long generated) {
+        return this.repository.advance(generationId, generated, DateTime.now()) == 1;
+    }
+
+    /**
+     * Encerra a geração. Se a gravação falhar, ela fica {@code RUNNING} sem renovação e é encerrada como
+     * {@code FAILED} depois de {@code stale-after}.
+     */
+    public void finish(long generationId, CouponGenerationStatus status) {
+        this.active.remove(generationId);
+
+        try {
+            this.repository.finish(generationId, status, DateTime.now());
+        } catch (RuntimeException e) {
+            // Fica para a varredura das gerações sem renovação.
+        }
+    }
+
+    public Optional<CouponGeneration> find(long generationId) {
+        return this.repository.findById(generationId);
+    }
+
+    void heartbeat() {
+        DateTime now = DateTime.now();
+
+        if (!this.active.isEmpty()) {
+            this.repository.touch(List.copyOf(this.active), now);
+        }
+
+        this.repository.failStalled(now.minus(this.staleAfterMillis), now);
+    }
+
+    private void heartbeatQuietly() {
+        try {
+            this.heartbeat();
+        } catch (RuntimeException e) {
+            // A próxima renovação tenta de novo; stale-after cobre algumas falhas seguidas.
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.config.CouponConfig;
+import com.loveacamp.promotions.config.MetricsConfig;
+import com.loveacamp.promotions.dto.CouponGenerationDto;
+import com.loveacamp.promotions.dto.CursorPageDto;
+import com.loveacamp.promotions.dto.requests.CouponGenerationRequestDto;
+import com.loveacamp.promotions.entities.Coupon;
+import com.loveacamp.promotions.entities.CouponGeneration;
+import com.loveacamp.promotions.enums.CouponGenerationStatus;
+import com.loveacamp.promotions.exception.BadRequestException;
+import com.loveacamp.promotions.repositories.CouponRepository;
+import com.loveacamp.promotions.repositories.PromotionRepository;
+import com.loveacamp.promotions.services.ICouponService;
+import com.loveacamp.promotions.utils.CouponCodec;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Geração de cupons em massa. A requisição só reserva a faixa de números de série na promoção e devolve o id da
+ * geração; os códigos são calculados e inseridos em segundo plano, em batches JDBC de tamanho fixo que reaproveitam o
+ * mesmo {@code long[]}, então a memória usada não depende da quantidade pedida. Cada batch gravado entra em
+ * {@link CouponFilter}. A geração e o seu progresso ficam no banco, em {@link CouponGenerationTracker}, e são
+ * consultáveis por {@link #findGeneration} de qualquer instância.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class CouponService implements ICouponService {
+    private final PromotionRepository promotionRepository;
+
+    private final CouponRepository repository;
+
+    private final CouponCodec codec;
+
+    private final CouponFilter filter;
+
+    private final CouponGenerationTracker generations;
+
+    private final Executor executor;
+
+    private final Counter generatedCounter;
+
+    private final long maxQuantity;
+
+    private final int batchSize;
+
+    public CouponService(PromotionRepository promotionRepository, CouponRepository repository, CouponCodec codec,
+                         CouponFilter filter, CouponGenerationTracker generations,
+                         @Qualifier(CouponConfig.GENERATION_EXECUTOR) Executor executor, MeterRegistry registry,
+                         @Value("${promotions.coupons.generation.max-quantity:10000000}") long maxQuantity,
+                         @Value("${promotions.coupons.generation.batch-size:5000}") int batchSize) {
+        this.promotionRepository = promotionRepository;
+        this.repository = repository;
+        this.codec = codec;
+        this.filter = filter;
+        this.generations = generations;
+        this.executor = executor;
+        this.generatedCounter = Counter.builder("promotions.coupons.generated").register(registry);
+        this.maxQuantity = maxQuantity;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public CouponGenerationDto generate(Long promotionId, CouponGenerationRequestDto couponGenerationRequestDto) {
+        long quantity = couponGenerationRequestDto.getQuantity();
+
+        if (quantity > this.maxQuantity) {
+            throw new BadRequestException("A geração deve conter no máximo %s cupons.", this.maxQuantity);
+        }
+
+        if (promotionId > CouponCodec.MAX_FIELD || !this.promotionRepository.existsById(promotionId)) {
+            throw new BadRequestException("Promoção não encontrada.");
+        }
+
+        long firstSerial = this.repository.reserveSerials(promotionId, quantity, CouponCodec.MAX_FIELD + 1);
+
+        if (firstSerial < 0) {
+            throw new BadRequestException("A promoção atingiu o limite de %s cupons.", CouponCodec.MAX_FIELD + 1);
+        }
+
+        CouponGeneration generation = this.generations.create(promotionId, firstSerial, quantity);
+        long generationId = generation.getId();
+
+        this.executor.execute(() -> this.run(generationId, promotionId, firstSerial, quantity));
+
+        return toDto(generation);
+    }
+
+    @Override
+    public CouponGenerationDto findGeneration(Long promotionId, Long generationId) {
+        CouponGeneration generation = this.generations.find(generationId)
+                .filter(found -> found.getPromotionId().equals(promotionId))
+                .orElseThrow(() -> new BadRequestException("Geração de cupons não encontrada."));
+
+        return toDto(generation);
+    }
+
+    @Override
+    public CursorPageDto<String> findAll(Long promotionId, String cursor, int limit) {
+        // Código 0 é válido, então "sem cursor" começa antes dele.
+        long after = cursor == null || cursor.isBlank() ? -1L : Keyset.after(cursor);
+        List<Coupon> coupons = this.repository.findByPromotionIdAndCodeGreaterThanOrderByCodeAsc(promotionId, after, Keyset.limit(limit));
+
+        return Keyset.page(coupons, limit, Coupon::getCode, coupon -> CouponCodec.format(coupon.getCode()));
+    }
+
+    private void run(long generationId, long promotionId, long firstSerial, long quantity) {
+        long[] codes = new long[(int) Math.min(this.batchSize, quantity)];
+        long end = firstSerial + quantity;
+        CouponGenerationStatus status = CouponGenerationStatus.FAILED;
+
+        try {
+            for (long serial = firstSerial; serial < end; ) {
+                int count = (int) Math.min(codes.length, end - serial);
+
+                for (int i = 0; i < count; i++) {
+                    codes[i] = this.codec.encode(promotionId, serial + i);
+                }
+
+                this.repository.insertBatch(promotionId, codes, count);
+                this.filter.add(codes, count);
+                serial += count;
+                this.generatedCounter.increment(count);
+
+                if (!this.generations.advance(generationId, serial - firstSerial)) {
+                    // Ficou sem renovação por tempo demais e já foi encerrada como FAILED.
+                    return;
+                }
+            }
+
+            status = CouponGenerationStatus.COMPLETED;
+        } catch (RuntimeException e) {
+            // Os batches já gravados ficam válidos; os números de série restantes da faixa não são reaproveitados.
+        } finally {
+            this.generations.finish(generationId, status);
+        }
+    }
+
+    private static CouponGenerationDto toDto(CouponGeneration generation) {
+        return new CouponGenerationDto()
+                .setId(generation.getId())
+                .setPromotionId(generation.getPromotionId())
+                .setQuantity(generation.getQuantity())
+                .setGenerated(generation.getGenerated())
+                .setStatus(generation.getStatus())
+                .setStartedAt(generation.getStartedAt())
+                .setFinishedAt(generation.getFinishedAt());
+    }
+}
@@ -0,0 +1,15 @@
+package com.loveacamp.promotions.services.impl;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * @param promotionId  a primeira promoção aplicada
+ * @param amount       desconto total das promoções aplicadas
+ * @param promotionIds as promoções aplicadas, em ordem de aplicação
+ */
+record Discount(long promotionId, BigDecimal amount, List<Long> promotionIds) {
+    Discount(long promotionId, BigDecimal amount) {
+        this(promotionId, amount, List.of(promotionId));
+    }
+}
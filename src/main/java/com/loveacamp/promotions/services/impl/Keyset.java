@@ -0,0 +1,56 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.dto.CursorPageDto;
+import com.loveacamp.promotions.exception.BadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Paginação por cursor (seek em ID): cada página é um "WHERE ID > :cursor ORDER BY ID LIMIT :limit",
+ * então o custo não cresce com a profundidade da navegação como acontece com OFFSET.
+ */
+final class Keyset {
+    static final int MAX_LIMIT = 500;
+
+    private Keyset() {
+    }
+
+    static long after(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor inválido.");
+        }
+    }
+
+    static Pageable limit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("O limite deve estar entre 1 e %s.", MAX_LIMIT);
+        }
+
+        // Uma linha a mais indica se existe próxima página sem precisar de COUNT.
+        return PageRequest.ofSize(limit + 1);
+    }
+
+    static <E, T> CursorPageDto<T> page(List<E> rows, int limit, Function<E, Long> id, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > limit;
+        List<E> items = hasNext ? rows.subList(0, limit) : rows;
+        String next = hasNext ? encode(id.apply(items.get(items.size() - 1))) : null;
+
+        return CursorPageDto.toDto(items.stream().map(mapper).collect(Collectors.toList()), next);
+    }
+
+    static String encode(long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,54 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.dto.MultiGetDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Resolve uma lista de ids com uma consulta "WHERE ID IN (...)" por bloco de {@link #CHUNK_SIZE} ids,
+ * devolvendo os itens na ordem pedida e os ids não encontrados.
+ */
+final class MultiGet {
+    static final int CHUNK_SIZE = 500;
+
+    private MultiGet() {
+    }
+
+    static <E> Map<Long, E> load(List<Long> ids, Function<List<Long>, List<E>> loader, Function<E, Long> id) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, E> entities = new HashMap<>(distinctIds.size() * 2);
+
+        for (int from = 0; from < distinctIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + CHUNK_SIZE, distinctIds.size()));
+
+            for (E entity : loader.apply(chunk)) {
+                entities.put(id.apply(entity), entity);
+            }
+        }
+
+        return entities;
+    }
+
+    static <E, T> MultiGetDto<T> resolve(List<Long> ids, Function<List<Long>, List<E>> loader, Function<E, Long> id, Function<E, T> mapper) {
+        Map<Long, E> entities = load(ids, loader, id);
+        List<T> items = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+
+        for (Long requestedId : ids) {
+            E entity = entities.get(requestedId);
+
+            if (entity == null) {
+                missing.add(requestedId);
+            } else {
+                items.add(mapper.apply(entity));
+            }
+        }
+
+        return MultiGetDto.toDto(items, missing);
+    }
+}
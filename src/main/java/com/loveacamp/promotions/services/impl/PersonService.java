@@ -1,36 +1,66 @@
 package com.loveacamp.promotions.services.impl;
 
+import com.loveacamp.promotions.config.MetricsConfig;
+import com.loveacamp.promotions.dto.CursorPageDto;
+import com.loveacamp.promotions.dto.MultiGetDto;
 import com.loveacamp.promotions.dto.PersonDto;
 import com.loveacamp.promotions.dto.requests.PersonRequestDto;
 import com.loveacamp.promotions.entities.Person;
 import com.loveacamp.promotions.exception.BadRequestException;
 import com.loveacamp.promotions.repositories.PersonRepository;
 import com.loveacamp.promotions.services.IPersonService;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class PersonService implements IPersonService {
 
     private final PersonRepository repository;
 
-    public PersonService(PersonRepository repository) {
+    private final EntityManager entityManager;
+
+    public PersonService(PersonRepository repository, EntityManager entityManager) {
         this.repository = repository;
+        this.entityManager = entityManager;
     }
 
     @Override
     public PersonDto save(PersonRequestDto personRequest) {
-        if (repository.findByEmail(personRequest.getEmail()).isPresent()) {
-            throw new BadRequestException("Email já esta vinculado a outra conta.");
+        try {
+            return PersonDto.toDto(repository.saveAndFlush(toEntity(personRequest)));
+        } catch (DataIntegrityViolationException e) {
+            if (UniqueConstraint.isViolated(e, Person.UK_EMAIL)) {
+                throw new BadRequestException("Email já esta vinculado a outra conta.");
+            }
+
+            throw e;
         }
+    }
+
+    @Override
+    public CursorPageDto<PersonDto> findAll(String cursor, int limit) {
+        List<Person> people = repository.findByIdGreaterThanOrderByIdAsc(Keyset.after(cursor), Keyset.limit(limit));
 
-        return PersonDto.toDto(repository.save(toEntity(personRequest)));
+        return Keyset.page(people, limit, Person::getId, PersonDto::toDto);
     }
 
     @Override
-    public List<PersonDto> findAll() {
-        return PersonDto.toDto(repository.findAll());
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<PersonDto> consumer) {
+        try (Stream<Person> people = repository.streamAll()) {
+            people.forEach(person -> {
+                consumer.accept(PersonDto.toDto(person));
+                entityManager.detach(person);
+            });
+        }
     }
 
     @Override
@@ -38,11 +68,16 @@ public class PersonService implements IPersonService {
         return PersonDto.toDto(getPersonFromRepositoryById(id));
     }
 
+    @Override
+    public MultiGetDto<PersonDto> findAllById(List<Long> ids) {
+        return MultiGet.resolve(ids, repository::findAllById, Person::getId, PersonDto::toDto);
+    }
+
     @Override
     public PersonDto update(long id, PersonRequestDto personRequest) {
         Person person = getPersonFromRepositoryById(id);
 
-        if (repository.existsByEmailNotId(personRequest.getEmail(), id)) {
+        if (repository.existsByEmailAndIdNot(personRequest.getEmail(), id)) {
             throw new BadRequestException("Email já esta vinculado a outra conta.");
         }
 
@@ -0,0 +1,312 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.repositories.PromotionUsageRepository;
+import com.loveacamp.promotions.utils.LongIntHashMap;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.joda.time.DateTime;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resgates de cada pessoa por promoção, para o limite {@code MAX_REDEMPTIONS_PER_PERSON}. A contagem fica em memória,
+ * em {@link LongIntHashMap}s divididos em {@value #SEGMENTS} segmentos por promoção, cada um com seu lock; só o que
+ * mudou desde o último flush é gravado em {@code PROMOTION_USAGES}, em batch, a cada {@code flush-interval}. Na subida
+ * a contagem das promoções não encerradas é recarregada do banco.
+ * <p>
+ * A contagem só distribui as vagas da pessoa e recusa sem ir ao banco quem já chegou ao limite: quem garante o limite
+ * entre instâncias é a vaga gravada com o cupom
+ * ({@link com.loveacamp.promotions.repositories.CouponBatchRepository#claim}). Resgates feitos em outras instâncias, ou
+ * usos perdidos com a instância antes do flush, aparecem como vaga ocupada, e a contagem é corrigida com
+ * {@link #raise(long, long, int)}. Só passam por aqui promoções com limite: se o limite for criado depois, os resgates
+ * anteriores não contam.
+ * <p>
+ * A memória de cada promoção é publicada em {@value #MEMORY_GAUGE}.
+ */
+@Component
+public class PersonUsageTracker {
+    public static final String MEMORY_GAUGE = "promotions.usages.memory";
+
+    /**
+     * Retorno de {@link #tryUse(long, long, int)} quando a pessoa já chegou ao limite.
+     */
+    public static final int LIMIT_REACHED = -1;
+
+    private static final int SEGMENTS = 16;
+
+    private final PromotionUsageRepository repository;
+
+    private final MeterRegistry registry;
+
+    private final long flushIntervalMillis;
+
+    private final Map<Long, Usage> usages = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService executor;
+
+    public PersonUsageTracker(PromotionUsageRepository repository, MeterRegistry registry,
+                              @Value("${promotions.usages.flush-interval:PT1S}") Duration flushInterval) {
+        this.repository = repository;
+        this.registry = registry;
+        this.flushIntervalMillis = flushInterval.toMillis();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (this.executor == null) {
+            this.repository.forEachUsageNotEndedAt(DateTime.now(),
+                    (promotionId, personId, uses) -> this.usage(promotionId).load(personId, uses));
+
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "usage-flush");
+                thread.setDaemon(true);
+
+                return thread;
+            });
+            this.executor.scheduleWithFixedDelay(this::flushQuietly, this.flushIntervalMillis, this.flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+
+        this.flushQuietly();
+    }
+
+    /**
+     * Conta um resgate da pessoa na promoção, se ela ainda não tiver chegado a {@code limit}. Se o resgate não se
+     * concretizar, chame {@link #undo(long, long)}.
+     *
+     * @return a vaga do resgate, que é a contagem da pessoa antes dele, ou {@link #LIMIT_REACHED}
+     */
+    public int tryUse(long promotionId, long personId, int limit) {
+        return this.usage(promotionId).tryUse(personId, limit);
+    }
+
+    public void undo(long promotionId, long personId) {
+        Usage usage = this.usages.get(promotionId);
+
+        if (usage != null) {
+            usage.add(personId, -1);
+        }
+    }
+
+    /**
+     * Leva a contagem da pessoa a pelo menos {@code uses}, sem gravar nada: os resgates que faltavam aqui já estão
+     * contados em {@code PROMOTION_USAGES} pela instância que os fez, ou se perderam com ela.
+     */
+    public void raise(long promotionId, long personId, int uses) {
+        this.usage(promotionId).raise(personId, uses);
+    }
+
+    public int uses(long promotionId, long personId) {
+        Usage usage = this.usages.get(promotionId);
+
+        return usage == null ? 0 : usage.uses(personId);
+    }
+
+    /**
+     * Descarta a contagem da promoção removida, só em memória: as linhas de {@code PROMOTION_USAGES} saem na
+     * transação que remove a promoção.
+     */
+    public synchronized void remove(long promotionId) {
+        Usage usage = this.usages.remove(promotionId);
+
+        if (usage != null) {
+            this.registry.remove(usage.gauge);
+        }
+    }
+
+    /**
+     * Grava num único batch os usos que mudaram desde o último flush. Se o batch falhar, os valores voltam para a
+     * memória e entram no próximo.
+     */
+    synchronized void flush() {
+        List<Long> promotionIdsByMap = new ArrayList<>();
+        List<LongIntHashMap> maps = new ArrayList<>();
+        int size = 0;
+
+        for (Map.Entry<Long, Usage> entry : this.usages.entrySet()) {
+            for (Segment segment : entry.getValue().segments) {
+                LongIntHashMap dirty = segment.takeDirty();
+
+                if (dirty != null) {
+                    promotionIdsByMap.add(entry.getKey());
+                    maps.add(dirty);
+                    size += dirty.size();
+                }
+            }
+        }
+
+        if (size == 0) {
+            return;
+        }
+
+        long[] promotionIds = new long[size];
+        long[] personIds = new long[size];
+        int[] deltas = new int[size];
+        int[] count = new int[1];
+
+        for (int i = 0; i < maps.size(); i++) {
+            long promotionId = promotionIdsByMap.get(i);
+
+            maps.get(i).forEach((personId, delta) -> {
+                promotionIds[count[0]] = promotionId;
+                personIds[count[0]] = personId;
+                deltas[count[0]++] = delta;
+            });
+        }
+
+        try {
+            this.repository.addUsages(promotionIds, personIds, deltas, count[0]);
+        } catch (RuntimeException e) {
+            for (int i = 0; i < count[0]; i++) {
+                Usage usage = this.usages.get(promotionIds[i]);
+
+                // Uma promoção removida nesse meio tempo não volta.
+                if (usage != null) {
+                    usage.segment(personIds[i]).restoreDirty(personIds[i], deltas[i]);
+                }
+            }
+
+            throw e;
+        }
+    }
+
+    private Usage usage(long promotionId) {
+        return this.usages.computeIfAbsent(promotionId, id -> new Usage(id, this.registry));
+    }
+
+    private void flushQuietly() {
+        try {
+            this.flush();
+        } catch (RuntimeException e) {
+            // Os valores já voltaram para a memória; o próximo flush tenta de novo.
+        }
+    }
+
+    private static final class Usage {
+        private final Segment[] segments = new Segment[SEGMENTS];
+
+        private final Gauge gauge;
+
+        private Usage(long promotionId, MeterRegistry registry) {
+            for (int i = 0; i < SEGMENTS; i++) {
+                this.segments[i] = new Segment();
+            }
+
+            this.gauge = Gauge.builder(MEMORY_GAUGE, this, Usage::memoryBytes)
+                    .tag("promotion", String.valueOf(promotionId))
+                    .baseUnit("bytes")
+                    .register(registry);
+        }
+
+        private Segment segment(long personId) {
+            // Bits altos de um hash diferente do usado dentro do mapa, para não concentrar colisões num segmento.
+            return this.segments[(int) ((personId * 0xC2B2AE3D27D4EB4FL) >>> 60)];
+        }
+
+        private int tryUse(long personId, int limit) {
+            Segment segment = this.segment(personId);
+
+            synchronized (segment) {
+                int uses = segment.uses.get(personId);
+
+                if (uses >= limit) {
+                    return LIMIT_REACHED;
+                }
+
+                segment.uses.addTo(personId, 1);
+                segment.dirty.addTo(personId, 1);
+
+                return uses;
+            }
+        }
+
+        private void add(long personId, int delta) {
+            Segment segment = this.segment(personId);
+
+            synchronized (segment) {
+                segment.uses.addTo(personId, delta);
+                segment.dirty.addTo(personId, delta);
+            }
+        }
+
+        private void load(long personId, int uses) {
+            Segment segment = this.segment(personId);
+
+            synchronized (segment) {
+                segment.uses.addTo(personId, uses);
+            }
+        }
+
+        private void raise(long personId, int uses) {
+            Segment segment = this.segment(personId);
+
+            synchronized (segment) {
+                int current = segment.uses.get(personId);
+
+                if (current < uses) {
+                    segment.uses.addTo(personId, uses - current);
+                }
+            }
+        }
+
+        private int uses(long personId) {
+            Segment segment = this.segment(personId);
+
+            synchronized (segment) {
+                return segment.uses.get(personId);
+            }
+        }
+
+        private double memoryBytes() {
+            long bytes = 0;
+
+            for (Segment segment : this.segments) {
+                synchronized (segment) {
+                    bytes += segment.uses.memoryBytes() + segment.dirty.memoryBytes();
+                }
+            }
+
+            return bytes;
+        }
+    }
+
+    private static final class Segment {
+        private final LongIntHashMap uses = new LongIntHashMap();
+
+        private LongIntHashMap dirty = new LongIntHashMap();
+
+        private synchronized LongIntHashMap takeDirty() {
+            if (this.dirty.isEmpty()) {
+                return null;
+            }
+
+            LongIntHashMap taken = this.dirty;
+            this.dirty = new LongIntHashMap();
+
+            return taken;
+        }
+
+        private synchronized void restoreDirty(long personId, int delta) {
+            this.dirty.addTo(personId, delta);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.loveacamp.promotions.dto.ProductDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Cache read-through de {@link ProductDto} por id, limitado por tamanho e TTL. Produtos inexistentes
+ * também são guardados (como {@code Optional.empty()}) por um TTL menor, para que buscas repetidas por
+ * ids inexistentes não cheguem ao banco. As métricas são publicadas como cache.gets/cache.evictions{cache=products}.
+ */
+@Component
+public class ProductCache implements MeterBinder {
+    private final Cache<Long, Optional<ProductDto>> cache;
+
+    public ProductCache(@Value("${promotions.cache.products.max-size:10000}") long maxSize,
+                        @Value("${promotions.cache.products.ttl:PT5M}") Duration ttl,
+                        @Value("${promotions.cache.products.negative-ttl:PT10S}") Duration negativeTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new PositiveNegativeExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<ProductDto> get(Long id, Function<Long, Optional<ProductDto>> loader) {
+        return this.cache.get(id, loader);
+    }
+
+    public void invalidate(Long id) {
+        this.cache.invalidate(id);
+    }
+
+    public CacheStats stats() {
+        return this.cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, this.cache, "products");
+    }
+
+    private record PositiveNegativeExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<Long, Optional<ProductDto>> {
+        @Override
+        public long expireAfterCreate(Long id, Optional<ProductDto> product, long currentTime) {
+            return product.isPresent() ? this.ttlNanos : this.negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long id, Optional<ProductDto> product, long currentTime, long currentDuration) {
+            return this.expireAfterCreate(id, product, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long id, Optional<ProductDto> product, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
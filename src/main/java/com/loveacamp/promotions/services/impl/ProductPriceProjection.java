@@ -0,0 +1,254 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.entities.Product;
+import com.loveacamp.promotions.events.ProductPricesStaleEvent;
+import com.loveacamp.promotions.repositories.ProductPriceRepository;
+import com.loveacamp.promotions.repositories.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.joda.time.DateTime;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém {@code PRODUCT_PRICES}, o melhor preço vigente de cada produto segundo o {@link PromotionEngine}. Os
+ * {@link ProductPricesStaleEvent} só marcam produtos como pendentes; a cada {@code refresh-interval} os pendentes são
+ * reavaliados em lotes de {@code batch-size}, e só eles são regravados. Uma alteração que vale para todos os produtos
+ * (a carga do engine ou uma promoção sem escopo) recompõe a tabela inteira, paginando os produtos por id.
+ * <p>
+ * A tabela fica atrás do engine por até um intervalo. Publica em {@value #PENDING_GAUGE} os produtos pendentes e em
+ * {@code promotions.prices.refreshed} as linhas regravadas.
+ */
+@Component
+public class ProductPriceProjection {
+    public static final String PENDING_GAUGE = "promotions.prices.pending";
+
+    private final ProductRepository productRepository;
+
+    private final ProductPriceRepository repository;
+
+    private final PromotionEngine engine;
+
+    private final int batchSize;
+
+    private final long refreshIntervalMillis;
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Começa ligado: a tabela pode estar desatualizada desde a última execução.
+     */
+    private volatile boolean allPending = true;
+
+    private final Counter refreshed;
+
+    private ScheduledExecutorService executor;
+
+    public ProductPriceProjection(ProductRepository productRepository, ProductPriceRepository repository, PromotionEngine engine,
+                                  MeterRegistry registry,
+                                  @Value("${promotions.prices.batch-size:1000}") int batchSize,
+                                  @Value("${promotions.prices.refresh-interval:PT1S}") Duration refreshInterval) {
+        this.productRepository = productRepository;
+        this.repository = repository;
+        this.engine = engine;
+        this.batchSize = batchSize;
+        this.refreshIntervalMillis = refreshInterval.toMillis();
+        this.refreshed = Counter.builder("promotions.prices.refreshed").register(registry);
+
+        Gauge.builder(PENDING_GAUGE, this.pending, Set::size).register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (this.executor == null) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "price-refresh");
+                thread.setDaemon(true);
+
+                return thread;
+            });
+            this.executor.scheduleWithFixedDelay(this::refreshQuietly, this.refreshIntervalMillis, this.refreshIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Publicado dentro de uma transação (ex.: cadastro de produtos em lote), só vale depois do commit, quando a
+     * reavaliação já enxerga os produtos gravados.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void pricesStale(ProductPricesStaleEvent event) {
+        if (event.isAllProducts()) {
+            this.allPending = true;
+
+            return;
+        }
+
+        for (long productId : event.productIds()) {
+            this.pending.add(productId);
+        }
+    }
+
+    /**
+     * Regrava os produtos pendentes. Se a gravação falhar, os produtos do lote voltam a ficar pendentes.
+     */
+    synchronized void refresh() {
+        if (this.allPending) {
+            // Os pendentes de antes deste ponto já estão no engine que a recomposição vai ler.
+            this.allPending = false;
+            this.pending.clear();
+
+            try {
+                this.refreshAll();
+            } catch (RuntimeException e) {
+                this.allPending = true;
+
+                throw e;
+            }
+
+            return;
+        }
+
+        long[] productIds = new long[this.batchSize];
+
+        while (!this.pending.isEmpty()) {
+            int count = 0;
+
+            for (Iterator<Long> iterator = this.pending.iterator(); iterator.hasNext() && count < productIds.length; ) {
+                productIds[count++] = iterator.next();
+                iterator.remove();
+            }
+
+            try {
+                this.refresh(productIds, count);
+            } catch (RuntimeException e) {
+                for (int i = 0; i < count; i++) {
+                    this.pending.add(productIds[i]);
+                }
+
+                throw e;
+            }
+        }
+    }
+
+    private void refreshAll() {
+        DateTime refreshedAt = DateTime.now();
+        long after = 0;
+        List<Product> products;
+
+        do {
+            products = this.productRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.ofSize(this.batchSize));
+
+            if (!products.isEmpty()) {
+                this.write(products, refreshedAt);
+                after = products.get(products.size() - 1).getId();
+            }
+        } while (products.size() == this.batchSize);
+
+        // Produtos removidos ou sem preço não foram regravados.
+        this.repository.deleteUnpriced();
+    }
+
+    private void refresh(long[] productIds, int count) {
+        List<Long> ids = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            ids.add(productIds[i]);
+        }
+
+        List<Product> products = this.productRepository.findAllById(ids);
+        long[] unpriced = this.write(products, DateTime.now());
+        long[] deleted = Arrays.copyOf(unpriced, count);
+        int deletedCount = unpriced.length;
+
+        if (products.size() < count) {
+            // Os que não voltaram do banco foram removidos.
+            Set<Long> found = products.stream().map(Product::getId).collect(Collectors.toSet());
+
+            for (Long productId : ids) {
+                if (!found.contains(productId)) {
+                    deleted[deletedCount++] = productId;
+                }
+            }
+        }
+
+        if (deletedCount > 0) {
+            this.repository.delete(deleted, deletedCount);
+        }
+    }
+
+    /**
+     * Grava o melhor preço dos produtos com preço.
+     *
+     * @return os produtos sem preço, que não foram gravados
+     */
+    private long[] write(List<Product> products, DateTime updatedAt) {
+        long[] productIds = new long[products.size()];
+        BigDecimal[] prices = new BigDecimal[products.size()];
+        long[] unpriced = new long[products.size()];
+        int count = 0;
+        int unpricedCount = 0;
+
+        for (Product product : products) {
+            if (product.getPrice() == null) {
+                unpriced[unpricedCount++] = product.getId();
+            } else {
+                productIds[count] = product.getId();
+                prices[count++] = product.getPrice();
+            }
+        }
+
+        if (count > 0) {
+            productIds = Arrays.copyOf(productIds, count);
+            prices = Arrays.copyOf(prices, count);
+
+            Discount[] discounts = this.engine.best(productIds, prices, null, null);
+            Long[] promotionIds = new Long[count];
+            BigDecimal[] amounts = new BigDecimal[count];
+
+            for (int i = 0; i < count; i++) {
+                promotionIds[i] = discounts[i] == null ? null : discounts[i].promotionId();
+                amounts[i] = discounts[i] == null ? BigDecimal.ZERO.setScale(2) : discounts[i].amount();
+            }
+
+            this.repository.upsert(productIds, prices, promotionIds, amounts, updatedAt, count);
+            this.refreshed.increment(count);
+        }
+
+        return Arrays.copyOf(unpriced, unpricedCount);
+    }
+
+    private void refreshQuietly() {
+        try {
+            this.refresh();
+        } catch (RuntimeException e) {
+            // Os produtos já voltaram a ficar pendentes; o próximo intervalo tenta de novo.
+        }
+    }
+}
@@ -1,55 +1,180 @@
 package com.loveacamp.promotions.services.impl;
 
+import com.loveacamp.promotions.config.MetricsConfig;
+import com.loveacamp.promotions.dto.CursorPageDto;
+import com.loveacamp.promotions.dto.MultiGetDto;
+import com.loveacamp.promotions.dto.ProductBatchItemDto;
 import com.loveacamp.promotions.dto.ProductDto;
+import com.loveacamp.promotions.dto.ProductPriceDto;
 import com.loveacamp.promotions.dto.requests.ProductRequestDto;
 import com.loveacamp.promotions.entities.Product;
+import com.loveacamp.promotions.entities.ProductPrice;
 import com.loveacamp.promotions.exception.BadRequestException;
+import com.loveacamp.promotions.repositories.ProductPriceRepository;
 import com.loveacamp.promotions.repositories.ProductRepository;
 import com.loveacamp.promotions.services.IProductService;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class ProductService implements IProductService {
 
     private final ProductRepository repository;
 
-    public ProductService(ProductRepository repository) {
+    private final EntityManager entityManager;
+
+    private final ProductCache cache;
+
+    private final PromotionEngine engine;
+
+    private final ProductPriceRepository priceRepository;
+
+    private final int maxBatchSize;
+
+    public ProductService(ProductRepository repository, EntityManager entityManager, ProductCache cache, PromotionEngine engine,
+                          ProductPriceRepository priceRepository,
+                          @Value("${promotions.products.batch.max-size:1000}") int maxBatchSize) {
         this.repository = repository;
+        this.entityManager = entityManager;
+        this.cache = cache;
+        this.engine = engine;
+        this.priceRepository = priceRepository;
+        this.maxBatchSize = maxBatchSize;
     }
 
     @Override
     public ProductDto save(ProductRequestDto productRequestDto) {
-        if (this.repository.findByName(productRequestDto.getName()).isPresent()) {
-            throw new BadRequestException("Já existe um produto cadastrado com este nome.");
+        Product product;
+
+        try {
+            product = this.repository.saveAndFlush(this.toEntity(productRequestDto));
+        } catch (DataIntegrityViolationException e) {
+            if (UniqueConstraint.isViolated(e, Product.UK_NAME)) {
+                throw new BadRequestException("Já existe um produto cadastrado com este nome.");
+            }
+
+            throw e;
+        }
+
+        this.cache.invalidate(product.getId());
+        this.engine.productsSaved(List.of(product));
+
+        return ProductDto.toDto(product);
+    }
+
+    @Override
+    @Transactional
+    public List<ProductBatchItemDto> saveAll(List<ProductRequestDto> productRequests) {
+        if (productRequests.size() > this.maxBatchSize) {
+            throw new BadRequestException("O lote deve conter no máximo %s produtos.", this.maxBatchSize);
+        }
+
+        Set<String> names = productRequests.stream().map(ProductRequestDto::getName).collect(Collectors.toSet());
+        Set<String> takenNames = new HashSet<>(this.repository.findNamesIn(names));
+        Product[] products = new Product[productRequests.size()];
+
+        for (int i = 0; i < productRequests.size(); i++) {
+            if (takenNames.add(productRequests.get(i).getName())) {
+                products[i] = this.toEntity(productRequests.get(i));
+            }
+        }
+
+        List<Product> created = Arrays.stream(products).filter(Objects::nonNull).collect(Collectors.toList());
+
+        try {
+            this.repository.saveAllAndFlush(created);
+        } catch (DataIntegrityViolationException e) {
+            if (UniqueConstraint.isViolated(e, Product.UK_NAME)) {
+                throw new BadRequestException("Já existe um produto cadastrado com este nome.");
+            }
+
+            throw e;
+        }
+
+        List<ProductBatchItemDto> items = new ArrayList<>(products.length);
+
+        for (int i = 0; i < products.length; i++) {
+            if (products[i] == null) {
+                items.add(ProductBatchItemDto.rejected(i, "Já existe um produto cadastrado com este nome."));
+            } else {
+                this.cache.invalidate(products[i].getId());
+                items.add(ProductBatchItemDto.created(i, products[i]));
+            }
         }
 
-        return ProductDto.toDto(this.repository.save(this.toEntity(productRequestDto)));
+        this.engine.productsSaved(created);
+
+        return items;
     }
 
     @Override
     public ProductDto update(Long id, ProductRequestDto productRequestDto) {
-        if (this.repository.findByIdAndName(id, productRequestDto.getName()).isPresent()) {
+        if (this.repository.existsByNameAndIdNot(productRequestDto.getName(), id)) {
             throw new BadRequestException("Já existe um produto cadastrado com este nome.");
         }
 
         Product product = this.toEntity(productRequestDto);
         product.setId(id);
 
-        return ProductDto.toDto(this.repository.save(product));
+        Product saved = this.repository.save(product);
+        this.cache.invalidate(id);
+        this.engine.productsSaved(List.of(saved));
+
+        return ProductDto.toDto(saved);
     }
 
     @Override
     public ProductDto findById(Long id) {
-        Product product = this.productDoesNotExistThrowAnException(id);
+        return this.cache.get(id, this::loadById).orElseThrow(() -> new BadRequestException("Produto não encontrado."));
+    }
 
-        return ProductDto.toDto(product);
+    @Override
+    public MultiGetDto<ProductDto> findAllById(List<Long> ids) {
+        return MultiGet.resolve(ids, this.repository::findAllById, Product::getId, ProductDto::toDto);
     }
 
     @Override
-    public List<ProductDto> findAll() {
-        return ProductDto.toDto(this.repository.findAll());
+    public CursorPageDto<ProductDto> findAll(String cursor, int limit) {
+        List<Product> products = this.repository.findByIdGreaterThanOrderByIdAsc(Keyset.after(cursor), Keyset.limit(limit));
+
+        return Keyset.page(products, limit, Product::getId, ProductDto::toDto);
+    }
+
+    /**
+     * Lê a tabela mantida por {@link ProductPriceProjection}, que pode estar até um intervalo de atualização atrás.
+     */
+    @Override
+    public CursorPageDto<ProductPriceDto> findPrices(String cursor, int limit) {
+        List<ProductPrice> prices = this.priceRepository.findByProductIdGreaterThanOrderByProductIdAsc(Keyset.after(cursor), Keyset.limit(limit));
+
+        return Keyset.page(prices, limit, ProductPrice::getProductId, ProductPriceDto::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<ProductDto> consumer) {
+        try (Stream<Product> products = this.repository.streamAll()) {
+            products.forEach(product -> {
+                consumer.accept(ProductDto.toDto(product));
+                this.entityManager.detach(product);
+            });
+        }
     }
 
     @Override
@@ -57,10 +182,16 @@ public class ProductService implements IProductService {
         Product product = this.productDoesNotExistThrowAnException(id);
 
         this.repository.delete(product);
+        this.cache.invalidate(id);
+        this.engine.productRemoved(id);
 
         return ProductDto.toDto(product);
     }
 
+    private Optional<ProductDto> loadById(Long id) {
+        return this.repository.findById(id).map(ProductDto::toDto);
+    }
+
     private Product productDoesNotExistThrowAnException(Long id) {
         return this.repository.findById(id).orElseThrow(() -> new BadRequestException("Produto não encontrado."));
     }
@@ -68,6 +199,8 @@ public class ProductService implements IProductService {
     private Product toEntity(ProductRequestDto productDto) {
         Product product = new Product();
 
-        return product.setName(productDto.getName());
+        return product
+                .setName(productDto.getName())
+                .setPrice(productDto.getPrice());
     }
 }
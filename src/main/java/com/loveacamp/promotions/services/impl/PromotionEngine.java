@@ -0,0 +1,204 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.entities.Product;
+import com.loveacamp.promotions.entities.Promotion;
+import com.loveacamp.promotions.enums.UserLevel;
+import com.loveacamp.promotions.events.ProductPricesStaleEvent;
+import com.loveacamp.promotions.repositories.ProductRepository;
+import com.loveacamp.promotions.utils.LongBitmap;
+import com.loveacamp.promotions.utils.LongObjectHashMap;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Avalia promoções em memória num {@link PromotionIndex} imutável que só contém as promoções vigentes: quem decide
+ * quando cada promoção entra e sai do índice é o {@link PromotionScheduler}. Alterações de promoções e de produtos são
+ * aplicadas ao índice de forma incremental. As consultas só leem a referência atual do índice, sem acesso ao banco nem
+ * locks; as alterações são serializadas entre si.
+ * <p>
+ * Cada índice publicado é uma versão do catálogo: a versão só cresce, e uma alteração que não muda o índice não gera
+ * versão nova. A versão é desta instância e recomeça a cada subida: só é comparável com outra do mesmo
+ * {@link #instance()}. O tempo para montar cada versão é publicado em {@value #REBUILD_TIMER}, a versão atual em
+ * {@value #VERSION_GAUGE} e o tamanho em {@value #PROMOTIONS_GAUGE} e {@value #PRODUCTS_GAUGE}.
+ * <p>
+ * Depois de cada alteração publica um {@link ProductPricesStaleEvent} com os produtos cujo melhor desconto pode ter
+ * mudado.
+ */
+@Component
+public class PromotionEngine {
+    public static final String REBUILD_TIMER = "promotions.snapshot.rebuild";
+
+    public static final String VERSION_GAUGE = "promotions.snapshot.version";
+
+    public static final String PROMOTIONS_GAUGE = "promotions.snapshot.promotions";
+
+    public static final String PRODUCTS_GAUGE = "promotions.snapshot.products";
+
+    private final ProductRepository productRepository;
+
+    private final AudienceRegistry audiences;
+
+    private final ApplicationEventPublisher publisher;
+
+    private final CartDiscountCache carts;
+
+    private final Timer rebuilds;
+
+    private final String instance = UUID.randomUUID().toString();
+
+    private final DateTime startedAt = DateTime.now();
+
+    private volatile PromotionIndex index = PromotionIndex.EMPTY;
+
+    public PromotionEngine(ProductRepository productRepository, AudienceRegistry audiences, ApplicationEventPublisher publisher,
+                           CartDiscountCache carts, MeterRegistry registry) {
+        this.productRepository = productRepository;
+        this.audiences = audiences;
+        this.publisher = publisher;
+        this.carts = carts;
+        this.rebuilds = Timer.builder(REBUILD_TIMER).register(registry);
+
+        Gauge.builder(VERSION_GAUGE, this, engine -> engine.index.version()).register(registry);
+        Gauge.builder(PROMOTIONS_GAUGE, this, engine -> engine.index.promotions()).register(registry);
+        Gauge.builder(PRODUCTS_GAUGE, this, engine -> engine.index.products()).register(registry);
+    }
+
+    public synchronized void load(Collection<Promotion> promotions) {
+        long version = this.index.version() + 1;
+
+        this.publish(() -> PromotionIndex.of(version, promotions, this::productsByPrefix));
+        this.publisher.publishEvent(ProductPricesStaleEvent.allProducts());
+    }
+
+    public synchronized void activate(Promotion promotion) {
+        long[] before = this.index.productsOf(promotion.getId());
+
+        this.publish(() -> this.index.withPromotion(promotion, this::productsByPrefix));
+        this.stale(before, this.index.productsOf(promotion.getId()));
+    }
+
+    public synchronized void deactivate(Long promotionId) {
+        long[] before = this.index.productsOf(promotionId);
+
+        this.publish(() -> this.index.withoutPromotion(promotionId));
+        this.stale(before, new long[0]);
+    }
+
+    public synchronized void productsSaved(Collection<Product> products) {
+        this.publish(() -> this.index.withProducts(products));
+        this.publisher.publishEvent(new ProductPricesStaleEvent(products.stream().mapToLong(Product::getId).toArray()));
+    }
+
+    public synchronized void productRemoved(Long productId) {
+        this.publish(() -> this.index.withoutProduct(productId));
+        this.publisher.publishEvent(new ProductPricesStaleEvent(new long[]{productId}));
+    }
+
+    /**
+     * Identifica esta instância desde a subida, a que as versões de {@link #snapshot()} se referem.
+     */
+    public String instance() {
+        return this.instance;
+    }
+
+    /**
+     * Quando esta instância subiu e as versões de {@link #snapshot()} recomeçaram.
+     */
+    public DateTime startedAt() {
+        return this.startedAt;
+    }
+
+    /**
+     * A versão atual do catálogo e o tamanho dela. As versões só se comparam dentro desta instância: recomeçam a cada
+     * subida.
+     */
+    public Snapshot snapshot() {
+        PromotionIndex index = this.index;
+
+        return new Snapshot(index.version(), index.promotions(), index.products());
+    }
+
+    /**
+     * @param personId pessoa para as promoções com público; {@code null} deixa essas promoções de fora
+     */
+    Optional<Discount> best(long productId, UserLevel level, Long personId, BigDecimal price) {
+        return this.index.best(productId, level, personId, price, DateTimeUtils.currentTimeMillis(), this.audiences.snapshot());
+    }
+
+    /**
+     * Avalia várias linhas contra o mesmo índice, os mesmos públicos e o mesmo instante, para que um carrinho nunca misture duas
+     * versões das promoções. A posição {@code i} do retorno é {@code null} quando nenhuma promoção se aplica.
+     */
+    Discount[] best(long[] productIds, BigDecimal[] prices, UserLevel level, Long personId) {
+        return best(this.index, this.audiences.snapshot(), productIds, prices, level, personId);
+    }
+
+    /**
+     * Como {@link #best(long[], BigDecimal[], UserLevel, Long)}, mas servido pelo {@link CartDiscountCache} quando o
+     * mesmo carrinho é precificado de novo sem que nada tenha mudado. O array devolvido não deve ser alterado.
+     */
+    Discount[] bestForCart(long[] productIds, BigDecimal[] prices, UserLevel level, Long personId) {
+        PromotionIndex index = this.index;
+        LongObjectHashMap<LongBitmap> audiences = this.audiences.snapshot();
+
+        return this.carts.get(index, audiences, level, personId, productIds, prices,
+                () -> best(index, audiences, productIds, prices, level, personId));
+    }
+
+    private static Discount[] best(PromotionIndex index, LongObjectHashMap<LongBitmap> audiences, long[] productIds,
+                                   BigDecimal[] prices, UserLevel level, Long personId) {
+        long now = DateTimeUtils.currentTimeMillis();
+        Discount[] discounts = new Discount[productIds.length];
+
+        for (int i = 0; i < productIds.length; i++) {
+            discounts[i] = index.best(productIds[i], level, personId, prices[i], now, audiences).orElse(null);
+        }
+
+        return discounts;
+    }
+
+    /**
+     * Os produtos de antes e de depois da alteração; {@code null} em qualquer lado afeta todos.
+     */
+    private void stale(long[] before, long[] after) {
+        if (before == null || after == null) {
+            this.publisher.publishEvent(ProductPricesStaleEvent.allProducts());
+        } else if (before.length + after.length > 0) {
+            long[] productIds = Arrays.copyOf(before, before.length + after.length);
+            System.arraycopy(after, 0, productIds, before.length, after.length);
+
+            this.publisher.publishEvent(new ProductPricesStaleEvent(productIds));
+        }
+    }
+
+    /**
+     * Monta a próxima versão fora de qualquer lock de leitura e só então troca a referência: quem já está lendo termina
+     * na versão anterior.
+     */
+    private void publish(Supplier<PromotionIndex> rebuild) {
+        this.index = this.rebuilds.record(rebuild);
+    }
+
+    private Collection<Long> productsByPrefix(String prefix) {
+        return this.productRepository.findIdsByNamePrefix(prefix);
+    }
+
+    /**
+     * @param promotions promoções vigentes
+     * @param products   produtos com promoção própria, por id ou prefixo de nome
+     */
+    public record Snapshot(long version, int promotions, int products) {
+    }
+}
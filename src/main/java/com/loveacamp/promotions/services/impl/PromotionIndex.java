@@ -0,0 +1,284 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.entities.Product;
+import com.loveacamp.promotions.entities.Promotion;
+import com.loveacamp.promotions.enums.UserLevel;
+import com.loveacamp.promotions.utils.LongBitmap;
+import com.loveacamp.promotions.utils.LongObjectHashMap;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Índice invertido produto → promoções. As promoções por id de produto e as de prefixo de nome já resolvidas
+ * para os produtos que casam ficam em {@link #byProduct}, um mapa de chave {@code long} sem boxing; as sem
+ * escopo ficam em {@link #global} e valem para qualquer produto.
+ * <p>
+ * Uma instância publicada nunca muda: cada alteração devolve um índice novo, com a versão seguinte, que copia as
+ * tabelas do mapa (dois {@code clone()} de array) e recalcula só as entradas afetadas, sem recarregar nada do banco.
+ * Uma alteração que não muda nada devolve o mesmo índice, com a mesma versão.
+ */
+final class PromotionIndex {
+    private static final CompiledPromotion[] NONE = new CompiledPromotion[0];
+
+    static final PromotionIndex EMPTY = new PromotionIndex(0, 0, new LongObjectHashMap<>(), NONE, NONE);
+
+    private final long version;
+
+    private final LongObjectHashMap<CompiledPromotion[]> byProduct;
+
+    private int promotions;
+
+    private CompiledPromotion[] global;
+
+    private CompiledPromotion[] prefixed;
+
+    private PromotionIndex(long version, int promotions, LongObjectHashMap<CompiledPromotion[]> byProduct,
+                           CompiledPromotion[] global, CompiledPromotion[] prefixed) {
+        this.version = version;
+        this.promotions = promotions;
+        this.byProduct = byProduct;
+        this.global = global;
+        this.prefixed = prefixed;
+    }
+
+    /**
+     * @param version          versão do índice novo, maior que a do índice que ele substitui
+     * @param productsByPrefix ids dos produtos cujo nome começa com o prefixo (já em minúsculas)
+     */
+    static PromotionIndex of(long version, Collection<Promotion> promotions, Function<String, Collection<Long>> productsByPrefix) {
+        PromotionIndex index = new PromotionIndex(version, 0, new LongObjectHashMap<>(), NONE, NONE);
+
+        for (Promotion promotion : promotions) {
+            index.add(CompiledPromotion.compile(promotion), productsByPrefix);
+        }
+
+        return index;
+    }
+
+    PromotionIndex withPromotion(Promotion promotion, Function<String, Collection<Long>> productsByPrefix) {
+        PromotionIndex without = this.without(promotion.getId());
+        // add altera o índice no lugar, então ele precisa de um mapa próprio; without só copia se alguma entrada mudou.
+        PromotionIndex index = without.byProduct != this.byProduct ? without
+                : this.next(this.byProduct.copy(), without.global, without.prefixed, without.promotions);
+        index.add(CompiledPromotion.compile(promotion), productsByPrefix);
+
+        return index;
+    }
+
+    PromotionIndex withoutPromotion(long promotionId) {
+        return this.without(promotionId);
+    }
+
+    /**
+     * Recalcula as entradas dos produtos salvos: mantém as promoções que listam o produto pelo id e refaz as que
+     * vêm de prefixo de nome. Se nenhuma entrada mudar, devolve este mesmo índice.
+     */
+    PromotionIndex withProducts(Collection<Product> products) {
+        LongObjectHashMap<CompiledPromotion[]> byProduct = null;
+
+        for (Product product : products) {
+            CompiledPromotion[] current = this.byProduct.getOrDefault(product.getId(), NONE);
+            CompiledPromotion[] updated = this.candidates(product.getId(), CompiledPromotion.normalize(product.getName()), current);
+
+            if (!Arrays.equals(current, updated)) {
+                byProduct = byProduct == null ? this.byProduct.copy() : byProduct;
+                put(byProduct, product.getId(), updated);
+            }
+        }
+
+        return byProduct == null ? this : this.next(byProduct, this.global, this.prefixed, this.promotions);
+    }
+
+    PromotionIndex withoutProduct(long productId) {
+        if (!this.byProduct.containsKey(productId)) {
+            return this;
+        }
+
+        LongObjectHashMap<CompiledPromotion[]> byProduct = this.byProduct.copy();
+        byProduct.remove(productId);
+
+        return this.next(byProduct, this.global, this.prefixed, this.promotions);
+    }
+
+    long version() {
+        return this.version;
+    }
+
+    /**
+     * Promoções no índice, todas vigentes.
+     */
+    int promotions() {
+        return this.promotions;
+    }
+
+    /**
+     * Produtos com ao menos uma promoção própria (por id ou prefixo de nome); as globais não entram na conta.
+     */
+    int products() {
+        return this.byProduct.size();
+    }
+
+    /**
+     * Produtos em cujas entradas a promoção está, ou {@code null} se ela vale para qualquer produto.
+     */
+    long[] productsOf(long promotionId) {
+        for (CompiledPromotion promotion : this.global) {
+            if (promotion.id() == promotionId) {
+                return null;
+            }
+        }
+
+        long[][] productIds = {new long[8]};
+        int[] count = new int[1];
+
+        this.byProduct.forEach((productId, candidates) -> {
+            for (CompiledPromotion candidate : candidates) {
+                if (candidate.id() == promotionId) {
+                    if (count[0] == productIds[0].length) {
+                        productIds[0] = Arrays.copyOf(productIds[0], count[0] * 2);
+                    }
+
+                    productIds[0][count[0]++] = productId;
+                }
+            }
+        });
+
+        return Arrays.copyOf(productIds[0], count[0]);
+    }
+
+    /**
+     * @param audiences bitmaps dos públicos, de {@link AudienceRegistry#snapshot()}
+     */
+    Optional<Discount> best(long productId, UserLevel level, Long personId, BigDecimal price, long now,
+                            LongObjectHashMap<LongBitmap> audiences) {
+        CompiledPromotion[] listed = this.byProduct.getOrDefault(productId, NONE);
+        CompiledPromotion[] eligible = null;
+        int count = 0;
+
+        for (int i = 0; i < listed.length + this.global.length; i++) {
+            CompiledPromotion candidate = i < listed.length ? listed[i] : this.global[i - listed.length];
+
+            if (candidate.isActiveAt(now) && candidate.isEligible(level) && candidate.isTargeted(personId, audiences)) {
+                if (eligible == null) {
+                    eligible = new CompiledPromotion[listed.length + this.global.length - i];
+                }
+
+                eligible[count++] = candidate;
+            }
+        }
+
+        return count == 0 ? Optional.empty() : Optional.of(StackingSolver.solve(eligible, count, price));
+    }
+
+    private CompiledPromotion[] candidates(long productId, String name, CompiledPromotion[] current) {
+        CompiledPromotion[] candidates = NONE;
+
+        for (CompiledPromotion promotion : current) {
+            if (promotion.lists(productId)) {
+                candidates = append(candidates, promotion);
+            }
+        }
+
+        for (CompiledPromotion promotion : this.prefixed) {
+            if (promotion.matches(name) && !promotion.lists(productId)) {
+                candidates = append(candidates, promotion);
+            }
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Devolve este mesmo índice se a promoção não está nele. O mapa só é copiado na primeira entrada que muda.
+     */
+    private PromotionIndex without(long promotionId) {
+        List<LongObjectHashMap<CompiledPromotion[]>> copied = new ArrayList<>(1);
+
+        this.byProduct.forEach((productId, candidates) -> {
+            CompiledPromotion[] remaining = remove(candidates, promotionId);
+
+            if (remaining != candidates) {
+                if (copied.isEmpty()) {
+                    copied.add(this.byProduct.copy());
+                }
+
+                put(copied.get(0), productId, remaining);
+            }
+        });
+
+        CompiledPromotion[] global = remove(this.global, promotionId);
+        CompiledPromotion[] prefixed = remove(this.prefixed, promotionId);
+
+        if (copied.isEmpty() && global == this.global && prefixed == this.prefixed) {
+            return this;
+        }
+
+        return this.next(copied.isEmpty() ? this.byProduct : copied.get(0), global, prefixed, this.promotions - 1);
+    }
+
+    private PromotionIndex next(LongObjectHashMap<CompiledPromotion[]> byProduct, CompiledPromotion[] global,
+                                CompiledPromotion[] prefixed, int promotions) {
+        return new PromotionIndex(this.version + 1, promotions, byProduct, global, prefixed);
+    }
+
+    /**
+     * Só é chamado em instâncias ainda não publicadas.
+     */
+    private void add(CompiledPromotion promotion, Function<String, Collection<Long>> productsByPrefix) {
+        this.promotions++;
+
+        if (promotion.isGlobal()) {
+            this.global = append(this.global, promotion);
+
+            return;
+        }
+
+        for (long productId : promotion.productIds()) {
+            this.byProduct.put(productId, append(this.byProduct.getOrDefault(productId, NONE), promotion));
+        }
+
+        if (promotion.prefix() != null) {
+            this.prefixed = append(this.prefixed, promotion);
+
+            for (long productId : productsByPrefix.apply(promotion.prefix())) {
+                if (!promotion.lists(productId)) {
+                    this.byProduct.put(productId, append(this.byProduct.getOrDefault(productId, NONE), promotion));
+                }
+            }
+        }
+    }
+
+    private static void put(LongObjectHashMap<CompiledPromotion[]> byProduct, long productId, CompiledPromotion[] candidates) {
+        if (candidates.length == 0) {
+            byProduct.remove(productId);
+        } else {
+            byProduct.put(productId, candidates);
+        }
+    }
+
+    private static CompiledPromotion[] append(CompiledPromotion[] promotions, CompiledPromotion promotion) {
+        CompiledPromotion[] appended = Arrays.copyOf(promotions, promotions.length + 1);
+        appended[promotions.length] = promotion;
+
+        return appended;
+    }
+
+    private static CompiledPromotion[] remove(CompiledPromotion[] promotions, long promotionId) {
+        for (int i = 0; i < promotions.length; i++) {
+            if (promotions[i].id() == promotionId) {
+                CompiledPromotion[] remaining = Arrays.copyOf(promotions, promotions.length - 1);
+                System.arraycopy(promotions, i + 1, remaining, i, promotions.length - i - 1);
+
+                return remaining;
+            }
+        }
+
+        return promotions;
+    }
+}
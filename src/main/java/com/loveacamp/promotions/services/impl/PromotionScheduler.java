@@ -0,0 +1,294 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.entities.Promotion;
+import com.loveacamp.promotions.events.PromotionActivatedEvent;
+import com.loveacamp.promotions.events.PromotionExpiredEvent;
+import com.loveacamp.promotions.repositories.PromotionRepository;
+import com.loveacamp.promotions.utils.TimingWheel;
+import com.loveacamp.promotions.utils.TimingWheel.Timeout;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ativa e expira promoções no {@link PromotionEngine} nos instantes de início e fim da vigência, com um
+ * {@link TimingWheel} avançado por uma única thread a cada tick. Cada promoção ainda não encerrada tem exatamente um
+ * timeout pendente: o de ativação enquanto não começou, o de expiração depois. Na subida da aplicação o agendamento é
+ * reconstruído a partir do banco.
+ * <p>
+ * As alterações feitas nesta instância chegam por {@link #promotionSaved(Promotion, long)} e
+ * {@link #promotionRemoved(Long, long)}; as feitas em outras instâncias são percebidas pela versão
+ * {@link ChangeVersions#PROMOTIONS}, consultada a cada {@code promotions.scheduler.reconcile-interval}: se ela difere da
+ * última aplicada aqui, o agendamento é reconstruído.
+ * <p>
+ * Publica {@link PromotionActivatedEvent} e {@link PromotionExpiredEvent} e mede em {@value #LAG_TIMER} o atraso entre
+ * o instante agendado e o disparo.
+ */
+@Component
+public class PromotionScheduler {
+    public static final String LAG_TIMER = "promotions.scheduler.lag";
+
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final PromotionRepository repository;
+
+    private final PromotionEngine engine;
+
+    private final ApplicationEventPublisher publisher;
+
+    private final ChangeVersions versions;
+
+    private final long tickMillis;
+
+    private final long reconcileMillis;
+
+    private final TimingWheel<Transition> wheel;
+
+    private final Map<Long, Timeout<Transition>> timeouts = new HashMap<>();
+
+    private final Timer activationLag;
+
+    private final Timer expirationLag;
+
+    private final Counter failures;
+
+    private final Counter reconciles;
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * Versão de {@link ChangeVersions#PROMOTIONS} refletida no agendamento e no engine.
+     */
+    private long version;
+
+    public PromotionScheduler(PromotionRepository repository, PromotionEngine engine, ApplicationEventPublisher publisher,
+                              ChangeVersions versions, MeterRegistry registry,
+                              @Value("${promotions.scheduler.tick:PT0.1S}") Duration tick,
+                              @Value("${promotions.scheduler.reconcile-interval:PT5S}") Duration reconcileInterval) {
+        this.repository = repository;
+        this.engine = engine;
+        this.publisher = publisher;
+        this.versions = versions;
+        this.tickMillis = tick.toMillis();
+        this.reconcileMillis = reconcileInterval.toMillis();
+        this.wheel = new TimingWheel<>(this.tickMillis, DateTimeUtils.currentTimeMillis());
+        this.activationLag = Timer.builder(LAG_TIMER).tag("transition", "activation").register(registry);
+        this.expirationLag = Timer.builder(LAG_TIMER).tag("transition", "expiration").register(registry);
+        this.failures = Counter.builder("promotions.scheduler.failures").register(registry);
+        this.reconciles = Counter.builder("promotions.scheduler.reconciles").register(registry);
+
+        Gauge.builder("promotions.scheduler.pending", this.wheel, TimingWheel::size).register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        this.rebuild();
+
+        if (this.executor == null) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "promotion-scheduler");
+                thread.setDaemon(true);
+
+                return thread;
+            });
+            this.executor.scheduleAtFixedRate(this::tick, this.tickMillis, this.tickMillis, TimeUnit.MILLISECONDS);
+            this.executor.scheduleWithFixedDelay(this::reconcileQuietly, this.reconcileMillis, this.reconcileMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Descarta o agendamento atual, carrega no engine as promoções vigentes e agenda a ativação das futuras e a
+     * expiração de todas.
+     */
+    public synchronized void rebuild() {
+        // Lida antes das promoções: uma alteração que entre entre as duas leituras deixa a versão para trás e só causa
+        // outra reconstrução, nunca uma alteração perdida.
+        long version = this.versions.current(ChangeVersions.PROMOTIONS);
+        long now = DateTimeUtils.currentTimeMillis();
+        List<Promotion> active = new ArrayList<>();
+
+        this.timeouts.values().forEach(this.wheel::cancel);
+        this.timeouts.clear();
+
+        for (Promotion promotion : this.repository.findNotEndedAt(new DateTime(now))) {
+            if (promotion.getStartsAt().getMillis() <= now) {
+                active.add(promotion);
+                this.schedule(promotion, false);
+            } else {
+                this.schedule(promotion, true);
+            }
+        }
+
+        this.engine.load(active);
+        this.version = version;
+    }
+
+    /**
+     * Reconstrói o agendamento se outra instância alterou promoções desde a última versão aplicada aqui.
+     */
+    public void reconcile() {
+        long current = this.versions.current(ChangeVersions.PROMOTIONS);
+
+        synchronized (this) {
+            if (current == this.version) {
+                return;
+            }
+        }
+
+        this.reconciles.increment();
+        this.rebuild();
+    }
+
+    /**
+     * Aplica uma promoção gravada nesta instância, já commitada com a versão {@code version}.
+     */
+    public synchronized void promotionSaved(Promotion promotion, long version) {
+        this.promotionSaved(promotion);
+        this.applied(version);
+    }
+
+    /**
+     * Aplica a remoção de uma promoção feita nesta instância, já commitada com a versão {@code version}.
+     */
+    public synchronized void promotionRemoved(Long promotionId, long version) {
+        this.promotionRemoved(promotionId);
+        this.applied(version);
+    }
+
+    public synchronized void promotionSaved(Promotion promotion) {
+        long now = DateTimeUtils.currentTimeMillis();
+
+        this.cancel(promotion.getId());
+
+        if (promotion.getEndsAt().getMillis() <= now) {
+            this.engine.deactivate(promotion.getId());
+        } else if (promotion.getStartsAt().getMillis() <= now) {
+            this.engine.activate(promotion);
+            this.schedule(promotion, false);
+        } else {
+            this.engine.deactivate(promotion.getId());
+            this.schedule(promotion, true);
+        }
+    }
+
+    public synchronized void promotionRemoved(Long promotionId) {
+        this.cancel(promotionId);
+        this.engine.deactivate(promotionId);
+    }
+
+    /**
+     * Avança a roda até o instante atual e dispara os timeouts vencidos. Chamado pela thread do agendador.
+     */
+    void tick() {
+        for (Timeout<Transition> timeout : this.wheel.advanceTo(DateTimeUtils.currentTimeMillis())) {
+            try {
+                this.fire(timeout);
+            } catch (RuntimeException e) {
+                // Uma exceção aqui cancelaria as execuções seguintes do scheduleAtFixedRate.
+                this.failures.increment();
+            }
+        }
+    }
+
+    private synchronized void fire(Timeout<Transition> timeout) {
+        Transition transition = timeout.getPayload();
+        Promotion promotion = transition.promotion();
+
+        // A promoção pode ter sido alterada ou removida entre o avanço da roda e este disparo.
+        if (this.timeouts.get(promotion.getId()) != timeout) {
+            return;
+        }
+
+        long now = DateTimeUtils.currentTimeMillis();
+
+        try {
+            if (transition.activation()) {
+                this.engine.activate(promotion);
+                this.schedule(promotion, false);
+            } else {
+                this.engine.deactivate(promotion.getId());
+                this.timeouts.remove(promotion.getId());
+            }
+        } catch (RuntimeException e) {
+            // Uma ativação que falha (ex.: banco fora ao resolver o prefixo de nome) é refeita, e não perdida.
+            this.failures.increment();
+            this.timeouts.put(promotion.getId(), this.wheel.schedule(now + RETRY_DELAY_MILLIS, transition));
+
+            return;
+        }
+
+        long lag = Math.max(0, now - timeout.getDeadlineMillis());
+        DateTime scheduledAt = new DateTime(timeout.getDeadlineMillis());
+
+        if (transition.activation()) {
+            this.activationLag.record(lag, TimeUnit.MILLISECONDS);
+            this.publisher.publishEvent(new PromotionActivatedEvent(promotion.getId(), scheduledAt, new DateTime(now)));
+        } else {
+            this.expirationLag.record(lag, TimeUnit.MILLISECONDS);
+            this.publisher.publishEvent(new PromotionExpiredEvent(promotion.getId(), scheduledAt, new DateTime(now)));
+        }
+    }
+
+    private void reconcileQuietly() {
+        try {
+            this.reconcile();
+        } catch (RuntimeException e) {
+            // Uma exceção aqui cancelaria as execuções seguintes do scheduleWithFixedDelay.
+            this.failures.increment();
+        }
+    }
+
+    /**
+     * Só avança a versão quando ela é a seguinte à aplicada: havendo um intervalo, alguma alteração (de outra instância
+     * ou um commit local ainda não aplicado) falta aqui, e a próxima reconciliação reconstrói tudo.
+     */
+    private void applied(long version) {
+        if (version == this.version + 1) {
+            this.version = version;
+        }
+    }
+
+    private void schedule(Promotion promotion, boolean activation) {
+        DateTime deadline = activation ? promotion.getStartsAt() : promotion.getEndsAt();
+
+        this.timeouts.put(promotion.getId(), this.wheel.schedule(deadline.getMillis(), new Transition(promotion, activation)));
+    }
+
+    private void cancel(Long promotionId) {
+        Timeout<Transition> timeout = this.timeouts.remove(promotionId);
+
+        if (timeout != null) {
+            this.wheel.cancel(timeout);
+        }
+    }
+
+    private record Transition(Promotion promotion, boolean activation) {
+    }
+}
@@ -0,0 +1,209 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.config.MetricsConfig;
+import com.loveacamp.promotions.dto.CursorPageDto;
+import com.loveacamp.promotions.dto.PromotionDiscountDto;
+import com.loveacamp.promotions.dto.PromotionDto;
+import com.loveacamp.promotions.dto.PromotionSnapshotDto;
+import com.loveacamp.promotions.dto.requests.PromotionRequestDto;
+import com.loveacamp.promotions.entities.Promotion;
+import com.loveacamp.promotions.enums.DiscountType;
+import com.loveacamp.promotions.enums.ReachEvent;
+import com.loveacamp.promotions.enums.UserLevel;
+import com.loveacamp.promotions.exception.BadRequestException;
+import com.loveacamp.promotions.repositories.AudienceRepository;
+import com.loveacamp.promotions.repositories.CouponRepository;
+import com.loveacamp.promotions.repositories.PromotionReachRepository;
+import com.loveacamp.promotions.repositories.PromotionRepository;
+import com.loveacamp.promotions.repositories.PromotionUsageRepository;
+import com.loveacamp.promotions.services.IPromotionService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class PromotionService implements IPromotionService {
+    private static final BigDecimal MAX_PERCENTAGE = BigDecimal.valueOf(100);
+
+    private final PromotionRepository repository;
+
+    private final PromotionEngine engine;
+
+    private final PromotionScheduler scheduler;
+
+    private final CouponRepository couponRepository;
+
+    private final PromotionUsageRepository usageRepository;
+
+    private final PromotionReachRepository reachRepository;
+
+    private final RedemptionQuotas quotas;
+
+    private final PersonUsageTracker usages;
+
+    private final AudienceRepository audienceRepository;
+
+    private final ReachTracker reach;
+
+    private final ChangeVersions versions;
+
+    public PromotionService(PromotionRepository repository, PromotionEngine engine, PromotionScheduler scheduler,
+                            CouponRepository couponRepository, PromotionUsageRepository usageRepository,
+                            PromotionReachRepository reachRepository, RedemptionQuotas quotas, PersonUsageTracker usages,
+                            AudienceRepository audienceRepository, ReachTracker reach, ChangeVersions versions) {
+        this.repository = repository;
+        this.engine = engine;
+        this.scheduler = scheduler;
+        this.couponRepository = couponRepository;
+        this.usageRepository = usageRepository;
+        this.reachRepository = reachRepository;
+        this.quotas = quotas;
+        this.usages = usages;
+        this.audienceRepository = audienceRepository;
+        this.reach = reach;
+        this.versions = versions;
+    }
+
+    @Override
+    @Transactional
+    public PromotionDto save(PromotionRequestDto promotionRequestDto) {
+        Promotion promotion = this.repository.save(this.toEntity(promotionRequestDto));
+        long version = this.versions.bump(ChangeVersions.PROMOTIONS);
+
+        AfterCommit.run(() -> this.scheduler.promotionSaved(promotion, version));
+
+        return PromotionDto.toDto(promotion);
+    }
+
+    @Override
+    @Transactional
+    public PromotionDto update(Long id, PromotionRequestDto promotionRequestDto) {
+        this.promotionDoesNotExistThrowAnException(id);
+
+        Promotion promotion = this.toEntity(promotionRequestDto);
+        promotion.setId(id);
+
+        Promotion saved = this.repository.save(promotion);
+        long version = this.versions.bump(ChangeVersions.PROMOTIONS);
+
+        AfterCommit.run(() -> {
+            this.scheduler.promotionSaved(saved, version);
+            this.quotas.invalidate(id);
+        });
+
+        return PromotionDto.toDto(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PromotionDto findById(Long id) {
+        return PromotionDto.toDto(this.promotionDoesNotExistThrowAnException(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<PromotionDto> findAll(String cursor, int limit) {
+        List<Promotion> promotions = this.repository.findByIdGreaterThanOrderByIdAsc(Keyset.after(cursor), Keyset.limit(limit));
+
+        return Keyset.page(promotions, limit, Promotion::getId, PromotionDto::toDto);
+    }
+
+    @Override
+    public PromotionDiscountDto findBest(Long productId, BigDecimal price, UserLevel level, Long personId) {
+        if (price.signum() < 0) {
+            throw new BadRequestException("O preço não pode ser negativo.");
+        }
+
+        PromotionDiscountDto promotionDiscountDto = new PromotionDiscountDto()
+                .setProductId(productId)
+                .setPromotionIds(List.of())
+                .setDiscount(BigDecimal.ZERO)
+                .setPrice(price);
+
+        this.engine.best(productId, level, personId, price).ifPresent(discount -> {
+            promotionDiscountDto
+                    .setPromotionId(discount.promotionId())
+                    .setPromotionIds(discount.promotionIds())
+                    .setDiscount(discount.amount())
+                    .setPrice(price.subtract(discount.amount()));
+
+            if (personId != null) {
+                discount.promotionIds().forEach(promotionId -> this.reach.record(promotionId, ReachEvent.IMPRESSION, personId));
+            }
+        });
+
+        return promotionDiscountDto;
+    }
+
+    @Override
+    public PromotionSnapshotDto findSnapshot() {
+        PromotionEngine.Snapshot snapshot = this.engine.snapshot();
+
+        return new PromotionSnapshotDto()
+                .setInstance(this.engine.instance())
+                .setStartedAt(this.engine.startedAt())
+                .setVersion(snapshot.version())
+                .setPromotions(snapshot.promotions())
+                .setProducts(snapshot.products());
+    }
+
+    /**
+     * Remove a promoção com seus cupons, usos e alcance numa única transação. O engine, a cota e os contadores em
+     * memória só são atualizados depois do commit.
+     */
+    @Override
+    @Transactional
+    public PromotionDto delete(Long id) {
+        Promotion promotion = this.promotionDoesNotExistThrowAnException(id);
+        PromotionDto promotionDto = PromotionDto.toDto(promotion);
+
+        this.couponRepository.deleteByPromotionId(id);
+        this.usageRepository.deleteByPromotionId(id);
+        this.reachRepository.deleteByPromotionId(id);
+        this.repository.delete(promotion);
+        long version = this.versions.bump(ChangeVersions.PROMOTIONS);
+
+        AfterCommit.run(() -> {
+            this.scheduler.promotionRemoved(id, version);
+            this.quotas.invalidate(id);
+            this.usages.remove(id);
+            this.reach.remove(id);
+        });
+
+        return promotionDto;
+    }
+
+    private Promotion promotionDoesNotExistThrowAnException(Long id) {
+        return this.repository.findById(id).orElseThrow(() -> new BadRequestException("Promoção não encontrada."));
+    }
+
+    private Promotion toEntity(PromotionRequestDto promotionDto) {
+        if (promotionDto.getDiscountType() == DiscountType.PERCENTAGE && promotionDto.getValue().compareTo(MAX_PERCENTAGE) > 0) {
+            throw new BadRequestException("O percentual de desconto deve ser no máximo %s.", MAX_PERCENTAGE);
+        }
+
+        if (!promotionDto.getEndsAt().isAfter(promotionDto.getStartsAt())) {
+            throw new BadRequestException("O fim da promoção deve ser posterior ao início.");
+        }
+
+        if (promotionDto.getAudienceId() != null && !this.audienceRepository.existsById(promotionDto.getAudienceId())) {
+            throw new BadRequestException("Público não encontrado.");
+        }
+
+        return new Promotion(null, promotionDto.getName(), promotionDto.getDiscountType(), promotionDto.getValue(),
+                promotionDto.getStartsAt(), promotionDto.getEndsAt())
+                .setProductIds(new HashSet<>(promotionDto.getProductIds()))
+                .setProductNamePrefix(promotionDto.getProductNamePrefix())
+                .setLevels(new HashSet<>(promotionDto.getLevels()))
+                .setMaxRedemptions(promotionDto.getMaxRedemptions())
+                .setMaxRedemptionsPerPerson(promotionDto.getMaxRedemptionsPerPerson())
+                .setAudienceId(promotionDto.getAudienceId())
+                .setExclusivityGroup(promotionDto.getExclusivityGroup())
+                .setPriority(promotionDto.getPriority() == null ? 0 : promotionDto.getPriority());
+    }
+}
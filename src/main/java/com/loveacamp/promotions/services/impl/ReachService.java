@@ -0,0 +1,63 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.config.MetricsConfig;
+import com.loveacamp.promotions.dto.ReachDto;
+import com.loveacamp.promotions.enums.ReachEvent;
+import com.loveacamp.promotions.exception.BadRequestException;
+import com.loveacamp.promotions.repositories.PromotionRepository;
+import com.loveacamp.promotions.services.IReachService;
+import com.loveacamp.promotions.utils.HyperLogLog;
+import io.micrometer.core.annotation.Timed;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.springframework.stereotype.Service;
+
+/**
+ * Pessoas distintas por promoção num intervalo qualquer, juntando os sketches por hora de {@link ReachTracker}. O
+ * intervalo é alargado para horas cheias (UTC): {@code from} desce e {@code to} sobe até a hora mais próxima. Juntar
+ * horas não acumula erro, então o desvio padrão devolvido vale para qualquer intervalo.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ReachService implements IReachService {
+    private final PromotionRepository promotionRepository;
+
+    private final ReachTracker tracker;
+
+    public ReachService(PromotionRepository promotionRepository, ReachTracker tracker) {
+        this.promotionRepository = promotionRepository;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public ReachDto findReach(Long promotionId, ReachEvent event, String from, String to) {
+        long fromHour = ReachTracker.hourOf(this.parse(from, "from").getMillis());
+        long toHour = -ReachTracker.hourOf(-this.parse(to, "to").getMillis());
+
+        if (fromHour >= toHour) {
+            throw new BadRequestException("O fim do intervalo deve ser posterior ao início.");
+        }
+
+        if (!this.promotionRepository.existsById(promotionId)) {
+            throw new BadRequestException("Promoção não encontrada.");
+        }
+
+        HyperLogLog union = this.tracker.union(promotionId, event, fromHour, toHour);
+
+        return new ReachDto()
+                .setPromotionId(promotionId)
+                .setEvent(event)
+                .setFrom(new DateTime(fromHour * ReachTracker.HOUR_MILLIS, DateTimeZone.UTC))
+                .setTo(new DateTime(toHour * ReachTracker.HOUR_MILLIS, DateTimeZone.UTC))
+                .setDistinctPeople(union.estimate())
+                .setStandardError(union.standardError());
+    }
+
+    private DateTime parse(String value, String name) {
+        try {
+            return DateTime.parse(value);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Data inválida em %s: %s", name, value);
+        }
+    }
+}
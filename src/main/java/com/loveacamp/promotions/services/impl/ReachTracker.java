@@ -0,0 +1,192 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.enums.ReachEvent;
+import com.loveacamp.promotions.repositories.PromotionReachRepository;
+import com.loveacamp.promotions.utils.HyperLogLog;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.joda.time.DateTimeUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alcance das promoções: pessoas distintas que viram (preço calculado para elas) ou resgataram cada promoção, por
+ * hora (UTC). Cada evento entra num {@link HyperLogLog} de precisão {@value #PRECISION} da promoção, do tipo de evento e
+ * da hora, em memória; a cada {@code flush-interval} os sketches acumulados são juntados, em batch, aos gravados em
+ * {@code PROMOTION_REACH} e descartados da memória. Como o merge é o máximo registrador a registrador, várias
+ * instâncias podem gravar na mesma hora, e um flush refeito depois de uma falha não conta ninguém duas vezes.
+ * <p>
+ * A memória dos sketches ainda não gravados é publicada em {@value #MEMORY_GAUGE}.
+ */
+@Component
+public class ReachTracker {
+    public static final String MEMORY_GAUGE = "promotions.reach.memory";
+
+    /**
+     * 16 KB por sketch em memória e desvio padrão de 0,81%. Não trocar depois de gravar sketches: sketches de precisões
+     * diferentes não se juntam.
+     */
+    public static final int PRECISION = 14;
+
+    static final long HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final PromotionReachRepository repository;
+
+    private final long flushIntervalMillis;
+
+    private final Map<Key, HyperLogLog> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService executor;
+
+    public ReachTracker(PromotionReachRepository repository, MeterRegistry registry,
+                        @Value("${promotions.reach.flush-interval:PT5S}") Duration flushInterval) {
+        this.repository = repository;
+        this.flushIntervalMillis = flushInterval.toMillis();
+
+        Gauge.builder(MEMORY_GAUGE, this.pending, pending -> (double) pending.size() * (1 << PRECISION))
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (this.executor == null) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "reach-flush");
+                thread.setDaemon(true);
+
+                return thread;
+            });
+            this.executor.scheduleWithFixedDelay(this::flushQuietly, this.flushIntervalMillis, this.flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+
+        this.flushQuietly();
+    }
+
+    public static long hourOf(long millis) {
+        return Math.floorDiv(millis, HOUR_MILLIS);
+    }
+
+    /**
+     * Conta a pessoa no alcance da promoção na hora corrente. O {@code compute} trava só a entrada da hora, então um
+     * flush nunca tira da memória um sketch no meio de uma escrita.
+     */
+    public void record(long promotionId, ReachEvent event, long personId) {
+        Key key = new Key(promotionId, event, hourOf(DateTimeUtils.currentTimeMillis()));
+
+        this.pending.compute(key, (k, sketch) -> {
+            HyperLogLog current = sketch == null ? new HyperLogLog(PRECISION) : sketch;
+            current.add(personId);
+
+            return current;
+        });
+    }
+
+    /**
+     * Sketch das pessoas distintas nas horas {@code [fromHour, toHour)}: os gravados mais os ainda em memória.
+     * Sincronizado com o flush para que um sketch não fique de fora enquanto passa da memória para o banco.
+     */
+    public synchronized HyperLogLog union(long promotionId, ReachEvent event, long fromHour, long toHour) {
+        HyperLogLog union = new HyperLogLog(PRECISION);
+
+        this.repository.forEachSketch(promotionId, event, fromHour, toHour, union::merge);
+
+        for (Key key : this.pending.keySet()) {
+            if (key.promotionId == promotionId && key.event == event && key.hour >= fromHour && key.hour < toHour) {
+                this.pending.computeIfPresent(key, (k, sketch) -> {
+                    union.merge(sketch);
+
+                    return sketch;
+                });
+            }
+        }
+
+        return union;
+    }
+
+    /**
+     * Descarta o alcance ainda não gravado da promoção removida, só em memória: as linhas de {@code PROMOTION_REACH}
+     * saem na transação que remove a promoção.
+     */
+    public synchronized void remove(long promotionId) {
+        this.pending.keySet().removeIf(key -> key.promotionId == promotionId);
+    }
+
+    /**
+     * Grava num único batch os sketches acumulados desde o último flush. Se o batch falhar, eles voltam para a memória,
+     * juntados ao que chegou nesse meio tempo, e entram no próximo.
+     */
+    synchronized void flush() {
+        List<Key> keys = new ArrayList<>();
+        List<HyperLogLog> sketches = new ArrayList<>();
+
+        for (Key key : this.pending.keySet()) {
+            HyperLogLog sketch = this.pending.remove(key);
+
+            if (sketch != null) {
+                keys.add(key);
+                sketches.add(sketch);
+            }
+        }
+
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        int count = keys.size();
+        long[] promotionIds = new long[count];
+        ReachEvent[] events = new ReachEvent[count];
+        long[] hours = new long[count];
+        byte[][] bytes = new byte[count][];
+
+        for (int i = 0; i < count; i++) {
+            Key key = keys.get(i);
+
+            promotionIds[i] = key.promotionId;
+            events[i] = key.event;
+            hours[i] = key.hour;
+            bytes[i] = sketches.get(i).toBytes();
+        }
+
+        try {
+            this.repository.mergeSketches(promotionIds, events, hours, bytes, count);
+        } catch (RuntimeException e) {
+            for (int i = 0; i < count; i++) {
+                this.pending.merge(keys.get(i), sketches.get(i), HyperLogLog::merge);
+            }
+
+            throw e;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            this.flush();
+        } catch (RuntimeException e) {
+            // Os sketches já voltaram para a memória; o próximo flush tenta de novo.
+        }
+    }
+
+    private record Key(long promotionId, ReachEvent event, long hour) {
+    }
+}
@@ -0,0 +1,251 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.repositories.PromotionQuotaRepository.RedemptionChunk;
+import com.loveacamp.promotions.repositories.PromotionRepository;
+import com.loveacamp.promotions.utils.StripedQuota;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cota de resgates por promoção nesta instância. Os resgates saem de um {@link StripedQuota} em memória, abastecido
+ * com lotes de {@code chunk-size} resgates reservados no banco ({@code REDEMPTIONS_ALLOCATED}); como o banco nunca
+ * entrega mais lotes que {@code MAX_REDEMPTIONS}, a soma dos resgates de todas as instâncias não passa do limite. Só
+ * o pedido de um lote novo trava a linha da promoção.
+ * <p>
+ * Os resgates efetivados e as unidades devolvidas são acumulados em {@link LongAdder}s e gravados em batch a cada
+ * {@code flush-interval}. Se a instância cair, os lotes não usados ficam presos em {@code REDEMPTIONS_ALLOCATED}:
+ * a promoção pode vender menos que o limite, nunca mais; e os resgates ainda não somados faltam em {@code REDEEMED},
+ * que é só informativo: a contagem exata são os cupons marcados em {@code COUPONS}.
+ */
+@Component
+public class RedemptionQuotas {
+    /**
+     * Retorno de {@link #tryAcquire(long)} quando nenhuma unidade foi reservada.
+     */
+    public static final int NOT_GRANTED = -1;
+
+    /**
+     * Retorno de {@link #tryAcquire(long)} para promoções sem limite de resgates por pessoa.
+     */
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private final PromotionRepository repository;
+
+    private final long chunkSize;
+
+    private final long exhaustedBackoffMillis;
+
+    private final long flushIntervalMillis;
+
+    private final Map<Long, Quota> quotas = new ConcurrentHashMap<>();
+
+    private final Map<Long, LongAdder> redeemed = new ConcurrentHashMap<>();
+
+    private final Map<Long, LongAdder> released = new ConcurrentHashMap<>();
+
+    private final Counter chunks;
+
+    private ScheduledExecutorService executor;
+
+    public RedemptionQuotas(PromotionRepository repository, MeterRegistry registry,
+                            @Value("${promotions.redemptions.chunk-size:100}") long chunkSize,
+                            @Value("${promotions.redemptions.exhausted-backoff:PT1S}") Duration exhaustedBackoff,
+                            @Value("${promotions.redemptions.flush-interval:PT1S}") Duration flushInterval) {
+        this.repository = repository;
+        this.chunkSize = chunkSize;
+        this.exhaustedBackoffMillis = exhaustedBackoff.toMillis();
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.chunks = Counter.builder("promotions.redemptions.chunks").register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (this.executor == null) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "redemption-flush");
+                thread.setDaemon(true);
+
+                return thread;
+            });
+            this.executor.scheduleWithFixedDelay(this::flushQuietly, this.flushIntervalMillis, this.flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+
+        this.quotas.keySet().forEach(this::invalidate);
+        this.flushQuietly();
+    }
+
+    /**
+     * Reserva um resgate da promoção. Depois de usar a unidade, chame {@link #redeemed(long)}; se ela não for usada,
+     * {@link #release(long)}.
+     *
+     * @return o limite de resgates por pessoa da promoção ({@link #UNLIMITED} se não houver), conhecido pelo último
+     * lote, ou {@link #NOT_GRANTED} se a promoção não existir, não estiver vigente ou estiver esgotada
+     */
+    public int tryAcquire(long promotionId) {
+        while (true) {
+            Quota quota = this.quotas.computeIfAbsent(promotionId, id -> new Quota());
+            long now = DateTimeUtils.currentTimeMillis();
+
+            if (now < quota.endsAt && quota.units.tryAcquire()) {
+                return quota.maxPerPerson;
+            }
+
+            synchronized (quota) {
+                if (quota.closed) {
+                    continue;
+                }
+
+                if (now < quota.endsAt && quota.units.tryAcquire()) {
+                    return quota.maxPerPerson;
+                }
+
+                if (now < quota.exhaustedUntil) {
+                    return NOT_GRANTED;
+                }
+
+                RedemptionChunk chunk = this.repository.claimRedemptions(promotionId, this.chunkSize, new DateTime(now));
+                this.chunks.increment();
+
+                if (chunk.granted() == 0) {
+                    // Sem isso, com a promoção esgotada, cada tentativa travaria a linha da promoção no banco.
+                    quota.exhaustedUntil = now + this.exhaustedBackoffMillis;
+
+                    return NOT_GRANTED;
+                }
+
+                // Escrito antes de endsAt, que é volatile: quem vê o endsAt novo vê também o limite.
+                quota.maxPerPerson = chunk.maxPerPerson() == null ? UNLIMITED : chunk.maxPerPerson();
+                quota.endsAt = chunk.endsAt().getMillis();
+                quota.units.add(chunk.granted() - 1);
+
+                return quota.maxPerPerson;
+            }
+        }
+    }
+
+    public void redeemed(long promotionId) {
+        this.redeemed.computeIfAbsent(promotionId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Devolve ao banco uma unidade reservada e não usada.
+     */
+    public void release(long promotionId) {
+        this.released.computeIfAbsent(promotionId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Descarta a cota local da promoção (alterada ou removida) e devolve ao banco o que sobrou dela. O próximo resgate
+     * pede um lote novo, já com o limite e a vigência atuais.
+     */
+    public void invalidate(long promotionId) {
+        Quota quota = this.quotas.remove(promotionId);
+
+        if (quota != null) {
+            synchronized (quota) {
+                quota.closed = true;
+                this.released.computeIfAbsent(promotionId, id -> new LongAdder()).add(quota.units.drain());
+            }
+        }
+    }
+
+    public long available(long promotionId) {
+        Quota quota = this.quotas.get(promotionId);
+
+        return quota == null ? 0 : quota.units.available();
+    }
+
+    /**
+     * Grava num único batch o que foi resgatado e devolvido desde o último flush. Se o batch falhar, os valores voltam
+     * para os acumuladores e entram no próximo.
+     */
+    synchronized void flush() {
+        Map<Long, long[]> deltas = new HashMap<>();
+
+        collect(this.redeemed, deltas, 0);
+        collect(this.released, deltas, 1);
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        long[] promotionIds = new long[deltas.size()];
+        long[] redeemedDeltas = new long[deltas.size()];
+        long[] releasedDeltas = new long[deltas.size()];
+        int count = 0;
+
+        for (Map.Entry<Long, long[]> entry : deltas.entrySet()) {
+            promotionIds[count] = entry.getKey();
+            redeemedDeltas[count] = entry.getValue()[0];
+            releasedDeltas[count++] = entry.getValue()[1];
+        }
+
+        try {
+            this.repository.flushRedemptions(promotionIds, redeemedDeltas, releasedDeltas, count);
+        } catch (RuntimeException e) {
+            for (int i = 0; i < count; i++) {
+                this.redeemed.computeIfAbsent(promotionIds[i], id -> new LongAdder()).add(redeemedDeltas[i]);
+                this.released.computeIfAbsent(promotionIds[i], id -> new LongAdder()).add(releasedDeltas[i]);
+            }
+
+            throw e;
+        }
+    }
+
+    private static void collect(Map<Long, LongAdder> adders, Map<Long, long[]> deltas, int column) {
+        for (Map.Entry<Long, LongAdder> entry : adders.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+
+            if (delta != 0) {
+                deltas.computeIfAbsent(entry.getKey(), id -> new long[2])[column] = delta;
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            this.flush();
+        } catch (RuntimeException e) {
+            // Os valores já voltaram para os acumuladores; o próximo flush tenta de novo.
+        }
+    }
+
+    private static final class Quota {
+        private final StripedQuota units = StripedQuota.perProcessor();
+
+        /**
+         * Fim da vigência conhecido pelo último lote; até o primeiro lote, nenhuma unidade local é válida.
+         */
+        private volatile long endsAt = Long.MIN_VALUE;
+
+        private int maxPerPerson = UNLIMITED;
+
+        private long exhaustedUntil;
+
+        private boolean closed;
+    }
+}
@@ -0,0 +1,221 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.config.MetricsConfig;
+import com.loveacamp.promotions.dto.RedemptionDto;
+import com.loveacamp.promotions.dto.requests.RedemptionRequestDto;
+import com.loveacamp.promotions.enums.CouponClaimResult;
+import com.loveacamp.promotions.enums.ReachEvent;
+import com.loveacamp.promotions.exception.BadRequestException;
+import com.loveacamp.promotions.exception.RedemptionOutcomeUnknownException;
+import com.loveacamp.promotions.repositories.CouponBatchRepository;
+import com.loveacamp.promotions.repositories.CouponRepository;
+import com.loveacamp.promotions.services.IRedemptionService;
+import com.loveacamp.promotions.utils.CouponCodec;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.joda.time.DateTime;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Resgate de cupons. Códigos que não estão em {@link CouponFilter} são recusados sem mais nada. A promoção sai do
+ * próprio código, a cota vem de {@link RedemptionQuotas} sem tocar na linha da promoção, e quem já está no limite por
+ * pessoa é recusado em memória por {@link PersonUsageTracker}. O único acesso ao banco por resgate é um
+ * {@code UPDATE} condicional do cupom pela chave primária: ele decide entre instâncias quem fica com o cupom e, se a
+ * promoção tiver limite por pessoa, grava junto a vaga do resgate, que um índice único impede de ser ocupada duas
+ * vezes. O resgate está confirmado quando ele volta. O {@code REDEEMED} da promoção e o uso da pessoa são gravados
+ * depois, em batch, por {@link RedemptionQuotas} e {@link PersonUsageTracker}. Cada resgate entra no alcance da
+ * promoção em {@link ReachTracker}.
+ * <p>
+ * A cota e o uso por pessoa só são devolvidos quando se sabe que o resgate não aconteceu. Se a marcação falhar sem
+ * resposta e não der para conferir se ela chegou ao banco, eles ficam consumidos (a promoção vende a menos, nunca a
+ * mais) e a resposta é {@link RedemptionOutcomeUnknownException}.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class RedemptionService implements IRedemptionService {
+    private static final String REDEMPTIONS = "promotions.redemptions";
+
+    private final CouponRepository couponRepository;
+
+    private final CouponFilter filter;
+
+    private final CouponCodec codec;
+
+    private final RedemptionQuotas quotas;
+
+    private final PersonUsageTracker usages;
+
+    private final ReachTracker reach;
+
+    private final Counter redeemed;
+
+    private final Counter invalid;
+
+    private final Counter exhausted;
+
+    private final Counter personLimit;
+
+    private final Counter unknown;
+
+    public RedemptionService(CouponRepository couponRepository, CouponFilter filter, CouponCodec codec,
+                             RedemptionQuotas quotas, PersonUsageTracker usages, ReachTracker reach,
+                             MeterRegistry registry) {
+        this.couponRepository = couponRepository;
+        this.filter = filter;
+        this.codec = codec;
+        this.quotas = quotas;
+        this.usages = usages;
+        this.reach = reach;
+        this.redeemed = Counter.builder(REDEMPTIONS).tag("result", "redeemed").register(registry);
+        this.invalid = Counter.builder(REDEMPTIONS).tag("result", "invalid").register(registry);
+        this.exhausted = Counter.builder(REDEMPTIONS).tag("result", "exhausted").register(registry);
+        this.personLimit = Counter.builder(REDEMPTIONS).tag("result", "person-limit").register(registry);
+        this.unknown = Counter.builder(REDEMPTIONS).tag("result", "unknown").register(registry);
+    }
+
+    @Override
+    public RedemptionDto redeem(RedemptionRequestDto redemptionRequestDto) {
+        long code = CouponCodec.parse(redemptionRequestDto.getCode());
+
+        if (code < 0 || !this.filter.mightExist(code)) {
+            this.invalid.increment();
+            throw new BadRequestException("Cupom inválido ou já utilizado.");
+        }
+
+        long promotionId = this.codec.promotionIdOf(code);
+        long personId = redemptionRequestDto.getPersonId();
+        int maxPerPerson = this.quotas.tryAcquire(promotionId);
+
+        if (maxPerPerson == RedemptionQuotas.NOT_GRANTED) {
+            this.exhausted.increment();
+            throw new BadRequestException("Promoção esgotada ou fora da vigência.");
+        }
+
+        boolean limited = maxPerPerson != RedemptionQuotas.UNLIMITED;
+        int slot = CouponBatchRepository.NO_SLOT;
+
+        if (limited) {
+            slot = this.usages.tryUse(promotionId, personId, maxPerPerson);
+
+            if (slot == PersonUsageTracker.LIMIT_REACHED) {
+                this.quotas.release(promotionId);
+                this.personLimit.increment();
+                throw new BadRequestException("Limite de %s resgate(s) por pessoa atingido.", maxPerPerson);
+            }
+        }
+
+        DateTime now = DateTime.now();
+        CouponClaimResult result;
+
+        try {
+            result = this.claim(code, promotionId, personId, slot, maxPerPerson, now.getMillis());
+        } catch (RedemptionOutcomeUnknownException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            this.undo(promotionId, personId, limited);
+            throw e;
+        }
+
+        if (result == CouponClaimResult.INVALID) {
+            this.undo(promotionId, personId, limited);
+            this.invalid.increment();
+            throw new BadRequestException("Cupom inválido ou já utilizado.");
+        }
+
+        if (result == CouponClaimResult.SLOT_TAKEN) {
+            this.quotas.release(promotionId);
+            this.personLimit.increment();
+            throw new BadRequestException("Limite de %s resgate(s) por pessoa atingido.", maxPerPerson);
+        }
+
+        this.quotas.redeemed(promotionId);
+        this.reach.record(promotionId, ReachEvent.REDEMPTION, personId);
+        this.redeemed.increment();
+
+        return new RedemptionDto()
+                .setCode(CouponCodec.format(code))
+                .setPromotionId(promotionId)
+                .setPersonId(personId)
+                .setRedeemedAt(now);
+    }
+
+    /**
+     * Marca o cupom no banco. Se a vaga da pessoa já estiver ocupada — por um resgate em outra instância, ou porque a
+     * contagem em memória ficou para trás num restart —, as vagas ocupadas são lidas do banco, a contagem em memória é
+     * corrigida e a marcação é refeita na primeira vaga livre. Sem vaga livre, o resultado fica
+     * {@link CouponClaimResult#SLOT_TAKEN}, com o uso reservado já desfeito. Cada vaga recusada já aparece na leitura
+     * seguinte, então isso termina em no máximo {@code maxPerPerson} tentativas.
+     */
+    private CouponClaimResult claim(long code, long promotionId, long personId, int slot, int maxPerPerson, long redeemedAt) {
+        CouponClaimResult result = this.tryClaim(code, promotionId, personId, slot, redeemedAt);
+
+        while (result == CouponClaimResult.SLOT_TAKEN) {
+            List<Integer> taken = this.couponRepository.findSlots(promotionId, personId);
+            int free = freeSlot(taken, maxPerPerson);
+
+            if (free == PersonUsageTracker.LIMIT_REACHED) {
+                this.usages.undo(promotionId, personId);
+                this.usages.raise(promotionId, personId, taken.size());
+
+                return result;
+            }
+
+            this.usages.raise(promotionId, personId, taken.size() + 1);
+            result = this.tryClaim(code, promotionId, personId, free, redeemedAt);
+        }
+
+        return result;
+    }
+
+    /**
+     * Se o {@code UPDATE} falhar sem resposta, ele pode ter sido gravado mesmo assim: a marcação é conferida pelo
+     * instante antes de concluir que o cupom continua livre e repassar a exceção.
+     */
+    private CouponClaimResult tryClaim(long code, long promotionId, long personId, int slot, long redeemedAt) {
+        try {
+            return this.couponRepository.claim(code, promotionId, personId, slot, redeemedAt);
+        } catch (RuntimeException e) {
+            boolean claimed;
+
+            try {
+                claimed = this.couponRepository.isClaimedAt(code, redeemedAt);
+            } catch (RuntimeException check) {
+                e.addSuppressed(check);
+                throw this.unknown(e);
+            }
+
+            if (claimed) {
+                return CouponClaimResult.CLAIMED;
+            }
+
+            throw e;
+        }
+    }
+
+    private static int freeSlot(List<Integer> taken, int maxPerPerson) {
+        for (int slot = 0; slot < maxPerPerson; slot++) {
+            if (!taken.contains(slot)) {
+                return slot;
+            }
+        }
+
+        return PersonUsageTracker.LIMIT_REACHED;
+    }
+
+    private RedemptionOutcomeUnknownException unknown(RuntimeException cause) {
+        this.unknown.increment();
+
+        return new RedemptionOutcomeUnknownException("Não foi possível confirmar o resgate; consulte o cupom antes de tentar de novo.", cause);
+    }
+
+    private void undo(long promotionId, long personId, boolean limited) {
+        this.quotas.release(promotionId);
+
+        if (limited) {
+            this.usages.undo(promotionId, personId);
+        }
+    }
+}
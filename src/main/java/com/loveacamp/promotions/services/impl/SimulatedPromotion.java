@@ -0,0 +1,39 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.enums.DiscountType;
+import com.loveacamp.promotions.utils.LongBitmap;
+
+import java.math.BigDecimal;
+
+/**
+ * Promoção candidata de uma simulação, com o valor em inteiros para que cada linha do arquivo seja avaliada sem
+ * {@link BigDecimal}: percentual em centésimos de ponto ({@code 12.5%} vira {@code 1250}) e desconto fixo em
+ * centavos. O arredondamento é o mesmo de {@link CompiledPromotion#discount(BigDecimal)}.
+ *
+ * @param products produtos do escopo (ids listados e os do prefixo de nome), ou {@code null} se valer para todos
+ */
+record SimulatedPromotion(DiscountType type, long value, LongBitmap products) {
+    static SimulatedPromotion of(DiscountType type, BigDecimal value, LongBitmap products) {
+        return new SimulatedPromotion(type, value.movePointRight(2).longValueExact(), products);
+    }
+
+    boolean appliesTo(long productId) {
+        return this.products == null || this.products.contains(productId);
+    }
+
+    long discountCents(long priceCents) {
+        if (this.type != DiscountType.PERCENTAGE) {
+            return Math.min(this.value, priceCents);
+        }
+
+        long scaled = Math.multiplyExact(priceCents, this.value);
+        long discount = scaled / 10000;
+        long remainder = scaled % 10000;
+
+        if (remainder > 5000 || (remainder == 5000 && (discount & 1) == 1)) {
+            discount++;
+        }
+
+        return Math.min(discount, priceCents);
+    }
+}
@@ -0,0 +1,157 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.config.MetricsConfig;
+import com.loveacamp.promotions.config.SimulationConfig;
+import com.loveacamp.promotions.dto.SimulationDto;
+import com.loveacamp.promotions.dto.SimulationProductDto;
+import com.loveacamp.promotions.dto.requests.PromotionRequestDto;
+import com.loveacamp.promotions.enums.DiscountType;
+import com.loveacamp.promotions.exception.BadRequestException;
+import com.loveacamp.promotions.repositories.ProductRepository;
+import com.loveacamp.promotions.services.ISimulationService;
+import com.loveacamp.promotions.utils.LongBitmap;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Simulação de uma promoção candidata sobre um histórico de carrinhos, sem gravar nada. O arquivo é dividido em
+ * faixas de bytes avaliadas em paralelo por {@link CartFileTask}s no pool de {@link SimulationConfig#SIMULATION_POOL};
+ * os totais das faixas são somados aos pares na volta da recursão, então a memória não depende do tamanho do arquivo,
+ * só da quantidade de produtos distintos.
+ * <p>
+ * Só o tipo, o valor e o escopo de produtos da promoção entram na conta: vigência, níveis, público, limites de
+ * resgate e o acúmulo com outras promoções não são simulados, e cada linha recebe o desconto da candidata sozinha.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class SimulationService implements ISimulationService {
+    private static final BigDecimal MAX_PERCENTAGE = BigDecimal.valueOf(100);
+
+    /**
+     * Do pior para o melhor: menos desconto e, no empate, maior id.
+     */
+    private static final Comparator<long[]> BY_DISCOUNT = Comparator.<long[]>comparingLong(product -> product[3])
+            .thenComparing(Comparator.<long[]>comparingLong(product -> product[0]).reversed());
+
+    private final ProductRepository productRepository;
+
+    private final ForkJoinPool pool;
+
+    private final long splitBytes;
+
+    public SimulationService(ProductRepository productRepository, @Qualifier(SimulationConfig.SIMULATION_POOL) ForkJoinPool pool,
+                             @Value("${promotions.simulations.split-size:8MB}") DataSize splitSize) {
+        this.productRepository = productRepository;
+        this.pool = pool;
+        this.splitBytes = Math.max(1, splitSize.toBytes());
+    }
+
+    @Override
+    public SimulationDto simulate(PromotionRequestDto promotionRequestDto, Path carts, int limit) {
+        if (promotionRequestDto.getDiscountType() == DiscountType.PERCENTAGE && promotionRequestDto.getValue().compareTo(MAX_PERCENTAGE) > 0) {
+            throw new BadRequestException("O percentual de desconto deve ser no máximo %s.", MAX_PERCENTAGE);
+        }
+
+        if (limit < 1 || limit > Keyset.MAX_LIMIT) {
+            throw new BadRequestException("O limite deve estar entre 1 e %s.", Keyset.MAX_LIMIT);
+        }
+
+        SimulatedPromotion promotion = SimulatedPromotion.of(promotionRequestDto.getDiscountType(),
+                promotionRequestDto.getValue(), this.scope(promotionRequestDto));
+        CartTally tally;
+
+        try (FileChannel channel = FileChannel.open(carts, StandardOpenOption.READ)) {
+            tally = this.pool.invoke(new CartFileTask(channel, promotion, 0, channel.size(), this.splitBytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (tally.invalidAt != CartTally.VALID) {
+            throw new BadRequestException("Linha inválida no byte %s do arquivo de carrinhos.", tally.invalidAt);
+        }
+
+        return new SimulationDto()
+                .setCarts(tally.carts)
+                .setLines(tally.lines)
+                .setDiscountedCarts(tally.discountedCarts)
+                .setDiscountedLines(tally.discountedLines)
+                .setHitRate(tally.carts == 0
+                        ? BigDecimal.ZERO.setScale(4)
+                        : BigDecimal.valueOf(tally.discountedCarts).divide(BigDecimal.valueOf(tally.carts), 4, RoundingMode.HALF_EVEN))
+                .setSubtotal(BigDecimal.valueOf(tally.subtotalCents, 2))
+                .setTotalDiscount(BigDecimal.valueOf(tally.discountCents, 2))
+                .setProducts(top(tally, limit));
+    }
+
+    /**
+     * @return {@code null} se a promoção valer para todos os produtos
+     */
+    private LongBitmap scope(PromotionRequestDto promotionRequestDto) {
+        String prefix = promotionRequestDto.getProductNamePrefix();
+        boolean hasPrefix = prefix != null && !prefix.isBlank();
+
+        if (promotionRequestDto.getProductIds().isEmpty() && !hasPrefix) {
+            return null;
+        }
+
+        LongBitmap products = new LongBitmap();
+        promotionRequestDto.getProductIds().forEach(products::add);
+
+        if (hasPrefix) {
+            this.productRepository.findIdsByNamePrefix(CompiledPromotion.normalize(prefix)).forEach(products::add);
+        }
+
+        return products.trim();
+    }
+
+    /**
+     * Os {@code limit} produtos com mais desconto (empate fica com o menor id), por um heap de tamanho {@code limit}
+     * em vez de ordenar todos.
+     */
+    private static List<SimulationProductDto> top(CartTally tally, int limit) {
+        PriorityQueue<long[]> heap = new PriorityQueue<>(limit + 1, BY_DISCOUNT);
+
+        tally.products.forEach((productId, product) -> {
+            if (product[2] > 0) {
+                heap.add(new long[]{productId, product[0], product[1], product[2]});
+
+                if (heap.size() > limit) {
+                    heap.poll();
+                }
+            }
+        });
+
+        List<SimulationProductDto> products = new ArrayList<>(heap.size());
+
+        while (!heap.isEmpty()) {
+            long[] product = heap.poll();
+
+            products.add(new SimulationProductDto()
+                    .setProductId(product[0])
+                    .setLines(product[1])
+                    .setQuantity(product[2])
+                    .setDiscount(BigDecimal.valueOf(product[3], 2)));
+        }
+
+        Collections.reverse(products);
+
+        return products;
+    }
+}
@@ -0,0 +1,197 @@
+package com.loveacamp.promotions.services.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Escolhe a melhor combinação de promoções para um produto. Uma promoção sem grupo de exclusividade vale sozinha; as
+ * com grupo se acumulam com as de outros grupos, no máximo uma por grupo, aplicadas em ordem de prioridade (maior
+ * primeiro, depois menor id), cada uma sobre o preço que sobrou das anteriores.
+ * <p>
+ * A busca é um branch and bound sobre os grupos. O desconto de uma promoção sozinha, sobre o preço cheio, é um teto
+ * para o que ela soma em qualquer combinação; um ramo cuja soma de tetos fica abaixo da melhor combinação já
+ * encontrada é descartado. Os grupos são visitados do maior teto para o menor, para que uma boa combinação apareça
+ * cedo. Empate no valor fica com a combinação de menos promoções e, entre essas, a de menores ids, para o resultado
+ * não depender da ordem de carga.
+ */
+final class StackingSolver {
+    private static final Comparator<CompiledPromotion> APPLICATION_ORDER =
+            Comparator.comparingInt(CompiledPromotion::priority).reversed().thenComparingLong(CompiledPromotion::id);
+
+    private final BigDecimal price;
+
+    private final CompiledPromotion[][] groups;
+
+    private final BigDecimal[][] standalone;
+
+    /**
+     * {@code ceilings[g]}: soma dos maiores tetos dos grupos a partir de {@code g}.
+     */
+    private final BigDecimal[] ceilings;
+
+    private final CompiledPromotion[] chosen;
+
+    private Discount best;
+
+    private long[] bestIds;
+
+    private StackingSolver(BigDecimal price, CompiledPromotion[][] groups, BigDecimal[][] standalone, Discount best) {
+        this.price = price;
+        this.groups = groups;
+        this.standalone = standalone;
+        this.ceilings = new BigDecimal[groups.length + 1];
+        this.chosen = new CompiledPromotion[groups.length];
+        this.best = best;
+        this.bestIds = best == null ? null : new long[]{best.promotionId()};
+        this.ceilings[groups.length] = BigDecimal.ZERO;
+
+        for (int g = groups.length - 1; g >= 0; g--) {
+            this.ceilings[g] = this.ceilings[g + 1].add(standalone[g][0]);
+        }
+    }
+
+    /**
+     * @param candidates promoções já filtradas por vigência, nível e público; só as {@code count} primeiras valem
+     */
+    static Discount solve(CompiledPromotion[] candidates, int count, BigDecimal price) {
+        Discount best = null;
+        List<CompiledPromotion> grouped = null;
+
+        for (int i = 0; i < count; i++) {
+            CompiledPromotion candidate = candidates[i];
+
+            if (!candidate.isExclusive()) {
+                grouped = grouped == null ? new ArrayList<>() : grouped;
+                grouped.add(candidate);
+                continue;
+            }
+
+            BigDecimal amount = candidate.discount(price);
+            int comparison = best == null ? 1 : amount.compareTo(best.amount());
+
+            if (comparison > 0 || (comparison == 0 && candidate.id() < best.promotionId())) {
+                best = new Discount(candidate.id(), amount);
+            }
+        }
+
+        // Sem grupos, é o melhor desconto isolado, sem montar a busca.
+        if (grouped == null) {
+            return best;
+        }
+
+        StackingSolver solver = of(grouped, price, best);
+        solver.search(0, BigDecimal.ZERO, 0);
+
+        return solver.best;
+    }
+
+    private static StackingSolver of(List<CompiledPromotion> grouped, BigDecimal price, Discount best) {
+        int n = grouped.size();
+        BigDecimal[] amounts = new BigDecimal[n];
+        Integer[] order = new Integer[n];
+
+        for (int i = 0; i < n; i++) {
+            amounts[i] = grouped.get(i).discount(price);
+            order[i] = i;
+        }
+
+        // Por grupo e, dentro do grupo, do maior teto para o menor.
+        Arrays.sort(order, Comparator.<Integer, String>comparing(i -> grouped.get(i).group())
+                .thenComparing(i -> amounts[i], Comparator.reverseOrder())
+                .thenComparingLong(i -> grouped.get(i).id()));
+
+        List<CompiledPromotion[]> groups = new ArrayList<>();
+        List<BigDecimal[]> standalone = new ArrayList<>();
+
+        for (int start = 0, end = 0; start < n; start = end) {
+            String group = grouped.get(order[start]).group();
+
+            while (end < n && grouped.get(order[end]).group().equals(group)) {
+                end++;
+            }
+
+            CompiledPromotion[] members = new CompiledPromotion[end - start];
+            BigDecimal[] ceilings = new BigDecimal[end - start];
+
+            for (int i = start; i < end; i++) {
+                members[i - start] = grouped.get(order[i]);
+                ceilings[i - start] = amounts[order[i]];
+            }
+
+            groups.add(members);
+            standalone.add(ceilings);
+        }
+
+        Integer[] byCeiling = new Integer[groups.size()];
+
+        for (int g = 0; g < byCeiling.length; g++) {
+            byCeiling[g] = g;
+        }
+
+        Arrays.sort(byCeiling, Comparator.comparing((Integer g) -> standalone.get(g)[0]).reversed());
+
+        CompiledPromotion[][] sortedGroups = new CompiledPromotion[byCeiling.length][];
+        BigDecimal[][] sortedStandalone = new BigDecimal[byCeiling.length][];
+
+        for (int g = 0; g < byCeiling.length; g++) {
+            sortedGroups[g] = groups.get(byCeiling[g]);
+            sortedStandalone[g] = standalone.get(byCeiling[g]);
+        }
+
+        return new StackingSolver(price, sortedGroups, sortedStandalone, best);
+    }
+
+    /**
+     * @param ceiling soma dos tetos das promoções já escolhidas
+     * @param size    quantas posições de {@link #chosen} estão preenchidas
+     */
+    private void search(int g, BigDecimal ceiling, int size) {
+        if (this.best != null && ceiling.add(this.ceilings[g]).min(this.price).compareTo(this.best.amount()) < 0) {
+            return;
+        }
+
+        if (g == this.groups.length) {
+            if (size > 0) {
+                this.consider(size);
+            }
+
+            return;
+        }
+
+        for (int i = 0; i < this.groups[g].length; i++) {
+            this.chosen[size] = this.groups[g][i];
+            this.search(g + 1, ceiling.add(this.standalone[g][i]), size + 1);
+        }
+
+        this.search(g + 1, ceiling, size);
+    }
+
+    private void consider(int size) {
+        CompiledPromotion[] applied = Arrays.copyOf(this.chosen, size);
+        Arrays.sort(applied, APPLICATION_ORDER);
+
+        BigDecimal remaining = this.price;
+
+        for (CompiledPromotion promotion : applied) {
+            remaining = remaining.subtract(promotion.discount(remaining));
+        }
+
+        BigDecimal amount = this.price.subtract(remaining);
+        long[] ids = Arrays.stream(applied).mapToLong(CompiledPromotion::id).sorted().toArray();
+
+        if (this.best != null) {
+            int comparison = amount.compareTo(this.best.amount());
+
+            if (comparison < 0 || (comparison == 0 && (ids.length > this.bestIds.length
+                    || (ids.length == this.bestIds.length && Arrays.compare(ids, this.bestIds) >= 0)))) {
+                return;
+            }
+        }
+
+        this.best = new Discount(applied[0].id(), amount, Arrays.stream(applied).map(CompiledPromotion::id).toList());
+        this.bestIds = ids;
+    }
+}
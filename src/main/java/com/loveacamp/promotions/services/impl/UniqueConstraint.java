@@ -0,0 +1,18 @@
+package com.loveacamp.promotions.services.impl;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+final class UniqueConstraint {
+    private UniqueConstraint() {
+    }
+
+    static boolean isViolated(DataIntegrityViolationException e, String constraintName) {
+        // Cada banco formata o nome à sua maneira (H2: "PUBLIC.UK_X_INDEX_1 ON ...", Postgres: "uk_x").
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toUpperCase(Locale.ROOT).contains(constraintName);
+    }
+}
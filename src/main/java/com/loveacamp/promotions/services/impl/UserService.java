@@ -1,16 +1,21 @@
 package com.loveacamp.promotions.services.impl;
 
+import com.loveacamp.promotions.config.MetricsConfig;
+import com.loveacamp.promotions.dto.CursorPageDto;
 import com.loveacamp.promotions.dto.UserDto;
 import com.loveacamp.promotions.dto.requests.UserRequestDto;
 import com.loveacamp.promotions.entities.User;
 import com.loveacamp.promotions.exception.BadRequestException;
 import com.loveacamp.promotions.repositories.UserRepository;
 import com.loveacamp.promotions.services.IUserService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class UserService implements IUserService {
     private final UserRepository repository;
 
@@ -20,18 +25,22 @@ public class UserService implements IUserService {
 
     @Override
     public UserDto save(UserRequestDto userRequest) {
-        if (repository.findByUsername(userRequest.getUsername()).isPresent()) {
-            throw new BadRequestException("Usuário já existe.");
-        }
+        try {
+            return UserDto.toDto(repository.saveAndFlush(toEntity(userRequest)));
+        } catch (DataIntegrityViolationException e) {
+            if (UniqueConstraint.isViolated(e, User.UK_USERNAME)) {
+                throw new BadRequestException("Usuário já existe.");
+            }
 
-        return UserDto.toDto(repository.save(toEntity(userRequest)));
+            throw e;
+        }
     }
 
     @Override
     public UserDto update(long id, UserRequestDto userRequest) {
         User user = repository.findById(id).orElseThrow(() -> new BadRequestException("Usuário não encontrado."));
 
-        if (repository.existsByUsernameNotId(userRequest.getUsername(), id)) {
+        if (repository.existsByUsernameAndIdNot(userRequest.getUsername(), id)) {
             throw new BadRequestException("Nome de usuário já vínculado a outra conta.");
         }
 
@@ -43,8 +52,10 @@ public class UserService implements IUserService {
     }
 
     @Override
-    public List<UserDto> findAll() {
-        return UserDto.toDto(repository.findAll());
+    public CursorPageDto<UserDto> findAll(String cursor, int limit) {
+        List<User> users = repository.findByIdGreaterThanOrderByIdAsc(Keyset.after(cursor), Keyset.limit(limit));
+
+        return Keyset.page(users, limit, User::getId, UserDto::toDto);
     }
 
     private User toEntity(UserRequestDto dto) {
@@ -0,0 +1,134 @@
+package com.loveacamp.promotions.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom de valores {@code long}: responde "com certeza não está" ou "talvez esteja", em memória fixa. Cada
+ * valor liga {@code k} bits de um vetor de {@code m} bits, escolhidos por hashing duplo ({@code h1 + i·h2}); um valor
+ * cujos {@code k} bits não estão todos ligados nunca foi inserido.
+ * <p>
+ * Dimensionamento: para {@code n} valores e taxa de falsos positivos {@code p},
+ * {@code m = -n·ln p / (ln 2)²} e {@code k = (m / n)·ln 2} — 14,4 bits por valor e 10 hashes para 0,1%. Inserir além
+ * de {@code n} não quebra o filtro, só aumenta os falsos positivos; {@link #expectedFpp()} dá a taxa atual, calculada
+ * pela fração de bits ligados.
+ * <p>
+ * Thread-safe sem lock: os bits são ligados com CAS, então inserções concorrentes não se perdem. Um
+ * {@link #mightContain} concorrente com o {@link #put} do mesmo valor pode ainda responder {@code false}.
+ */
+public final class BloomFilter {
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+
+    private final long bits;
+
+    private final int hashes;
+
+    private final LongAdder bitsSet = new LongAdder();
+
+    private BloomFilter(long bits, int hashes) {
+        this.words = new AtomicLongArray((int) (bits >>> 6));
+        this.bits = bits;
+        this.hashes = hashes;
+    }
+
+    /**
+     * @param expectedInsertions quantidade de valores para a qual {@code fpp} vale
+     * @param fpp                taxa de falsos positivos desejada, em {@code (0, 1)}
+     */
+    public static BloomFilter create(long expectedInsertions, double fpp) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("Quantidade esperada deve ser positiva: " + expectedInsertions);
+        }
+
+        if (!(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("Taxa de falsos positivos fora de (0, 1): " + fpp);
+        }
+
+        double optimal = -expectedInsertions * Math.log(fpp) / (LN2 * LN2);
+        // Múltiplo de 64 para ocupar palavras inteiras, limitado ao maior AtomicLongArray possível.
+        long bits = Math.min(((long) Math.ceil(optimal) + 63) & ~63L, (long) Integer.MAX_VALUE << 6);
+        int hashes = (int) Math.max(1, Math.round((double) bits / expectedInsertions * LN2));
+
+        return new BloomFilter(bits, hashes);
+    }
+
+    /**
+     * @return {@code true} se algum bit foi ligado, ou seja, o valor com certeza não estava no filtro
+     */
+    public boolean put(long value) {
+        long h1 = mix(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        boolean changed = false;
+
+        for (int i = 0; i < this.hashes; i++) {
+            long index = Long.remainderUnsigned(h1 + i * h2, this.bits);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current = this.words.get(word);
+
+            while ((current & mask) == 0) {
+                if (this.words.compareAndSet(word, current, current | mask)) {
+                    this.bitsSet.increment();
+                    changed = true;
+                    break;
+                }
+
+                current = this.words.get(word);
+            }
+        }
+
+        return changed;
+    }
+
+    /**
+     * @return {@code false} se o valor com certeza nunca foi inserido
+     */
+    public boolean mightContain(long value) {
+        long h1 = mix(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+
+        for (int i = 0; i < this.hashes; i++) {
+            long index = Long.remainderUnsigned(h1 + i * h2, this.bits);
+
+            if ((this.words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Probabilidade de um valor nunca inserido passar pelo filtro, com os bits ligados agora: {@code (ligados / m)^k}.
+     */
+    public double expectedFpp() {
+        return Math.pow((double) this.bitsSet.sum() / this.bits, this.hashes);
+    }
+
+    public long bitSize() {
+        return this.bits;
+    }
+
+    public int hashFunctions() {
+        return this.hashes;
+    }
+
+    public long sizeInBytes() {
+        return this.bits >>> 3;
+    }
+
+    /**
+     * Finalizador do MurmurHash3, como em {@link HyperLogLog}.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+
+        return value;
+    }
+}
@@ -0,0 +1,175 @@
+package com.loveacamp.promotions.utils;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * Códigos de cupom de 60 bits, guardados como {@code BIGINT} e exibidos com {@value #LENGTH} caracteres em base 32
+ * de Crockford (sem I, L, O e U). O valor é uma permutação (rede de Feistel com chave) do par id da promoção
+ * ({@value #FIELD_BITS} bits) e número de série do cupom na promoção ({@value #FIELD_BITS} bits): códigos distintos
+ * por construção, sem consulta ao banco para checar colisão, e sem sequência visível para quem não tem a chave.
+ * <p>
+ * A função de cada rodada é AES-256 (chave = SHA-256 do segredo) sobre o bloco {@code (rodada, metade)}, truncado em
+ * {@value #FIELD_BITS} bits: quatro rodadas de uma função pseudoaleatória formam uma permutação pseudoaleatória, então
+ * conhecer códigos válidos não ajuda a montar outros sem a chave. O {@link Cipher} não é thread-safe, e cada thread
+ * usa o seu.
+ */
+public final class CouponCodec {
+    public static final int LENGTH = 12;
+
+    public static final int FIELD_BITS = 30;
+
+    public static final long MAX_FIELD = (1L << FIELD_BITS) - 1;
+
+    private static final int ROUNDS = 4;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private static final int[] DIGITS = new int[128];
+
+    static {
+        Arrays.fill(DIGITS, -1);
+
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DIGITS[ALPHABET[i]] = i;
+            DIGITS[Character.toLowerCase(ALPHABET[i])] = i;
+        }
+    }
+
+    private static final int BLOCK_SIZE = 16;
+
+    private final ThreadLocal<Round> rounds;
+
+    public CouponCodec(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("secret");
+        }
+
+        try {
+            SecretKeySpec key = new SecretKeySpec(
+                    MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8)), "AES");
+
+            // Valida a chave e o algoritmo já na construção, e não no primeiro código.
+            new Round(key);
+            this.rounds = ThreadLocal.withInitial(() -> new Round(key));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public long encode(long promotionId, long serial) {
+        if (promotionId < 0 || promotionId > MAX_FIELD || serial < 0 || serial > MAX_FIELD) {
+            throw new IllegalArgumentException("promotionId/serial");
+        }
+
+        Round round = this.rounds.get();
+        long left = promotionId;
+        long right = serial;
+
+        for (int i = 0; i < ROUNDS; i++) {
+            long next = left ^ round.apply(i, right);
+            left = right;
+            right = next;
+        }
+
+        return (left << FIELD_BITS) | right;
+    }
+
+    /**
+     * Id da promoção a que o código pertence.
+     */
+    public long promotionIdOf(long code) {
+        Round round = this.rounds.get();
+        long left = code >>> FIELD_BITS;
+        long right = code & MAX_FIELD;
+
+        for (int i = ROUNDS - 1; i >= 0; i--) {
+            long previous = right ^ round.apply(i, left);
+            right = left;
+            left = previous;
+        }
+
+        return left;
+    }
+
+    public static String format(long code) {
+        char[] chars = new char[LENGTH];
+
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (code & 31)];
+            code >>>= 5;
+        }
+
+        return new String(chars);
+    }
+
+    /**
+     * @return o código, ou {@code -1} se o texto não for um código bem formado
+     */
+    public static long parse(String text) {
+        if (text == null || text.length() != LENGTH) {
+            return -1;
+        }
+
+        long code = 0;
+
+        for (int i = 0; i < LENGTH; i++) {
+            char c = text.charAt(i);
+            int digit = c < DIGITS.length ? DIGITS[c] : -1;
+
+            if (digit < 0) {
+                return -1;
+            }
+
+            code = (code << 5) | digit;
+        }
+
+        return code;
+    }
+
+    /**
+     * Função de rodada de uma thread: o {@link Cipher} e os blocos de entrada e saída são reaproveitados a cada chamada.
+     */
+    private static final class Round {
+        private final Cipher cipher;
+
+        private final byte[] input = new byte[BLOCK_SIZE];
+
+        private final byte[] output = new byte[BLOCK_SIZE];
+
+        private Round(SecretKeySpec key) {
+            try {
+                this.cipher = Cipher.getInstance("AES/ECB/NoPadding");
+                this.cipher.init(Cipher.ENCRYPT_MODE, key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private long apply(int round, long half) {
+            this.input[0] = (byte) round;
+
+            for (int i = 0; i < Long.BYTES; i++) {
+                this.input[BLOCK_SIZE - 1 - i] = (byte) (half >>> (8 * i));
+            }
+
+            try {
+                this.cipher.doFinal(this.input, 0, BLOCK_SIZE, this.output, 0);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+
+            long value = 0;
+
+            for (int i = 0; i < Long.BYTES; i++) {
+                value = (value << 8) | (this.output[i] & 0xff);
+            }
+
+            return value & MAX_FIELD;
+        }
+    }
+}
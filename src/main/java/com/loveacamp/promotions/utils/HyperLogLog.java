@@ -0,0 +1,228 @@
+package com.loveacamp.promotions.utils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Sketch HyperLogLog para contar ids {@code long} distintos sem guardar os ids. Cada id passa por um hash de 64 bits;
+ * os {@code precision} bits altos escolhem um de {@code m = 2^precision} registradores, e o registrador guarda o maior
+ * número de zeros à esquerda (mais um) visto no resto do hash. Um registrador é um {@code byte}, então o sketch ocupa
+ * {@code m} bytes seja qual for a quantidade de ids.
+ * <p>
+ * Erro: o desvio padrão relativo da estimativa é {@code 1,04 / √m} — 0,81% com precisão 14, ou seja, a estimativa fica
+ * a até ±1,6% do valor real em 95% dos casos. Abaixo de {@code 2,5·m} ids distintos (40.960 com precisão 14) usa-se
+ * contagem linear sobre os registradores vazios, que é quase exata. Um id repetido nunca conta duas vezes.
+ * <p>
+ * {@link #merge} é o máximo registrador a registrador, sem perda: o resultado é idêntico ao sketch que tivesse visto
+ * todos os ids dos dois, então juntar sketches de várias horas não soma erro. Merge também é idempotente, e aplicar o
+ * mesmo sketch duas vezes não muda nada.
+ * <p>
+ * Não é thread-safe.
+ */
+public final class HyperLogLog {
+    public static final int MIN_PRECISION = 4;
+
+    public static final int MAX_PRECISION = 16;
+
+    private static final byte DENSE = 0;
+
+    private static final byte SPARSE = 1;
+
+    private static final int HEADER_BYTES = 2;
+
+    private static final int SPARSE_ENTRY_BYTES = Character.BYTES + 1;
+
+    private final int precision;
+
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precisão fora de [" + MIN_PRECISION + ", " + MAX_PRECISION + "]: " + precision);
+        }
+
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public int precision() {
+        return this.precision;
+    }
+
+    /**
+     * @return {@code true} se algum registrador mudou
+     */
+    public boolean add(long value) {
+        long hash = mix(value);
+        int index = (int) (hash >>> (Long.SIZE - this.precision));
+        // O bit sentinela limita o rank a 64 - precision + 1 mesmo se o resto do hash for todo zero.
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << this.precision) | (1L << (this.precision - 1))) + 1);
+
+        if (rank > this.registers[index]) {
+            this.registers[index] = rank;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Junta {@code other} a este sketch. Os dois precisam ter a mesma precisão.
+     */
+    public HyperLogLog merge(HyperLogLog other) {
+        this.checkPrecision(other.precision);
+
+        for (int i = 0; i < this.registers.length; i++) {
+            if (other.registers[i] > this.registers[i]) {
+                this.registers[i] = other.registers[i];
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Junta um sketch serializado por {@link #toBytes()} sem materializá-lo.
+     */
+    public HyperLogLog merge(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte format = buffer.get();
+        this.checkPrecision(buffer.get());
+
+        if (format == DENSE) {
+            for (int i = 0; i < this.registers.length; i++) {
+                byte rank = buffer.get();
+
+                if (rank > this.registers[i]) {
+                    this.registers[i] = rank;
+                }
+            }
+        } else {
+            int count = buffer.getInt();
+
+            for (int i = 0; i < count; i++) {
+                int index = buffer.getChar();
+                byte rank = buffer.get();
+
+                if (rank > this.registers[index]) {
+                    this.registers[index] = rank;
+                }
+            }
+        }
+
+        return this;
+    }
+
+    public boolean isEmpty() {
+        for (byte rank : this.registers) {
+            if (rank != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public long estimate() {
+        int m = this.registers.length;
+        double sum = 0;
+        int zeros = 0;
+
+        for (byte rank : this.registers) {
+            sum += Double.longBitsToDouble((long) (1023 - rank) << 52);
+
+            if (rank == 0) {
+                zeros++;
+            }
+        }
+
+        double estimate = alpha(m) * m * m / sum;
+
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+
+        return Math.round(estimate);
+    }
+
+    /**
+     * Desvio padrão relativo de {@link #estimate()} para esta precisão.
+     */
+    public double standardError() {
+        return standardError(this.precision);
+    }
+
+    public static double standardError(int precision) {
+        return 1.04 / Math.sqrt(1 << precision);
+    }
+
+    /**
+     * Formato: um byte de formato, um de precisão e então, no denso, os {@code m} registradores; no esparso, a
+     * quantidade de registradores não vazios e, para cada um, o índice ({@code char}) e o valor. O esparso é usado
+     * enquanto for menor, o que vale para horas com poucas pessoas: 100 pessoas custam ~300 bytes em vez de 16 KB.
+     */
+    public byte[] toBytes() {
+        int nonZero = 0;
+
+        for (byte rank : this.registers) {
+            if (rank != 0) {
+                nonZero++;
+            }
+        }
+
+        int sparseBytes = HEADER_BYTES + Integer.BYTES + nonZero * SPARSE_ENTRY_BYTES;
+
+        if (sparseBytes >= HEADER_BYTES + this.registers.length) {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + this.registers.length);
+            buffer.put(DENSE).put((byte) this.precision).put(this.registers);
+
+            return buffer.array();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(sparseBytes);
+        buffer.put(SPARSE).put((byte) this.precision).putInt(nonZero);
+
+        for (int i = 0; i < this.registers.length; i++) {
+            if (this.registers[i] != 0) {
+                buffer.putChar((char) i).put(this.registers[i]);
+            }
+        }
+
+        return buffer.array();
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        return new HyperLogLog(bytes[1]).merge(bytes);
+    }
+
+    public long sizeInBytes() {
+        return this.registers.length;
+    }
+
+    private void checkPrecision(int precision) {
+        if (precision != this.precision) {
+            throw new IllegalArgumentException("Sketches com precisões diferentes: " + this.precision + " e " + precision);
+        }
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+
+    /**
+     * Finalizador do MurmurHash3: ids em sequência viram hashes bem espalhados nos 64 bits.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+
+        return value;
+    }
+}
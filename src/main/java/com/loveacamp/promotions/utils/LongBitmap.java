@@ -0,0 +1,413 @@
+package com.loveacamp.promotions.utils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Conjunto comprimido de ids {@code long} no formato do Roaring bitmap. Os ids são agrupados pelos 48 bits altos, e
+ * cada grupo guarda os 16 bits baixos num contêiner próprio: um {@code char[]} ordenado enquanto tiver até
+ * {@value #ARRAY_MAX} ids (2 bytes por id), ou um bitmap de 8 KB ({@code long[1024]}) acima disso. Uma faixa densa de
+ * ids, como os gerados por uma sequence, custa pouco mais de 1 bit por id. A consulta é uma busca binária nos grupos
+ * seguida de um teste de bit ou de uma busca binária no contêiner.
+ * <p>
+ * {@link #add(long)} só deve ser usado enquanto o bitmap é montado. Depois de publicado o bitmap é só lido, e
+ * {@link #or}, {@link #and} e {@link #andNot} devolvem bitmaps novos. A escrita não é thread-safe.
+ */
+public final class LongBitmap {
+    static final int ARRAY_MAX = 4096;
+
+    private static final int BITMAP_WORDS = 1024;
+
+    private long[] keys;
+
+    private Object[] containers;
+
+    private int[] cardinalities;
+
+    private int size;
+
+    /**
+     * Contêiner do último {@link #add(long)}, para que ids em sequência não paguem a busca binária nos grupos.
+     */
+    private int last = -1;
+
+    public LongBitmap() {
+        this(4);
+    }
+
+    private LongBitmap(int capacity) {
+        capacity = Math.max(1, capacity);
+
+        this.keys = new long[capacity];
+        this.containers = new Object[capacity];
+        this.cardinalities = new int[capacity];
+    }
+
+    public boolean contains(long value) {
+        int i = Arrays.binarySearch(this.keys, 0, this.size, value >>> 16);
+
+        if (i < 0) {
+            return false;
+        }
+
+        char low = (char) value;
+
+        if (this.containers[i] instanceof long[] words) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        return Arrays.binarySearch((char[]) this.containers[i], 0, this.cardinalities[i], low) >= 0;
+    }
+
+    /**
+     * @return {@code false} se o id já estava no conjunto
+     */
+    public boolean add(long value) {
+        long key = value >>> 16;
+        int i = this.last >= 0 && this.keys[this.last] == key ? this.last : Arrays.binarySearch(this.keys, 0, this.size, key);
+
+        if (i < 0) {
+            i = -i - 1;
+            this.insert(i, key, new char[4], 0);
+        }
+
+        this.last = i;
+
+        char low = (char) value;
+        int cardinality = this.cardinalities[i];
+
+        if (this.containers[i] instanceof long[] words) {
+            long bit = 1L << low;
+
+            if ((words[low >>> 6] & bit) != 0) {
+                return false;
+            }
+
+            words[low >>> 6] |= bit;
+            this.cardinalities[i]++;
+
+            return true;
+        }
+
+        char[] array = (char[]) this.containers[i];
+        int position = cardinality;
+
+        if (cardinality > 0 && array[cardinality - 1] >= low) {
+            position = Arrays.binarySearch(array, 0, cardinality, low);
+
+            if (position >= 0) {
+                return false;
+            }
+
+            position = -position - 1;
+        }
+
+        if (cardinality == ARRAY_MAX) {
+            long[] words = toWords(array, cardinality);
+            words[low >>> 6] |= 1L << low;
+            this.containers[i] = words;
+            this.cardinalities[i]++;
+
+            return true;
+        }
+
+        if (cardinality == array.length) {
+            array = Arrays.copyOf(array, Math.min(ARRAY_MAX, cardinality * 2));
+            this.containers[i] = array;
+        }
+
+        System.arraycopy(array, position, array, position + 1, cardinality - position);
+        array[position] = low;
+        this.cardinalities[i]++;
+
+        return true;
+    }
+
+    public long cardinality() {
+        long cardinality = 0;
+
+        for (int i = 0; i < this.size; i++) {
+            cardinality += this.cardinalities[i];
+        }
+
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Bytes ocupados pelos grupos e contêineres (sem os cabeçalhos dos arrays).
+     */
+    public long sizeInBytes() {
+        long bytes = (long) this.keys.length * (Long.BYTES + Integer.BYTES);
+
+        for (int i = 0; i < this.size; i++) {
+            bytes += this.containers[i] instanceof long[] ? BITMAP_WORDS * Long.BYTES : ((char[]) this.containers[i]).length * Character.BYTES;
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Libera a folga deixada pelo {@link #add(long)} nos arrays. Chamado ao fim da montagem.
+     */
+    public LongBitmap trim() {
+        for (int i = 0; i < this.size; i++) {
+            if (this.containers[i] instanceof char[] array && array.length > this.cardinalities[i]) {
+                this.containers[i] = Arrays.copyOf(array, this.cardinalities[i]);
+            }
+        }
+
+        this.keys = Arrays.copyOf(this.keys, Math.max(1, this.size));
+        this.containers = Arrays.copyOf(this.containers, this.keys.length);
+        this.cardinalities = Arrays.copyOf(this.cardinalities, this.keys.length);
+
+        return this;
+    }
+
+    /**
+     * Percorre os ids em ordem crescente (dos 48 bits altos sem sinal).
+     */
+    public void forEach(LongConsumer consumer) {
+        for (int i = 0; i < this.size; i++) {
+            long high = this.keys[i] << 16;
+
+            if (this.containers[i] instanceof long[] words) {
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    for (long word = words[w]; word != 0; word &= word - 1) {
+                        consumer.accept(high | (w << 6) + Long.numberOfTrailingZeros(word));
+                    }
+                }
+            } else {
+                char[] array = (char[]) this.containers[i];
+
+                for (int j = 0; j < this.cardinalities[i]; j++) {
+                    consumer.accept(high | array[j]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Formato: quantidade de grupos e, por grupo, a chave, a cardinalidade e o contêiner (1024 {@code long}s se a
+     * cardinalidade passar de {@value #ARRAY_MAX}, senão um {@code char} por id).
+     */
+    public byte[] toBytes() {
+        int bytes = Integer.BYTES;
+
+        for (int i = 0; i < this.size; i++) {
+            bytes += Long.BYTES + Integer.BYTES
+                    + (this.containers[i] instanceof long[] ? BITMAP_WORDS * Long.BYTES : this.cardinalities[i] * Character.BYTES);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        buffer.putInt(this.size);
+
+        for (int i = 0; i < this.size; i++) {
+            buffer.putLong(this.keys[i]);
+            buffer.putInt(this.cardinalities[i]);
+
+            if (this.containers[i] instanceof long[] words) {
+                buffer.asLongBuffer().put(words);
+                buffer.position(buffer.position() + BITMAP_WORDS * Long.BYTES);
+            } else {
+                buffer.asCharBuffer().put((char[]) this.containers[i], 0, this.cardinalities[i]);
+                buffer.position(buffer.position() + this.cardinalities[i] * Character.BYTES);
+            }
+        }
+
+        return buffer.array();
+    }
+
+    public static LongBitmap fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int size = buffer.getInt();
+        LongBitmap bitmap = new LongBitmap(size);
+
+        for (int i = 0; i < size; i++) {
+            long key = buffer.getLong();
+            int cardinality = buffer.getInt();
+
+            if (cardinality > ARRAY_MAX) {
+                long[] words = new long[BITMAP_WORDS];
+                buffer.asLongBuffer().get(words);
+                buffer.position(buffer.position() + BITMAP_WORDS * Long.BYTES);
+                bitmap.insert(i, key, words, cardinality);
+            } else {
+                char[] array = new char[cardinality];
+                buffer.asCharBuffer().get(array);
+                buffer.position(buffer.position() + cardinality * Character.BYTES);
+                bitmap.insert(i, key, array, cardinality);
+            }
+        }
+
+        return bitmap;
+    }
+
+    public static LongBitmap or(LongBitmap a, LongBitmap b) {
+        LongBitmap result = new LongBitmap(a.size + b.size);
+        int i = 0;
+        int j = 0;
+
+        while (i < a.size || j < b.size) {
+            if (j == b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                result.appendCopy(a, i++);
+            } else if (i == a.size || b.keys[j] < a.keys[i]) {
+                result.appendCopy(b, j++);
+            } else {
+                long[] words = a.words(i);
+                long[] other = b.words(j);
+
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    words[w] |= other[w];
+                }
+
+                result.appendWords(a.keys[i], words);
+                i++;
+                j++;
+            }
+        }
+
+        return result;
+    }
+
+    public static LongBitmap and(LongBitmap a, LongBitmap b) {
+        LongBitmap result = new LongBitmap(Math.min(a.size, b.size));
+        int i = 0;
+        int j = 0;
+
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (b.keys[j] < a.keys[i]) {
+                j++;
+            } else {
+                long[] words = a.words(i);
+                long[] other = b.words(j);
+
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    words[w] &= other[w];
+                }
+
+                result.appendWords(a.keys[i], words);
+                i++;
+                j++;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Os ids de {@code a} que não estão em {@code b}.
+     */
+    public static LongBitmap andNot(LongBitmap a, LongBitmap b) {
+        LongBitmap result = new LongBitmap(a.size);
+        int j = 0;
+
+        for (int i = 0; i < a.size; i++) {
+            while (j < b.size && b.keys[j] < a.keys[i]) {
+                j++;
+            }
+
+            if (j == b.size || b.keys[j] != a.keys[i]) {
+                result.appendCopy(a, i);
+                continue;
+            }
+
+            long[] words = a.words(i);
+            long[] other = b.words(j);
+
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                words[w] &= ~other[w];
+            }
+
+            result.appendWords(a.keys[i], words);
+        }
+
+        return result;
+    }
+
+    /**
+     * Cópia do contêiner {@code i} como bitmap, para as operações de conjunto.
+     */
+    private long[] words(int i) {
+        if (this.containers[i] instanceof long[] words) {
+            return words.clone();
+        }
+
+        return toWords((char[]) this.containers[i], this.cardinalities[i]);
+    }
+
+    private void appendCopy(LongBitmap source, int i) {
+        Object container = source.containers[i] instanceof long[] words
+                ? words.clone()
+                : Arrays.copyOf((char[]) source.containers[i], source.cardinalities[i]);
+
+        this.insert(this.size, source.keys[i], container, source.cardinalities[i]);
+    }
+
+    /**
+     * Acrescenta o resultado de uma operação, de volta a {@code char[]} se couber e descartado se vazio.
+     */
+    private void appendWords(long key, long[] words) {
+        int cardinality = 0;
+
+        for (long word : words) {
+            cardinality += Long.bitCount(word);
+        }
+
+        if (cardinality == 0) {
+            return;
+        }
+
+        if (cardinality > ARRAY_MAX) {
+            this.insert(this.size, key, words, cardinality);
+
+            return;
+        }
+
+        char[] array = new char[cardinality];
+        int position = 0;
+
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            for (long word = words[w]; word != 0; word &= word - 1) {
+                array[position++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+            }
+        }
+
+        this.insert(this.size, key, array, cardinality);
+    }
+
+    private void insert(int i, long key, Object container, int cardinality) {
+        if (this.size == this.keys.length) {
+            int capacity = this.keys.length * 2;
+
+            this.keys = Arrays.copyOf(this.keys, capacity);
+            this.containers = Arrays.copyOf(this.containers, capacity);
+            this.cardinalities = Arrays.copyOf(this.cardinalities, capacity);
+        }
+
+        System.arraycopy(this.keys, i, this.keys, i + 1, this.size - i);
+        System.arraycopy(this.containers, i, this.containers, i + 1, this.size - i);
+        System.arraycopy(this.cardinalities, i, this.cardinalities, i + 1, this.size - i);
+
+        this.keys[i] = key;
+        this.containers[i] = container;
+        this.cardinalities[i] = cardinality;
+        this.size++;
+    }
+
+    private static long[] toWords(char[] array, int cardinality) {
+        long[] words = new long[BITMAP_WORDS];
+
+        for (int j = 0; j < cardinality; j++) {
+            words[array[j] >>> 6] |= 1L << array[j];
+        }
+
+        return words;
+    }
+}
@@ -0,0 +1,182 @@
+package com.loveacamp.promotions.utils;
+
+/**
+ * Contador {@code long → int} com endereçamento aberto (sondagem linear), na mesma estrutura de
+ * {@link LongObjectHashMap}, mas com os valores num {@code int[]}: 12 bytes por posição da tabela, sem boxing nem
+ * objeto por entrada. Uma chave ausente vale 0, e uma chave cujo valor chega a 0 sai do mapa.
+ * <p>
+ * Não é thread-safe.
+ */
+public final class LongIntHashMap {
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] keys;
+
+    private int[] values;
+
+    private int size;
+
+    private int zeroValue;
+
+    public LongIntHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        int capacity = capacityFor(expectedSize);
+
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+    }
+
+    public int get(long key) {
+        if (key == 0) {
+            return this.zeroValue;
+        }
+
+        int mask = this.keys.length - 1;
+
+        for (int i = index(key, mask); ; i = (i + 1) & mask) {
+            long current = this.keys[i];
+
+            if (current == key) {
+                return this.values[i];
+            }
+
+            if (current == 0) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Soma {@code delta} ao valor da chave e devolve o valor novo.
+     */
+    public int addTo(long key, int delta) {
+        if (key == 0) {
+            int previous = this.zeroValue;
+            this.zeroValue += delta;
+            this.size += (previous == 0 ? 1 : 0) - (this.zeroValue == 0 ? 1 : 0);
+
+            return this.zeroValue;
+        }
+
+        int mask = this.keys.length - 1;
+        int i = index(key, mask);
+
+        while (this.keys[i] != 0) {
+            if (this.keys[i] == key) {
+                int value = this.values[i] + delta;
+
+                if (value == 0) {
+                    this.shiftBack(i, mask);
+                    this.size--;
+                } else {
+                    this.values[i] = value;
+                }
+
+                return value;
+            }
+
+            i = (i + 1) & mask;
+        }
+
+        if (delta == 0) {
+            return 0;
+        }
+
+        this.keys[i] = key;
+        this.values[i] = delta;
+
+        if (++this.size * 4 > this.keys.length * 3) {
+            this.resize(this.keys.length * 2);
+        }
+
+        return delta;
+    }
+
+    public void put(long key, int value) {
+        this.addTo(key, value - this.get(key));
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Bytes ocupados pelas tabelas (sem os cabeçalhos dos arrays).
+     */
+    public long memoryBytes() {
+        return (long) this.keys.length * (Long.BYTES + Integer.BYTES);
+    }
+
+    public void forEach(Consumer consumer) {
+        if (this.zeroValue != 0) {
+            consumer.accept(0, this.zeroValue);
+        }
+
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.keys[i] != 0) {
+                consumer.accept(this.keys[i], this.values[i]);
+            }
+        }
+    }
+
+    private void shiftBack(int hole, int mask) {
+        for (int i = (hole + 1) & mask; this.keys[i] != 0; i = (i + 1) & mask) {
+            int ideal = index(this.keys[i], mask);
+
+            if (((i - ideal) & mask) >= ((i - hole) & mask)) {
+                this.keys[hole] = this.keys[i];
+                this.values[hole] = this.values[i];
+                hole = i;
+            }
+        }
+
+        this.keys[hole] = 0;
+        this.values[hole] = 0;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = this.keys;
+        int[] oldValues = this.values;
+        int mask = capacity - 1;
+
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != 0) {
+                int i = index(oldKeys[j], mask);
+
+                while (this.keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+
+                this.keys[i] = oldKeys[j];
+                this.values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private static int index(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 4 / 3 + 1) - 1) << 1;
+
+        return Math.max(MIN_CAPACITY, capacity);
+    }
+
+    @FunctionalInterface
+    public interface Consumer {
+        void accept(long key, int value);
+    }
+}
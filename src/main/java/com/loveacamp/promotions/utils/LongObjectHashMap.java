@@ -0,0 +1,219 @@
+package com.loveacamp.promotions.utils;
+
+/**
+ * Mapa de chave {@code long} com endereçamento aberto (sondagem linear), sem boxing das chaves nem um objeto
+ * de entrada por elemento: as chaves ficam num {@code long[]} e os valores num {@code Object[]} paralelo.
+ * A chave 0 é guardada fora da tabela, pois 0 marca posição livre. Valores {@code null} não são aceitos.
+ * <p>
+ * Não é thread-safe.
+ */
+public final class LongObjectHashMap<V> {
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] keys;
+
+    private Object[] values;
+
+    private int size;
+
+    private V zeroValue;
+
+    public LongObjectHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        int capacity = capacityFor(expectedSize);
+
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+    }
+
+    private LongObjectHashMap(LongObjectHashMap<V> other) {
+        this.keys = other.keys.clone();
+        this.values = other.values.clone();
+        this.size = other.size;
+        this.zeroValue = other.zeroValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == 0) {
+            return this.zeroValue;
+        }
+
+        int mask = this.keys.length - 1;
+
+        for (int i = index(key, mask); ; i = (i + 1) & mask) {
+            long current = this.keys[i];
+
+            if (current == key) {
+                return (V) this.values[i];
+            }
+
+            if (current == 0) {
+                return null;
+            }
+        }
+    }
+
+    public V getOrDefault(long key, V defaultValue) {
+        V value = this.get(key);
+
+        return value == null ? defaultValue : value;
+    }
+
+    public boolean containsKey(long key) {
+        return this.get(key) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+
+        if (key == 0) {
+            V previous = this.zeroValue;
+            this.zeroValue = value;
+            this.size += previous == null ? 1 : 0;
+
+            return previous;
+        }
+
+        int mask = this.keys.length - 1;
+        int i = index(key, mask);
+
+        while (this.keys[i] != 0) {
+            if (this.keys[i] == key) {
+                V previous = (V) this.values[i];
+                this.values[i] = value;
+
+                return previous;
+            }
+
+            i = (i + 1) & mask;
+        }
+
+        this.keys[i] = key;
+        this.values[i] = value;
+
+        if (++this.size * 4 > this.keys.length * 3) {
+            this.resize(this.keys.length * 2);
+        }
+
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == 0) {
+            V previous = this.zeroValue;
+            this.zeroValue = null;
+            this.size -= previous == null ? 0 : 1;
+
+            return previous;
+        }
+
+        int mask = this.keys.length - 1;
+
+        for (int i = index(key, mask); this.keys[i] != 0; i = (i + 1) & mask) {
+            if (this.keys[i] == key) {
+                V previous = (V) this.values[i];
+
+                this.shiftBack(i, mask);
+                this.size--;
+
+                return previous;
+            }
+        }
+
+        return null;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Cópia independente, feita com dois {@code clone()} de array em vez de reinserir cada entrada.
+     */
+    public LongObjectHashMap<V> copy() {
+        return new LongObjectHashMap<>(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<V> consumer) {
+        if (this.zeroValue != null) {
+            consumer.accept(0, this.zeroValue);
+        }
+
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.keys[i] != 0) {
+                consumer.accept(this.keys[i], (V) this.values[i]);
+            }
+        }
+    }
+
+    /**
+     * Remoção sem marcadores: puxa para trás as entradas seguintes do mesmo bloco cuja posição ideal
+     * não fica entre o buraco e a posição atual, mantendo as sequências de sondagem íntegras.
+     */
+    private void shiftBack(int hole, int mask) {
+        for (int i = (hole + 1) & mask; this.keys[i] != 0; i = (i + 1) & mask) {
+            int ideal = index(this.keys[i], mask);
+
+            if (((i - ideal) & mask) >= ((i - hole) & mask)) {
+                this.keys[hole] = this.keys[i];
+                this.values[hole] = this.values[i];
+                hole = i;
+            }
+        }
+
+        this.keys[hole] = 0;
+        this.values[hole] = null;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        int mask = capacity - 1;
+
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != 0) {
+                int i = index(oldKeys[j], mask);
+
+                while (this.keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+
+                this.keys[i] = oldKeys[j];
+                this.values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private static int index(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 4 / 3 + 1) - 1) << 1;
+
+        return Math.max(MIN_CAPACITY, capacity);
+    }
+
+    @FunctionalInterface
+    public interface Consumer<V> {
+        void accept(long key, V value);
+    }
+}
@@ -0,0 +1,80 @@
+package com.loveacamp.promotions.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Saldo de unidades dividido em faixas (stripes), no estilo de {@link java.util.concurrent.atomic.LongAdder}: cada
+ * thread consome da sua faixa com um CAS, então threads em núcleos diferentes não disputam a mesma linha de cache.
+ * Quando a faixa da thread zera, ela consome das demais antes de desistir. Diferente do {@code LongAdder}, o saldo
+ * nunca fica negativo: uma unidade só é entregue se existir.
+ */
+public final class StripedQuota {
+    /**
+     * Uma faixa a cada 8 {@code long}s (64 bytes), para que duas faixas nunca dividam a mesma linha de cache.
+     */
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray cells;
+
+    private final int mask;
+
+    public StripedQuota(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+
+        this.cells = new AtomicLongArray(size * PADDING);
+        this.mask = size - 1;
+    }
+
+    public static StripedQuota perProcessor() {
+        return new StripedQuota(Runtime.getRuntime().availableProcessors());
+    }
+
+    public boolean tryAcquire() {
+        int home = stripe();
+
+        for (int i = 0; i <= this.mask; i++) {
+            int index = ((home + i) & this.mask) * PADDING;
+
+            for (long available = this.cells.get(index); available > 0; available = this.cells.get(index)) {
+                if (this.cells.compareAndSet(index, available, available - 1)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    public void add(long units) {
+        this.cells.addAndGet(stripe() * PADDING, units);
+    }
+
+    /**
+     * Zera todas as faixas e devolve o que havia nelas.
+     */
+    public long drain() {
+        long drained = 0;
+
+        for (int i = 0; i <= this.mask; i++) {
+            drained += this.cells.getAndSet(i * PADDING, 0);
+        }
+
+        return drained;
+    }
+
+    public long available() {
+        long available = 0;
+
+        for (int i = 0; i <= this.mask; i++) {
+            available += this.cells.get(i * PADDING);
+        }
+
+        return available;
+    }
+
+    private int stripe() {
+        long h = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+
+        return (int) (h >>> 32) & this.mask;
+    }
+}
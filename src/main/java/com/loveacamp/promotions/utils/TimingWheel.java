@@ -0,0 +1,224 @@
+package com.loveacamp.promotions.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timing wheel hierárquico (Varghese &amp; Lauck): {@link #LEVELS} rodas de {@link #WHEEL_SIZE} posições, em que cada
+ * posição da roda {@code n} cobre {@code WHEEL_SIZE^n} ticks. Um timeout entra na roda mais baixa que alcança o seu
+ * prazo e desce de roda ("cascade") quando as rodas de baixo dão a volta, até disparar na roda 0. Agendar e cancelar
+ * custam O(1); cada tick custa O(1) mais os timeouts que descem ou disparam nele. Com 8 rodas de 256 posições qualquer
+ * prazo representável em {@code long} cabe, sem lista de estouro.
+ * <p>
+ * Não tem thread própria: quem usa chama {@link #advanceTo(long)} periodicamente e executa os timeouts devolvidos.
+ * Um timeout nunca dispara antes do prazo; dispara no máximo um tick depois da chamada de {@code advanceTo} que
+ * alcança o prazo.
+ */
+public final class TimingWheel<T> {
+    static final int WHEEL_BITS = 8;
+
+    static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+
+    static final int LEVELS = Long.SIZE / WHEEL_BITS;
+
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    private final long tickMillis;
+
+    private final long startMillis;
+
+    @SuppressWarnings("unchecked")
+    private final Timeout<T>[][] levels = new Timeout[LEVELS][];
+
+    private final List<Timeout<T>> due = new ArrayList<>();
+
+    private long currentTick;
+
+    private int size;
+
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis");
+        }
+
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+    }
+
+    public synchronized Timeout<T> schedule(long deadlineMillis, T payload) {
+        Timeout<T> timeout = new Timeout<>(deadlineMillis, payload, this.tickOf(deadlineMillis));
+
+        if (timeout.tick <= this.currentTick) {
+            timeout.due = true;
+            this.due.add(timeout);
+        } else {
+            this.place(timeout);
+        }
+
+        this.size++;
+
+        return timeout;
+    }
+
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.cancelled || timeout.fired) {
+            return false;
+        }
+
+        timeout.cancelled = true;
+        this.size--;
+
+        if (timeout.due) {
+            this.due.remove(timeout);
+        } else {
+            this.unlink(timeout);
+        }
+
+        return true;
+    }
+
+    /**
+     * Avança o relógio até {@code nowMillis} e devolve, em ordem de tick, os timeouts cujo prazo foi alcançado.
+     */
+    public synchronized List<Timeout<T>> advanceTo(long nowMillis) {
+        List<Timeout<T>> expired = new ArrayList<>(this.due);
+        long targetTick = Math.floorDiv(nowMillis - this.startMillis, this.tickMillis);
+
+        this.due.clear();
+
+        while (this.currentTick < targetTick) {
+            this.currentTick++;
+
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((this.currentTick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+                    this.cascade(level, (int) (this.currentTick >>> (WHEEL_BITS * level)) & MASK);
+                }
+            }
+
+            this.drain(0, (int) this.currentTick & MASK, expired);
+        }
+
+        for (Timeout<T> timeout : expired) {
+            timeout.fired = true;
+        }
+
+        this.size -= expired.size();
+
+        return expired;
+    }
+
+    public synchronized int size() {
+        return this.size;
+    }
+
+    private long tickOf(long deadlineMillis) {
+        return Math.max(0, Math.floorDiv(deadlineMillis - this.startMillis + this.tickMillis - 1, this.tickMillis));
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delta = timeout.tick - this.currentTick;
+        int level = 0;
+
+        while (level < LEVELS - 1 && (delta >>> (WHEEL_BITS * (level + 1))) != 0) {
+            level++;
+        }
+
+        int slot = (int) (timeout.tick >>> (WHEEL_BITS * level)) & MASK;
+
+        if (this.levels[level] == null) {
+            @SuppressWarnings("unchecked")
+            Timeout<T>[] wheel = new Timeout[WHEEL_SIZE];
+            this.levels[level] = wheel;
+        }
+
+        Timeout<T> head = this.levels[level][slot];
+        timeout.level = level;
+        timeout.slot = slot;
+        timeout.prev = null;
+        timeout.next = head;
+
+        if (head != null) {
+            head.prev = timeout;
+        }
+
+        this.levels[level][slot] = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev == null) {
+            this.levels[timeout.level][timeout.slot] = timeout.next;
+        } else {
+            timeout.prev.next = timeout.next;
+        }
+
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    private void cascade(int level, int slot) {
+        List<Timeout<T>> timeouts = new ArrayList<>();
+
+        this.drain(level, slot, timeouts);
+
+        for (Timeout<T> timeout : timeouts) {
+            this.place(timeout);
+        }
+    }
+
+    private void drain(int level, int slot, List<Timeout<T>> into) {
+        if (this.levels[level] == null) {
+            return;
+        }
+
+        for (Timeout<T> timeout = this.levels[level][slot]; timeout != null; ) {
+            Timeout<T> next = timeout.next;
+
+            timeout.prev = null;
+            timeout.next = null;
+            into.add(timeout);
+            timeout = next;
+        }
+
+        this.levels[level][slot] = null;
+    }
+
+    public static final class Timeout<T> {
+        private final long deadlineMillis;
+
+        private final T payload;
+
+        private final long tick;
+
+        private Timeout<T> prev;
+
+        private Timeout<T> next;
+
+        private int level;
+
+        private int slot;
+
+        private boolean due;
+
+        private boolean cancelled;
+
+        private boolean fired;
+
+        private Timeout(long deadlineMillis, T payload, long tick) {
+            this.deadlineMillis = deadlineMillis;
+            this.payload = payload;
+            this.tick = tick;
+        }
+
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.loveacamp.promotions.controllers;
+
+import com.loveacamp.promotions.dto.requests.AudienceRequestDto;
+import org.json.JSONObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+class AudienceControllerTest extends AbstractControllerTest {
+    @Test
+    @DisplayName("PUT /api/audiences/{id}/members: Esperado que os ids enviados em texto sejam gravados no público")
+    public void givenIdsWhenReplaceMembersThenExpects200() throws Exception {
+        String created = getContentAsString(mockMvc.perform(post("/api/audiences")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(serializeInput(new AudienceRequestDto("Clientes VIP"))))
+                .andReturn());
+        long id = new JSONObject(created).getLong("id");
+
+        mockMvc.perform(put("/api/audiences/" + id + "/members")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("1\n2\n3\n100000\n"))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.OK);
+                    JSONAssert.assertEquals("{\"name\": \"Clientes VIP\", \"members\": 4}", getContentAsString(result), false);
+                });
+
+        mockMvc.perform(get("/api/audiences/" + id)
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.OK);
+                    JSONAssert.assertEquals("{\"id\": " + id + ", \"members\": 4}", getContentAsString(result), false);
+                });
+    }
+
+    @Test
+    @DisplayName("POST /api/audiences/compose: Esperado que ao receber uma composição sem públicos, retorne uma exceção")
+    public void givenEmptyUnionWhenComposeThenExpects400() throws Exception {
+        mockMvc.perform(post("/api/audiences/compose")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Composto\", \"union\": []}"))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.BAD_REQUEST);
+                    JSONAssert.assertEquals("{\"errors\": [{\"field\": \"union\"}]}", getContentAsString(result), false);
+                });
+    }
+}
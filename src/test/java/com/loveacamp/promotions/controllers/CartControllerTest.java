@@ -0,0 +1,95 @@
+package com.loveacamp.promotions.controllers;
+
+import com.loveacamp.promotions.dto.requests.CartItemRequestDto;
+import com.loveacamp.promotions.dto.requests.CartRequestDto;
+import com.loveacamp.promotions.entities.Product;
+import com.loveacamp.promotions.repositories.PersonRepository;
+import com.loveacamp.promotions.repositories.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+class CartControllerTest extends AbstractControllerTest {
+    @MockBean
+    private ProductRepository productRepository;
+
+    @MockBean
+    private PersonRepository personRepository;
+
+    @Test
+    @DisplayName("POST /api/carts/price: Esperado que ao receber um item com quantidade inválida, retorne uma exceção")
+    public void givenCartWhenPriceWithInvalidQuantityThenExpects400() throws Exception {
+        CartRequestDto cart = new CartRequestDto()
+                .setPersonId(1L)
+                .setItems(List.of(new CartItemRequestDto(1L, 0)));
+
+        mockMvc.perform(post("/api/carts/price")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(serializeInput(cart)))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.BAD_REQUEST);
+                    JSONAssert.assertEquals("""
+                                    {
+                                        "errors": [
+                                            {
+                                                "field": "items[0].quantity",
+                                                "message": "deve ser maior que 0"
+                                            }
+                                        ]
+                                    }
+                                    """,
+                            getContentAsString(result), false);
+                });
+
+        verifyNoInteractions(this.productRepository, this.personRepository);
+    }
+
+    @Test
+    @DisplayName("POST /api/carts/price: Esperado que ao receber um carrinho válido, retorne o preço de cada linha e os totais")
+    public void givenCartWhenPriceThenExpects200() throws Exception {
+        CartRequestDto cart = new CartRequestDto()
+                .setPersonId(1L)
+                .setItems(List.of(new CartItemRequestDto(1L, 2), new CartItemRequestDto(2L, 1)));
+
+        when(this.personRepository.existsById(eq(1L))).thenReturn(true);
+        when(this.productRepository.findAllById(eq(List.of(1L, 2L)))).thenReturn(List.of(
+                new Product(1L, "Pizza de Banana", new BigDecimal("30.00")),
+                new Product(2L, "Pastel de Frango", new BigDecimal("7.50"))));
+
+        mockMvc.perform(post("/api/carts/price")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(serializeInput(cart)))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.OK);
+                    JSONAssert.assertEquals("""
+                                    {
+                                        "personId": 1,
+                                        "items": [
+                                            {"productId": 1, "quantity": 2, "unitPrice": 30.00, "promotionId": null, "promotionIds": [], "discount": 0, "total": 60.00},
+                                            {"productId": 2, "quantity": 1, "unitPrice": 7.50, "promotionId": null, "promotionIds": [], "discount": 0, "total": 7.50}
+                                        ],
+                                        "subtotal": 67.50,
+                                        "discount": 0,
+                                        "total": 67.50
+                                    }
+                                    """,
+                            getContentAsString(result), true);
+                });
+
+        verify(this.personRepository, times(1)).existsById(eq(1L));
+        verify(this.productRepository, times(1)).findAllById(eq(List.of(1L, 2L)));
+        verifyNoMoreInteractions(this.productRepository, this.personRepository);
+    }
+}
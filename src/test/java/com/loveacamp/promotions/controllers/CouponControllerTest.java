@@ -0,0 +1,99 @@
+package com.loveacamp.promotions.controllers;
+
+import com.loveacamp.promotions.dto.requests.CouponGenerationRequestDto;
+import com.loveacamp.promotions.entities.Coupon;
+import com.loveacamp.promotions.repositories.CouponRepository;
+import com.loveacamp.promotions.repositories.PromotionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+class CouponControllerTest extends AbstractControllerTest {
+    @MockBean
+    private CouponRepository repository;
+
+    @MockBean
+    private PromotionRepository promotionRepository;
+
+    @BeforeEach
+    public void setup() {
+        // A montagem do filtro de cupons, na subida do contexto, já lê o repositório.
+        clearInvocations(this.repository);
+    }
+
+    @Test
+    @DisplayName("POST /api/promotions/{id}/coupons:generate: Esperado que ao receber uma quantidade inválida, retorne uma exceção")
+    public void givenInvalidQuantityWhenGenerateThenExpects400() throws Exception {
+        mockMvc.perform(post("/api/promotions/1/coupons:generate")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(serializeInput(new CouponGenerationRequestDto(0L))))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.BAD_REQUEST);
+                    JSONAssert.assertEquals("""
+                                    {
+                                        "errors": [
+                                            {
+                                                "field": "quantity",
+                                                "message": "deve ser maior que 0"
+                                            }
+                                        ]
+                                    }
+                                    """,
+                            getContentAsString(result), false);
+                });
+
+        verifyNoInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("POST /api/promotions/{id}/coupons:generate: Esperado que a geração seja aceita e o progresso chegue a COMPLETED")
+    public void givenQuantityWhenGenerateThenExpects202AndCompletes() throws Exception {
+        when(this.promotionRepository.existsById(eq(1L))).thenReturn(true);
+        when(this.repository.reserveSerials(eq(1L), eq(3L), anyLong())).thenReturn(0L);
+
+        mockMvc.perform(post("/api/promotions/1/coupons:generate")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(serializeInput(new CouponGenerationRequestDto(3L))))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.ACCEPTED);
+                    JSONAssert.assertEquals("{\"id\": 1, \"promotionId\": 1, \"quantity\": 3}", getContentAsString(result), false);
+                });
+
+        String progress = "";
+        for (int attempt = 0; attempt < 100 && !progress.contains("COMPLETED"); attempt++) {
+            Thread.sleep(50);
+            progress = getContentAsString(mockMvc.perform(get("/api/promotions/1/coupons/generations/1")
+                    .accept(MediaType.APPLICATION_JSON_VALUE)).andReturn());
+        }
+
+        JSONAssert.assertEquals("{\"id\": 1, \"generated\": 3, \"status\": \"COMPLETED\"}", progress, false);
+        verify(this.repository, times(1)).insertBatch(eq(1L), any(), eq(3));
+    }
+
+    @Test
+    @DisplayName("GET /api/promotions/{id}/coupons: Esperado que retorne os códigos formatados da promoção")
+    public void givenCouponsWhenFindAllThenExpects200() throws Exception {
+        when(this.repository.findByPromotionIdAndCodeGreaterThanOrderByCodeAsc(eq(1L), eq(-1L), any()))
+                .thenReturn(List.of(new Coupon(33L, 1L)));
+
+        mockMvc.perform(get("/api/promotions/1/coupons")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.OK);
+                    JSONAssert.assertEquals("{\"items\": [\"000000000011\"], \"next\": null}", getContentAsString(result), true);
+                });
+    }
+}
@@ -11,11 +11,14 @@ import org.junit.jupiter.api.Test;
 
 import org.skyscreamer.jsonassert.JSONAssert;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.argThat;
@@ -23,6 +26,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 class PersonControllerTest extends AbstractControllerTest {
     @MockBean
@@ -142,8 +146,7 @@ class PersonControllerTest extends AbstractControllerTest {
     @Test
     @DisplayName("POST /api/people: Esperado que ao receber um dto válido, retorne uma pessoa")
     public void givenPersonWhenSaveThenPerson() throws Exception {
-        when(this.repository.findByEmail(eq(this.personRequest.getEmail()))).thenReturn(Optional.empty());
-        when(this.repository.save(argThat(this::checkArgs))).thenReturn(this.createPerson());
+        when(this.repository.saveAndFlush(argThat(this::checkArgs))).thenReturn(this.createPerson());
 
         mockMvc.perform(post("/api/people").accept(MediaType.APPLICATION_JSON_VALUE).contentType(MediaType.APPLICATION_JSON).content(serializeInput(personRequest))).andDo(result -> {
             responseStatus(result, HttpStatus.OK);
@@ -156,8 +159,7 @@ class PersonControllerTest extends AbstractControllerTest {
                     """, getContentAsString(result), false);
         });
 
-        verify(this.repository, times(1)).findByEmail(eq(this.personRequest.getEmail()));
-        verify(this.repository, times(1)).save(argThat(this::checkArgs));
+        verify(this.repository, times(1)).saveAndFlush(argThat(this::checkArgs));
         verifyNoMoreInteractions(this.repository);
     }
 
@@ -268,7 +270,7 @@ class PersonControllerTest extends AbstractControllerTest {
 
         when(this.repository.findById(eq(person.getId())))
                 .thenReturn(Optional.of(person));
-        when(this.repository.existsByEmailNotId(eq(this.personRequest.getEmail()), eq(person.getId())))
+        when(this.repository.existsByEmailAndIdNot(eq(this.personRequest.getEmail()), eq(person.getId())))
                 .thenReturn(false);
         when(this.repository.save(argThat(this::checkArgs)))
                 .thenReturn(person);
@@ -285,7 +287,7 @@ class PersonControllerTest extends AbstractControllerTest {
         });
 
         verify(this.repository, times(1)).findById(eq(person.getId()));
-        verify(this.repository, times(1)).existsByEmailNotId(eq(this.personRequest.getEmail()), eq(person.getId()));
+        verify(this.repository, times(1)).existsByEmailAndIdNot(eq(this.personRequest.getEmail()), eq(person.getId()));
         verify(this.repository, times(1)).save(argThat(this::checkArgs));
         verifyNoMoreInteractions(this.repository);
     }
@@ -317,10 +319,58 @@ class PersonControllerTest extends AbstractControllerTest {
         verifyNoMoreInteractions(this.repository);
     }
 
+    @Test
+    @DisplayName("GET /api/people?ids: Esperado que ao receber uma lista de ids, retorne as pessoas na ordem pedida e os ids inexistentes")
+    public void givenPeopleWhenFindAllByIdThenExpects200() throws Exception {
+        when(this.repository.findAllById(eq(List.of(2L, 1L, 3L))))
+                .thenReturn(List.of(createPerson(1L, "John Doe", "john@email.com"), createPerson(2L, "Joerta Joaquina", "joerta@email.com")));
+
+        mockMvc.perform(get("/api/people?ids=2,1,3")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.OK);
+                    JSONAssert.assertEquals("""
+                                    {
+                                        "items": [
+                                            {
+                                                "id": 2,
+                                                "name": "Joerta Joaquina",
+                                                "email": "joerta@email.com"
+                                            },
+                                            {
+                                                "id": 1,
+                                                "name": "John Doe",
+                                                "email": "john@email.com"
+                                            }
+                                        ],
+                                        "missing": [3]
+                                    }
+                                    """,
+                            getContentAsString(result), true);
+                });
+
+        verify(this.repository, times(1)).findAllById(eq(List.of(2L, 1L, 3L)));
+        verifyNoMoreInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("GET /api/people?ids: Esperado que ao receber um id vazio, retorne uma exceção sem consultar o banco")
+    public void givenNullIdWhenFindAllByIdThenExpects400() throws Exception {
+        mockMvc.perform(get("/api/people?ids=2,,3")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.BAD_REQUEST);
+                    JSONAssert.assertEquals("{\"errors\": [{\"field\": \"ids\", \"code\": \"NotNull\"}]}", getContentAsString(result), false);
+                });
+
+        verifyNoInteractions(this.repository);
+    }
+
     @Test
     @DisplayName("GET /api/people: Esperado que ao receber a chamada, retorne uma lista de pessoas")
     public void givenPersonWhenFindAllThenExpects200() throws Exception {
-        when(this.repository.findAll())
+        when(this.repository.findByIdGreaterThanOrderByIdAsc(eq(0L), eq(PageRequest.ofSize(51))))
                 .thenReturn(List.of(createPerson(1L, "John Doe", "john@email.com"), createPerson(2L, "Joerta Joaquina", "joerta@email.com")));
 
         mockMvc.perform(get("/api/people")
@@ -329,23 +379,50 @@ class PersonControllerTest extends AbstractControllerTest {
                 .andDo(result -> {
                     responseStatus(result, HttpStatus.OK);
                     JSONAssert.assertEquals("""
-                                    [
-                                        {
-                                            "id": 1,
-                                            "name": "John Doe",
-                                            "email": "john@email.com"
-                                        },
-                                        {
-                                            "id": 2,
-                                            "name": "Joerta Joaquina",
-                                            "email": "joerta@email.com"
-                                        }
-                                    ]
+                                    {
+                                        "items": [
+                                            {
+                                                "id": 1,
+                                                "name": "John Doe",
+                                                "email": "john@email.com"
+                                            },
+                                            {
+                                                "id": 2,
+                                                "name": "Joerta Joaquina",
+                                                "email": "joerta@email.com"
+                                            }
+                                        ],
+                                        "next": null
+                                    }
                                     """,
                             getContentAsString(result), false);
                 });
 
-        verify(this.repository, times(1)).findAll();
+        verify(this.repository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), eq(PageRequest.ofSize(51)));
+        verifyNoMoreInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("GET /api/people: Esperado que ao aceitar application/x-ndjson, retorne uma pessoa por linha")
+    public void givenPeopleWhenStreamAllThenExpects200() throws Exception {
+        when(this.repository.streamAll())
+                .thenReturn(Stream.of(createPerson(1L, "John Doe", "john@email.com"), createPerson(2L, "Joerta Joaquina", "joerta@email.com")));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/people")
+                        .accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.OK);
+                    assertThat(result.getResponse().getContentAsString()).isEqualTo("""
+                            {"id":1,"name":"John Doe","email":"john@email.com"}
+                            {"id":2,"name":"Joerta Joaquina","email":"joerta@email.com"}
+                            """);
+                });
+
+        verify(this.repository, times(1)).streamAll();
         verifyNoMoreInteractions(this.repository);
     }
 
@@ -1,29 +1,53 @@
 package com.loveacamp.promotions.controllers;
 
+import com.loveacamp.promotions.config.MetricsConfig;
+import com.loveacamp.promotions.dto.MultiGetDto;
+import com.loveacamp.promotions.dto.requests.ProductBatchRequestDto;
 import com.loveacamp.promotions.dto.requests.ProductRequestDto;
 import com.loveacamp.promotions.entities.Product;
+import com.loveacamp.promotions.entities.ProductPrice;
+import com.loveacamp.promotions.exception.ErrorMetricsResolver;
+import com.loveacamp.promotions.repositories.ProductPriceRepository;
 import com.loveacamp.promotions.repositories.ProductRepository;
 import com.loveacamp.promotions.utils.LessAndMoreCharacters;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.skyscreamer.jsonassert.JSONAssert;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 class ProductControllerTest extends AbstractControllerTest {
     @MockBean
     private ProductRepository repository;
 
+    @MockBean
+    private ProductPriceRepository priceRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private ProductRequestDto productRequest;
 
     private final String less = LessAndMoreCharacters.less3Characters;
@@ -113,9 +137,7 @@ class ProductControllerTest extends AbstractControllerTest {
     @Test
     @DisplayName("POST /api/products: Esperado que ao receber um dto válido, retorne um produto")
     public void givenProductsWhenSaveThenExpects200() throws Exception {
-        when(this.repository.findByName(eq(this.productRequest.getName())))
-                .thenReturn(Optional.empty());
-        when(this.repository.save(argThat(this::checkArgs))).thenReturn(this.createProduct());
+        when(this.repository.saveAndFlush(argThat(this::checkArgs))).thenReturn(this.createProduct());
 
         mockMvc.perform(post("/api/products")
                         .accept(MediaType.APPLICATION_JSON_VALUE)
@@ -126,14 +148,87 @@ class ProductControllerTest extends AbstractControllerTest {
                     JSONAssert.assertEquals("""
                                         {
                                             "id":1,
-                                            "name":"Pizza de Banana"
+                                            "name":"Pizza de Banana",
+                                            "price":null
                                         }
                                     """,
                             getContentAsString(result), true);
                 });
 
-        verify(this.repository, times(1)).findByName(eq(this.productRequest.getName()));
-        verify(this.repository, times(1)).save(argThat(this::checkArgs));
+        verify(this.repository, times(1)).saveAndFlush(argThat(this::checkArgs));
+        verifyNoMoreInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("POST /api/products/batch: Esperado que ao receber um item inválido, retorne uma exceção com o índice do item")
+    public void givenProductsWhenSaveAllWithInvalidItemThenExpects400() throws Exception {
+        ProductBatchRequestDto batchRequest = new ProductBatchRequestDto()
+                .setProducts(List.of(this.productRequest, new ProductRequestDto().setName(this.less)));
+
+        mockMvc.perform(post("/api/products/batch")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(serializeInput(batchRequest)))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.BAD_REQUEST);
+                    JSONAssert.assertEquals("""
+                                    {
+                                        "errors": [
+                                            {
+                                                "field": "products[1].name",
+                                                "message": "tamanho deve ser entre 3 e 250"
+                                            }
+                                        ]
+                                    }
+                                    """,
+                            getContentAsString(result), false);
+                });
+
+        verifyNoInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("POST /api/products/batch: Esperado que ao receber um lote válido, retorne o resultado de cada item")
+    public void givenProductsWhenSaveAllThenExpects200() throws Exception {
+        ProductBatchRequestDto batchRequest = new ProductBatchRequestDto()
+                .setProducts(List.of(this.productRequest, new ProductRequestDto().setName("Pastel de Frango")));
+
+        when(this.repository.findNamesIn(anyCollection())).thenReturn(Set.of("Pastel de Frango"));
+        when(this.repository.saveAllAndFlush(anyIterable())).thenAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            products.get(0).setId(1L);
+            return products;
+        });
+
+        mockMvc.perform(post("/api/products/batch")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(serializeInput(batchRequest)))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.OK);
+                    JSONAssert.assertEquals("""
+                                    [
+                                        {
+                                            "index": 0,
+                                            "product": {
+                                                "id": 1,
+                                                "name": "Pizza de Banana",
+                                                "price": null
+                                            },
+                                            "error": null
+                                        },
+                                        {
+                                            "index": 1,
+                                            "product": null,
+                                            "error": "Já existe um produto cadastrado com este nome."
+                                        }
+                                    ]
+                                    """,
+                            getContentAsString(result), true);
+                });
+
+        verify(this.repository, times(1)).findNamesIn(anyCollection());
+        verify(this.repository, times(1)).saveAllAndFlush(anyIterable());
         verifyNoMoreInteractions(this.repository);
     }
 
@@ -217,8 +312,8 @@ class ProductControllerTest extends AbstractControllerTest {
     public void givenProductsWhenUpdateThenExpects200() throws Exception {
         Long id = 1L;
 
-        when(this.repository.findByIdAndName(eq(id), eq(this.productRequest.getName())))
-                .thenReturn(Optional.empty());
+        when(this.repository.existsByNameAndIdNot(eq(this.productRequest.getName()), eq(id)))
+                .thenReturn(false);
         when(this.repository.save(argThat(this::checkArgs))).thenReturn(this.createProduct());
 
         mockMvc.perform(put(String.format("/api/products/%s", id))
@@ -236,7 +331,7 @@ class ProductControllerTest extends AbstractControllerTest {
                             getContentAsString(result), false);
                 });
 
-        verify(this.repository, times(1)).findByIdAndName(eq(id), eq(this.productRequest.getName()));
+        verify(this.repository, times(1)).existsByNameAndIdNot(eq(this.productRequest.getName()), eq(id));
         verify(this.repository, times(1)).save(argThat(this::checkArgs));
         verifyNoMoreInteractions(this.repository);
     }
@@ -267,33 +362,216 @@ class ProductControllerTest extends AbstractControllerTest {
         verifyNoMoreInteractions(this.repository);
     }
 
+    @Test
+    @DisplayName("GET /api/products?ids: Esperado que ao receber uma lista de ids, retorne os produtos na ordem pedida e os ids inexistentes")
+    public void givenProductsWhenFindAllByIdThenExpects200() throws Exception {
+        when(this.repository.findAllById(eq(List.of(2L, 5L, 1L))))
+                .thenReturn(List.of(createProduct(1L, "Pizza de Nordestina"), createProduct(2L, "Pizza de Strogonofe de Carne")));
+
+        mockMvc.perform(get("/api/products?ids=2,5,1")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.OK);
+                    JSONAssert.assertEquals("""
+                                    {
+                                        'items': [
+                                            {
+                                                'id':2,
+                                                'name':'Pizza de Strogonofe de Carne',
+                                                'price':null
+                                            },
+                                            {
+                                                'id':1,
+                                                'name':'Pizza de Nordestina',
+                                                'price':null
+                                            }
+                                        ],
+                                        'missing': [5]
+                                    }
+                                    """,
+                            getContentAsString(result), true);
+                });
+
+        verify(this.repository, times(1)).findAllById(eq(List.of(2L, 5L, 1L)));
+        verifyNoMoreInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("GET /api/products?ids: Esperado que ao receber ids demais ou um id vazio, retorne uma exceção sem consultar o banco")
+    public void givenTooManyOrNullIdsWhenFindAllByIdThenExpects400() throws Exception {
+        String tooMany = LongStream.rangeClosed(1, MultiGetDto.MAX_IDS + 1).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/api/products?ids=" + tooMany)
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.BAD_REQUEST);
+                    JSONAssert.assertEquals("{'errors': [{'field': 'ids', 'code': 'Size'}]}", getContentAsString(result), false);
+                });
+
+        mockMvc.perform(get("/api/products?ids=2,,1")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.BAD_REQUEST);
+                    JSONAssert.assertEquals("{'errors': [{'field': 'ids', 'code': 'NotNull'}]}", getContentAsString(result), false);
+                });
+
+        verifyNoInteractions(this.repository);
+    }
+
     @Test
     @DisplayName("GET /api/products: Esperado que ao receber a chamada, retorne uma lista de produtos")
     public void givenProductsWhenFindAllThenExpects200() throws Exception {
-        when(this.repository.findAll())
+        when(this.repository.findByIdGreaterThanOrderByIdAsc(eq(0L), eq(PageRequest.ofSize(3))))
                 .thenReturn(List.of(createProduct(1L, "Pizza de Nordestina"), createProduct(2L, "Pizza de Strogonofe de Carne")));
 
-        mockMvc.perform(get("/api/products")
+        mockMvc.perform(get("/api/products?limit=2")
                         .accept(MediaType.APPLICATION_JSON_VALUE)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(result -> {
                     responseStatus(result, HttpStatus.OK);
                     JSONAssert.assertEquals("""
-                                    [
-                                        {
-                                            'id':1,
-                                            name:'Pizza de Nordestina'
-                                        },
-                                        {
-                                            'id':2,
-                                            'name':'Pizza de Strogonofe de Carne'
-                                        }
-                                    ]
+                                    {
+                                        'items': [
+                                            {
+                                                'id':1,
+                                                name:'Pizza de Nordestina'
+                                            },
+                                            {
+                                                'id':2,
+                                                'name':'Pizza de Strogonofe de Carne'
+                                            }
+                                        ],
+                                        'next': null
+                                    }
                                     """,
                             getContentAsString(result), false);
                 });
 
-        verify(this.repository, times(1)).findAll();
+        verify(this.repository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), eq(PageRequest.ofSize(3)));
+        verifyNoMoreInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("GET /api/products: Esperado que ao receber um cursor, retorne a página seguinte ao id do cursor")
+    public void givenProductsWhenFindAllWithCursorThenExpects200() throws Exception {
+        when(this.repository.findByIdGreaterThanOrderByIdAsc(eq(2L), eq(PageRequest.ofSize(2))))
+                .thenReturn(List.of(createProduct(3L, "Pizza de Calabresa"), createProduct(4L, "Pizza de Atum")));
+
+        mockMvc.perform(get("/api/products?limit=1&cursor=Mg")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.OK);
+                    JSONAssert.assertEquals("""
+                                    {
+                                        'items': [
+                                            {
+                                                'id':3,
+                                                name:'Pizza de Calabresa',
+                                                'price':null
+                                            }
+                                        ],
+                                        'next': 'Mw'
+                                    }
+                                    """,
+                            getContentAsString(result), true);
+                });
+
+        verify(this.repository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(2L), eq(PageRequest.ofSize(2)));
+        verifyNoMoreInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("GET /api/products/prices: Esperado que retorne a página da tabela de melhores preços e o cursor da próxima")
+    public void givenPricesWhenFindPricesThenExpects200() throws Exception {
+        when(this.priceRepository.findByProductIdGreaterThanOrderByProductIdAsc(eq(0L), eq(PageRequest.ofSize(2))))
+                .thenReturn(List.of(
+                        new ProductPrice(1L, new BigDecimal("10.00"), 5L, new BigDecimal("1.00"), new BigDecimal("9.00"), null),
+                        new ProductPrice(2L, new BigDecimal("4.00"), null, new BigDecimal("0.00"), new BigDecimal("4.00"), null)));
+
+        mockMvc.perform(get("/api/products/prices?limit=1")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.OK);
+                    JSONAssert.assertEquals("""
+                                    {
+                                        'items': [
+                                            {
+                                                'productId':1,
+                                                'price':10.00,
+                                                'promotionId':5,
+                                                'discount':1.00,
+                                                'finalPrice':9.00,
+                                                'updatedAt':null
+                                            }
+                                        ],
+                                        'next': 'MQ'
+                                    }
+                                    """,
+                            getContentAsString(result), true);
+                });
+
+        verifyNoInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("GET /api/products: Esperado que ao receber um limite inválido, retorne uma exceção")
+    public void givenProductsWhenFindAllWithInvalidLimitThenExpects400() throws Exception {
+        mockMvc.perform(get("/api/products?limit=0")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(result -> responseStatus(result, HttpStatus.BAD_REQUEST));
+
+        verifyNoInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("GET /api/products e POST /api/products: Esperado que os erros sejam contados por tipo e a latência do serviço registrada")
+    public void givenProductsWhenRequestsFailThenExpectsErrorMetrics() throws Exception {
+        double badRequests = this.errors("bad_request", "ProductController.findAll");
+        double validations = this.errors("validation", "ProductController.save");
+        productRequest.setName(null);
+
+        mockMvc.perform(get("/api/products?limit=0")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andDo(result -> responseStatus(result, HttpStatus.BAD_REQUEST));
+        mockMvc.perform(post("/api/products")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(serializeInput(productRequest)))
+                .andDo(result -> responseStatus(result, HttpStatus.BAD_REQUEST));
+
+        assertThat(this.errors("bad_request", "ProductController.findAll")).isEqualTo(badRequests + 1);
+        assertThat(this.errors("validation", "ProductController.save")).isEqualTo(validations + 1);
+        assertThat(this.meterRegistry.get(MetricsConfig.SERVICE_TIMER)
+                .tag("method", "findAll")
+                .tag("exception", "BadRequestException")
+                .timer().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("GET /api/products: Esperado que ao aceitar application/x-ndjson, retorne um produto por linha")
+    public void givenProductsWhenStreamAllThenExpects200() throws Exception {
+        when(this.repository.streamAll())
+                .thenReturn(Stream.of(createProduct(1L, "Pizza de Nordestina"), createProduct(2L, "Pastel de Frango")));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/products")
+                        .accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.OK);
+                    assertThat(result.getResponse().getContentAsString()).isEqualTo("""
+                            {"id":1,"name":"Pizza de Nordestina","price":null}
+                            {"id":2,"name":"Pastel de Frango","price":null}
+                            """);
+                });
+
+        verify(this.repository, times(1)).streamAll();
         verifyNoMoreInteractions(this.repository);
     }
 
@@ -342,4 +620,10 @@ class ProductControllerTest extends AbstractControllerTest {
     private Product createProduct(Long id, String name) {
         return new Product(id, name);
     }
-}
\ No newline at end of file
+
+    private double errors(String type, String handler) {
+        Counter counter = this.meterRegistry.find(ErrorMetricsResolver.ERRORS).tag("type", type).tag("handler", handler).counter();
+
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,314 @@
+package com.loveacamp.promotions.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loveacamp.promotions.entities.Promotion;
+import com.loveacamp.promotions.enums.DiscountType;
+import com.loveacamp.promotions.enums.ReachEvent;
+import com.loveacamp.promotions.enums.UserLevel;
+import com.loveacamp.promotions.repositories.PromotionRepository;
+import com.loveacamp.promotions.services.impl.PromotionScheduler;
+import com.loveacamp.promotions.services.impl.ReachTracker;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+class PromotionControllerTest extends AbstractControllerTest {
+    @MockBean
+    private PromotionRepository repository;
+
+    @Autowired
+    private PromotionScheduler scheduler;
+
+    @Autowired
+    private ReachTracker reach;
+
+    private final String promotionRequest = """
+            {
+                "name": "Black Friday",
+                "discountType": "PERCENTAGE",
+                "value": 10,
+                "startsAt": "2020-11-27T00:00:00.000Z",
+                "endsAt": "2999-11-28T00:00:00.000Z",
+                "productIds": [1, 2],
+                "levels": ["USER"]
+            }
+            """;
+
+    @BeforeEach
+    public void setup() {
+        // A carga inicial do PromotionScheduler na subida do contexto também passa pelo mock.
+        clearInvocations(this.repository);
+    }
+
+    @Test
+    @DisplayName("POST /api/promotions: Esperado que ao receber um dto inválido, sem tipo de desconto, retorne uma exceção")
+    public void givenPromotionWhenSaveWithDiscountTypeNullThenExpects400() throws Exception {
+        mockMvc.perform(post("/api/promotions")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.promotionRequest.replace("\"PERCENTAGE\"", "null")))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.BAD_REQUEST);
+                    JSONAssert.assertEquals("""
+                                    {
+                                        "errors": [
+                                            {
+                                                "field": "discountType",
+                                                "message": "não deve ser nulo"
+                                            }
+                                        ]
+                                    }
+                                    """,
+                            getContentAsString(result), false);
+                });
+
+        verifyNoInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("POST /api/promotions: Esperado que ao receber um percentual maior que 100, retorne uma exceção")
+    public void givenPromotionWhenSaveWithPercentageGreaterThan100ThenExpects400() throws Exception {
+        mockMvc.perform(post("/api/promotions")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.promotionRequest.replace("\"value\": 10", "\"value\": 101")))
+                .andDo(result -> responseStatus(result, HttpStatus.BAD_REQUEST));
+
+        verifyNoInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("POST /api/promotions: Esperado que ao receber um dto válido, retorne a promoção")
+    public void givenPromotionWhenSaveThenExpects200() throws Exception {
+        when(this.repository.save(any(Promotion.class))).thenReturn(this.createPromotion());
+
+        mockMvc.perform(post("/api/promotions")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.promotionRequest))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.OK);
+                    JSONAssert.assertEquals("""
+                                    {
+                                        "id": 1,
+                                        "name": "Black Friday",
+                                        "discountType": "PERCENTAGE",
+                                        "value": 10,
+                                        "startsAt": "2020-11-27T00:00:00.000Z",
+                                        "endsAt": "2999-11-28T00:00:00.000Z",
+                                        "productIds": [1, 2],
+                                        "productNamePrefix": null,
+                                        "levels": ["USER"],
+                                        "maxRedemptions": null,
+                                        "maxRedemptionsPerPerson": null,
+                                        "audienceId": null,
+                                        "exclusivityGroup": null,
+                                        "priority": 0
+                                    }
+                                    """,
+                            getContentAsString(result), true);
+                });
+
+        verify(this.repository, times(1)).save(any(Promotion.class));
+        verifyNoMoreInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("GET /api/promotions/{id}: Esperado que ao receber um id inexistente, retorne uma exceção")
+    public void givenPromotionWhenFindByIdNotFoundThenExpects400() throws Exception {
+        when(this.repository.findById(eq(1L))).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/promotions/1")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andDo(result -> responseStatus(result, HttpStatus.BAD_REQUEST));
+
+        verify(this.repository, times(1)).findById(eq(1L));
+        verifyNoMoreInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("GET /api/promotions/best: Esperado que retorne o melhor desconto vigente para o produto e nível, sem consultar o banco")
+    public void givenPromotionWhenFindBestThenExpects200() throws Exception {
+        when(this.repository.findNotEndedAt(any(DateTime.class))).thenReturn(List.of(this.createPromotion()));
+        this.scheduler.rebuild();
+        clearInvocations(this.repository);
+
+        mockMvc.perform(get("/api/promotions/best?productId=2&price=25.00&level=USER")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.OK);
+                    JSONAssert.assertEquals("""
+                                    {
+                                        "productId": 2,
+                                        "promotionId": 1,
+                                        "promotionIds": [1],
+                                        "discount": 2.50,
+                                        "price": 22.50
+                                    }
+                                    """,
+                            getContentAsString(result), true);
+                });
+        mockMvc.perform(get("/api/promotions/best?productId=2&price=25.00&level=ADMIN")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.OK);
+                    JSONAssert.assertEquals("""
+                                    {
+                                        "productId": 2,
+                                        "promotionId": null,
+                                        "promotionIds": [],
+                                        "discount": 0,
+                                        "price": 25.00
+                                    }
+                                    """,
+                            getContentAsString(result), true);
+                });
+
+        verifyNoInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("POST /api/promotions/simulations: Esperado que a promoção seja simulada sobre o arquivo de carrinhos sem ser gravada")
+    public void givenCartsFileWhenSimulateThenExpects200() throws Exception {
+        MockMultipartFile promotion = new MockMultipartFile("promotion", "", MediaType.APPLICATION_JSON_VALUE,
+                this.promotionRequest.getBytes(StandardCharsets.UTF_8));
+        MockMultipartFile carts = new MockMultipartFile("carts", "carts.csv", "text/csv", """
+                cartId,productId,quantity,unitPrice
+                1,1,2,10.00
+                1,3,1,5.00
+                2,3,1,7.50
+                3,2,1,25.00
+                """.getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/api/promotions/simulations")
+                        .file(promotion)
+                        .file(carts)
+                        .param("limit", "1")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.OK);
+                    JSONAssert.assertEquals("""
+                                    {
+                                        "carts": 3,
+                                        "lines": 4,
+                                        "discountedCarts": 2,
+                                        "discountedLines": 2,
+                                        "hitRate": 0.6667,
+                                        "subtotal": 57.50,
+                                        "totalDiscount": 4.50,
+                                        "products": [
+                                            {
+                                                "productId": 2,
+                                                "lines": 1,
+                                                "quantity": 1,
+                                                "discount": 2.50
+                                            }
+                                        ]
+                                    }
+                                    """,
+                            getContentAsString(result), true);
+                });
+
+        verifyNoInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("GET /api/promotions/{id}/reach: Esperado que cada pessoa conte uma vez, por tipo de evento, no intervalo pedido")
+    public void givenImpressionsWhenFindReachThenExpects200() throws Exception {
+        DateTime now = DateTime.now(DateTimeZone.UTC);
+        when(this.repository.existsById(eq(42L))).thenReturn(true);
+        this.reach.record(42L, ReachEvent.IMPRESSION, 10L);
+        this.reach.record(42L, ReachEvent.IMPRESSION, 11L);
+        this.reach.record(42L, ReachEvent.IMPRESSION, 10L);
+        this.reach.record(42L, ReachEvent.REDEMPTION, 10L);
+
+        mockMvc.perform(get("/api/promotions/42/reach")
+                        .param("event", "IMPRESSION")
+                        .param("from", now.minusHours(1).toString())
+                        .param("to", now.plusHours(1).toString())
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.OK);
+                    JSONAssert.assertEquals("{\"promotionId\": 42, \"event\": \"IMPRESSION\", \"distinctPeople\": 2}",
+                            getContentAsString(result), false);
+                });
+    }
+
+    @Test
+    @DisplayName("GET /api/promotions/{id}/reach: Esperado que ao receber um intervalo invertido, retorne uma exceção")
+    public void givenInvertedRangeWhenFindReachThenExpects400() throws Exception {
+        mockMvc.perform(get("/api/promotions/1/reach")
+                        .param("from", "2026-10-02T00:00:00Z")
+                        .param("to", "2026-10-01T00:00:00Z")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andDo(result -> responseStatus(result, HttpStatus.BAD_REQUEST));
+
+        verifyNoInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("GET /api/promotions/snapshot/version: Esperado que uma promoção salva publique uma versão nova do catálogo na mesma instância")
+    public void givenSavedPromotionWhenFindSnapshotThenNewVersion() throws Exception {
+        // Id próprio para não colidir com as promoções dos outros testes, que compartilham o mesmo engine.
+        when(this.repository.save(any(Promotion.class))).thenReturn(this.createPromotion().setId(43L).setProductIds(Set.of(43L)));
+        long[] before = new long[1];
+        String[] instance = new String[1];
+
+        mockMvc.perform(get("/api/promotions/snapshot/version")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.OK);
+                    JsonNode snapshot = new ObjectMapper().readTree(getContentAsString(result));
+                    before[0] = snapshot.get("version").asLong();
+                    instance[0] = snapshot.get("instance").asText();
+                    assertFalse(instance[0].isBlank());
+                    assertTrue(snapshot.hasNonNull("startedAt"));
+                });
+
+        mockMvc.perform(post("/api/promotions")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.promotionRequest))
+                .andDo(result -> responseStatus(result, HttpStatus.OK));
+
+        mockMvc.perform(get("/api/promotions/snapshot/version")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.OK);
+                    JSONAssert.assertEquals("{\"instance\": \"" + instance[0] + "\", \"version\": " + (before[0] + 1) + "}",
+                            getContentAsString(result), false);
+                });
+
+        verify(this.repository, times(1)).save(any(Promotion.class));
+        verifyNoMoreInteractions(this.repository);
+    }
+
+    private Promotion createPromotion() {
+        return new Promotion(1L, "Black Friday", DiscountType.PERCENTAGE, BigDecimal.TEN,
+                new DateTime(2020, 11, 27, 0, 0, DateTimeZone.UTC), new DateTime(2999, 11, 28, 0, 0, DateTimeZone.UTC))
+                .setProductIds(Set.of(1L, 2L))
+                .setLevels(Set.of(UserLevel.USER));
+    }
+}
@@ -0,0 +1,121 @@
+package com.loveacamp.promotions.controllers;
+
+import com.loveacamp.promotions.dto.requests.RedemptionRequestDto;
+import com.loveacamp.promotions.enums.CouponClaimResult;
+import com.loveacamp.promotions.repositories.CouponBatchRepository;
+import com.loveacamp.promotions.repositories.CouponRepository;
+import com.loveacamp.promotions.repositories.PromotionQuotaRepository.RedemptionChunk;
+import com.loveacamp.promotions.repositories.PromotionRepository;
+import com.loveacamp.promotions.services.impl.CouponFilter;
+import com.loveacamp.promotions.utils.CouponCodec;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+class RedemptionControllerTest extends AbstractControllerTest {
+    @MockBean
+    private CouponRepository couponRepository;
+
+    @MockBean
+    private PromotionRepository promotionRepository;
+
+    @Autowired
+    private CouponCodec codec;
+
+    @Autowired
+    private CouponFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        // A montagem do filtro de cupons, na subida do contexto, já lê o repositório.
+        clearInvocations(this.couponRepository);
+    }
+
+    @Test
+    @DisplayName("POST /api/redemptions: Esperado que ao receber um dto sem pessoa, retorne uma exceção")
+    public void givenRedemptionWithoutPersonWhenRedeemThenExpects400() throws Exception {
+        mockMvc.perform(post("/api/redemptions")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(serializeInput(new RedemptionRequestDto("000000000011", null))))
+                .andDo(result -> {
+                    responseStatus(result, HttpStatus.BAD_REQUEST);
+                    JSONAssert.assertEquals("{\"errors\": [{\"field\": \"personId\", \"message\": \"não deve ser nulo\"}]}",
+                            getContentAsString(result), false);
+                });
+
+        verifyNoInteractions(this.couponRepository);
+    }
+
+    @Test
+    @DisplayName("POST /api/redemptions: Esperado que um cupom válido seja resgatado sem travar a linha da promoção a cada resgate")
+    public void givenCouponsWhenRedeemThenExpects200() throws Exception {
+        String first = CouponCodec.format(this.codec.encode(1, 0));
+        String second = CouponCodec.format(this.codec.encode(1, 1));
+        this.filter.add(new long[]{this.codec.encode(1, 0), this.codec.encode(1, 1)}, 2);
+        when(this.promotionRepository.claimRedemptions(eq(1L), anyLong(), any())).thenReturn(new RedemptionChunk(100, DateTime.now().plusDays(1), null));
+        when(this.couponRepository.claim(anyLong(), eq(1L), anyLong(), eq(CouponBatchRepository.NO_SLOT), anyLong())).thenReturn(CouponClaimResult.CLAIMED);
+
+        for (String code : new String[]{first, second}) {
+            mockMvc.perform(post("/api/redemptions")
+                            .accept(MediaType.APPLICATION_JSON_VALUE)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(serializeInput(new RedemptionRequestDto(code, 5L))))
+                    .andDo(result -> {
+                        responseStatus(result, HttpStatus.OK);
+                        JSONAssert.assertEquals("{\"code\": \"" + code + "\", \"promotionId\": 1, \"personId\": 5}", getContentAsString(result), false);
+                    });
+        }
+
+        verify(this.promotionRepository, times(1)).claimRedemptions(eq(1L), anyLong(), any());
+        verify(this.couponRepository, times(2)).claim(anyLong(), eq(1L), anyLong(), anyInt(), anyLong());
+    }
+
+    @Test
+    @DisplayName("POST /api/redemptions: Esperado que um código que nunca foi gerado seja recusado sem consultar o banco")
+    public void givenUnknownCouponWhenRedeemThenExpects400() throws Exception {
+        String code = CouponCodec.format(this.codec.encode(1, 999));
+
+        mockMvc.perform(post("/api/redemptions")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(serializeInput(new RedemptionRequestDto(code, 5L))))
+                .andDo(result -> responseStatus(result, HttpStatus.BAD_REQUEST));
+
+        verify(this.couponRepository, never()).claim(anyLong(), anyLong(), anyLong(), anyInt(), anyLong());
+        verify(this.promotionRepository, never()).claimRedemptions(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("POST /api/redemptions: Esperado que o mesmo cupom não seja resgatado duas vezes: o banco só marca o primeiro")
+    public void givenRedeemedCouponWhenRedeemAgainThenExpects400() throws Exception {
+        String code = CouponCodec.format(this.codec.encode(1, 2));
+        this.filter.add(new long[]{this.codec.encode(1, 2)}, 1);
+        when(this.promotionRepository.claimRedemptions(eq(1L), anyLong(), any())).thenReturn(new RedemptionChunk(100, DateTime.now().plusDays(1), null));
+        when(this.couponRepository.claim(anyLong(), eq(1L), anyLong(), eq(CouponBatchRepository.NO_SLOT), anyLong())).thenReturn(CouponClaimResult.CLAIMED, CouponClaimResult.INVALID);
+
+        mockMvc.perform(post("/api/redemptions")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(serializeInput(new RedemptionRequestDto(code, 5L))))
+                .andDo(result -> responseStatus(result, HttpStatus.OK));
+
+        mockMvc.perform(post("/api/redemptions")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(serializeInput(new RedemptionRequestDto(code, 6L))))
+                .andDo(result -> responseStatus(result, HttpStatus.BAD_REQUEST));
+
+        verify(this.couponRepository, times(2)).claim(anyLong(), eq(1L), anyLong(), anyInt(), anyLong());
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.skyscreamer.jsonassert.JSONAssert;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 
@@ -216,9 +217,7 @@ class UserControllerTest extends AbstractControllerTest {
     @Test
     @DisplayName("POST /api/users: Esperado que ao receber um dto válido, retorne um usuário")
     public void givenUsersWhenSaveThenExpects200() throws Exception {
-        when(this.repository.findByUsername(eq(this.userRequestDto.getUsername())))
-                .thenReturn(Optional.empty());
-        when(this.repository.save(argThat(this::checkArgs)))
+        when(this.repository.saveAndFlush(argThat(this::checkArgs)))
                 .thenReturn(createUser());
 
         mockMvc.perform(post("/api/users")
@@ -237,8 +236,7 @@ class UserControllerTest extends AbstractControllerTest {
                             getContentAsString(result), false);
                 });
 
-        verify(this.repository, times(1)).findByUsername(eq(this.userRequestDto.getUsername()));
-        verify(this.repository, times(1)).save(argThat(this::checkArgs));
+        verify(this.repository, times(1)).saveAndFlush(argThat(this::checkArgs));
         verifyNoMoreInteractions(this.repository);
     }
 
@@ -423,7 +421,7 @@ class UserControllerTest extends AbstractControllerTest {
         Long id = 1L;
 
         when(this.repository.findById(eq(id))).thenReturn(Optional.of(createUser()));
-        when(this.repository.existsByUsernameNotId(eq(this.userRequestDto.getUsername()),eq(id))).thenReturn(false);
+        when(this.repository.existsByUsernameAndIdNot(eq(this.userRequestDto.getUsername()),eq(id))).thenReturn(false);
         when(this.repository.save(argThat(this::checkArgs)))
                 .thenReturn(createUser());
 
@@ -444,7 +442,7 @@ class UserControllerTest extends AbstractControllerTest {
                 });
 
         verify(this.repository, times(1)).findById(eq(id));
-        verify(this.repository, times(1)).existsByUsernameNotId(eq(this.userRequestDto.getUsername()), eq(id));
+        verify(this.repository, times(1)).existsByUsernameAndIdNot(eq(this.userRequestDto.getUsername()), eq(id));
         verify(this.repository, times(1)).save(argThat(this::checkArgs));
         verifyNoMoreInteractions(this.repository);
     }
@@ -452,7 +450,7 @@ class UserControllerTest extends AbstractControllerTest {
     @Test
     @DisplayName("GET /api/users: Esperado que ao receber a chamada, retorne uma lista de usuários")
     public void givenUsersWhenFindAllThenExpects200() throws Exception {
-        when(this.repository.findAll())
+        when(this.repository.findByIdGreaterThanOrderByIdAsc(eq(0L), eq(PageRequest.ofSize(51))))
                 .thenReturn(List.of(createUser(1L, "John Doe"), createUser(2L, "Carla Doe")));
 
         mockMvc.perform(get("/api/users")
@@ -462,23 +460,26 @@ class UserControllerTest extends AbstractControllerTest {
                 .andDo(result -> {
                     responseStatus(result, HttpStatus.OK);
                     JSONAssert.assertEquals("""
-                                    [
-                                        {
-                                            "id":1,
-                                            "username":"John Doe",
-                                            "level":"USER"
-                                        },
-                                        {
-                                            "id":2,
-                                            "username":"Carla Doe",
-                                            "level":"USER"
-                                        }
-                                    ]
+                                    {
+                                        "items": [
+                                            {
+                                                "id":1,
+                                                "username":"John Doe",
+                                                "level":"USER"
+                                            },
+                                            {
+                                                "id":2,
+                                                "username":"Carla Doe",
+                                                "level":"USER"
+                                            }
+                                        ],
+                                        "next": null
+                                    }
                                     """,
                             getContentAsString(result), false);
                 });
 
-        verify(this.repository, times(1)).findAll();
+        verify(this.repository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), eq(PageRequest.ofSize(51)));
         verifyNoMoreInteractions(this.repository);
     }
 
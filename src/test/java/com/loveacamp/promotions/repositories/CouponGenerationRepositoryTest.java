@@ -0,0 +1,50 @@
+package com.loveacamp.promotions.repositories;
+
+import com.loveacamp.promotions.entities.CouponGeneration;
+import com.loveacamp.promotions.enums.CouponGenerationStatus;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CouponGenerationRepositoryTest extends AbstractRepository {
+    private static final DateTime NOW = DateTime.now();
+
+    @Autowired
+    private CouponGenerationRepository repository;
+
+    @Test
+    @DisplayName("failStalled: somente gerações RUNNING sem renovação desde o limite são encerradas como FAILED")
+    public void givenStalledAndRenewedGenerationsWhenFailStalledThenOnlyStalledFailed() {
+        long stalled = repository.save(new CouponGeneration(1L, 0, 10, NOW.minusHours(1))).getId();
+        long renewed = repository.save(new CouponGeneration(1L, 10, 10, NOW.minusHours(1))).getId();
+        long completed = repository.save(new CouponGeneration(1L, 20, 10, NOW.minusHours(1))).getId();
+        repository.touch(List.of(renewed), NOW);
+        repository.finish(completed, CouponGenerationStatus.COMPLETED, NOW.minusMinutes(30));
+
+        assertEquals(1, repository.failStalled(NOW.minusMinutes(1), NOW));
+
+        assertEquals(CouponGenerationStatus.FAILED, repository.findById(stalled).orElseThrow().getStatus());
+        assertEquals(CouponGenerationStatus.RUNNING, repository.findById(renewed).orElseThrow().getStatus());
+        assertEquals(CouponGenerationStatus.COMPLETED, repository.findById(completed).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("advance: Esperado que uma geração já encerrada não volte a andar")
+    public void givenFailedGenerationWhenAdvanceThenIgnored() {
+        long id = repository.save(new CouponGeneration(1L, 0, 10, NOW)).getId();
+
+        assertEquals(1, repository.advance(id, 4, NOW));
+        assertEquals(1, repository.finish(id, CouponGenerationStatus.FAILED, NOW));
+
+        assertEquals(0, repository.advance(id, 8, NOW));
+        assertEquals(0, repository.finish(id, CouponGenerationStatus.COMPLETED, NOW));
+        CouponGeneration generation = repository.findById(id).orElseThrow();
+        assertEquals(4, generation.getGenerated());
+        assertEquals(CouponGenerationStatus.FAILED, generation.getStatus());
+    }
+}
@@ -0,0 +1,121 @@
+package com.loveacamp.promotions.repositories;
+
+import com.loveacamp.promotions.entities.Coupon;
+import com.loveacamp.promotions.entities.Promotion;
+import com.loveacamp.promotions.enums.CouponClaimResult;
+import com.loveacamp.promotions.enums.DiscountType;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CouponRepositoryTest extends AbstractRepository {
+    private static final DateTime NOW = new DateTime(2026, 10, 1, 12, 0, DateTimeZone.UTC);
+
+    @Autowired
+    private CouponRepository repository;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    @Test
+    @DisplayName("reserveSerials: faixas consecutivas por promoção, sem passar do limite e sem promoção inexistente")
+    public void givenPromotionWhenReserveSerialsThenConsecutiveRanges() {
+        Promotion promotion = promotionRepository.save(createPromotion());
+
+        assertEquals(0, repository.reserveSerials(promotion.getId(), 100, 1_000));
+        assertEquals(100, repository.reserveSerials(promotion.getId(), 900, 1_000));
+        assertEquals(-1, repository.reserveSerials(promotion.getId(), 1, 1_000));
+        assertEquals(-1, repository.reserveSerials(promotion.getId() + 1, 1, 1_000));
+        assertEquals(1_000, promotionRepository.findById(promotion.getId()).orElseThrow().getCouponsIssued());
+    }
+
+    @Test
+    @DisplayName("reserveSerials: o update da promoção não sobrescreve os números já reservados")
+    public void givenReservedSerialsWhenUpdatePromotionThenCouponsIssuedKept() {
+        Promotion promotion = promotionRepository.save(createPromotion());
+        repository.reserveSerials(promotion.getId(), 10, 1_000);
+
+        promotionRepository.save(createPromotion().setId(promotion.getId()).setName("Renomeada"));
+
+        assertEquals(10, repository.reserveSerials(promotion.getId(), 1, 1_000));
+    }
+
+    @Test
+    @DisplayName("insertBatch: só as primeiras posições do array são inseridas e a listagem pagina por código")
+    public void givenCodesWhenInsertBatchThenPagedByCode() {
+        repository.insertBatch(1L, new long[]{30, 10, 20, 99}, 3);
+        repository.insertBatch(2L, new long[]{15}, 1);
+
+        List<Coupon> firstPage = repository.findByPromotionIdAndCodeGreaterThanOrderByCodeAsc(1L, -1L, PageRequest.ofSize(2));
+        List<Coupon> secondPage = repository.findByPromotionIdAndCodeGreaterThanOrderByCodeAsc(1L, 20L, PageRequest.ofSize(2));
+
+        assertEquals(List.of(10L, 20L), firstPage.stream().map(Coupon::getCode).toList());
+        assertEquals(List.of(30L), secondPage.stream().map(Coupon::getCode).toList());
+        assertEquals(4, repository.count());
+    }
+
+    @Test
+    @DisplayName("claim: marca só cupons livres da promoção, uma única vez, e isClaimedAt reconhece o instante gravado")
+    public void givenCouponsWhenClaimThenOnlyFreeCouponsClaimedOnce() {
+        repository.insertBatch(1L, new long[]{10, 20}, 2);
+        long first = NOW.getMillis();
+        long second = NOW.plusMinutes(1).getMillis();
+
+        assertEquals(CouponClaimResult.CLAIMED, repository.claim(10L, 1L, 42L, CouponBatchRepository.NO_SLOT, first));
+        assertEquals(CouponClaimResult.INVALID, repository.claim(10L, 1L, 43L, CouponBatchRepository.NO_SLOT, second));
+        assertEquals(CouponClaimResult.INVALID, repository.claim(20L, 2L, 42L, CouponBatchRepository.NO_SLOT, first));
+        assertEquals(CouponClaimResult.INVALID, repository.claim(30L, 1L, 42L, CouponBatchRepository.NO_SLOT, first));
+        assertTrue(repository.isClaimedAt(10L, first));
+        assertFalse(repository.isClaimedAt(10L, second));
+        assertFalse(repository.isClaimedAt(20L, first));
+        assertEquals(42L, repository.findById(10L).orElseThrow().getRedeemedBy());
+    }
+
+    @Test
+    @DisplayName("claim: com limite por pessoa, grava a vaga junto com a marcação e recusa a vaga já ocupada sem gravar nada")
+    public void givenPersonLimitWhenClaimThenSlotTakenOnce() {
+        repository.insertBatch(1L, new long[]{10, 20, 30, 40}, 4);
+        long now = NOW.getMillis();
+
+        assertEquals(CouponClaimResult.CLAIMED, repository.claim(10L, 1L, 42L, 0, now));
+        assertEquals(CouponClaimResult.CLAIMED, repository.claim(20L, 1L, 42L, 1, now));
+        assertEquals(CouponClaimResult.SLOT_TAKEN, repository.claim(30L, 1L, 42L, 1, now));
+        assertNull(repository.findById(30L).orElseThrow().getRedeemedAt());
+        assertEquals(CouponClaimResult.CLAIMED, repository.claim(30L, 1L, 43L, 1, now));
+        assertEquals(CouponClaimResult.CLAIMED, repository.claim(40L, 1L, 42L, CouponBatchRepository.NO_SLOT, now));
+
+        assertEquals(List.of(0, 1), repository.findSlots(1L, 42L).stream().sorted().toList());
+        assertEquals(List.of(1), repository.findSlots(1L, 43L));
+        assertEquals(List.of(), repository.findSlots(2L, 42L));
+    }
+
+    @Test
+    @DisplayName("forEachIssued: percorre os números de série reservados das promoções que têm algum")
+    public void givenReservedSerialsWhenForEachIssuedThenOnlyPromotionsWithCoupons() {
+        long first = promotionRepository.save(createPromotion()).getId();
+        long second = promotionRepository.save(createPromotion()).getId();
+        promotionRepository.save(createPromotion());
+        repository.reserveSerials(first, 100, 1_000);
+        repository.reserveSerials(second, 5, 1_000);
+        repository.reserveSerials(first, 20, 1_000);
+        Map<Long, Long> issued = new HashMap<>();
+
+        repository.forEachIssued(issued::put);
+
+        assertEquals(Map.of(first, 120L, second, 5L), issued);
+    }
+
+    private Promotion createPromotion() {
+        return new Promotion(null, "Cupons", DiscountType.PERCENTAGE, BigDecimal.TEN, NOW.minusDays(1), NOW.plusDays(1));
+    }
+}
@@ -1,9 +1,12 @@
 package com.loveacamp.promotions.repositories;
 
 import com.loveacamp.promotions.entities.Person;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -69,6 +72,19 @@ class PersonRepositoryTest extends AbstractRepository {
         assertPerson(foundPerson, name, email);
     }
 
+    @Test
+    @DisplayName("saveAndFlush: Esperado que ao salvar um email já existente, a restrição UK_PEOPLE_EMAIL seja violada")
+    public void givenPersonWithSameEmailWhenSaveAndFlushThenUniqueViolation() {
+        repository.saveAndFlush(createPerson("John Doe", "john@email.com"));
+
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> repository.saveAndFlush(createPerson("Johnny Doe", "john@email.com")));
+
+        assertThat(exception.getCause())
+                .isInstanceOfSatisfying(ConstraintViolationException.class,
+                        violation -> assertThat(violation.getConstraintName()).containsIgnoringCase(Person.UK_EMAIL));
+    }
+
     @Test
     @DisplayName("findAll: Esperado que retorne todas pessoas existentes")
     public void givenPersonWhenFindAllThenPeople() {
@@ -82,26 +98,40 @@ class PersonRepositoryTest extends AbstractRepository {
     }
 
     @Test
-    @DisplayName("existsByEmailNotId: Esperado que ao receber um email que nao pertence a mesma pessoa, retorne verdadeiro")
+    @DisplayName("existsByEmailAndIdNot: Esperado que ao receber um email que nao pertence a mesma pessoa, retorne verdadeiro")
     public void givenPersonEmailExistsInOtherWhenExistsByEmailNotIdThenTrue() {
         Person person1 = repository.save(createPerson("John Doe", "john@email.com"));
         Person person2 = repository.save(createPerson("Maria Joaquina", "maria_j@email.com"));
 
-        boolean existsOtherPersonWithSameEmail = repository.existsByEmailNotId(person1.getEmail(), person2.getId());
+        boolean existsOtherPersonWithSameEmail = repository.existsByEmailAndIdNot(person1.getEmail(), person2.getId());
 
         assertTrue(existsOtherPersonWithSameEmail);
     }
 
     @Test
-    @DisplayName("existsByEmailNotId: Esperado que ao receber um email inexistente, retorne falso")
+    @DisplayName("existsByEmailAndIdNot: Esperado que ao receber um email inexistente, retorne falso")
     public void givenPersonEmailNotExistsInOtherWhenExistsByEmailNotIdThenFalse() {
         Person person = repository.save(createPerson("John Doe", "john@email.com"));
 
-        boolean existsOtherPersonWithSameEmail = repository.existsByEmailNotId(person.getEmail(), person.getId());
+        boolean existsOtherPersonWithSameEmail = repository.existsByEmailAndIdNot(person.getEmail(), person.getId());
 
         assertFalse(existsOtherPersonWithSameEmail);
     }
 
+    @Test
+    @DisplayName("findByIdGreaterThanOrderByIdAsc: Esperado que retorne as pessoas após o id informado, limitadas ao tamanho da página")
+    public void givenPeopleWhenFindByIdGreaterThanThenNextPage() {
+        Person first = repository.save(createPerson("John Doe", "john@email.com"));
+        repository.save(createPerson("Maria Joaquina", "maria_j@email.com"));
+        repository.save(createPerson("Joaquim Emanuel", "joaquim.e@email.com"));
+
+        List<Person> result = repository.findByIdGreaterThanOrderByIdAsc(first.getId(), PageRequest.ofSize(2));
+
+        assertThat(result)
+                .extracting(Person::getName)
+                .containsExactly("Maria Joaquina", "Joaquim Emanuel");
+    }
+
     @Test
     @DisplayName("delete")
     public void givenPersonWhenDeleteThenPerson() {
@@ -0,0 +1,69 @@
+package com.loveacamp.promotions.repositories;
+
+import com.loveacamp.promotions.entities.Product;
+import com.loveacamp.promotions.entities.ProductPrice;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductPriceRepositoryTest extends AbstractRepository {
+    private static final DateTime NOW = new DateTime(2026, 10, 1, 12, 0, DateTimeZone.UTC);
+
+    @Autowired
+    private ProductPriceRepository repository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    @DisplayName("upsert: atualiza as linhas existentes e cria as que faltam no mesmo batch")
+    public void givenExistingAndNewPricesWhenUpsertThenWritten() {
+        repository.upsert(new long[]{1, 2}, prices("10.00", "20.00"), new Long[]{null, 7L}, prices("0.00", "2.00"), NOW, 2);
+        repository.upsert(new long[]{2, 3}, prices("30.00", "5.00"), new Long[]{null, 8L}, prices("0.00", "1.00"), NOW.plusMinutes(1), 2);
+
+        ProductPrice updated = repository.findById(2L).orElseThrow();
+        ProductPrice created = repository.findById(3L).orElseThrow();
+
+        assertEquals(3, repository.count());
+        assertNull(updated.getPromotionId());
+        assertEquals(new BigDecimal("30.00"), updated.getFinalPrice());
+        assertEquals(NOW.plusMinutes(1).getMillis(), updated.getUpdatedAt().getMillis());
+        assertEquals(8L, created.getPromotionId());
+        assertEquals(new BigDecimal("4.00"), created.getFinalPrice());
+    }
+
+    @Test
+    @DisplayName("deleteUnpriced e delete: remove só as linhas de produtos removidos ou sem preço e as informadas, gravadas quando for")
+    public void givenPricesWhenDeleteThenOnlyTargetRows() {
+        long priced = productRepository.save(new Product(null, "Pizza", new BigDecimal("10.00"))).getId();
+        long unpriced = productRepository.save(new Product(null, "Pastel")).getId();
+        long other = productRepository.save(new Product(null, "Suco", new BigDecimal("5.00"))).getId();
+        repository.upsert(new long[]{priced, unpriced, 999}, prices("10.00", "20.00", "30.00"), new Long[3], prices("0.00", "0.00", "0.00"), NOW, 3);
+        repository.upsert(new long[]{other}, prices("5.00"), new Long[1], prices("0.00"), NOW.minusMinutes(1), 1);
+
+        assertEquals(2, repository.deleteUnpriced());
+        repository.delete(new long[]{other, 99}, 1);
+
+        List<ProductPrice> remaining = repository.findByProductIdGreaterThanOrderByProductIdAsc(0L, PageRequest.ofSize(10));
+
+        assertEquals(List.of(priced), remaining.stream().map(ProductPrice::getProductId).toList());
+    }
+
+    private static BigDecimal[] prices(String... values) {
+        BigDecimal[] prices = new BigDecimal[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            prices[i] = new BigDecimal(values[i]);
+        }
+
+        return prices;
+    }
+}
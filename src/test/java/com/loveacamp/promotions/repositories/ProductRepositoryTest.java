@@ -1,12 +1,19 @@
 package com.loveacamp.promotions.repositories;
 
 import com.loveacamp.promotions.entities.Product;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -42,16 +49,57 @@ class ProductRepositoryTest extends AbstractRepository {
     }
 
     @Test
-    @DisplayName("findByIdAndName")
-    public void givenProductWhenFindByIdAndNameThenProduct() {
-        Product product = createEntity("Pizza de Marguerita");
-        repository.save(product);
+    @DisplayName("findIdsByNamePrefix: sem diferenciar maiúsculas e tratando % e _ como texto")
+    public void givenProductsWhenFindIdsByNamePrefixThenMatchingIds() {
+        repository.save(createEntity("Pizza de Banana"));
+        repository.save(createEntity("PIZZA de Calabresa"));
+        repository.save(createEntity("Pastel de Pizza"));
+        repository.save(createEntity("50% Pizza"));
+        repository.save(createEntity("500 Pizzas"));
+
+        assertEquals(Set.of(1L, 2L), Set.copyOf(repository.findIdsByNamePrefix("pizza")));
+        assertEquals(List.of(4L), repository.findIdsByNamePrefix("50%"));
+        assertEquals(List.of(), repository.findIdsByNamePrefix("p_zza"));
+    }
 
-        Optional<Product> result = repository.findByIdAndName(1L, product.getName());
+    @Test
+    @DisplayName("saveAndFlush: nome duplicado viola UK_PRODUCT_NAME")
+    public void givenProductWithSameNameWhenSaveAndFlushThenUniqueViolation() {
+        repository.saveAndFlush(createEntity("Pizza de Marguerita"));
 
-        assertTrue(result.isPresent());
-        Product foundProduct = result.get();
-        assertProduct(foundProduct, "Pizza de Marguerita");
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> repository.saveAndFlush(createEntity("Pizza de Marguerita")));
+
+        assertInstanceOf(ConstraintViolationException.class, exception.getCause());
+        assertTrue(((ConstraintViolationException) exception.getCause()).getConstraintName().toUpperCase().contains(Product.UK_NAME));
+    }
+
+    @Test
+    @DisplayName("existsByNameAndIdNot: nome pertencente a outro produto")
+    public void givenProductNameOfOtherProductWhenExistsByNameAndIdNotThenTrue() {
+        Product pizza = repository.save(createEntity("Pizza de Marguerita"));
+        Product pastel = repository.save(createEntity("Pastel"));
+
+        assertTrue(repository.existsByNameAndIdNot(pizza.getName(), pastel.getId()));
+    }
+
+    @Test
+    @DisplayName("existsByNameAndIdNot: nome pertencente ao próprio produto")
+    public void givenProductOwnNameWhenExistsByNameAndIdNotThenFalse() {
+        Product pizza = repository.save(createEntity("Pizza de Marguerita"));
+
+        assertFalse(repository.existsByNameAndIdNot(pizza.getName(), pizza.getId()));
+    }
+
+    @Test
+    @DisplayName("findNamesIn")
+    public void givenProductsWhenFindNamesInThenOnlyExistingNames() {
+        repository.save(createEntity("Pizza"));
+        repository.save(createEntity("Pastel"));
+
+        Set<String> result = repository.findNamesIn(List.of("Pizza", "Doce de Abóbora"));
+
+        assertEquals(Set.of("Pizza"), result);
     }
 
     @Test
@@ -66,6 +114,32 @@ class ProductRepositoryTest extends AbstractRepository {
         assertEquals(result.size(), 3);
     }
 
+    @Test
+    @DisplayName("findByIdGreaterThanOrderByIdAsc")
+    public void givenProductsWhenFindByIdGreaterThanThenNextPage() {
+        Product first = repository.save(createEntity("Pizza"));
+        repository.save(createEntity("Pastel"));
+        repository.save(createEntity("Doce de Abóbora"));
+
+        List<Product> result = repository.findByIdGreaterThanOrderByIdAsc(first.getId(), PageRequest.ofSize(1));
+
+        assertEquals(1, result.size());
+        assertEquals("Pastel", result.get(0).getName());
+    }
+
+    @Test
+    @DisplayName("saveAll: ids alocados em blocos pela sequência são contínuos")
+    public void givenManyProductsWhenSaveAllThenSequentialIds() {
+        List<Product> products = IntStream.rangeClosed(1, 120)
+                .mapToObj(i -> createEntity("Produto " + i))
+                .collect(Collectors.toList());
+
+        List<Product> result = repository.saveAll(products);
+
+        assertEquals(LongStream.rangeClosed(1, 120).boxed().collect(Collectors.toList()),
+                result.stream().map(Product::getId).collect(Collectors.toList()));
+    }
+
     @Test
     @DisplayName("delete")
     public void givenProductWhenDeleteThenProduct() {
@@ -0,0 +1,92 @@
+package com.loveacamp.promotions.repositories;
+
+import com.loveacamp.promotions.entities.PromotionReachId;
+import com.loveacamp.promotions.enums.ReachEvent;
+import com.loveacamp.promotions.utils.HyperLogLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromotionReachRepositoryTest extends AbstractRepository {
+    private static final long HOUR = 496_000;
+
+    @Autowired
+    private PromotionReachRepository repository;
+
+    @Test
+    @DisplayName("mergeSketches: junta aos sketches existentes e cria as linhas que faltam no mesmo batch")
+    public void givenExistingAndNewSketchesWhenMergeSketchesThenMerged() {
+        repository.mergeSketches(new long[]{1}, new ReachEvent[]{ReachEvent.IMPRESSION}, new long[]{HOUR},
+                new byte[][]{sketch(1, 2)}, 1);
+        repository.mergeSketches(new long[]{1, 1, 2}, new ReachEvent[]{ReachEvent.IMPRESSION, ReachEvent.REDEMPTION, ReachEvent.IMPRESSION},
+                new long[]{HOUR, HOUR, HOUR + 1}, new byte[][]{sketch(2, 3), sketch(1), sketch(7)}, 3);
+
+        assertEquals(3, estimate(new PromotionReachId(1L, ReachEvent.IMPRESSION, HOUR)));
+        assertEquals(1, estimate(new PromotionReachId(1L, ReachEvent.REDEMPTION, HOUR)));
+        assertEquals(1, estimate(new PromotionReachId(2L, ReachEvent.IMPRESSION, HOUR + 1)));
+        assertEquals(3, repository.count());
+    }
+
+    @Test
+    @DisplayName("mergeSketches: Esperado que mais chaves do que cabem numa trava sejam lidas em partes e todas juntadas")
+    public void givenManyKeysWhenMergeSketchesThenAllMerged() {
+        int count = 250;
+        long[] promotionIds = new long[count];
+        ReachEvent[] events = new ReachEvent[count];
+        long[] hours = new long[count];
+        byte[][] sketches = new byte[count][];
+
+        for (int i = 0; i < count; i++) {
+            promotionIds[i] = count - i;
+            events[i] = i % 2 == 0 ? ReachEvent.IMPRESSION : ReachEvent.REDEMPTION;
+            hours[i] = HOUR;
+            sketches[i] = sketch(i);
+        }
+
+        repository.mergeSketches(promotionIds, events, hours, sketches, count);
+
+        for (int i = 0; i < count; i++) {
+            sketches[i] = sketch(i + 1_000);
+        }
+
+        repository.mergeSketches(promotionIds, events, hours, sketches, count);
+
+        assertEquals(count, repository.count());
+        assertEquals(2, estimate(new PromotionReachId(1L, ReachEvent.REDEMPTION, HOUR)));
+        assertEquals(2, estimate(new PromotionReachId(250L, ReachEvent.IMPRESSION, HOUR)));
+    }
+
+    @Test
+    @DisplayName("forEachSketch: somente os sketches da promoção e do evento nas horas [from, to)")
+    public void givenSketchesWhenForEachSketchThenOnlyRange() {
+        repository.mergeSketches(new long[]{1, 1, 1, 1, 2}, new ReachEvent[]{ReachEvent.IMPRESSION, ReachEvent.IMPRESSION,
+                        ReachEvent.IMPRESSION, ReachEvent.REDEMPTION, ReachEvent.IMPRESSION},
+                new long[]{HOUR - 1, HOUR, HOUR + 1, HOUR, HOUR},
+                new byte[][]{sketch(1), sketch(2), sketch(3), sketch(4), sketch(5)}, 5);
+        List<byte[]> visited = new ArrayList<>();
+
+        repository.forEachSketch(1L, ReachEvent.IMPRESSION, HOUR, HOUR + 1, visited::add);
+
+        assertEquals(1, visited.size());
+        assertEquals(1, HyperLogLog.fromBytes(visited.get(0)).estimate());
+    }
+
+    private long estimate(PromotionReachId id) {
+        return HyperLogLog.fromBytes(repository.findById(id).orElseThrow().getSketch()).estimate();
+    }
+
+    private static byte[] sketch(long... personIds) {
+        HyperLogLog sketch = new HyperLogLog(14);
+
+        for (long personId : personIds) {
+            sketch.add(personId);
+        }
+
+        return sketch.toBytes();
+    }
+}
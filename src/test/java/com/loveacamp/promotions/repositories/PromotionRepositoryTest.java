@@ -0,0 +1,71 @@
+package com.loveacamp.promotions.repositories;
+
+import com.loveacamp.promotions.entities.Promotion;
+import com.loveacamp.promotions.enums.DiscountType;
+import com.loveacamp.promotions.enums.UserLevel;
+import com.loveacamp.promotions.repositories.PromotionQuotaRepository.RedemptionChunk;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromotionRepositoryTest extends AbstractRepository {
+    private static final DateTime NOW = new DateTime(2026, 10, 1, 12, 0, DateTimeZone.UTC);
+
+    @Autowired
+    private PromotionRepository repository;
+
+    @Test
+    @DisplayName("findNotEndedAt: somente promoções não encerradas, com produtos e níveis carregados")
+    public void givenPromotionsWhenFindNotEndedAtThenPromotionsWithCollections() {
+        repository.save(createEntity("Encerrada", NOW.minusDays(2), NOW.minusDays(1), Set.of(1L), Set.of()));
+        repository.save(createEntity("Vigente", NOW.minusDays(1), NOW.plusDays(1), Set.of(1L, 2L), Set.of(UserLevel.USER)));
+        repository.save(createEntity("Futura", NOW.plusDays(1), NOW.plusDays(2), Set.of(), Set.of(UserLevel.ADMIN, UserLevel.USER)));
+
+        List<Promotion> result = repository.findNotEndedAt(NOW);
+
+        assertEquals(2, result.size());
+        Promotion current = result.stream().filter(promotion -> promotion.getName().equals("Vigente")).findFirst().orElseThrow();
+        assertEquals(Set.of(1L, 2L), Set.copyOf(current.getProductIds()));
+        assertEquals(Set.of(UserLevel.USER), Set.copyOf(current.getLevels()));
+        assertEquals(NOW.minusDays(1).getMillis(), current.getStartsAt().getMillis());
+        assertEquals(0, new BigDecimal("10.00").compareTo(current.getValue()));
+    }
+
+    @Test
+    @DisplayName("claimRedemptions: lotes limitados por MAX_REDEMPTIONS, só para promoções vigentes, e devolução pelo flush")
+    public void givenCappedPromotionWhenClaimRedemptionsThenNeverAboveMax() {
+        Promotion capped = repository.save(createEntity("Limitada", NOW.minusDays(1), NOW.plusDays(1), Set.of(), Set.of()).setMaxRedemptions(250L).setMaxRedemptionsPerPerson(3));
+        Promotion future = repository.save(createEntity("Futura", NOW.plusDays(1), NOW.plusDays(2), Set.of(), Set.of()));
+
+        RedemptionChunk first = repository.claimRedemptions(capped.getId(), 100, NOW);
+        assertEquals(100, first.granted());
+        assertEquals(3, first.maxPerPerson());
+        assertEquals(100, repository.claimRedemptions(capped.getId(), 100, NOW).granted());
+        assertEquals(50, repository.claimRedemptions(capped.getId(), 100, NOW).granted());
+        assertEquals(0, repository.claimRedemptions(capped.getId(), 100, NOW).granted());
+        assertEquals(0, repository.claimRedemptions(future.getId(), 100, NOW).granted());
+        assertEquals(NOW.plusDays(2).getMillis(), repository.claimRedemptions(future.getId(), 100, NOW.plusDays(1)).endsAt().getMillis());
+        assertNull(repository.claimRedemptions(future.getId(), 100, NOW.plusDays(1)).maxPerPerson());
+
+        repository.flushRedemptions(new long[]{capped.getId()}, new long[]{230}, new long[]{20}, 1);
+
+        assertEquals(20, repository.claimRedemptions(capped.getId(), 100, NOW).granted());
+        Promotion reloaded = repository.findById(capped.getId()).orElseThrow();
+        assertEquals(230, reloaded.getRedeemed());
+        assertEquals(250, reloaded.getRedemptionsAllocated());
+    }
+
+    private Promotion createEntity(String name, DateTime startsAt, DateTime endsAt, Set<Long> productIds, Set<UserLevel> levels) {
+        return new Promotion(null, name, DiscountType.PERCENTAGE, BigDecimal.TEN, startsAt, endsAt)
+                .setProductIds(productIds)
+                .setLevels(levels);
+    }
+}
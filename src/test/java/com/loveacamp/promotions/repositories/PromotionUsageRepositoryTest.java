@@ -0,0 +1,61 @@
+package com.loveacamp.promotions.repositories;
+
+import com.loveacamp.promotions.entities.Promotion;
+import com.loveacamp.promotions.entities.PromotionUsageId;
+import com.loveacamp.promotions.enums.DiscountType;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromotionUsageRepositoryTest extends AbstractRepository {
+    private static final DateTime NOW = new DateTime(2026, 10, 1, 12, 0, DateTimeZone.UTC);
+
+    @Autowired
+    private PromotionUsageRepository repository;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    @Test
+    @DisplayName("addUsages: soma aos usos existentes e cria as linhas que faltam no mesmo batch")
+    public void givenExistingAndNewUsagesWhenAddUsagesThenSummed() {
+        Promotion promotion = promotionRepository.save(createPromotion(NOW.plusDays(1)));
+        long id = promotion.getId();
+
+        repository.addUsages(new long[]{id, id}, new long[]{1, 2}, new int[]{1, 2}, 2);
+        repository.addUsages(new long[]{id, id, id}, new long[]{2, 3, 99}, new int[]{1, 1, 1}, 2);
+
+        assertEquals(1, repository.findById(new PromotionUsageId(id, 1L)).orElseThrow().getUses());
+        assertEquals(3, repository.findById(new PromotionUsageId(id, 2L)).orElseThrow().getUses());
+        assertEquals(1, repository.findById(new PromotionUsageId(id, 3L)).orElseThrow().getUses());
+        assertFalse(repository.existsById(new PromotionUsageId(id, 99L)));
+    }
+
+    @Test
+    @DisplayName("forEachUsageNotEndedAt: somente usos de promoções não encerradas")
+    public void givenUsagesWhenForEachUsageNotEndedAtThenOnlyActivePromotions() {
+        long active = promotionRepository.save(createPromotion(NOW.plusDays(1))).getId();
+        long ended = promotionRepository.save(createPromotion(NOW.minusDays(1))).getId();
+        Map<Long, Integer> visited = new HashMap<>();
+        repository.addUsages(new long[]{active, active, ended}, new long[]{1, 2, 1}, new int[]{2, 1, 5}, 3);
+
+        repository.forEachUsageNotEndedAt(NOW, (promotionId, personId, uses) -> {
+            assertEquals(active, promotionId);
+            visited.put(personId, uses);
+        });
+
+        assertEquals(Map.of(1L, 2, 2L, 1), visited);
+    }
+
+    private Promotion createPromotion(DateTime endsAt) {
+        return new Promotion(null, "Promoção", DiscountType.PERCENTAGE, BigDecimal.TEN, NOW.minusDays(2), endsAt);
+    }
+}
@@ -2,9 +2,12 @@ package com.loveacamp.promotions.repositories;
 
 import com.loveacamp.promotions.entities.User;
 import com.loveacamp.promotions.enums.UserLevel;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -44,13 +47,25 @@ class UserRepositoryTest extends AbstractRepository {
     }
 
     @Test
-    @DisplayName("existsByUsernameNotId")
+    @DisplayName("saveAndFlush: username duplicado viola UK_USERS_USERNAME")
+    public void givenUserWithSameUsernameWhenSaveAndFlushThenUniqueViolation() {
+        repository.saveAndFlush(createEntity("Carla Doe", "123", UserLevel.ADMIN));
+
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> repository.saveAndFlush(createEntity("Carla Doe", "456", UserLevel.USER)));
+
+        assertInstanceOf(ConstraintViolationException.class, exception.getCause());
+        assertTrue(((ConstraintViolationException) exception.getCause()).getConstraintName().toUpperCase().contains(User.UK_USERNAME));
+    }
+
+    @Test
+    @DisplayName("existsByUsernameAndIdNot")
     public void givenUserWhenExistsByUsernameNotIdThenProduct() {
         Long id = 1L;
         User user = createEntity("Carla Doe", "123", UserLevel.ADMIN);
         repository.save(user);
 
-        boolean result = repository.existsByUsernameNotId(user.getUsername(), id);
+        boolean result = repository.existsByUsernameAndIdNot(user.getUsername(), id);
 
         assertFalse(result);
     }
@@ -67,6 +82,19 @@ class UserRepositoryTest extends AbstractRepository {
         assertEquals(result.size(), 3);
     }
 
+    @Test
+    @DisplayName("findByIdGreaterThanOrderByIdAsc")
+    public void givenUsersWhenFindByIdGreaterThanThenNextPage() {
+        User first = repository.save(createEntity("John Doe", "123", UserLevel.USER));
+        repository.save(createEntity("Carla Doe", "123", UserLevel.USER));
+        repository.save(createEntity("Paulo Doe", "123", UserLevel.ADMIN));
+
+        List<User> result = repository.findByIdGreaterThanOrderByIdAsc(first.getId(), PageRequest.ofSize(1));
+
+        assertEquals(1, result.size());
+        assertEquals("Carla Doe", result.get(0).getUsername());
+    }
+
     private void assertUser(User user, String username, String password,  UserLevel level) {
         assertEquals((Long) 1L, user.getId());
         assertEquals(username, user.getUsername());
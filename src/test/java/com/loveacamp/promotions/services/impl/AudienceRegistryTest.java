@@ -0,0 +1,73 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.entities.Audience;
+import com.loveacamp.promotions.repositories.AudienceRepository;
+import com.loveacamp.promotions.utils.LongBitmap;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AudienceRegistryTest {
+    private AudienceRegistry audiences;
+
+    private MeterRegistry registry;
+
+    @Mock
+    private AudienceRepository repository;
+
+    @Mock
+    private ChangeVersions versions;
+
+    @BeforeEach
+    public void setup() {
+        this.registry = new SimpleMeterRegistry();
+        this.audiences = new AudienceRegistry(this.repository, this.versions, this.registry, Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("reload: Esperado que os públicos sejam recarregados só quando outra instância os alterou")
+    public void givenVersionChangedElsewhereWhenReloadThenLoaded() {
+        when(this.versions.current(eq(ChangeVersions.AUDIENCES))).thenReturn(2L, 2L, 3L, 5L, 5L);
+        when(this.repository.findAllIds()).thenReturn(List.of(), List.of(1L));
+        when(this.repository.findById(eq(1L))).thenReturn(Optional.of(new Audience(1L, "Público 1", 1, this.bitmap(7).toBytes())));
+
+        this.audiences.load();
+        this.audiences.reload();
+        verify(this.repository, times(1)).findAllIds();
+
+        this.audiences.put(2L, this.bitmap(8), 3L);
+        this.audiences.reload();
+        verify(this.repository, times(1)).findAllIds();
+
+        this.audiences.remove(2L, 5L);
+        this.audiences.reload();
+        verify(this.repository, times(2)).findAllIds();
+        assertThat(this.audiences.get(1L).contains(7L)).isTrue();
+        assertThat(this.audiences.get(2L)).isNull();
+        assertThat(this.registry.get("promotions.audiences.reloads").counter().count()).isEqualTo(1);
+    }
+
+    private LongBitmap bitmap(long... ids) {
+        LongBitmap bitmap = new LongBitmap();
+
+        for (long id : ids) {
+            bitmap.add(id);
+        }
+
+        return bitmap;
+    }
+}
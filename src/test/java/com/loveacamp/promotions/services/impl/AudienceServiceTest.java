@@ -0,0 +1,171 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.dto.requests.AudienceCompositionRequestDto;
+import com.loveacamp.promotions.entities.Audience;
+import com.loveacamp.promotions.exception.BadRequestException;
+import com.loveacamp.promotions.repositories.AudienceRepository;
+import com.loveacamp.promotions.repositories.PromotionRepository;
+import com.loveacamp.promotions.utils.LongBitmap;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AudienceServiceTest {
+    private AudienceService service;
+
+    private AudienceRegistry registry;
+
+    @Mock
+    private AudienceRepository repository;
+
+    @Mock
+    private PromotionRepository promotionRepository;
+
+    @Mock
+    private ChangeVersions versions;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setup() {
+        this.registry = new AudienceRegistry(this.repository, this.versions, new SimpleMeterRegistry(), Duration.ofSeconds(5));
+
+        this.service = new AudienceService(this.repository, this.promotionRepository, this.registry, this.versions,
+                this.transactionManager, 3);
+    }
+
+    @Test
+    @DisplayName("replaceMembers: Esperado que os ids do corpo substituam as pessoas do público, gravadas como bitmap")
+    public void givenIdsWhenReplaceMembersThenBitmapStored() {
+        when(this.repository.findById(eq(1L))).thenReturn(Optional.of(this.createAudience(1L)));
+        when(this.repository.save(any(Audience.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(this.versions.bump(eq(ChangeVersions.AUDIENCES))).thenReturn(1L);
+
+        assertThat(this.service.replaceMembers(1L, this.body("10\r\n20,30\n\n20")))
+                .extracting("id", "members")
+                .containsExactly(1L, 3L);
+
+        verify(this.repository, times(1)).save(argThat(audience -> LongBitmap.fromBytes(audience.getBitmap()).contains(30L)));
+        assertThat(this.registry.get(1L).contains(20L)).isTrue();
+        assertThat(this.registry.get(1L).contains(40L)).isFalse();
+        verify(this.transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    @DisplayName("replaceMembers: Esperado que um id inválido seja recusado com o número da linha")
+    public void givenInvalidIdWhenReplaceMembersThenException() {
+        when(this.repository.findById(eq(1L))).thenReturn(Optional.of(this.createAudience(1L)));
+
+        BadRequestException badRequestException = assertThrows(BadRequestException.class,
+                () -> this.service.replaceMembers(1L, this.body("10\n2x\n")));
+
+        assertThat(badRequestException).hasMessage("Id de pessoa inválido na linha 2.");
+        verify(this.repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("replaceMembers: Esperado que um público acima do limite de pessoas seja recusado")
+    public void givenTooManyIdsWhenReplaceMembersThenException() {
+        when(this.repository.findById(eq(1L))).thenReturn(Optional.of(this.createAudience(1L)));
+
+        BadRequestException badRequestException = assertThrows(BadRequestException.class,
+                () -> this.service.replaceMembers(1L, this.body("1\n2\n3\n4")));
+
+        assertThat(badRequestException).hasMessage("O público deve conter no máximo 3 pessoas.");
+    }
+
+    @Test
+    @DisplayName("compose: Esperado a união dos públicos, intersectada e com as exclusões removidas")
+    public void givenAudiencesWhenComposeThenSetAlgebra() {
+        this.registry.put(1L, this.bitmap(1, 2, 3));
+        this.registry.put(2L, this.bitmap(3, 4, 5));
+        this.registry.put(3L, this.bitmap(2, 3, 4, 9));
+        this.registry.put(4L, this.bitmap(4));
+        when(this.repository.save(any(Audience.class))).thenAnswer(invocation -> invocation.getArgument(0, Audience.class).setId(10L));
+
+        assertThat(this.service.compose(new AudienceCompositionRequestDto()
+                .setName("Composto")
+                .setUnion(List.of(1L, 2L))
+                .setIntersection(List.of(3L))
+                .setExclusion(List.of(4L))))
+                .extracting("id", "members")
+                .containsExactly(10L, 2L);
+
+        assertThat(this.registry.get(10L).contains(2L)).isTrue();
+        assertThat(this.registry.get(10L).contains(3L)).isTrue();
+        assertThat(this.registry.get(10L).contains(4L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("compose: Esperado que um público inexistente seja recusado")
+    public void givenUnknownAudienceWhenComposeThenException() {
+        BadRequestException badRequestException = assertThrows(BadRequestException.class,
+                () -> this.service.compose(new AudienceCompositionRequestDto().setName("Composto").setUnion(List.of(7L))));
+
+        assertThat(badRequestException).hasMessage("Público 7 não encontrado.");
+        verifyNoInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("delete: Esperado que um público usado por promoções não seja removido")
+    public void givenAudienceInUseWhenDeleteThenException() {
+        when(this.repository.findById(eq(1L))).thenReturn(Optional.of(this.createAudience(1L)));
+        when(this.promotionRepository.existsByAudienceId(eq(1L))).thenReturn(true);
+
+        BadRequestException badRequestException = assertThrows(BadRequestException.class, () -> this.service.delete(1L));
+
+        assertThat(badRequestException).hasMessage("O público está em uso por promoções.");
+        verify(this.repository, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("delete: Esperado que o público saia do banco e dos bitmaps, com a versão dos públicos incrementada")
+    public void givenUnusedAudienceWhenDeleteThenRemovedAndVersionBumped() {
+        this.registry.put(1L, this.bitmap(1, 2));
+        when(this.repository.findById(eq(1L))).thenReturn(Optional.of(this.createAudience(1L)));
+        when(this.versions.bump(eq(ChangeVersions.AUDIENCES))).thenReturn(1L);
+
+        assertThat(this.service.delete(1L).getId()).isEqualTo(1L);
+
+        verify(this.repository, times(1)).delete(argThat(audience -> audience.getId() == 1L));
+        verify(this.versions, times(1)).bump(eq(ChangeVersions.AUDIENCES));
+        verify(this.transactionManager, times(1)).commit(any());
+        assertThat(this.registry.get(1L)).isNull();
+    }
+
+    private Audience createAudience(Long id) {
+        return new Audience(id, "Público " + id, 0, new LongBitmap().toBytes());
+    }
+
+    private LongBitmap bitmap(long... ids) {
+        LongBitmap bitmap = new LongBitmap();
+
+        for (long id : ids) {
+            bitmap.add(id);
+        }
+
+        return bitmap;
+    }
+
+    private ByteArrayInputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
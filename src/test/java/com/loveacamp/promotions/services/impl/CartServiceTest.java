@@ -0,0 +1,130 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.dto.requests.CartItemRequestDto;
+import com.loveacamp.promotions.dto.requests.CartRequestDto;
+import com.loveacamp.promotions.entities.Product;
+import com.loveacamp.promotions.enums.ReachEvent;
+import com.loveacamp.promotions.enums.UserLevel;
+import com.loveacamp.promotions.exception.BadRequestException;
+import com.loveacamp.promotions.repositories.PersonRepository;
+import com.loveacamp.promotions.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CartServiceTest {
+    private CartService service;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PersonRepository personRepository;
+
+    @Mock
+    private PromotionEngine engine;
+
+    @Mock
+    private ReachTracker reach;
+
+    @BeforeEach
+    public void setup() {
+        this.service = new CartService(this.productRepository, this.personRepository, this.engine, this.reach, 3);
+    }
+
+    @Test
+    @DisplayName("price: Esperado que ao receber mais itens que o limite, retorne uma exceção")
+    public void givenTooManyItemsWhenPriceThenException() {
+        CartRequestDto cart = this.createCart(new CartItemRequestDto(1L, 1), new CartItemRequestDto(2L, 1),
+                new CartItemRequestDto(3L, 1), new CartItemRequestDto(4L, 1));
+
+        BadRequestException badRequestException = assertThrows(BadRequestException.class, () -> this.service.price(cart));
+
+        assertThat(badRequestException).hasMessage("O carrinho deve conter no máximo 3 itens.");
+        verifyNoInteractions(this.productRepository, this.personRepository, this.engine);
+    }
+
+    @Test
+    @DisplayName("price: Esperado que ao receber uma pessoa inexistente, retorne uma exceção")
+    public void givenNonExistentPersonWhenPriceThenException() {
+        when(this.personRepository.existsById(eq(9L))).thenReturn(false);
+
+        BadRequestException badRequestException = assertThrows(BadRequestException.class,
+                () -> this.service.price(this.createCart(new CartItemRequestDto(1L, 1))));
+
+        assertThat(badRequestException).hasMessage("Pessoa não encontrada.");
+        verifyNoInteractions(this.productRepository, this.engine);
+    }
+
+    @Test
+    @DisplayName("price: Esperado que ao receber um produto inexistente, retorne uma exceção")
+    public void givenNonExistentProductWhenPriceThenException() {
+        when(this.personRepository.existsById(eq(9L))).thenReturn(true);
+        when(this.productRepository.findAllById(eq(List.of(1L, 2L)))).thenReturn(List.of(new Product(1L, "Pizza", BigDecimal.TEN)));
+
+        BadRequestException badRequestException = assertThrows(BadRequestException.class,
+                () -> this.service.price(this.createCart(new CartItemRequestDto(1L, 1), new CartItemRequestDto(2L, 1))));
+
+        assertThat(badRequestException).hasMessage("Produto 2 não encontrado.");
+        verifyNoInteractions(this.engine);
+    }
+
+    @Test
+    @DisplayName("price: Esperado que ao receber um produto sem preço, retorne uma exceção")
+    public void givenProductWithoutPriceWhenPriceThenException() {
+        when(this.personRepository.existsById(eq(9L))).thenReturn(true);
+        when(this.productRepository.findAllById(eq(List.of(1L)))).thenReturn(List.of(new Product(1L, "Pizza")));
+
+        BadRequestException badRequestException = assertThrows(BadRequestException.class,
+                () -> this.service.price(this.createCart(new CartItemRequestDto(1L, 1))));
+
+        assertThat(badRequestException).hasMessage("Produto 1 sem preço cadastrado.");
+        verifyNoInteractions(this.engine);
+    }
+
+    @Test
+    @DisplayName("price: Esperado que os produtos sejam buscados numa única consulta e as linhas avaliadas de uma vez")
+    public void givenCartWhenPriceThenLinesAndTotals() {
+        when(this.personRepository.existsById(eq(9L))).thenReturn(true);
+        when(this.productRepository.findAllById(eq(List.of(1L, 2L)))).thenReturn(List.of(
+                new Product(2L, "Pastel", new BigDecimal("8.00")),
+                new Product(1L, "Pizza", new BigDecimal("40.00"))));
+        when(this.engine.bestForCart(aryEq(new long[]{1L, 2L, 1L}),
+                aryEq(new BigDecimal[]{new BigDecimal("40.00"), new BigDecimal("8.00"), new BigDecimal("40.00")}),
+                eq(UserLevel.USER), eq(9L)))
+                .thenReturn(new Discount[]{new Discount(5L, new BigDecimal("4.00")), null, new Discount(5L, new BigDecimal("4.00"))});
+
+        assertThat(this.service.price(this.createCart(
+                new CartItemRequestDto(1L, 2), new CartItemRequestDto(2L, 3), new CartItemRequestDto(1L, 1))))
+                .hasToString("CartPriceDto({personId:9, items:["
+                        + "CartItemPriceDto({productId:1, quantity:2, unitPrice:40.00, promotionId:5, promotionIds:[5], discount:8.00, total:72.00}), "
+                        + "CartItemPriceDto({productId:2, quantity:3, unitPrice:8.00, promotionId:null, promotionIds:[], discount:0, total:24.00}), "
+                        + "CartItemPriceDto({productId:1, quantity:1, unitPrice:40.00, promotionId:5, promotionIds:[5], discount:4.00, total:36.00})"
+                        + "], subtotal:144.00, discount:12.00, total:132.00})");
+
+        verify(this.productRepository, times(1)).findAllById(eq(List.of(1L, 2L)));
+        verifyNoMoreInteractions(this.productRepository);
+        verify(this.reach, times(1)).record(eq(5L), eq(ReachEvent.IMPRESSION), eq(9L));
+        verifyNoMoreInteractions(this.reach);
+    }
+
+    private CartRequestDto createCart(CartItemRequestDto... items) {
+        return new CartRequestDto()
+                .setPersonId(9L)
+                .setLevel(UserLevel.USER)
+                .setItems(List.of(items));
+    }
+}
@@ -0,0 +1,133 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.repositories.CouponBatchRepository.IssuedHandler;
+import com.loveacamp.promotions.repositories.CouponRepository;
+import com.loveacamp.promotions.utils.CouponCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CouponFilterTest {
+    private final CouponCodec codec = new CouponCodec("segredo");
+
+    private CouponFilter filter;
+
+    private MeterRegistry registry;
+
+    @Mock
+    private CouponRepository repository;
+
+    @BeforeEach
+    public void setup() {
+        this.registry = new SimpleMeterRegistry();
+
+        this.filter = new CouponFilter(this.repository, this.codec, this.registry, 0.01, 1_000, Duration.ofHours(1), Duration.ofHours(1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.filter.stop();
+    }
+
+    @Test
+    @DisplayName("mightExist: Esperado que antes da primeira montagem nenhum código seja recusado")
+    public void givenNotBuiltWhenMightExistThenAccepted() {
+        assertThat(this.filter.mightExist(10L)).isTrue();
+        assertThat(this.registry.get(CouponFilter.FPP_GAUGE).gauge().value()).isEqualTo(1);
+        assertThat(this.registry.get(CouponFilter.MEMORY_GAUGE).gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("rebuild: Esperado que os códigos dos números reservados passem e os outros sejam recusados e contados")
+    public void givenIssuedSerialsWhenRebuildThenUnknownCodesRejected() {
+        doAnswer(issued(Map.of(7L, 3L))).when(this.repository).forEachIssued(any());
+
+        this.filter.rebuild();
+
+        assertThat(this.filter.mightExist(this.codec.encode(7, 0))).isTrue();
+        assertThat(this.filter.mightExist(this.codec.encode(7, 1))).isTrue();
+        assertThat(this.filter.mightExist(this.codec.encode(7, 2))).isTrue();
+        assertThat(this.filter.mightExist(this.codec.encode(7, 3))).isFalse();
+        assertThat(this.registry.get(CouponFilter.REJECTIONS).counter().count()).isEqualTo(1);
+        assertThat(this.registry.get(CouponFilter.MEMORY_GAUGE).gauge().value()).isPositive();
+        assertThat(this.registry.get(CouponFilter.FPP_GAUGE).gauge().value()).isLessThan(0.01);
+    }
+
+    @Test
+    @DisplayName("sync: Esperado que só as faixas reservadas desde a última leitura, em qualquer instância, sejam acrescentadas")
+    public void givenSerialsIssuedElsewhereWhenSyncThenNewRangesAccepted() {
+        doAnswer(issued(Map.of(7L, 2L)))
+                .doAnswer(issued(Map.of(7L, 5L, 8L, 1L)))
+                .when(this.repository).forEachIssued(any());
+        this.filter.rebuild();
+        assertThat(this.filter.mightExist(this.codec.encode(7, 2))).isFalse();
+
+        this.filter.sync();
+
+        assertThat(this.filter.mightExist(this.codec.encode(7, 2))).isTrue();
+        assertThat(this.filter.mightExist(this.codec.encode(7, 4))).isTrue();
+        assertThat(this.filter.mightExist(this.codec.encode(8, 0))).isTrue();
+        assertThat(this.registry.get(CouponFilter.SYNCED).counter().count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("sync: Esperado que antes da primeira montagem nada seja lido, já que ela inclui tudo")
+    public void givenNotBuiltWhenSyncThenNothingRead() {
+        this.filter.sync();
+
+        verifyNoInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("rebuild: Esperado que, se a leitura falhar, o filtro anterior continue valendo e recebendo os cupons gravados")
+    public void givenFailureWhenRebuildThenPreviousKept() {
+        doAnswer(issued(Map.of(7L, 1L)))
+                .doThrow(new IllegalStateException("banco fora"))
+                .when(this.repository).forEachIssued(any());
+
+        this.filter.rebuild();
+
+        assertThrows(IllegalStateException.class, () -> this.filter.rebuild());
+
+        this.filter.add(new long[]{this.codec.encode(7, 1)}, 1);
+
+        assertThat(this.filter.mightExist(this.codec.encode(7, 0))).isTrue();
+        assertThat(this.filter.mightExist(this.codec.encode(7, 1))).isTrue();
+    }
+
+    @Test
+    @DisplayName("rebuild: Esperado que o filtro seja dimensionado para o dobro dos números reservados")
+    public void givenManyCouponsWhenRebuildThenSizedForTwice() {
+        doAnswer(issued(Map.of(7L, 100_000L))).when(this.repository).forEachIssued(any());
+
+        this.filter.rebuild();
+
+        // 200.000 códigos a 1%: 9,6 bits por código.
+        assertThat(this.registry.get(CouponFilter.MEMORY_GAUGE).gauge().value()).isEqualTo(239_632);
+    }
+
+    private static Answer<Void> issued(Map<Long, Long> issued) {
+        return invocation -> {
+            IssuedHandler handler = invocation.getArgument(0);
+            issued.forEach(handler::accept);
+
+            return null;
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.entities.CouponGeneration;
+import com.loveacamp.promotions.enums.CouponGenerationStatus;
+import com.loveacamp.promotions.repositories.CouponGenerationRepository;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CouponGenerationTrackerTest {
+    private static final DateTime NOW = new DateTime(2026, 10, 1, 12, 0);
+
+    private CouponGenerationTracker tracker;
+
+    @Mock
+    private CouponGenerationRepository repository;
+
+    @BeforeEach
+    public void setup() {
+        DateTimeUtils.setCurrentMillisFixed(NOW.getMillis());
+
+        this.tracker = new CouponGenerationTracker(this.repository, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        DateTimeUtils.setCurrentMillisSystem();
+    }
+
+    @Test
+    @DisplayName("heartbeat: Esperado que renove as gerações desta instância e encerre as que ninguém renova")
+    public void givenActiveGenerationWhenHeartbeatThenTouchedAndStalledFailed() {
+        when(this.repository.save(any())).thenAnswer(invocation -> invocation.<CouponGeneration>getArgument(0).setId(7L));
+        this.tracker.create(1L, 0L, 10L);
+
+        this.tracker.heartbeat();
+
+        verify(this.repository).touch(eq(List.of(7L)), eq(NOW));
+        verify(this.repository).failStalled(eq(NOW.minusMinutes(1)), eq(NOW));
+    }
+
+    @Test
+    @DisplayName("heartbeat: Esperado que uma geração encerrada deixe de ser renovada")
+    public void givenFinishedGenerationWhenHeartbeatThenNotTouched() {
+        when(this.repository.save(any())).thenAnswer(invocation -> invocation.<CouponGeneration>getArgument(0).setId(7L));
+        this.tracker.create(1L, 0L, 10L);
+        this.tracker.finish(7L, CouponGenerationStatus.COMPLETED);
+
+        this.tracker.heartbeat();
+
+        verify(this.repository).finish(eq(7L), eq(CouponGenerationStatus.COMPLETED), eq(NOW));
+        verify(this.repository, never()).touch(any(), any());
+        verify(this.repository).failStalled(eq(NOW.minusMinutes(1)), eq(NOW));
+    }
+
+    @Test
+    @DisplayName("advance: Esperado que retorne false quando a geração já não está RUNNING")
+    public void givenFailedGenerationWhenAdvanceThenFalse() {
+        when(this.repository.advance(eq(7L), eq(4L), eq(NOW))).thenReturn(0);
+
+        assertThat(this.tracker.advance(7L, 4L)).isFalse();
+    }
+}
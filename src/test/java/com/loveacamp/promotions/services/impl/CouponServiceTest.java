@@ -0,0 +1,197 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.dto.requests.CouponGenerationRequestDto;
+import com.loveacamp.promotions.entities.Coupon;
+import com.loveacamp.promotions.entities.CouponGeneration;
+import com.loveacamp.promotions.enums.CouponGenerationStatus;
+import com.loveacamp.promotions.exception.BadRequestException;
+import com.loveacamp.promotions.repositories.CouponRepository;
+import com.loveacamp.promotions.repositories.PromotionRepository;
+import com.loveacamp.promotions.utils.CouponCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CouponServiceTest {
+    private final CouponCodec codec = new CouponCodec("segredo");
+
+    private CouponService service;
+
+    private MeterRegistry registry;
+
+    @Mock
+    private PromotionRepository promotionRepository;
+
+    @Mock
+    private CouponRepository repository;
+
+    @Mock
+    private CouponFilter filter;
+
+    @Mock
+    private CouponGenerationTracker generations;
+
+    @BeforeEach
+    public void setup() {
+        this.registry = new SimpleMeterRegistry();
+
+        // Executor síncrono: a geração termina dentro da chamada de generate.
+        this.service = new CouponService(this.promotionRepository, this.repository, this.codec, this.filter, this.generations,
+                Runnable::run, this.registry, 1_000, 4);
+    }
+
+    @Test
+    @DisplayName("generate: Esperado que ao pedir mais cupons que o limite, retorne uma exceção")
+    public void givenQuantityGreaterThanMaxWhenGenerateThenException() {
+        BadRequestException badRequestException = assertThrows(BadRequestException.class,
+                () -> this.service.generate(1L, new CouponGenerationRequestDto(1_001L)));
+
+        assertThat(badRequestException).hasMessage("A geração deve conter no máximo 1000 cupons.");
+        verifyNoInteractions(this.promotionRepository, this.repository);
+    }
+
+    @Test
+    @DisplayName("generate: Esperado que ao receber uma promoção inexistente, retorne uma exceção")
+    public void givenNonexistentPromotionWhenGenerateThenException() {
+        when(this.promotionRepository.existsById(eq(1L))).thenReturn(false);
+
+        BadRequestException badRequestException = assertThrows(BadRequestException.class,
+                () -> this.service.generate(1L, new CouponGenerationRequestDto(10L)));
+
+        assertThat(badRequestException).hasMessage("Promoção não encontrada.");
+        verifyNoInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("generate: Esperado que ao estourar os números de série da promoção, retorne uma exceção")
+    public void givenExhaustedSerialsWhenGenerateThenException() {
+        when(this.promotionRepository.existsById(eq(1L))).thenReturn(true);
+        when(this.repository.reserveSerials(eq(1L), eq(10L), eq(CouponCodec.MAX_FIELD + 1))).thenReturn(-1L);
+
+        BadRequestException badRequestException = assertThrows(BadRequestException.class,
+                () -> this.service.generate(1L, new CouponGenerationRequestDto(10L)));
+
+        assertThat(badRequestException).hasMessage("A promoção atingiu o limite de 1073741824 cupons.");
+        verify(this.repository, never()).insertBatch(anyLong(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("generate: Esperado que os códigos da faixa reservada sejam inseridos em batches de tamanho fixo, reaproveitando o mesmo array")
+    public void givenQuantityWhenGenerateThenBatchesOfReservedRange() {
+        List<Long> inserted = new ArrayList<>();
+        Set<long[]> arrays = new HashSet<>();
+        when(this.promotionRepository.existsById(eq(1L))).thenReturn(true);
+        when(this.repository.reserveSerials(eq(1L), eq(10L), anyLong())).thenReturn(100L);
+        when(this.generations.create(eq(1L), eq(100L), eq(10L))).thenReturn(generation(1L, 100L, 10L));
+        when(this.generations.advance(eq(1L), anyLong())).thenReturn(true);
+        doAnswer(invocation -> {
+            long[] codes = invocation.getArgument(1);
+            int count = invocation.getArgument(2);
+            arrays.add(codes);
+            for (int i = 0; i < count; i++) {
+                inserted.add(codes[i]);
+            }
+            return null;
+        }).when(this.repository).insertBatch(eq(1L), any(), anyInt());
+
+        assertThat(this.service.generate(1L, new CouponGenerationRequestDto(10L)).getQuantity()).isEqualTo(10L);
+
+        verify(this.repository, times(2)).insertBatch(eq(1L), any(), eq(4));
+        verify(this.repository, times(1)).insertBatch(eq(1L), any(), eq(2));
+        verify(this.filter, times(2)).add(any(), eq(4));
+        verify(this.filter, times(1)).add(any(), eq(2));
+        assertThat(arrays).hasSize(1);
+        assertThat(inserted).containsExactly(
+                this.codec.encode(1, 100), this.codec.encode(1, 101), this.codec.encode(1, 102), this.codec.encode(1, 103),
+                this.codec.encode(1, 104), this.codec.encode(1, 105), this.codec.encode(1, 106), this.codec.encode(1, 107),
+                this.codec.encode(1, 108), this.codec.encode(1, 109));
+        verify(this.generations).advance(eq(1L), eq(4L));
+        verify(this.generations).advance(eq(1L), eq(8L));
+        verify(this.generations).advance(eq(1L), eq(10L));
+        verify(this.generations).finish(eq(1L), eq(CouponGenerationStatus.COMPLETED));
+        assertThat(this.registry.get("promotions.coupons.generated").counter().count()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("generate: Esperado que uma falha no banco encerre a geração como FAILED com o progresso já gravado")
+    public void givenInsertFailureWhenGenerateThenFailed() {
+        when(this.promotionRepository.existsById(eq(1L))).thenReturn(true);
+        when(this.repository.reserveSerials(eq(1L), eq(10L), anyLong())).thenReturn(0L);
+        when(this.generations.create(eq(1L), eq(0L), eq(10L))).thenReturn(generation(1L, 0L, 10L));
+        when(this.generations.advance(eq(1L), anyLong())).thenReturn(true);
+        doNothing().doThrow(new IllegalStateException("banco fora")).when(this.repository).insertBatch(eq(1L), any(), anyInt());
+
+        this.service.generate(1L, new CouponGenerationRequestDto(10L));
+
+        verify(this.generations).advance(eq(1L), eq(4L));
+        verify(this.generations).finish(eq(1L), eq(CouponGenerationStatus.FAILED));
+        verify(this.filter, times(1)).add(any(), eq(4));
+    }
+
+    @Test
+    @DisplayName("generate: Esperado que a geração pare quando já foi encerrada como FAILED por falta de renovação")
+    public void givenStalledGenerationWhenAdvanceThenStops() {
+        when(this.promotionRepository.existsById(eq(1L))).thenReturn(true);
+        when(this.repository.reserveSerials(eq(1L), eq(10L), anyLong())).thenReturn(0L);
+        when(this.generations.create(eq(1L), eq(0L), eq(10L))).thenReturn(generation(1L, 0L, 10L));
+        when(this.generations.advance(eq(1L), eq(4L))).thenReturn(false);
+
+        this.service.generate(1L, new CouponGenerationRequestDto(10L));
+
+        verify(this.repository, times(1)).insertBatch(eq(1L), any(), anyInt());
+        verify(this.generations).finish(eq(1L), eq(CouponGenerationStatus.FAILED));
+    }
+
+    @Test
+    @DisplayName("findGeneration: Esperado que o progresso gravado da geração seja devolvido")
+    public void givenGenerationWhenFindThenProgress() {
+        when(this.generations.find(eq(1L))).thenReturn(Optional.of(generation(1L, 0L, 10L)
+                .setGenerated(4L)
+                .setStatus(CouponGenerationStatus.FAILED)));
+
+        assertThat(this.service.findGeneration(1L, 1L)).extracting("id", "promotionId", "generated", "status")
+                .containsExactly(1L, 1L, 4L, CouponGenerationStatus.FAILED);
+    }
+
+    @Test
+    @DisplayName("findGeneration: Esperado que uma geração de outra promoção não seja encontrada")
+    public void givenGenerationOfAnotherPromotionWhenFindThenException() {
+        when(this.generations.find(eq(1L))).thenReturn(Optional.of(generation(1L, 0L, 1L)));
+
+        BadRequestException badRequestException = assertThrows(BadRequestException.class, () -> this.service.findGeneration(2L, 1L));
+
+        assertThat(badRequestException).hasMessage("Geração de cupons não encontrada.");
+    }
+
+    @Test
+    @DisplayName("findAll: Esperado que os códigos sejam devolvidos formatados, com cursor para a próxima página")
+    public void givenCouponsWhenFindAllThenFormattedCodes() {
+        when(this.repository.findByPromotionIdAndCodeGreaterThanOrderByCodeAsc(eq(1L), eq(-1L), any()))
+                .thenReturn(List.of(new Coupon(0L, 1L), new Coupon(33L, 1L), new Coupon(40L, 1L)));
+
+        assertThat(this.service.findAll(1L, null, 2)).hasToString(
+                "CursorPageDto({items:[000000000000, 000000000011], next:MzM})");
+    }
+
+    private static CouponGeneration generation(long id, long firstSerial, long quantity) {
+        return new CouponGeneration(1L, firstSerial, quantity, DateTime.now()).setId(id);
+    }
+}
@@ -1,10 +1,14 @@
 package com.loveacamp.promotions.services.impl;
 
+import com.loveacamp.promotions.dto.CursorPageDto;
+import com.loveacamp.promotions.dto.MultiGetDto;
 import com.loveacamp.promotions.dto.PersonDto;
 import com.loveacamp.promotions.dto.requests.PersonRequestDto;
 import com.loveacamp.promotions.entities.Person;
 import com.loveacamp.promotions.exception.BadRequestException;
 import com.loveacamp.promotions.repositories.PersonRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
 import org.json.JSONException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,9 +16,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -28,37 +37,40 @@ class PersonServiceTest {
     @Mock
     private PersonRepository repository;
 
+    @Mock
+    private EntityManager entityManager;
+
     PersonRequestDto personRequest;
 
     @BeforeEach
     public void setup() {
         this.personRequest = createPersonRequestDto();
 
-        this.service = new PersonService(this.repository);
+        this.service = new PersonService(this.repository, this.entityManager);
     }
 
     @Test
     @DisplayName("save: Esperado que ao receber uma pessoa existente, retorne uma exceção")
     public void givenExistsPersonWhenSaveThenException() {
-        when(this.repository.findByEmail(eq(this.personRequest.getEmail()))).thenReturn(Optional.of(mock(Person.class)));
+        when(this.repository.saveAndFlush(argThat(this::checkArgs)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new ConstraintViolationException("could not execute statement", new SQLException(), "uk_people_email")));
 
         BadRequestException badRequestException = assertThrows(BadRequestException.class, () -> this.service.save(this.personRequest));
 
         assertThat(badRequestException).hasMessage("Email já esta vinculado a outra conta.");
-        verify(this.repository, times(1)).findByEmail(eq(this.personRequest.getEmail()));
+        verify(this.repository, times(1)).saveAndFlush(argThat(this::checkArgs));
         verifyNoMoreInteractions(this.repository);
     }
 
     @Test
     @DisplayName("save: Esperado que ao receber uma pessoa inexistente, retorne uma pessoa")
     public void givenNotExistsPersonWhenSaveThenPerson() throws JSONException {
-        when(this.repository.findByEmail(eq(this.personRequest.getEmail()))).thenReturn(Optional.empty());
-        when(this.repository.save(argThat(this::checkArgs))).thenReturn(this.createPerson());
+        when(this.repository.saveAndFlush(argThat(this::checkArgs))).thenReturn(this.createPerson());
 
         PersonDto personDto = this.service.save(this.personRequest);
 
-        verify(this.repository, times(1)).findByEmail(eq(this.personRequest.getEmail()));
-        verify(this.repository, times(1)).save(argThat(this::checkArgs));
+        verify(this.repository, times(1)).saveAndFlush(argThat(this::checkArgs));
         verifyNoMoreInteractions(this.repository);
 
         assertThat(personDto).hasToString("PersonDto({id:1, name:John Doe, email:john@email.com})");
@@ -67,14 +79,45 @@ class PersonServiceTest {
     @Test
     @DisplayName("findAll: Esperado que retorne as pessoas existentes")
     public void givenPeopleWhenFindAllThenPeople() {
-        when(this.repository.findAll())
+        when(this.repository.findByIdGreaterThanOrderByIdAsc(eq(0L), eq(PageRequest.ofSize(51))))
+                .thenReturn(List.of(createPerson(1L, "John Doe", "john@email.com"), createPerson(2L, "Joerta Joaquina", "joerta@email.com")));
+
+        CursorPageDto<PersonDto> personDto = this.service.findAll(null, 50);
+
+        verify(this.repository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), eq(PageRequest.ofSize(51)));
+        verifyNoMoreInteractions(this.repository);
+        assertThat(personDto).hasToString("CursorPageDto({items:[PersonDto({id:1, name:John Doe, email:john@email.com}), PersonDto({id:2, name:Joerta Joaquina, email:joerta@email.com})], next:null})");
+    }
+
+    @Test
+    @DisplayName("streamAll: Esperado que entregue cada pessoa ao consumidor e a desanexe do contexto de persistência")
+    public void givenPeopleWhenStreamAllThenConsumeAndDetachEachPerson() {
+        Person john = createPerson(1L, "John Doe", "john@email.com");
+        Person joerta = createPerson(2L, "Joerta Joaquina", "joerta@email.com");
+        List<PersonDto> consumed = new ArrayList<>();
+
+        when(this.repository.streamAll()).thenReturn(Stream.of(john, joerta));
+
+        this.service.streamAll(consumed::add);
+
+        assertThat(consumed).hasToString("[PersonDto({id:1, name:John Doe, email:john@email.com}), PersonDto({id:2, name:Joerta Joaquina, email:joerta@email.com})]");
+        verify(this.repository, times(1)).streamAll();
+        verify(this.entityManager, times(1)).detach(eq(john));
+        verify(this.entityManager, times(1)).detach(eq(joerta));
+        verifyNoMoreInteractions(this.repository, this.entityManager);
+    }
+
+    @Test
+    @DisplayName("findAllById: Esperado que retorne as pessoas na ordem pedida e os ids inexistentes")
+    public void givenIdsWhenFindAllByIdThenPeopleInRequestOrderAndMissingIds() {
+        when(this.repository.findAllById(eq(List.of(2L, 1L, 3L))))
                 .thenReturn(List.of(createPerson(1L, "John Doe", "john@email.com"), createPerson(2L, "Joerta Joaquina", "joerta@email.com")));
 
-        List<PersonDto> personDto = this.service.findAll();
+        MultiGetDto<PersonDto> peopleDto = this.service.findAllById(List.of(2L, 1L, 3L));
 
-        verify(this.repository, times(1)).findAll();
+        verify(this.repository, times(1)).findAllById(eq(List.of(2L, 1L, 3L)));
         verifyNoMoreInteractions(this.repository);
-        assertThat(personDto).hasToString("[PersonDto({id:1, name:John Doe, email:john@email.com}), PersonDto({id:2, name:Joerta Joaquina, email:joerta@email.com})]");
+        assertThat(peopleDto).hasToString("MultiGetDto({items:[PersonDto({id:2, name:Joerta Joaquina, email:joerta@email.com}), PersonDto({id:1, name:John Doe, email:john@email.com})], missing:[3]})");
     }
 
     @Test
@@ -129,14 +172,14 @@ class PersonServiceTest {
 
         when(this.repository.findById(eq(id)))
                 .thenReturn(Optional.of(createPerson()));
-        when(this.repository.existsByEmailNotId(eq(this.personRequest.getEmail()), eq(id)))
+        when(this.repository.existsByEmailAndIdNot(eq(this.personRequest.getEmail()), eq(id)))
                 .thenReturn(true);
 
         BadRequestException badRequestException = assertThrows(BadRequestException.class, () -> this.service.update(id, this.personRequest));
 
         assertThat(badRequestException).hasMessage("Email já esta vinculado a outra conta.");
         verify(this.repository, times(1)).findById(eq(id));
-        verify(this.repository, times(1)).existsByEmailNotId(eq(this.personRequest.getEmail()), eq(id));
+        verify(this.repository, times(1)).existsByEmailAndIdNot(eq(this.personRequest.getEmail()), eq(id));
         verifyNoMoreInteractions(this.repository);
     }
 
@@ -147,7 +190,7 @@ class PersonServiceTest {
 
         when(this.repository.findById(eq(person.getId())))
                 .thenReturn(Optional.of(person));
-        when(this.repository.existsByEmailNotId(eq(this.personRequest.getEmail()), eq(person.getId())))
+        when(this.repository.existsByEmailAndIdNot(eq(this.personRequest.getEmail()), eq(person.getId())))
                 .thenReturn(false);
         when(this.repository.save(argThat(this::checkArgs)))
                 .thenReturn(person);
@@ -156,7 +199,7 @@ class PersonServiceTest {
 
         assertThat(personDto).hasToString("PersonDto({id:1, name:John Doe, email:john@email.com})");
         verify(this.repository, times(1)).findById(eq(person.getId()));
-        verify(this.repository, times(1)).existsByEmailNotId(eq(this.personRequest.getEmail()), eq(person.getId()));
+        verify(this.repository, times(1)).existsByEmailAndIdNot(eq(this.personRequest.getEmail()), eq(person.getId()));
         verify(this.repository, times(1)).save(argThat(this::checkArgs));
         verifyNoMoreInteractions(this.repository);
     }
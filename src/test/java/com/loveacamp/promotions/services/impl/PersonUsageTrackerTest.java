@@ -0,0 +1,148 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.repositories.PromotionUsageBatchRepository.UsageHandler;
+import com.loveacamp.promotions.repositories.PromotionUsageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PersonUsageTrackerTest {
+    private PersonUsageTracker tracker;
+
+    private MeterRegistry registry;
+
+    @Mock
+    private PromotionUsageRepository repository;
+
+    @BeforeEach
+    public void setup() {
+        this.registry = new SimpleMeterRegistry();
+
+        this.tracker = new PersonUsageTracker(this.repository, this.registry, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.tracker.stop();
+    }
+
+    @Test
+    @DisplayName("tryUse: Esperado que threads concorrentes da mesma pessoa nunca passem do limite nem repitam vaga")
+    public void givenConcurrentUsesWhenTryUseThenNeverAboveLimit() throws InterruptedException {
+        Set<Integer> slots = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 100; j++) {
+                    int slot = this.tracker.tryUse(1L, 42L, 5);
+
+                    if (slot != PersonUsageTracker.LIMIT_REACHED) {
+                        assertThat(slots.add(slot)).isTrue();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(slots).containsExactlyInAnyOrder(0, 1, 2, 3, 4);
+        assertThat(this.tracker.uses(1L, 42L)).isEqualTo(5);
+        assertThat(this.tracker.tryUse(1L, 43L, 5)).isZero();
+    }
+
+    @Test
+    @DisplayName("start: Esperado que os usos gravados contem para o limite depois de um restart")
+    public void givenStoredUsagesWhenStartThenLimitApplied() {
+        doAnswer(invocation -> {
+            UsageHandler handler = invocation.getArgument(1);
+            handler.accept(1L, 42L, 2);
+            return null;
+        }).when(this.repository).forEachUsageNotEndedAt(any(), any());
+
+        this.tracker.start();
+
+        assertThat(this.tracker.tryUse(1L, 42L, 2)).isEqualTo(PersonUsageTracker.LIMIT_REACHED);
+        assertThat(this.tracker.tryUse(1L, 42L, 3)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("flush: Esperado que só os usos alterados desde o último flush sejam gravados, já descontados os desfeitos")
+    public void givenUsesWhenFlushThenOnlyDeltas() {
+        this.tracker.tryUse(1L, 42L, 5);
+        this.tracker.tryUse(1L, 42L, 5);
+        this.tracker.tryUse(1L, 43L, 5);
+        this.tracker.undo(1L, 43L);
+
+        this.tracker.flush();
+        verify(this.repository, times(1)).addUsages(aryEq(new long[]{1L}), aryEq(new long[]{42L}), aryEq(new int[]{2}), eq(1));
+
+        this.tracker.flush();
+        verify(this.repository, times(1)).addUsages(any(), any(), any(), anyInt());
+        assertThat(this.tracker.uses(1L, 42L)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("flush: Esperado que um batch que falha seja refeito no flush seguinte")
+    public void givenFailingFlushWhenFlushAgainThenSameDeltas() {
+        this.tracker.tryUse(1L, 42L, 5);
+        doThrow(new IllegalStateException("banco fora")).doNothing()
+                .when(this.repository).addUsages(any(), any(), any(), anyInt());
+
+        assertThrows(IllegalStateException.class, () -> this.tracker.flush());
+        this.tracker.flush();
+
+        verify(this.repository, times(2)).addUsages(aryEq(new long[]{1L}), aryEq(new long[]{42L}), aryEq(new int[]{1}), eq(1));
+    }
+
+    @Test
+    @DisplayName("raise: Esperado que os usos vistos no banco contem para o limite sem serem gravados de novo")
+    public void givenUsesFromOtherInstancesWhenRaiseThenCountedButNotFlushed() {
+        this.tracker.tryUse(1L, 42L, 5);
+        this.tracker.raise(1L, 42L, 3);
+        this.tracker.raise(1L, 42L, 2);
+
+        assertThat(this.tracker.uses(1L, 42L)).isEqualTo(3);
+        assertThat(this.tracker.tryUse(1L, 42L, 4)).isEqualTo(3);
+        assertThat(this.tracker.tryUse(1L, 42L, 4)).isEqualTo(PersonUsageTracker.LIMIT_REACHED);
+
+        this.tracker.flush();
+        verify(this.repository, times(1)).addUsages(aryEq(new long[]{1L}), aryEq(new long[]{42L}), aryEq(new int[]{2}), eq(1));
+    }
+
+    @Test
+    @DisplayName("remove: Esperado que a contagem e o gauge de memória da promoção sejam descartados")
+    public void givenTrackedPromotionWhenRemoveThenUsagesAndGaugeDropped() {
+        this.tracker.tryUse(1L, 42L, 5);
+        assertThat(this.registry.get(PersonUsageTracker.MEMORY_GAUGE).tag("promotion", "1").gauge().value()).isPositive();
+
+        this.tracker.remove(1L);
+
+        assertThat(this.tracker.uses(1L, 42L)).isZero();
+        assertThat(this.registry.find(PersonUsageTracker.MEMORY_GAUGE).gauges()).isEmpty();
+        this.tracker.flush();
+        verify(this.repository, never()).addUsages(any(), any(), any(), anyInt());
+    }
+}
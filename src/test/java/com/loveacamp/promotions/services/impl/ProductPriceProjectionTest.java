@@ -0,0 +1,155 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.entities.Product;
+import com.loveacamp.promotions.entities.Promotion;
+import com.loveacamp.promotions.enums.DiscountType;
+import com.loveacamp.promotions.events.ProductPricesStaleEvent;
+import com.loveacamp.promotions.repositories.AudienceRepository;
+import com.loveacamp.promotions.repositories.ProductPriceRepository;
+import com.loveacamp.promotions.repositories.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductPriceProjectionTest {
+    private static final DateTime NOW = new DateTime(2026, 10, 1, 12, 0);
+
+    private ProductPriceProjection projection;
+
+    private PromotionEngine engine;
+
+    private MeterRegistry registry;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductPriceRepository repository;
+
+    @Mock
+    private AudienceRepository audienceRepository;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    @Mock
+    private ChangeVersions versions;
+
+    @BeforeEach
+    public void setup() {
+        DateTimeUtils.setCurrentMillisFixed(NOW.getMillis());
+
+        this.registry = new SimpleMeterRegistry();
+        this.engine = new PromotionEngine(this.productRepository,
+                new AudienceRegistry(this.audienceRepository, this.versions, this.registry, Duration.ofSeconds(5)), this.publisher,
+                new CartDiscountCache(100, Duration.ofMinutes(1)), this.registry);
+        this.engine.load(List.of(new Promotion(1L, "Promoção", DiscountType.PERCENTAGE, BigDecimal.TEN, NOW.minusDays(1), NOW.plusDays(1))
+                .setProductIds(Set.of(1L))));
+        this.projection = new ProductPriceProjection(this.productRepository, this.repository, this.engine, this.registry, 2, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        DateTimeUtils.setCurrentMillisSystem();
+    }
+
+    @Test
+    @DisplayName("refresh: Esperado que a primeira atualização recomponha a tabela inteira, em páginas, e remova as linhas que sobraram")
+    public void givenFirstRefreshWhenRefreshThenAllProductsByPage() {
+        when(this.productRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), eq(PageRequest.ofSize(2))))
+                .thenReturn(List.of(new Product(1L, "Pizza", new BigDecimal("20.00")), new Product(2L, "Pastel", new BigDecimal("8.00"))));
+        when(this.productRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), eq(PageRequest.ofSize(2))))
+                .thenReturn(List.of(new Product(3L, "Sem preço")));
+
+        this.projection.refresh();
+
+        verify(this.repository).upsert(aryEq(new long[]{1, 2}), aryEq(new BigDecimal[]{new BigDecimal("20.00"), new BigDecimal("8.00")}),
+                aryEq(new Long[]{1L, null}), aryEq(new BigDecimal[]{new BigDecimal("2.00"), new BigDecimal("0.00")}), eq(NOW), eq(2));
+        verify(this.repository).deleteUnpriced();
+        verifyNoMoreInteractions(this.repository);
+        assertThat(this.registry.get("promotions.prices.refreshed").counter().count()).isEqualTo(2);
+
+        this.projection.refresh();
+        verifyNoMoreInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("refresh: Esperado que depois da recomposição só os produtos marcados sejam regravados, e os removidos apagados")
+    public void givenStaleProductsWhenRefreshThenOnlyThoseProducts() {
+        this.projection.refresh();
+        clearInvocations(this.repository);
+
+        this.projection.pricesStale(new ProductPricesStaleEvent(new long[]{1, 4}));
+        assertThat(this.registry.get(ProductPriceProjection.PENDING_GAUGE).gauge().value()).isEqualTo(2);
+        when(this.productRepository.findAllById(argThat(ids -> Set.copyOf((List<Long>) ids).equals(Set.of(1L, 4L)))))
+                .thenReturn(List.of(new Product(1L, "Pizza", new BigDecimal("30.00"))));
+
+        this.projection.refresh();
+
+        verify(this.repository).upsert(aryEq(new long[]{1}), aryEq(new BigDecimal[]{new BigDecimal("30.00")}),
+                aryEq(new Long[]{1L}), aryEq(new BigDecimal[]{new BigDecimal("3.00")}), eq(NOW), eq(1));
+        verify(this.repository).delete(aryEq(new long[]{4, 0}), eq(1));
+        verifyNoMoreInteractions(this.repository);
+        assertThat(this.registry.get(ProductPriceProjection.PENDING_GAUGE).gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("refresh: Esperado que uma promoção ativada marque os produtos do escopo, sem recompor a tabela")
+    public void givenActivatedPromotionWhenRefreshThenScopeRefreshed() {
+        this.projection.refresh();
+        clearInvocations(this.repository);
+        doAnswer(invocation -> {
+            this.projection.pricesStale(invocation.getArgument(0));
+            return null;
+        }).when(this.publisher).publishEvent(any(ProductPricesStaleEvent.class));
+        when(this.productRepository.findAllById(eq(List.of(5L)))).thenReturn(List.of(new Product(5L, "Coxinha", new BigDecimal("5.00"))));
+
+        this.engine.activate(new Promotion(2L, "Promoção", DiscountType.FIXED, BigDecimal.ONE, NOW.minusDays(1), NOW.plusDays(1))
+                .setProductIds(Set.of(5L)));
+        this.projection.refresh();
+
+        verify(this.repository).upsert(aryEq(new long[]{5}), any(), aryEq(new Long[]{2L}), any(), eq(NOW), eq(1));
+        verifyNoMoreInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("refresh: Esperado que os produtos de um lote que falhou continuem marcados para a próxima atualização")
+    public void givenUpsertFailureWhenRefreshThenProductsStayPending() {
+        this.projection.refresh();
+
+        this.projection.pricesStale(new ProductPricesStaleEvent(new long[]{1}));
+        when(this.productRepository.findAllById(eq(List.of(1L)))).thenReturn(List.of(new Product(1L, "Pizza", new BigDecimal("30.00"))));
+        doThrow(new DataAccessResourceFailureException("Banco fora")).doNothing()
+                .when(this.repository).upsert(any(), any(), any(), any(), any(), anyInt());
+
+        assertThrows(DataAccessResourceFailureException.class, () -> this.projection.refresh());
+        assertThat(this.registry.get(ProductPriceProjection.PENDING_GAUGE).gauge().value()).isEqualTo(1);
+
+        this.projection.refresh();
+        verify(this.repository, times(2)).upsert(aryEq(new long[]{1}), any(), any(), any(), any(), eq(1));
+        assertThat(this.registry.get(ProductPriceProjection.PENDING_GAUGE).gauge().value()).isZero();
+    }
+}
@@ -1,10 +1,18 @@
 package com.loveacamp.promotions.services.impl;
 
+import com.loveacamp.promotions.dto.CursorPageDto;
+import com.loveacamp.promotions.dto.MultiGetDto;
+import com.loveacamp.promotions.dto.ProductBatchItemDto;
 import com.loveacamp.promotions.dto.ProductDto;
+import com.loveacamp.promotions.dto.ProductPriceDto;
 import com.loveacamp.promotions.dto.requests.ProductRequestDto;
 import com.loveacamp.promotions.entities.Product;
+import com.loveacamp.promotions.entities.ProductPrice;
 import com.loveacamp.promotions.exception.BadRequestException;
+import com.loveacamp.promotions.repositories.ProductPriceRepository;
 import com.loveacamp.promotions.repositories.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
 import org.json.JSONException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,9 +20,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,42 +47,105 @@ class ProductServiceTest {
     @Mock
     private ProductRepository repository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PromotionEngine engine;
+
+    @Mock
+    private ProductPriceRepository priceRepository;
+
+    private ProductCache cache;
+
     ProductRequestDto productRequest;
 
     @BeforeEach
     public void setup() {
         this.productRequest = createProductRequestDto();
 
-        this.service = new ProductService(this.repository);
+        this.cache = new ProductCache(100, Duration.ofMinutes(5), Duration.ofSeconds(10));
+
+        this.service = new ProductService(this.repository, this.entityManager, this.cache, this.engine, this.priceRepository, 3);
     }
 
     @Test
     @DisplayName("save: Esperado que ao receber um produto existente, retorne uma exceção")
     public void givenExistsProductWhenSaveThenException() {
-        when(this.repository.findByName(eq(this.productRequest.getName())))
-                .thenReturn(Optional.of(mock(Product.class)));
+        when(this.repository.saveAndFlush(argThat(this::checkArgs)))
+                .thenThrow(this.uniqueViolation("PUBLIC.UK_PRODUCT_NAME_INDEX_1 ON PUBLIC.PRODUCT(NAME)"));
 
         BadRequestException badRequestException = assertThrows(BadRequestException.class, () -> this.service.save(this.productRequest));
 
         assertThat(badRequestException).hasMessage("Já existe um produto cadastrado com este nome.");
-        verify(this.repository, times(1)).findByName(eq(this.productRequest.getName()));
+        verify(this.repository, times(1)).saveAndFlush(argThat(this::checkArgs));
         verifyNoMoreInteractions(this.repository);
     }
 
+    @Test
+    @DisplayName("save: Esperado que ao violar outra restrição do banco, a exceção original seja propagada")
+    public void givenOtherConstraintViolationWhenSaveThenOriginalException() {
+        DataIntegrityViolationException violation = this.uniqueViolation("PUBLIC.FK_OTHER");
+
+        when(this.repository.saveAndFlush(argThat(this::checkArgs))).thenThrow(violation);
+
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class, () -> this.service.save(this.productRequest));
+
+        assertThat(exception).isSameAs(violation);
+    }
+
     @Test
     @DisplayName("save: Esperado que ao receber um produto inexistente, retorne um produto")
     public void givenNotExistsProductWhenSaveThenProduct() throws JSONException {
-        when(this.repository.findByName(eq(this.productRequest.getName())))
-                .thenReturn(Optional.empty());
-        when(this.repository.save(argThat(this::checkArgs))).thenReturn(this.createProduct());
+        when(this.repository.saveAndFlush(argThat(this::checkArgs))).thenReturn(this.createProduct());
 
         ProductDto productDto = this.service.save(this.productRequest);
 
-        verify(this.repository, times(1)).findByName(eq(this.productRequest.getName()));
-        verify(this.repository, times(1)).save(argThat(this::checkArgs));
+        verify(this.repository, times(1)).saveAndFlush(argThat(this::checkArgs));
         verifyNoMoreInteractions(this.repository);
+        verify(this.engine, times(1)).productsSaved(argThat(products -> products.size() == 1 && products.iterator().next().getId() == 1L));
 
-        assertThat(productDto).hasToString("ProductDto({id:1, name:Pizza de Banana})");
+        assertThat(productDto).hasToString("ProductDto({id:1, name:Pizza de Banana, price:null})");
+    }
+
+    @Test
+    @DisplayName("saveAll: Esperado que insira os nomes livres e rejeite os já existentes ou repetidos no lote")
+    public void givenBatchWithTakenAndRepeatedNamesWhenSaveAllThenPerItemResults() {
+        List<ProductRequestDto> requests = List.of(
+                new ProductRequestDto().setName("Pizza de Banana"),
+                new ProductRequestDto().setName("Pastel de Frango"),
+                new ProductRequestDto().setName("Pizza de Banana"));
+
+        when(this.repository.findNamesIn(eq(Set.of("Pizza de Banana", "Pastel de Frango"))))
+                .thenReturn(Set.of("Pastel de Frango"));
+        when(this.repository.saveAllAndFlush(argThat(products -> checkNames(products, "Pizza de Banana"))))
+                .thenAnswer(invocation -> {
+                    List<Product> products = invocation.getArgument(0);
+                    products.get(0).setId(7L);
+                    return products;
+                });
+
+        List<ProductBatchItemDto> items = this.service.saveAll(requests);
+
+        assertThat(items).hasToString("[ProductBatchItemDto({index:0, product:ProductDto({id:7, name:Pizza de Banana, price:null}), error:null}), "
+                + "ProductBatchItemDto({index:1, product:null, error:Já existe um produto cadastrado com este nome.}), "
+                + "ProductBatchItemDto({index:2, product:null, error:Já existe um produto cadastrado com este nome.})]");
+        verify(this.repository, times(1)).findNamesIn(anyCollection());
+        verify(this.repository, times(1)).saveAllAndFlush(anyIterable());
+        verifyNoMoreInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("saveAll: Esperado que ao receber um lote maior que o limite, retorne uma exceção")
+    public void givenBatchLargerThanMaxWhenSaveAllThenException() {
+        List<ProductRequestDto> requests = IntStream.rangeClosed(1, 4)
+                .mapToObj(i -> new ProductRequestDto().setName("Produto " + i))
+                .collect(Collectors.toList());
+
+        BadRequestException badRequestException = assertThrows(BadRequestException.class, () -> this.service.saveAll(requests));
+
+        assertThat(badRequestException).hasMessage("O lote deve conter no máximo 3 produtos.");
+        verifyNoInteractions(this.repository);
     }
 
     @Test
@@ -71,13 +153,13 @@ class ProductServiceTest {
     public void givenNotExistsProductWhenUpdateThenException() {
         Long id = 1L;
 
-        when(this.repository.findByIdAndName(eq(id), eq(this.productRequest.getName())))
-                .thenReturn(Optional.of(mock(Product.class)));
+        when(this.repository.existsByNameAndIdNot(eq(this.productRequest.getName()), eq(id)))
+                .thenReturn(true);
 
         BadRequestException badRequestException = assertThrows(BadRequestException.class, () -> this.service.update(id, this.productRequest));
 
         assertThat(badRequestException).hasMessage("Já existe um produto cadastrado com este nome.");
-        verify(this.repository, times(1)).findByIdAndName(eq(id), eq(this.productRequest.getName()));
+        verify(this.repository, times(1)).existsByNameAndIdNot(eq(this.productRequest.getName()), eq(id));
         verifyNoMoreInteractions(this.repository);
     }
 
@@ -86,17 +168,17 @@ class ProductServiceTest {
     public void givenExistsProductWhenUpdateThenProduct() {
         Long id = 1L;
 
-        when(this.repository.findByIdAndName(eq(id), eq(this.productRequest.getName())))
-                .thenReturn(Optional.empty());
+        when(this.repository.existsByNameAndIdNot(eq(this.productRequest.getName()), eq(id)))
+                .thenReturn(false);
         when(this.repository.save(argThat(this::checkArgs))).thenReturn(this.createProduct());
 
         ProductDto productDto = this.service.update(id, this.productRequest);
 
-        verify(this.repository, times(1)).findByIdAndName(eq(id), eq(this.productRequest.getName()));
+        verify(this.repository, times(1)).existsByNameAndIdNot(eq(this.productRequest.getName()), eq(id));
         verify(this.repository, times(1)).save(argThat(this::checkArgs));
         verifyNoMoreInteractions(this.repository);
 
-        assertThat(productDto).hasToString("ProductDto({id:1, name:Pizza de Banana})");
+        assertThat(productDto).hasToString("ProductDto({id:1, name:Pizza de Banana, price:null})");
     }
 
     @Test
@@ -127,20 +209,167 @@ class ProductServiceTest {
         verify(this.repository, times(1)).findById(eq(id));
         verifyNoMoreInteractions(this.repository);
 
-        assertThat(productDto).hasToString("ProductDto({id:1, name:Pizza de Banana})");
+        assertThat(productDto).hasToString("ProductDto({id:1, name:Pizza de Banana, price:null})");
+    }
+
+    @Test
+    @DisplayName("findById: Esperado que buscas repetidas por um produto existente sejam servidas pelo cache")
+    public void givenExistsProductWhenFindByIdTwiceThenRepositoryOnce() {
+        Long id = 1L;
+
+        when(this.repository.findById(eq(id)))
+                .thenReturn(Optional.of(this.createProduct()));
+
+        this.service.findById(id);
+        ProductDto productDto = this.service.findById(id);
+
+        verify(this.repository, times(1)).findById(eq(id));
+        verifyNoMoreInteractions(this.repository);
+
+        assertThat(productDto).hasToString("ProductDto({id:1, name:Pizza de Banana, price:null})");
+        assertThat(this.cache.stats().hitCount()).isEqualTo(1);
+        assertThat(this.cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findById: Esperado que buscas repetidas por um produto inexistente sejam servidas pelo cache")
+    public void givenNotExistsProductWhenFindByIdTwiceThenRepositoryOnce() {
+        Long id = 1L;
+
+        when(this.repository.findById(eq(id)))
+                .thenReturn(Optional.empty());
+
+        assertThrows(BadRequestException.class, () -> this.service.findById(id));
+        BadRequestException badRequestException = assertThrows(BadRequestException.class, () -> this.service.findById(id));
+
+        assertThat(badRequestException).hasMessage("Produto não encontrado.");
+        verify(this.repository, times(1)).findById(eq(id));
+        verifyNoMoreInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("findById: Esperado que após atualizar um produto, a próxima busca vá ao banco")
+    public void givenCachedProductWhenUpdateThenFindByIdReloads() {
+        Long id = 1L;
+
+        when(this.repository.findById(eq(id)))
+                .thenReturn(Optional.of(this.createProduct(id, "Pizza de Nordestina")), Optional.of(this.createProduct()));
+        when(this.repository.existsByNameAndIdNot(eq(this.productRequest.getName()), eq(id)))
+                .thenReturn(false);
+        when(this.repository.save(argThat(this::checkArgs))).thenReturn(this.createProduct());
+
+        this.service.findById(id);
+        this.service.update(id, this.productRequest);
+        ProductDto productDto = this.service.findById(id);
+
+        verify(this.repository, times(2)).findById(eq(id));
+        assertThat(productDto).hasToString("ProductDto({id:1, name:Pizza de Banana, price:null})");
+    }
+
+    @Test
+    @DisplayName("findAllById: Esperado que retorne os produtos na ordem pedida e os ids inexistentes")
+    public void givenIdsWhenFindAllByIdThenProductsInRequestOrderAndMissingIds() {
+        when(this.repository.findAllById(eq(List.of(2L, 9L, 1L))))
+                .thenReturn(List.of(createProduct(1L, "Pizza de Nordestina"), createProduct(2L, "Pastel de Frango")));
+
+        MultiGetDto<ProductDto> productsDto = this.service.findAllById(List.of(2L, 9L, 1L));
+
+        verify(this.repository, times(1)).findAllById(eq(List.of(2L, 9L, 1L)));
+        verifyNoMoreInteractions(this.repository);
+        assertThat(productsDto).hasToString("MultiGetDto({items:[ProductDto({id:2, name:Pastel de Frango, price:null}), ProductDto({id:1, name:Pizza de Nordestina, price:null})], missing:[9]})");
+    }
+
+    @Test
+    @DisplayName("findAllById: Esperado que listas grandes de ids sejam consultadas em blocos")
+    public void givenManyIdsWhenFindAllByIdThenChunkedQueries() {
+        List<Long> ids = LongStream.rangeClosed(1, 501).boxed().collect(Collectors.toList());
+
+        when(this.repository.findAllById(anyIterable())).thenReturn(List.of());
+
+        MultiGetDto<ProductDto> productsDto = this.service.findAllById(ids);
+
+        verify(this.repository, times(1)).findAllById(eq(ids.subList(0, 500)));
+        verify(this.repository, times(1)).findAllById(eq(List.of(501L)));
+        verifyNoMoreInteractions(this.repository);
+        assertThat(productsDto.getMissing()).isEqualTo(ids);
     }
 
     @Test
     @DisplayName("findAll: Esperado que retorne os produtos existentes")
     public void givenProductsWhenFindAllThenProducts() {
-        when(this.repository.findAll())
+        when(this.repository.findByIdGreaterThanOrderByIdAsc(eq(0L), eq(PageRequest.ofSize(3))))
                 .thenReturn(List.of(createProduct(1L, "Pizza de Nordestina"), createProduct(2L, "Pizza de Strogonofe de Carne")));
 
-        List<ProductDto> usersDto = this.service.findAll();
+        CursorPageDto<ProductDto> usersDto = this.service.findAll(null, 2);
 
-        verify(this.repository, times(1)).findAll();
+        verify(this.repository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), eq(PageRequest.ofSize(3)));
         verifyNoMoreInteractions(this.repository);
-        assertThat(usersDto).hasToString("[ProductDto({id:1, name:Pizza de Nordestina}), ProductDto({id:2, name:Pizza de Strogonofe de Carne})]");
+        assertThat(usersDto).hasToString("CursorPageDto({items:[ProductDto({id:1, name:Pizza de Nordestina, price:null}), ProductDto({id:2, name:Pizza de Strogonofe de Carne, price:null})], next:null})");
+    }
+
+    @Test
+    @DisplayName("findAll: Esperado que ao existir mais produtos que o limite, retorne o cursor da próxima página")
+    public void givenMoreProductsThanLimitWhenFindAllThenNextCursor() {
+        when(this.repository.findByIdGreaterThanOrderByIdAsc(eq(0L), eq(PageRequest.ofSize(2))))
+                .thenReturn(List.of(createProduct(1L, "Pizza de Nordestina"), createProduct(2L, "Pizza de Strogonofe de Carne")));
+        when(this.repository.findByIdGreaterThanOrderByIdAsc(eq(1L), eq(PageRequest.ofSize(2))))
+                .thenReturn(List.of(createProduct(2L, "Pizza de Strogonofe de Carne")));
+
+        CursorPageDto<ProductDto> firstPage = this.service.findAll(null, 1);
+        CursorPageDto<ProductDto> secondPage = this.service.findAll(firstPage.getNext(), 1);
+
+        assertThat(firstPage).hasToString("CursorPageDto({items:[ProductDto({id:1, name:Pizza de Nordestina, price:null})], next:MQ})");
+        assertThat(secondPage).hasToString("CursorPageDto({items:[ProductDto({id:2, name:Pizza de Strogonofe de Carne, price:null})], next:null})");
+    }
+
+    @Test
+    @DisplayName("findAll: Esperado que ao receber um cursor inválido, retorne uma exceção")
+    public void givenInvalidCursorWhenFindAllThenException() {
+        BadRequestException badRequestException = assertThrows(BadRequestException.class, () -> this.service.findAll("@@@", 10));
+
+        assertThat(badRequestException).hasMessage("Cursor inválido.");
+        verifyNoInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("findAll: Esperado que ao receber um limite acima do máximo, retorne uma exceção")
+    public void givenLimitAboveMaxWhenFindAllThenException() {
+        BadRequestException badRequestException = assertThrows(BadRequestException.class, () -> this.service.findAll(null, 501));
+
+        assertThat(badRequestException).hasMessage("O limite deve estar entre 1 e 500.");
+        verifyNoInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("findPrices: Esperado que a tabela de melhores preços seja paginada pelo id do produto")
+    public void givenPricesWhenFindPricesThenKeysetPage() {
+        when(this.priceRepository.findByProductIdGreaterThanOrderByProductIdAsc(eq(1L), eq(PageRequest.ofSize(2))))
+                .thenReturn(List.of(
+                        new ProductPrice(2L, new BigDecimal("10.00"), 5L, new BigDecimal("1.00"), new BigDecimal("9.00"), null),
+                        new ProductPrice(3L, new BigDecimal("4.00"), null, new BigDecimal("0.00"), new BigDecimal("4.00"), null)));
+
+        CursorPageDto<ProductPriceDto> page = this.service.findPrices("MQ", 1);
+
+        assertThat(page).hasToString("CursorPageDto({items:[ProductPriceDto({productId:2, price:10.00, promotionId:5, discount:1.00, finalPrice:9.00, updatedAt:null})], next:Mg})");
+        verifyNoInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("streamAll: Esperado que entregue cada produto ao consumidor e o desanexe do contexto de persistência")
+    public void givenProductsWhenStreamAllThenConsumeAndDetachEachProduct() {
+        Product pizza = createProduct(1L, "Pizza de Nordestina");
+        Product pastel = createProduct(2L, "Pastel de Frango");
+        List<ProductDto> consumed = new ArrayList<>();
+
+        when(this.repository.streamAll()).thenReturn(Stream.of(pizza, pastel));
+
+        this.service.streamAll(consumed::add);
+
+        assertThat(consumed).hasToString("[ProductDto({id:1, name:Pizza de Nordestina, price:null}), ProductDto({id:2, name:Pastel de Frango, price:null})]");
+        verify(this.repository, times(1)).streamAll();
+        verify(this.entityManager, times(1)).detach(eq(pizza));
+        verify(this.entityManager, times(1)).detach(eq(pastel));
+        verifyNoMoreInteractions(this.repository, this.entityManager);
     }
 
     @Test
@@ -172,8 +401,21 @@ class ProductServiceTest {
         verify(this.repository, times(1)).findById(eq(id));
         verify(this.repository, times(1)).delete(eq(product));
         verifyNoMoreInteractions(this.repository);
+        verify(this.engine, times(1)).productRemoved(eq(id));
+
+        assertThat(productDto).hasToString("ProductDto({id:2, name:Pastel de Frango, price:null})");
+    }
+
+    private DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException(), constraintName));
+    }
+
+    private boolean checkNames(Iterable<Product> products, String... names) {
+        List<String> productNames = new ArrayList<>();
+        products.forEach(product -> productNames.add(product.getName()));
 
-        assertThat(productDto).hasToString("ProductDto({id:2, name:Pastel de Frango})");
+        return productNames.equals(List.of(names));
     }
 
     private boolean checkArgs(Product product) {
@@ -0,0 +1,324 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.entities.Product;
+import com.loveacamp.promotions.entities.Promotion;
+import com.loveacamp.promotions.enums.DiscountType;
+import com.loveacamp.promotions.enums.UserLevel;
+import com.loveacamp.promotions.events.ProductPricesStaleEvent;
+import com.loveacamp.promotions.repositories.AudienceRepository;
+import com.loveacamp.promotions.repositories.ProductRepository;
+import com.loveacamp.promotions.utils.LongBitmap;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeUtils;
+import org.joda.time.DateTimeZone;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PromotionEngineTest {
+    private static final DateTime NOW = new DateTime(2026, 10, 1, 12, 0, DateTimeZone.UTC);
+
+    private PromotionEngine engine;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private AudienceRepository audienceRepository;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    @Mock
+    private ChangeVersions versions;
+
+    private AudienceRegistry audiences;
+
+    private CartDiscountCache carts;
+
+    private MeterRegistry registry;
+
+    @BeforeEach
+    public void setup() {
+        DateTimeUtils.setCurrentMillisFixed(NOW.getMillis());
+
+        this.registry = new SimpleMeterRegistry();
+        this.audiences = new AudienceRegistry(this.audienceRepository, this.versions, this.registry, Duration.ofSeconds(5));
+        this.carts = new CartDiscountCache(100, Duration.ofMinutes(1));
+        this.engine = new PromotionEngine(this.productRepository, this.audiences, this.publisher, this.carts, this.registry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        DateTimeUtils.setCurrentMillisSystem();
+    }
+
+    @Test
+    @DisplayName("best: Esperado que sem promoções carregadas, nenhum desconto seja encontrado")
+    public void givenNoPromotionsWhenBestThenEmpty() {
+        assertThat(this.engine.best(1L, UserLevel.USER, null, new BigDecimal("10.00"))).isEmpty();
+        verifyNoInteractions(this.productRepository);
+    }
+
+    @Test
+    @DisplayName("best: Esperado que seja escolhida a promoção de maior desconto para o preço informado")
+    public void givenPercentageAndFixedPromotionsWhenBestThenHighestDiscount() {
+        this.load(
+                this.createPromotion(1L, DiscountType.PERCENTAGE, "10", Set.of(7L), Set.of()),
+                this.createPromotion(2L, DiscountType.FIXED, "5.00", Set.of(7L), Set.of()));
+
+        assertThat(this.engine.best(7L, UserLevel.USER, null, new BigDecimal("30.00"))).contains(new Discount(2L, new BigDecimal("5.00")));
+        assertThat(this.engine.best(7L, UserLevel.USER, null, new BigDecimal("80.00"))).contains(new Discount(1L, new BigDecimal("8.00")));
+    }
+
+    @Test
+    @DisplayName("best: Esperado que o desconto fixo nunca ultrapasse o preço")
+    public void givenFixedPromotionGreaterThanPriceWhenBestThenDiscountIsPrice() {
+        this.load(this.createPromotion(1L, DiscountType.FIXED, "50.00", Set.of(7L), Set.of()));
+
+        assertThat(this.engine.best(7L, null, null, new BigDecimal("20.00"))).contains(new Discount(1L, new BigDecimal("20.00")));
+    }
+
+    @Test
+    @DisplayName("best: Esperado que promoções sem produtos valham para qualquer produto")
+    public void givenGlobalPromotionWhenBestThenAppliesToAnyProduct() {
+        this.load(
+                this.createPromotion(1L, DiscountType.PERCENTAGE, "15", Set.of(), Set.of()),
+                this.createPromotion(2L, DiscountType.PERCENTAGE, "50", Set.of(7L), Set.of()));
+
+        assertThat(this.engine.best(8L, UserLevel.USER, null, new BigDecimal("100.00"))).contains(new Discount(1L, new BigDecimal("15.00")));
+        assertThat(this.engine.best(7L, UserLevel.USER, null, new BigDecimal("100.00"))).contains(new Discount(2L, new BigDecimal("50.00")));
+    }
+
+    @Test
+    @DisplayName("best: Esperado que promoções restritas a um nível só valham para esse nível")
+    public void givenLevelRestrictedPromotionWhenBestThenOnlyEligibleLevel() {
+        this.load(this.createPromotion(1L, DiscountType.PERCENTAGE, "10", Set.of(7L), Set.of(UserLevel.ADMIN)));
+
+        assertThat(this.engine.best(7L, UserLevel.ADMIN, null, new BigDecimal("10.00"))).contains(new Discount(1L, new BigDecimal("1.00")));
+        assertThat(this.engine.best(7L, UserLevel.USER, null, new BigDecimal("10.00"))).isEmpty();
+        assertThat(this.engine.best(7L, null, null, new BigDecimal("10.00"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("best: Esperado que promoções fora da janela de validade sejam ignoradas")
+    public void givenPromotionOutsideWindowWhenBestThenEmpty() {
+        this.load(this.createPromotion(1L, DiscountType.PERCENTAGE, "10", Set.of(7L), Set.of())
+                .setStartsAt(NOW.plusMinutes(1))
+                .setEndsAt(NOW.plusDays(1)));
+
+        assertThat(this.engine.best(7L, UserLevel.USER, null, new BigDecimal("10.00"))).isEmpty();
+
+        DateTimeUtils.setCurrentMillisFixed(NOW.plusMinutes(1).getMillis());
+        assertThat(this.engine.best(7L, UserLevel.USER, null, new BigDecimal("10.00"))).isPresent();
+
+        DateTimeUtils.setCurrentMillisFixed(NOW.plusDays(1).getMillis());
+        assertThat(this.engine.best(7L, UserLevel.USER, null, new BigDecimal("10.00"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("best: Esperado que em caso de empate seja escolhida a promoção de menor id")
+    public void givenTiedPromotionsWhenBestThenLowestId() {
+        this.load(
+                this.createPromotion(3L, DiscountType.FIXED, "2.00", Set.of(7L), Set.of()),
+                this.createPromotion(2L, DiscountType.PERCENTAGE, "20", Set.of(), Set.of()));
+
+        assertThat(this.engine.best(7L, UserLevel.USER, null, new BigDecimal("10.00"))).contains(new Discount(2L, new BigDecimal("2.00")));
+    }
+
+    @Test
+    @DisplayName("activate: Esperado que a promoção ativada substitua a versão anterior sem recarregar do banco")
+    public void givenActivatedPromotionWhenBestThenNewScopeIsUsed() {
+        this.load(this.createPromotion(1L, DiscountType.PERCENTAGE, "10", Set.of(7L), Set.of()));
+
+        this.engine.activate(this.createPromotion(1L, DiscountType.PERCENTAGE, "20", Set.of(8L), Set.of()));
+        this.engine.activate(this.createPromotion(2L, DiscountType.FIXED, "1.00", Set.of(7L), Set.of()));
+
+        assertThat(this.engine.best(7L, UserLevel.USER, null, new BigDecimal("10.00"))).contains(new Discount(2L, new BigDecimal("1.00")));
+        assertThat(this.engine.best(8L, UserLevel.USER, null, new BigDecimal("10.00"))).contains(new Discount(1L, new BigDecimal("2.00")));
+    }
+
+    @Test
+    @DisplayName("deactivate: Esperado que a promoção desativada deixe de ser aplicada")
+    public void givenRemovedPromotionWhenBestThenEmpty() {
+        this.load(
+                this.createPromotion(1L, DiscountType.PERCENTAGE, "10", Set.of(7L), Set.of()),
+                this.createPromotion(2L, DiscountType.PERCENTAGE, "5", Set.of(), Set.of()));
+
+        this.engine.deactivate(1L);
+        assertThat(this.engine.best(7L, UserLevel.USER, null, new BigDecimal("10.00"))).contains(new Discount(2L, new BigDecimal("0.50")));
+
+        this.engine.deactivate(2L);
+        assertThat(this.engine.best(7L, UserLevel.USER, null, new BigDecimal("10.00"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("productsSaved: Esperado que promoções por prefixo de nome acompanhem produtos criados, renomeados e removidos")
+    public void givenPrefixPromotionWhenProductsChangeThenIndexFollows() {
+        when(this.productRepository.findIdsByNamePrefix(eq("pizza"))).thenReturn(List.of(3L));
+        this.load(this.createPromotion(1L, DiscountType.PERCENTAGE, "10", Set.of(9L), Set.of()).setProductNamePrefix("Pizza"));
+
+        assertThat(this.engine.best(3L, UserLevel.USER, null, new BigDecimal("10.00"))).isPresent();
+
+        this.engine.productsSaved(List.of(new Product(4L, "PIZZA de Banana"), new Product(3L, "Pastel de Frango")));
+        assertThat(this.engine.best(4L, UserLevel.USER, null, new BigDecimal("10.00"))).isPresent();
+        assertThat(this.engine.best(3L, UserLevel.USER, null, new BigDecimal("10.00"))).isEmpty();
+
+        this.engine.productsSaved(List.of(new Product(9L, "Pastel de Queijo")));
+        assertThat(this.engine.best(9L, UserLevel.USER, null, new BigDecimal("10.00"))).isPresent();
+
+        this.engine.productRemoved(4L);
+        assertThat(this.engine.best(4L, UserLevel.USER, null, new BigDecimal("10.00"))).isEmpty();
+        verify(this.productRepository, times(1)).findIdsByNamePrefix(eq("pizza"));
+        verifyNoMoreInteractions(this.productRepository);
+    }
+
+    @Test
+    @DisplayName("best: Esperado que promoções com público só valham para as pessoas do público, já com as pessoas atuais")
+    public void givenAudiencePromotionWhenBestThenOnlyMembers() {
+        LongBitmap members = new LongBitmap();
+        members.add(42L);
+        this.audiences.put(5L, members);
+        this.load(this.createPromotion(1L, DiscountType.PERCENTAGE, "10", Set.of(7L), Set.of()).setAudienceId(5L));
+
+        assertThat(this.engine.best(7L, UserLevel.USER, 42L, new BigDecimal("10.00"))).contains(new Discount(1L, new BigDecimal("1.00")));
+        assertThat(this.engine.best(7L, UserLevel.USER, 43L, new BigDecimal("10.00"))).isEmpty();
+        assertThat(this.engine.best(7L, UserLevel.USER, null, new BigDecimal("10.00"))).isEmpty();
+
+        LongBitmap replaced = new LongBitmap();
+        replaced.add(43L);
+        this.audiences.put(5L, replaced);
+        assertThat(this.engine.best(7L, UserLevel.USER, 43L, new BigDecimal("10.00"))).isPresent();
+
+        this.audiences.remove(5L);
+        assertThat(this.engine.best(7L, UserLevel.USER, 43L, new BigDecimal("10.00"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("activate: Esperado que sejam marcados os produtos do escopo antigo e do novo, ou todos se a promoção não tiver escopo")
+    public void givenPromotionChangesWhenActivateThenStaleProductsPublished() {
+        ArgumentCaptor<ProductPricesStaleEvent> events = ArgumentCaptor.forClass(ProductPricesStaleEvent.class);
+        this.load(this.createPromotion(1L, DiscountType.PERCENTAGE, "10", Set.of(7L), Set.of()));
+
+        this.engine.activate(this.createPromotion(1L, DiscountType.PERCENTAGE, "20", Set.of(8L), Set.of()));
+        this.engine.activate(this.createPromotion(1L, DiscountType.PERCENTAGE, "20", Set.of(), Set.of()));
+        this.engine.deactivate(2L);
+        this.engine.productRemoved(9L);
+
+        verify(this.publisher, times(4)).publishEvent(events.capture());
+        assertThat(events.getAllValues().get(0).isAllProducts()).isTrue();
+        assertThat(events.getAllValues().get(1).productIds()).containsExactly(7L, 8L);
+        assertThat(events.getAllValues().get(2).isAllProducts()).isTrue();
+        assertThat(events.getAllValues().get(3).productIds()).containsExactly(9L);
+    }
+
+    @Test
+    @DisplayName("best: Esperado que promoções de grupos diferentes se acumulem, em ordem de prioridade, e as sem grupo fiquem sozinhas")
+    public void givenStackablePromotionsWhenBestThenBestCombination() {
+        this.load(
+                this.createPromotion(1L, DiscountType.PERCENTAGE, "10", Set.of(7L), Set.of()).setExclusivityGroup("site"),
+                this.createPromotion(2L, DiscountType.FIXED, "5.00", Set.of(7L), Set.of()).setExclusivityGroup("site"),
+                this.createPromotion(3L, DiscountType.FIXED, "10.00", Set.of(), Set.of()).setExclusivityGroup("frete").setPriority(1),
+                this.createPromotion(4L, DiscountType.PERCENTAGE, "15", Set.of(7L), Set.of()));
+
+        // 10,00 fixo primeiro (maior prioridade) e 10% sobre os 90,00 que sobram, contra 15,00 da promoção exclusiva;
+        // a 200,00, 29,00 acumulados perdem para 30,00.
+        assertThat(this.engine.best(7L, UserLevel.USER, null, new BigDecimal("100.00")))
+                .contains(new Discount(3L, new BigDecimal("19.00"), List.of(3L, 1L)));
+        assertThat(this.engine.best(7L, UserLevel.USER, null, new BigDecimal("200.00")))
+                .contains(new Discount(4L, new BigDecimal("30.00")));
+        assertThat(this.engine.best(8L, UserLevel.USER, null, new BigDecimal("100.00")))
+                .contains(new Discount(3L, new BigDecimal("10.00")));
+    }
+
+    @Test
+    @DisplayName("bestForCart: Esperado que o mesmo carrinho seja servido do cache até uma promoção mudar")
+    public void givenSameCartWhenBestForCartThenServedFromCacheUntilIndexChanges() {
+        this.load(this.createPromotion(1L, DiscountType.PERCENTAGE, "10", Set.of(7L), Set.of()));
+
+        Discount[] first = this.engine.bestForCart(new long[]{7L, 8L}, new BigDecimal[]{new BigDecimal("10.00"), new BigDecimal("5.00")}, UserLevel.USER, 1L);
+        Discount[] second = this.engine.bestForCart(new long[]{7L, 8L}, new BigDecimal[]{new BigDecimal("10.00"), new BigDecimal("5.00")}, UserLevel.USER, 1L);
+
+        assertThat(second).isSameAs(first).containsExactly(new Discount(1L, new BigDecimal("1.00")), null);
+        assertThat(this.carts.stats().hitCount()).isEqualTo(1);
+
+        this.engine.activate(this.createPromotion(2L, DiscountType.FIXED, "1.00", Set.of(8L), Set.of()));
+
+        assertThat(this.engine.bestForCart(new long[]{7L, 8L}, new BigDecimal[]{new BigDecimal("10.00"), new BigDecimal("5.00")}, UserLevel.USER, 1L))
+                .containsExactly(new Discount(1L, new BigDecimal("1.00")), new Discount(2L, new BigDecimal("1.00")));
+        assertThat(this.carts.stats().missCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("snapshot: Esperado que cada alteração efetiva publique uma versão nova, com o tamanho do catálogo")
+    public void givenChangesWhenSnapshotThenVersionAdvancesOnlyOnEffectiveChanges() {
+        assertThat(this.engine.snapshot()).isEqualTo(new PromotionEngine.Snapshot(0, 0, 0));
+
+        this.load(
+                this.createPromotion(1L, DiscountType.PERCENTAGE, "10", Set.of(7L), Set.of()),
+                this.createPromotion(2L, DiscountType.FIXED, "1.00", Set.of(), Set.of()));
+        assertThat(this.engine.snapshot()).isEqualTo(new PromotionEngine.Snapshot(1, 2, 1));
+
+        this.engine.deactivate(99L);
+        assertThat(this.engine.snapshot()).isEqualTo(new PromotionEngine.Snapshot(1, 2, 1));
+
+        this.engine.activate(this.createPromotion(3L, DiscountType.FIXED, "2.00", Set.of(8L), Set.of()));
+        assertThat(this.engine.snapshot()).isEqualTo(new PromotionEngine.Snapshot(2, 3, 2));
+
+        this.engine.activate(this.createPromotion(3L, DiscountType.FIXED, "2.00", Set.of(9L), Set.of()));
+        assertThat(this.engine.snapshot()).isEqualTo(new PromotionEngine.Snapshot(3, 3, 2));
+
+        this.engine.deactivate(1L);
+        assertThat(this.engine.snapshot()).isEqualTo(new PromotionEngine.Snapshot(4, 2, 1));
+
+        this.engine.productRemoved(7L);
+        assertThat(this.engine.snapshot()).isEqualTo(new PromotionEngine.Snapshot(4, 2, 1));
+
+        assertThat(this.registry.get(PromotionEngine.VERSION_GAUGE).gauge().value()).isEqualTo(4);
+        assertThat(this.registry.get(PromotionEngine.PROMOTIONS_GAUGE).gauge().value()).isEqualTo(2);
+        assertThat(this.registry.get(PromotionEngine.PRODUCTS_GAUGE).gauge().value()).isEqualTo(1);
+        assertThat(this.registry.get(PromotionEngine.REBUILD_TIMER).timer().count()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("snapshot: Esperado que uma recarga continue a sequência de versões")
+    public void givenReloadWhenSnapshotThenVersionKeepsGrowing() {
+        this.load(this.createPromotion(1L, DiscountType.PERCENTAGE, "10", Set.of(7L), Set.of()));
+        this.engine.activate(this.createPromotion(2L, DiscountType.FIXED, "1.00", Set.of(8L), Set.of()));
+
+        this.load();
+
+        assertThat(this.engine.snapshot()).isEqualTo(new PromotionEngine.Snapshot(3, 0, 0));
+        assertThat(this.engine.best(7L, UserLevel.USER, null, new BigDecimal("10.00"))).isEmpty();
+    }
+
+    private void load(Promotion... promotions) {
+        this.engine.load(List.of(promotions));
+    }
+
+    private Promotion createPromotion(Long id, DiscountType type, String value, Set<Long> productIds, Set<UserLevel> levels) {
+        return new Promotion(id, "Promoção " + id, type, new BigDecimal(value), NOW.minusDays(1), NOW.plusDays(1))
+                .setProductIds(productIds)
+                .setLevels(levels);
+    }
+}
@@ -0,0 +1,183 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.entities.Promotion;
+import com.loveacamp.promotions.enums.DiscountType;
+import com.loveacamp.promotions.events.PromotionActivatedEvent;
+import com.loveacamp.promotions.events.PromotionExpiredEvent;
+import com.loveacamp.promotions.repositories.PromotionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeUtils;
+import org.joda.time.DateTimeZone;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PromotionSchedulerTest {
+    private static final DateTime NOW = new DateTime(2026, 10, 1, 12, 0, DateTimeZone.UTC);
+
+    private PromotionScheduler scheduler;
+
+    private MeterRegistry registry;
+
+    @Mock
+    private PromotionRepository repository;
+
+    @Mock
+    private PromotionEngine engine;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    @Mock
+    private ChangeVersions versions;
+
+    @BeforeEach
+    public void setup() {
+        DateTimeUtils.setCurrentMillisFixed(NOW.getMillis());
+
+        this.registry = new SimpleMeterRegistry();
+        this.scheduler = new PromotionScheduler(this.repository, this.engine, this.publisher, this.versions, this.registry,
+                Duration.ofSeconds(1), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        DateTimeUtils.setCurrentMillisSystem();
+    }
+
+    @Test
+    @DisplayName("rebuild: Esperado que só as promoções vigentes entrem no engine e as futuras sejam ativadas no início")
+    public void givenActiveAndFuturePromotionsWhenRebuildThenOnlyActiveLoaded() {
+        Promotion active = this.createPromotion(1L, NOW.minusDays(1), NOW.plusDays(1));
+        Promotion future = this.createPromotion(2L, NOW.plusMinutes(10), NOW.plusDays(1));
+        when(this.repository.findNotEndedAt(argThat(now -> now.isEqual(NOW)))).thenReturn(List.of(active, future));
+
+        this.scheduler.rebuild();
+
+        verify(this.engine, times(1)).load(eq(List.of(active)));
+        assertThat(this.registry.get("promotions.scheduler.pending").gauge().value()).isEqualTo(2);
+
+        this.advanceTo(NOW.plusMinutes(10).minusMillis(1));
+        verifyNoMoreInteractions(this.engine);
+
+        this.advanceTo(NOW.plusMinutes(10).plusMillis(300));
+        verify(this.engine, times(1)).activate(eq(future));
+        verify(this.publisher, times(1)).publishEvent(argThat((PromotionActivatedEvent event) -> event.promotionId() == 2L
+                && event.scheduledAt().isEqual(NOW.plusMinutes(10)) && event.firedAt().isEqual(NOW.plusMinutes(10).plusMillis(300))));
+        assertThat(this.lag("activation").totalTime(TimeUnit.MILLISECONDS)).isEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("tick: Esperado que no fim da vigência a promoção saia do engine e o evento de expiração seja publicado")
+    public void givenActivePromotionWhenEndsAtThenDeactivated() {
+        this.scheduler.promotionSaved(this.createPromotion(1L, NOW.minusDays(1), NOW.plusHours(3)));
+
+        this.advanceTo(NOW.plusHours(3).plusSeconds(1));
+
+        verify(this.engine, times(1)).deactivate(eq(1L));
+        verify(this.publisher, times(1)).publishEvent(argThat((PromotionExpiredEvent event) -> event.promotionId() == 1L
+                && event.scheduledAt().isEqual(NOW.plusHours(3)) && event.firedAt().isEqual(NOW.plusHours(3).plusSeconds(1))));
+        assertThat(this.lag("expiration").count()).isEqualTo(1);
+        assertThat(this.registry.get("promotions.scheduler.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("promotionSaved: Esperado que a nova versão substitua o agendamento anterior")
+    public void givenRescheduledPromotionWhenOldStartsAtThenNotActivated() {
+        Promotion promotion = this.createPromotion(1L, NOW.plusMinutes(5), NOW.plusDays(1));
+        this.scheduler.promotionSaved(promotion);
+        this.scheduler.promotionSaved(this.createPromotion(1L, NOW.plusMinutes(30), NOW.plusDays(1)));
+
+        this.advanceTo(NOW.plusMinutes(10));
+        verify(this.engine, times(2)).deactivate(eq(1L));
+        verify(this.engine, never()).activate(any());
+
+        this.advanceTo(NOW.plusMinutes(30));
+        verify(this.engine, times(1)).activate(argThat(saved -> saved.getStartsAt().equals(NOW.plusMinutes(30))));
+    }
+
+    @Test
+    @DisplayName("promotionSaved: Esperado que uma promoção já encerrada ou removida saia do engine sem agendamento")
+    public void givenEndedOrRemovedPromotionWhenSavedThenDeactivated() {
+        this.scheduler.promotionSaved(this.createPromotion(1L, NOW.minusDays(2), NOW.minusDays(1)));
+        this.scheduler.promotionSaved(this.createPromotion(2L, NOW.plusMinutes(1), NOW.plusDays(1)));
+        this.scheduler.promotionRemoved(2L);
+
+        this.advanceTo(NOW.plusDays(2));
+
+        verify(this.engine, times(1)).deactivate(eq(1L));
+        verify(this.engine, times(2)).deactivate(eq(2L));
+        verifyNoMoreInteractions(this.engine);
+        verifyNoInteractions(this.publisher);
+    }
+
+    @Test
+    @DisplayName("tick: Esperado que uma ativação que falha seja refeita no próximo segundo")
+    public void givenFailingActivationWhenTickThenRetried() {
+        Promotion promotion = this.createPromotion(1L, NOW.plusMinutes(1), NOW.plusDays(1));
+        this.scheduler.promotionSaved(promotion);
+        doThrow(new IllegalStateException("banco fora")).doNothing().when(this.engine).activate(eq(promotion));
+
+        this.advanceTo(NOW.plusMinutes(1));
+        verifyNoInteractions(this.publisher);
+        assertThat(this.registry.get("promotions.scheduler.failures").counter().count()).isEqualTo(1);
+
+        this.advanceTo(NOW.plusMinutes(1).plusSeconds(1));
+        verify(this.engine, times(2)).activate(eq(promotion));
+        verify(this.publisher, times(1)).publishEvent(any(PromotionActivatedEvent.class));
+    }
+
+    @Test
+    @DisplayName("reconcile: Esperado que o agendamento seja reconstruído só quando outra instância alterou promoções")
+    public void givenVersionChangedElsewhereWhenReconcileThenRebuilt() {
+        Promotion promotion = this.createPromotion(1L, NOW.minusDays(1), NOW.plusDays(1));
+        when(this.versions.current(eq(ChangeVersions.PROMOTIONS))).thenReturn(3L, 3L, 4L, 6L, 6L);
+        when(this.repository.findNotEndedAt(any())).thenReturn(List.of(), List.of(promotion));
+
+        this.scheduler.rebuild();
+        this.scheduler.reconcile();
+        verify(this.repository, times(1)).findNotEndedAt(any());
+
+        this.scheduler.promotionSaved(this.createPromotion(2L, NOW.minusDays(1), NOW.plusDays(1)), 4L);
+        this.scheduler.reconcile();
+        verify(this.repository, times(1)).findNotEndedAt(any());
+
+        this.scheduler.promotionSaved(this.createPromotion(3L, NOW.minusDays(1), NOW.plusDays(1)), 6L);
+        this.scheduler.reconcile();
+        verify(this.repository, times(2)).findNotEndedAt(any());
+        verify(this.engine, times(1)).load(eq(List.of(promotion)));
+        assertThat(this.registry.get("promotions.scheduler.reconciles").counter().count()).isEqualTo(1);
+    }
+
+    private void advanceTo(DateTime now) {
+        DateTimeUtils.setCurrentMillisFixed(now.getMillis());
+
+        this.scheduler.tick();
+    }
+
+    private io.micrometer.core.instrument.Timer lag(String transition) {
+        return this.registry.get(PromotionScheduler.LAG_TIMER).tag("transition", transition).timer();
+    }
+
+    private Promotion createPromotion(Long id, DateTime startsAt, DateTime endsAt) {
+        return new Promotion(id, "Promoção " + id, DiscountType.PERCENTAGE, BigDecimal.TEN, startsAt, endsAt);
+    }
+}
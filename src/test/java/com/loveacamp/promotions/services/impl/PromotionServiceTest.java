@@ -0,0 +1,272 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.dto.requests.PromotionRequestDto;
+import com.loveacamp.promotions.entities.Promotion;
+import com.loveacamp.promotions.enums.DiscountType;
+import com.loveacamp.promotions.enums.ReachEvent;
+import com.loveacamp.promotions.enums.UserLevel;
+import com.loveacamp.promotions.exception.BadRequestException;
+import com.loveacamp.promotions.repositories.AudienceRepository;
+import com.loveacamp.promotions.repositories.CouponRepository;
+import com.loveacamp.promotions.repositories.PromotionReachRepository;
+import com.loveacamp.promotions.repositories.PromotionRepository;
+import com.loveacamp.promotions.repositories.PromotionUsageRepository;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PromotionServiceTest {
+    private static final DateTime STARTS_AT = new DateTime(2026, 11, 27, 0, 0, DateTimeZone.UTC);
+
+    private PromotionService service;
+
+    @Mock
+    private PromotionRepository repository;
+
+    @Mock
+    private PromotionEngine engine;
+
+    @Mock
+    private PromotionScheduler scheduler;
+
+    @Mock
+    private CouponRepository couponRepository;
+
+    @Mock
+    private PromotionUsageRepository usageRepository;
+
+    @Mock
+    private PromotionReachRepository reachRepository;
+
+    @Mock
+    private RedemptionQuotas quotas;
+
+    @Mock
+    private PersonUsageTracker usages;
+
+    @Mock
+    private AudienceRepository audienceRepository;
+
+    @Mock
+    private ReachTracker reach;
+
+    @Mock
+    private ChangeVersions versions;
+
+    private PromotionRequestDto promotionRequest;
+
+    @BeforeEach
+    public void setup() {
+        this.promotionRequest = this.createPromotionRequestDto();
+
+        this.service = new PromotionService(this.repository, this.engine, this.scheduler, this.couponRepository, this.usageRepository,
+                this.reachRepository, this.quotas, this.usages, this.audienceRepository, this.reach, this.versions);
+    }
+
+    @Test
+    @DisplayName("save: Esperado que ao receber um percentual maior que 100, retorne uma exceção")
+    public void givenPercentageGreaterThan100WhenSaveThenException() {
+        this.promotionRequest.setValue(new BigDecimal("100.01"));
+
+        BadRequestException badRequestException = assertThrows(BadRequestException.class, () -> this.service.save(this.promotionRequest));
+
+        assertThat(badRequestException).hasMessage("O percentual de desconto deve ser no máximo 100.");
+        verifyNoInteractions(this.repository, this.engine, this.scheduler);
+    }
+
+    @Test
+    @DisplayName("save: Esperado que ao receber um fim anterior ao início, retorne uma exceção")
+    public void givenEndsAtBeforeStartsAtWhenSaveThenException() {
+        this.promotionRequest.setEndsAt(STARTS_AT);
+
+        BadRequestException badRequestException = assertThrows(BadRequestException.class, () -> this.service.save(this.promotionRequest));
+
+        assertThat(badRequestException).hasMessage("O fim da promoção deve ser posterior ao início.");
+        verifyNoInteractions(this.repository, this.engine, this.scheduler);
+    }
+
+    @Test
+    @DisplayName("save: Esperado que ao salvar uma promoção, o agendador seja atualizado")
+    public void givenPromotionWhenSaveThenScheduled() {
+        when(this.repository.save(argThat(this::checkArgs))).thenReturn(this.createPromotion());
+        when(this.versions.bump(eq(ChangeVersions.PROMOTIONS))).thenReturn(4L);
+
+        assertThat(this.service.save(this.promotionRequest)).hasToString(
+                "PromotionDto({id:1, name:Black Friday, discountType:PERCENTAGE, value:10, startsAt:2026-11-27T00:00:00.000Z, endsAt:2026-11-28T00:00:00.000Z, productIds:[1, 2], productNamePrefix:null, levels:[USER], maxRedemptions:null, maxRedemptionsPerPerson:null, audienceId:null, exclusivityGroup:null, priority:0})");
+
+        verify(this.repository, times(1)).save(argThat(this::checkArgs));
+        verify(this.scheduler, times(1)).promotionSaved(argThat(promotion -> promotion.getId() == 1L), eq(4L));
+        verifyNoMoreInteractions(this.repository, this.engine, this.scheduler);
+    }
+
+    @Test
+    @DisplayName("update: Esperado que ao receber uma promoção inexistente, retorne uma exceção")
+    public void givenNonExistentPromotionWhenUpdateThenException() {
+        when(this.repository.findById(eq(1L))).thenReturn(Optional.empty());
+
+        BadRequestException badRequestException = assertThrows(BadRequestException.class, () -> this.service.update(1L, this.promotionRequest));
+
+        assertThat(badRequestException).hasMessage("Promoção não encontrada.");
+        verify(this.repository, times(1)).findById(eq(1L));
+        verifyNoMoreInteractions(this.repository);
+        verifyNoInteractions(this.engine, this.scheduler, this.versions);
+    }
+
+    @Test
+    @DisplayName("findBest: Esperado que ao receber um preço negativo, retorne uma exceção")
+    public void givenNegativePriceWhenFindBestThenException() {
+        BadRequestException badRequestException = assertThrows(BadRequestException.class,
+                () -> this.service.findBest(1L, new BigDecimal("-1"), UserLevel.USER, null));
+
+        assertThat(badRequestException).hasMessage("O preço não pode ser negativo.");
+        verifyNoInteractions(this.repository, this.engine, this.scheduler);
+    }
+
+    @Test
+    @DisplayName("findBest: Esperado que retorne o desconto encontrado pelo motor e o preço final")
+    public void givenDiscountWhenFindBestThenDiscountAndPrice() {
+        when(this.engine.best(eq(2L), eq(UserLevel.USER), eq(3L), eq(new BigDecimal("25.00"))))
+                .thenReturn(Optional.of(new Discount(1L, new BigDecimal("2.50"))));
+
+        assertThat(this.service.findBest(2L, new BigDecimal("25.00"), UserLevel.USER, 3L))
+                .hasToString("PromotionDiscountDto({productId:2, promotionId:1, promotionIds:[1], discount:2.50, price:22.50})");
+
+        verify(this.reach, times(1)).record(eq(1L), eq(ReachEvent.IMPRESSION), eq(3L));
+        verifyNoInteractions(this.repository);
+    }
+
+    @Test
+    @DisplayName("findBest: Esperado que sem promoção aplicável, retorne desconto zero e o preço original")
+    public void givenNoDiscountWhenFindBestThenZeroDiscount() {
+        when(this.engine.best(eq(2L), eq(null), eq(null), eq(new BigDecimal("25.00")))).thenReturn(Optional.empty());
+
+        assertThat(this.service.findBest(2L, new BigDecimal("25.00"), null, null))
+                .hasToString("PromotionDiscountDto({productId:2, promotionId:null, promotionIds:[], discount:0, price:25.00})");
+
+        verifyNoInteractions(this.reach);
+    }
+
+    @Test
+    @DisplayName("delete: Esperado que ao remover uma promoção, ela e seus cupons saiam do banco e do agendador")
+    public void givenPromotionWhenDeleteThenRemovedWithCoupons() {
+        Promotion promotion = this.createPromotion();
+
+        when(this.repository.findById(eq(1L))).thenReturn(Optional.of(promotion));
+        when(this.versions.bump(eq(ChangeVersions.PROMOTIONS))).thenReturn(4L);
+
+        assertThat(this.service.delete(1L).getId()).isEqualTo(1L);
+
+        verify(this.repository, times(1)).findById(eq(1L));
+        verify(this.repository, times(1)).delete(eq(promotion));
+        verify(this.couponRepository, times(1)).deleteByPromotionId(eq(1L));
+        verify(this.usageRepository, times(1)).deleteByPromotionId(eq(1L));
+        verify(this.reachRepository, times(1)).deleteByPromotionId(eq(1L));
+        verify(this.scheduler, times(1)).promotionRemoved(eq(1L), eq(4L));
+        verify(this.quotas, times(1)).invalidate(eq(1L));
+        verify(this.usages, times(1)).remove(eq(1L));
+        verify(this.reach, times(1)).remove(eq(1L));
+        verifyNoMoreInteractions(this.repository, this.engine, this.scheduler, this.couponRepository, this.usageRepository,
+                this.reachRepository, this.quotas, this.usages, this.audienceRepository, this.reach);
+        verify(this.versions, times(1)).bump(eq(ChangeVersions.PROMOTIONS));
+    }
+
+    @Test
+    @DisplayName("delete: Esperado que dentro de uma transação, a memória só seja atualizada depois do commit")
+    public void givenActiveTransactionWhenDeleteThenMemoryUpdatedAfterCommit() {
+        Promotion promotion = this.createPromotion();
+
+        when(this.repository.findById(eq(1L))).thenReturn(Optional.of(promotion));
+        when(this.versions.bump(eq(ChangeVersions.PROMOTIONS))).thenReturn(4L);
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            this.service.delete(1L);
+
+            verify(this.repository, times(1)).delete(eq(promotion));
+            verifyNoInteractions(this.scheduler, this.quotas, this.usages, this.reach);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(this.scheduler, times(1)).promotionRemoved(eq(1L), eq(4L));
+        verify(this.quotas, times(1)).invalidate(eq(1L));
+        verify(this.usages, times(1)).remove(eq(1L));
+        verify(this.reach, times(1)).remove(eq(1L));
+    }
+
+    @Test
+    @DisplayName("delete: Esperado que se a transação for desfeita, a memória continue igual ao banco")
+    public void givenRolledBackTransactionWhenDeleteThenMemoryUntouched() {
+        when(this.repository.findById(eq(1L))).thenReturn(Optional.of(this.createPromotion()));
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            this.service.delete(1L);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verifyNoInteractions(this.scheduler, this.quotas, this.usages, this.reach);
+    }
+
+    @Test
+    @DisplayName("findSnapshot: Esperado que a instância, a versão e o tamanho venham do catálogo em uso no engine, sem consultar o banco")
+    public void givenEngineSnapshotWhenFindSnapshotThenInstanceVersionAndSize() {
+        DateTime startedAt = new DateTime(2026, 10, 1, 12, 0, DateTimeZone.UTC);
+        when(this.engine.instance()).thenReturn("instancia-1");
+        when(this.engine.startedAt()).thenReturn(startedAt);
+        when(this.engine.snapshot()).thenReturn(new PromotionEngine.Snapshot(7, 3, 12));
+
+        assertThat(this.service.findSnapshot()).extracting("instance", "startedAt", "version", "promotions", "products")
+                .containsExactly("instancia-1", startedAt, 7L, 3, 12);
+        verifyNoInteractions(this.repository);
+    }
+
+    private boolean checkArgs(Promotion promotion) {
+        return promotion.getId() == null
+                && promotion.getName().equals(this.promotionRequest.getName())
+                && promotion.getProductIds().equals(this.promotionRequest.getProductIds())
+                && promotion.getLevels().equals(this.promotionRequest.getLevels());
+    }
+
+    private PromotionRequestDto createPromotionRequestDto() {
+        return new PromotionRequestDto()
+                .setName("Black Friday")
+                .setDiscountType(DiscountType.PERCENTAGE)
+                .setValue(BigDecimal.TEN)
+                .setStartsAt(STARTS_AT)
+                .setEndsAt(STARTS_AT.plusDays(1))
+                .setProductIds(Set.of(1L, 2L))
+                .setLevels(Set.of(UserLevel.USER));
+    }
+
+    private Promotion createPromotion() {
+        return new Promotion(1L, "Black Friday", DiscountType.PERCENTAGE, BigDecimal.TEN, STARTS_AT, STARTS_AT.plusDays(1))
+                .setProductIds(Set.of(1L, 2L))
+                .setLevels(Set.of(UserLevel.USER));
+    }
+}
@@ -0,0 +1,128 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.enums.ReachEvent;
+import com.loveacamp.promotions.repositories.PromotionReachRepository;
+import com.loveacamp.promotions.utils.HyperLogLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeUtils;
+import org.joda.time.DateTimeZone;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReachTrackerTest {
+    private static final DateTime NOW = new DateTime(2026, 10, 1, 12, 30, DateTimeZone.UTC);
+
+    private static final long HOUR = NOW.getMillis() / ReachTracker.HOUR_MILLIS;
+
+    private ReachTracker tracker;
+
+    private MeterRegistry registry;
+
+    @Mock
+    private PromotionReachRepository repository;
+
+    @BeforeEach
+    public void setup() {
+        DateTimeUtils.setCurrentMillisFixed(NOW.getMillis());
+        this.registry = new SimpleMeterRegistry();
+
+        this.tracker = new ReachTracker(this.repository, this.registry, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.tracker.stop();
+        DateTimeUtils.setCurrentMillisSystem();
+    }
+
+    @Test
+    @DisplayName("union: Esperado que junte os sketches gravados aos ainda em memória, contando cada pessoa uma vez")
+    public void givenStoredAndPendingWhenUnionThenDistinctPeople() {
+        HyperLogLog stored = new HyperLogLog(ReachTracker.PRECISION);
+        stored.add(1L);
+        stored.add(2L);
+        doAnswer(invocation -> {
+            Consumer<byte[]> consumer = invocation.getArgument(4);
+            consumer.accept(stored.toBytes());
+            return null;
+        }).when(this.repository).forEachSketch(eq(1L), eq(ReachEvent.IMPRESSION), eq(HOUR - 24), eq(HOUR + 1), any());
+
+        this.tracker.record(1L, ReachEvent.IMPRESSION, 2L);
+        this.tracker.record(1L, ReachEvent.IMPRESSION, 3L);
+        this.tracker.record(1L, ReachEvent.REDEMPTION, 4L);
+        this.tracker.record(2L, ReachEvent.IMPRESSION, 5L);
+
+        assertThat(this.tracker.union(1L, ReachEvent.IMPRESSION, HOUR - 24, HOUR + 1).estimate()).isEqualTo(3);
+        assertThat(this.registry.get(ReachTracker.MEMORY_GAUGE).gauge().value()).isEqualTo(3 * (1 << ReachTracker.PRECISION));
+    }
+
+    @Test
+    @DisplayName("flush: Esperado que cada promoção, evento e hora vire uma linha do batch e saia da memória")
+    public void givenRecordsWhenFlushThenOneRowPerKey() {
+        this.tracker.record(1L, ReachEvent.IMPRESSION, 2L);
+        this.tracker.record(1L, ReachEvent.IMPRESSION, 3L);
+        DateTimeUtils.setCurrentMillisFixed(NOW.plusHours(1).getMillis());
+        this.tracker.record(1L, ReachEvent.IMPRESSION, 3L);
+
+        this.tracker.flush();
+
+        ArgumentCaptor<long[]> hours = ArgumentCaptor.forClass(long[].class);
+        ArgumentCaptor<byte[][]> sketches = ArgumentCaptor.forClass(byte[][].class);
+        verify(this.repository, times(1)).mergeSketches(aryEq(new long[]{1L, 1L}),
+                aryEq(new ReachEvent[]{ReachEvent.IMPRESSION, ReachEvent.IMPRESSION}), hours.capture(), sketches.capture(), eq(2));
+        assertThat(hours.getValue()).containsExactlyInAnyOrder(HOUR, HOUR + 1);
+        for (int i = 0; i < 2; i++) {
+            assertThat(HyperLogLog.fromBytes(sketches.getValue()[i]).estimate()).isEqualTo(hours.getValue()[i] == HOUR ? 2 : 1);
+        }
+
+        this.tracker.flush();
+        verify(this.repository, times(1)).mergeSketches(any(), any(), any(), any(), anyInt());
+        assertThat(this.registry.get(ReachTracker.MEMORY_GAUGE).gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("flush: Esperado que um batch que falha volte para a memória junto com o que chegou depois")
+    public void givenFailingFlushWhenFlushAgainThenMergedSketch() {
+        this.tracker.record(1L, ReachEvent.REDEMPTION, 2L);
+        doThrow(new IllegalStateException("banco fora")).doNothing()
+                .when(this.repository).mergeSketches(any(), any(), any(), any(), anyInt());
+
+        assertThrows(IllegalStateException.class, () -> this.tracker.flush());
+        this.tracker.record(1L, ReachEvent.REDEMPTION, 3L);
+        this.tracker.flush();
+
+        ArgumentCaptor<byte[][]> sketches = ArgumentCaptor.forClass(byte[][].class);
+        verify(this.repository, times(2)).mergeSketches(aryEq(new long[]{1L}), aryEq(new ReachEvent[]{ReachEvent.REDEMPTION}),
+                aryEq(new long[]{HOUR}), sketches.capture(), eq(1));
+        assertThat(HyperLogLog.fromBytes(sketches.getAllValues().get(1)[0]).estimate()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("remove: Esperado que o alcance ainda não gravado da promoção seja descartado")
+    public void givenPendingWhenRemoveThenDropped() {
+        this.tracker.record(1L, ReachEvent.IMPRESSION, 2L);
+
+        this.tracker.remove(1L);
+
+        this.tracker.flush();
+        verify(this.repository, never()).mergeSketches(any(), any(), any(), any(), anyInt());
+    }
+}
@@ -0,0 +1,150 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.repositories.PromotionQuotaRepository.RedemptionChunk;
+import com.loveacamp.promotions.repositories.PromotionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeUtils;
+import org.joda.time.DateTimeZone;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedemptionQuotasTest {
+    private static final DateTime NOW = new DateTime(2026, 10, 1, 12, 0, DateTimeZone.UTC);
+
+    private RedemptionQuotas quotas;
+
+    @Mock
+    private PromotionRepository repository;
+
+    @BeforeEach
+    public void setup() {
+        DateTimeUtils.setCurrentMillisFixed(NOW.getMillis());
+
+        this.quotas = new RedemptionQuotas(this.repository, new SimpleMeterRegistry(), 10, Duration.ofSeconds(1), Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        DateTimeUtils.setCurrentMillisSystem();
+    }
+
+    @Test
+    @DisplayName("tryAcquire: Esperado que threads concorrentes resgatem exatamente o limite da promoção, nunca mais")
+    public void givenConcurrentRedemptionsWhenTryAcquireThenNoOversell() throws InterruptedException {
+        AtomicLong allocated = new AtomicLong();
+        AtomicLong acquired = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        when(this.repository.claimRedemptions(eq(1L), eq(10L), any())).thenAnswer(invocation -> {
+            synchronized (allocated) {
+                long granted = Math.min(10, 1_000 - allocated.get());
+                allocated.addAndGet(granted);
+                return granted == 0 ? RedemptionChunk.NONE : new RedemptionChunk(granted, NOW.plusDays(1), null);
+            }
+        });
+
+        for (int i = 0; i < 16; i++) {
+            Thread thread = new Thread(() -> {
+                while (this.quotas.tryAcquire(1L) != RedemptionQuotas.NOT_GRANTED) {
+                    acquired.incrementAndGet();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(acquired.get()).isEqualTo(1_000);
+        assertThat(this.quotas.tryAcquire(1L)).isEqualTo(RedemptionQuotas.NOT_GRANTED);
+    }
+
+    @Test
+    @DisplayName("tryAcquire: Esperado que com a promoção esgotada o banco só seja consultado de novo depois do backoff")
+    public void givenExhaustedPromotionWhenTryAcquireThenBackoff() {
+        when(this.repository.claimRedemptions(eq(1L), eq(10L), any())).thenReturn(RedemptionChunk.NONE);
+
+        assertThat(this.quotas.tryAcquire(1L)).isEqualTo(RedemptionQuotas.NOT_GRANTED);
+        assertThat(this.quotas.tryAcquire(1L)).isEqualTo(RedemptionQuotas.NOT_GRANTED);
+        verify(this.repository, times(1)).claimRedemptions(eq(1L), eq(10L), any());
+
+        DateTimeUtils.setCurrentMillisFixed(NOW.plusSeconds(1).getMillis());
+        assertThat(this.quotas.tryAcquire(1L)).isEqualTo(RedemptionQuotas.NOT_GRANTED);
+        verify(this.repository, times(2)).claimRedemptions(eq(1L), eq(10L), any());
+    }
+
+    @Test
+    @DisplayName("tryAcquire: Esperado que as unidades locais não sejam usadas depois do fim da vigência")
+    public void givenEndedPromotionWhenTryAcquireThenLocalUnitsIgnored() {
+        when(this.repository.claimRedemptions(eq(1L), eq(10L), any()))
+                .thenReturn(new RedemptionChunk(10, NOW.plusMinutes(1), null))
+                .thenReturn(RedemptionChunk.NONE);
+
+        assertThat(this.quotas.tryAcquire(1L)).isEqualTo(RedemptionQuotas.UNLIMITED);
+        assertThat(this.quotas.available(1L)).isEqualTo(9);
+
+        DateTimeUtils.setCurrentMillisFixed(NOW.plusMinutes(1).getMillis());
+        assertThat(this.quotas.tryAcquire(1L)).isEqualTo(RedemptionQuotas.NOT_GRANTED);
+    }
+
+    @Test
+    @DisplayName("tryAcquire: Esperado que o limite por pessoa do último lote seja devolvido junto com a unidade")
+    public void givenPersonLimitWhenTryAcquireThenLimitReturned() {
+        when(this.repository.claimRedemptions(eq(1L), eq(10L), any())).thenReturn(new RedemptionChunk(10, NOW.plusDays(1), 2));
+
+        assertThat(this.quotas.tryAcquire(1L)).isEqualTo(2);
+        assertThat(this.quotas.tryAcquire(1L)).isEqualTo(2);
+        verify(this.repository, times(1)).claimRedemptions(eq(1L), eq(10L), any());
+    }
+
+    @Test
+    @DisplayName("flush: Esperado que resgates, devoluções e o saldo das cotas invalidadas sejam gravados num único batch")
+    public void givenRedemptionsWhenFlushThenSingleBatch() {
+        when(this.repository.claimRedemptions(anyLong(), eq(10L), any())).thenReturn(new RedemptionChunk(10, NOW.plusDays(1), null));
+        this.quotas.tryAcquire(1L);
+        this.quotas.tryAcquire(1L);
+        this.quotas.redeemed(1L);
+        this.quotas.release(1L);
+        this.quotas.tryAcquire(2L);
+        this.quotas.redeemed(2L);
+
+        this.quotas.invalidate(1L);
+        this.quotas.flush();
+
+        verify(this.repository, times(1)).flushRedemptions(aryEq(new long[]{1L, 2L}), aryEq(new long[]{1, 1}), aryEq(new long[]{9, 0}), eq(2));
+
+        this.quotas.flush();
+        verify(this.repository, times(1)).flushRedemptions(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("flush: Esperado que um batch que falha seja refeito no flush seguinte")
+    public void givenFailingFlushWhenFlushAgainThenSameDeltas() {
+        this.quotas.redeemed(1L);
+        doThrow(new IllegalStateException("banco fora")).doNothing()
+                .when(this.repository).flushRedemptions(any(), any(), any(), anyInt());
+
+        assertThrows(IllegalStateException.class, () -> this.quotas.flush());
+        this.quotas.flush();
+
+        verify(this.repository, times(2)).flushRedemptions(aryEq(new long[]{1L}), aryEq(new long[]{1}), aryEq(new long[]{0}), eq(1));
+    }
+}
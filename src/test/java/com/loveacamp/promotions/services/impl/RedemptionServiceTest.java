@@ -0,0 +1,259 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.dto.requests.RedemptionRequestDto;
+import com.loveacamp.promotions.enums.CouponClaimResult;
+import com.loveacamp.promotions.enums.ReachEvent;
+import com.loveacamp.promotions.exception.BadRequestException;
+import com.loveacamp.promotions.exception.RedemptionOutcomeUnknownException;
+import com.loveacamp.promotions.repositories.CouponBatchRepository;
+import com.loveacamp.promotions.repositories.CouponRepository;
+import com.loveacamp.promotions.utils.CouponCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedemptionServiceTest {
+    private final CouponCodec codec = new CouponCodec("segredo");
+
+    private final long code = this.codec.encode(7, 3);
+
+    private RedemptionService service;
+
+    private MeterRegistry registry;
+
+    @Mock
+    private CouponRepository couponRepository;
+
+    @Mock
+    private CouponFilter filter;
+
+    @Mock
+    private RedemptionQuotas quotas;
+
+    @Mock
+    private PersonUsageTracker usages;
+
+    @Mock
+    private ReachTracker reach;
+
+    @BeforeEach
+    public void setup() {
+        this.registry = new SimpleMeterRegistry();
+
+        this.service = new RedemptionService(this.couponRepository, this.filter, this.codec, this.quotas, this.usages, this.reach, this.registry);
+    }
+
+    @Test
+    @DisplayName("redeem: Esperado que um código mal formado seja recusado sem consumir cota nem consultar o banco")
+    public void givenMalformedCodeWhenRedeemThenException() {
+        BadRequestException badRequestException = assertThrows(BadRequestException.class,
+                () -> this.service.redeem(new RedemptionRequestDto("XYZ", 1L)));
+
+        assertThat(badRequestException).hasMessage("Cupom inválido ou já utilizado.");
+        assertThat(this.registry.get("promotions.redemptions").tag("result", "invalid").counter().count()).isEqualTo(1);
+        verifyNoInteractions(this.couponRepository, this.filter, this.quotas, this.usages);
+    }
+
+    @Test
+    @DisplayName("redeem: Esperado que um código fora do filtro de cupons seja recusado sem consumir cota nem consultar o banco")
+    public void givenCodeNotInFilterWhenRedeemThenException() {
+        when(this.filter.mightExist(eq(this.code))).thenReturn(false);
+
+        BadRequestException badRequestException = assertThrows(BadRequestException.class,
+                () -> this.service.redeem(new RedemptionRequestDto(CouponCodec.format(this.code), 1L)));
+
+        assertThat(badRequestException).hasMessage("Cupom inválido ou já utilizado.");
+        assertThat(this.registry.get("promotions.redemptions").tag("result", "invalid").counter().count()).isEqualTo(1);
+        verifyNoInteractions(this.couponRepository, this.quotas, this.usages);
+    }
+
+    @Test
+    @DisplayName("redeem: Esperado que sem cota disponível o cupom não seja marcado")
+    public void givenExhaustedPromotionWhenRedeemThenException() {
+        when(this.filter.mightExist(eq(this.code))).thenReturn(true);
+        when(this.quotas.tryAcquire(eq(7L))).thenReturn(RedemptionQuotas.NOT_GRANTED);
+
+        BadRequestException badRequestException = assertThrows(BadRequestException.class,
+                () -> this.service.redeem(new RedemptionRequestDto(CouponCodec.format(this.code), 1L)));
+
+        assertThat(badRequestException).hasMessage("Promoção esgotada ou fora da vigência.");
+        verifyNoInteractions(this.couponRepository);
+    }
+
+    @Test
+    @DisplayName("redeem: Esperado que um cupom já usado, aqui ou em outra instância, devolva a unidade reservada")
+    public void givenUsedCouponWhenRedeemThenUnitReleased() {
+        when(this.filter.mightExist(eq(this.code))).thenReturn(true);
+        when(this.quotas.tryAcquire(eq(7L))).thenReturn(RedemptionQuotas.UNLIMITED);
+        when(this.couponRepository.claim(eq(this.code), eq(7L), eq(1L), eq(CouponBatchRepository.NO_SLOT), anyLong())).thenReturn(CouponClaimResult.INVALID);
+
+        BadRequestException badRequestException = assertThrows(BadRequestException.class,
+                () -> this.service.redeem(new RedemptionRequestDto(CouponCodec.format(this.code), 1L)));
+
+        assertThat(badRequestException).hasMessage("Cupom inválido ou já utilizado.");
+        verify(this.quotas, times(1)).release(eq(7L));
+        verify(this.quotas, never()).redeemed(anyLong());
+    }
+
+    @Test
+    @DisplayName("redeem: Esperado que uma falha ao marcar o cupom devolva a unidade se o cupom continuar livre")
+    public void givenClaimFailureAndFreeCouponWhenRedeemThenUnitReleased() {
+        when(this.filter.mightExist(eq(this.code))).thenReturn(true);
+        when(this.quotas.tryAcquire(eq(7L))).thenReturn(RedemptionQuotas.UNLIMITED);
+        when(this.couponRepository.claim(eq(this.code), eq(7L), eq(1L), eq(CouponBatchRepository.NO_SLOT), anyLong())).thenThrow(new IllegalStateException("banco fora"));
+        when(this.couponRepository.isClaimedAt(eq(this.code), anyLong())).thenReturn(false);
+
+        assertThrows(IllegalStateException.class,
+                () -> this.service.redeem(new RedemptionRequestDto(CouponCodec.format(this.code), 1L)));
+
+        verify(this.quotas, times(1)).release(eq(7L));
+        verifyNoInteractions(this.reach);
+    }
+
+    @Test
+    @DisplayName("redeem: Esperado que uma falha ao marcar o cupom conclua o resgate se a marcação chegou ao banco")
+    public void givenClaimFailureAndClaimedCouponWhenRedeemThenRedeemed() {
+        when(this.filter.mightExist(eq(this.code))).thenReturn(true);
+        when(this.quotas.tryAcquire(eq(7L))).thenReturn(RedemptionQuotas.UNLIMITED);
+        when(this.couponRepository.claim(eq(this.code), eq(7L), eq(1L), eq(CouponBatchRepository.NO_SLOT), anyLong())).thenThrow(new IllegalStateException("conexão perdida"));
+        when(this.couponRepository.isClaimedAt(eq(this.code), anyLong())).thenReturn(true);
+
+        this.service.redeem(new RedemptionRequestDto(CouponCodec.format(this.code), 1L));
+
+        verify(this.quotas, never()).release(anyLong());
+        verify(this.quotas, times(1)).redeemed(eq(7L));
+        verify(this.reach, times(1)).record(eq(7L), eq(ReachEvent.REDEMPTION), eq(1L));
+    }
+
+    @Test
+    @DisplayName("redeem: Esperado que sem saber se o cupom foi marcado, a unidade continue consumida e o resultado seja desconhecido")
+    public void givenClaimFailureAndFailedCheckWhenRedeemThenOutcomeUnknown() {
+        when(this.filter.mightExist(eq(this.code))).thenReturn(true);
+        when(this.quotas.tryAcquire(eq(7L))).thenReturn(2);
+        when(this.usages.tryUse(eq(7L), eq(1L), eq(2))).thenReturn(0);
+        when(this.couponRepository.claim(eq(this.code), eq(7L), eq(1L), eq(0), anyLong())).thenThrow(new IllegalStateException("banco fora"));
+        when(this.couponRepository.isClaimedAt(eq(this.code), anyLong())).thenThrow(new IllegalStateException("banco fora"));
+
+        assertThrows(RedemptionOutcomeUnknownException.class,
+                () -> this.service.redeem(new RedemptionRequestDto(CouponCodec.format(this.code), 1L)));
+
+        verify(this.quotas, never()).release(anyLong());
+        verify(this.usages, never()).undo(anyLong(), anyLong());
+        assertThat(this.registry.get("promotions.redemptions").tag("result", "unknown").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("redeem: Esperado que o cupom seja marcado no banco, o resgate seja contado na promoção e entre no alcance dela")
+    public void givenValidCouponWhenRedeemThenRedeemed() {
+        when(this.filter.mightExist(eq(this.code))).thenReturn(true);
+        when(this.quotas.tryAcquire(eq(7L))).thenReturn(RedemptionQuotas.UNLIMITED);
+        when(this.couponRepository.claim(eq(this.code), eq(7L), eq(1L), eq(CouponBatchRepository.NO_SLOT), anyLong())).thenReturn(CouponClaimResult.CLAIMED);
+
+        assertThat(this.service.redeem(new RedemptionRequestDto(CouponCodec.format(this.code).toLowerCase(), 1L)))
+                .extracting("code", "promotionId", "personId")
+                .containsExactly(CouponCodec.format(this.code), 7L, 1L);
+
+        verify(this.quotas, times(1)).redeemed(eq(7L));
+        verify(this.quotas, never()).release(anyLong());
+        verify(this.reach, times(1)).record(eq(7L), eq(ReachEvent.REDEMPTION), eq(1L));
+        verifyNoInteractions(this.usages);
+        assertThat(this.registry.get("promotions.redemptions").tag("result", "redeemed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("redeem: Esperado que a pessoa já no limite em memória seja recusada sem ir ao banco e a unidade devolvida")
+    public void givenPersonAtLimitWhenRedeemThenException() {
+        when(this.filter.mightExist(eq(this.code))).thenReturn(true);
+        when(this.quotas.tryAcquire(eq(7L))).thenReturn(2);
+        when(this.usages.tryUse(eq(7L), eq(1L), eq(2))).thenReturn(PersonUsageTracker.LIMIT_REACHED);
+
+        BadRequestException badRequestException = assertThrows(BadRequestException.class,
+                () -> this.service.redeem(new RedemptionRequestDto(CouponCodec.format(this.code), 1L)));
+
+        assertThat(badRequestException).hasMessage("Limite de 2 resgate(s) por pessoa atingido.");
+        assertThat(this.registry.get("promotions.redemptions").tag("result", "person-limit").counter().count()).isEqualTo(1);
+        verify(this.quotas, times(1)).release(eq(7L));
+        verifyNoInteractions(this.couponRepository);
+    }
+
+    @Test
+    @DisplayName("redeem: Esperado que o resgate numa promoção com limite ocupe a vaga reservada em memória, num único comando")
+    public void givenPersonLimitWhenRedeemThenSlotClaimed() {
+        when(this.filter.mightExist(eq(this.code))).thenReturn(true);
+        when(this.quotas.tryAcquire(eq(7L))).thenReturn(2);
+        when(this.usages.tryUse(eq(7L), eq(1L), eq(2))).thenReturn(1);
+        when(this.couponRepository.claim(eq(this.code), eq(7L), eq(1L), eq(1), anyLong())).thenReturn(CouponClaimResult.CLAIMED);
+
+        this.service.redeem(new RedemptionRequestDto(CouponCodec.format(this.code), 1L));
+
+        verify(this.couponRepository, never()).findSlots(anyLong(), anyLong());
+        verify(this.usages, never()).undo(anyLong(), anyLong());
+        verify(this.quotas, times(1)).redeemed(eq(7L));
+    }
+
+    @Test
+    @DisplayName("redeem: Esperado que a vaga ocupada por outra instância faça a marcação ser refeita na primeira vaga livre e a contagem corrigida")
+    public void givenSlotTakenWhenRedeemThenClaimRetriedOnFreeSlot() {
+        when(this.filter.mightExist(eq(this.code))).thenReturn(true);
+        when(this.quotas.tryAcquire(eq(7L))).thenReturn(3);
+        when(this.usages.tryUse(eq(7L), eq(1L), eq(3))).thenReturn(0);
+        when(this.couponRepository.claim(eq(this.code), eq(7L), eq(1L), eq(0), anyLong())).thenReturn(CouponClaimResult.SLOT_TAKEN);
+        when(this.couponRepository.findSlots(eq(7L), eq(1L))).thenReturn(List.of(0, 2));
+        when(this.couponRepository.claim(eq(this.code), eq(7L), eq(1L), eq(1), anyLong())).thenReturn(CouponClaimResult.CLAIMED);
+
+        this.service.redeem(new RedemptionRequestDto(CouponCodec.format(this.code), 1L));
+
+        verify(this.usages, times(1)).raise(eq(7L), eq(1L), eq(3));
+        verify(this.usages, never()).undo(anyLong(), anyLong());
+        verify(this.quotas, never()).release(anyLong());
+        verify(this.quotas, times(1)).redeemed(eq(7L));
+    }
+
+    @Test
+    @DisplayName("redeem: Esperado que a pessoa sem vaga livre no banco, por resgates em outras instâncias, seja recusada e o limite lembrado em memória")
+    public void givenPersonAtLimitInDatabaseWhenRedeemThenException() {
+        when(this.filter.mightExist(eq(this.code))).thenReturn(true);
+        when(this.quotas.tryAcquire(eq(7L))).thenReturn(2);
+        when(this.usages.tryUse(eq(7L), eq(1L), eq(2))).thenReturn(0);
+        when(this.couponRepository.claim(eq(this.code), eq(7L), eq(1L), eq(0), anyLong())).thenReturn(CouponClaimResult.SLOT_TAKEN);
+        when(this.couponRepository.findSlots(eq(7L), eq(1L))).thenReturn(List.of(1, 0));
+
+        BadRequestException badRequestException = assertThrows(BadRequestException.class,
+                () -> this.service.redeem(new RedemptionRequestDto(CouponCodec.format(this.code), 1L)));
+
+        assertThat(badRequestException).hasMessage("Limite de 2 resgate(s) por pessoa atingido.");
+        assertThat(this.registry.get("promotions.redemptions").tag("result", "person-limit").counter().count()).isEqualTo(1);
+        verify(this.quotas, times(1)).release(eq(7L));
+        verify(this.usages, times(1)).undo(eq(7L), eq(1L));
+        verify(this.usages, times(1)).raise(eq(7L), eq(1L), eq(2));
+        verify(this.quotas, never()).redeemed(anyLong());
+    }
+
+    @Test
+    @DisplayName("redeem: Esperado que um cupom já usado numa promoção com limite devolva a unidade e o uso da pessoa")
+    public void givenUsedCouponWithPersonLimitWhenRedeemThenUseUndone() {
+        when(this.filter.mightExist(eq(this.code))).thenReturn(true);
+        when(this.quotas.tryAcquire(eq(7L))).thenReturn(2);
+        when(this.usages.tryUse(eq(7L), eq(1L), eq(2))).thenReturn(0);
+        when(this.couponRepository.claim(eq(this.code), eq(7L), eq(1L), eq(0), anyLong())).thenReturn(CouponClaimResult.INVALID);
+
+        assertThrows(BadRequestException.class,
+                () -> this.service.redeem(new RedemptionRequestDto(CouponCodec.format(this.code), 1L)));
+
+        verify(this.quotas, times(1)).release(eq(7L));
+        verify(this.usages, times(1)).undo(eq(7L), eq(1L));
+    }
+}
@@ -0,0 +1,191 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.dto.SimulationDto;
+import com.loveacamp.promotions.dto.SimulationProductDto;
+import com.loveacamp.promotions.dto.requests.PromotionRequestDto;
+import com.loveacamp.promotions.enums.DiscountType;
+import com.loveacamp.promotions.exception.BadRequestException;
+import com.loveacamp.promotions.repositories.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SimulationServiceTest {
+    @Mock
+    private ProductRepository productRepository;
+
+    @TempDir
+    private Path directory;
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    public void tearDown() {
+        this.pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("simulate: Esperado que os totais, a taxa de acerto e os produtos sejam calculados, com cabeçalho e CRLF")
+    public void givenCartsFileWhenSimulateThenTotals() throws IOException {
+        Path carts = this.write("""
+                cartId,productId,quantity,unitPrice\r
+                1,1,2,10.00\r
+                1,3,1,5\r
+                2,3,1,7.5\r
+                3,2,3,0.99\r
+                """);
+
+        for (long splitBytes : new long[]{1, 5, 1 << 20}) {
+            SimulationDto simulation = this.service(splitBytes).simulate(this.promotion(DiscountType.PERCENTAGE, "10", Set.of(1L, 2L), null), carts, 50);
+
+            assertThat(simulation.getCarts()).as("faixa de %s bytes", splitBytes).isEqualTo(3L);
+            assertThat(simulation.getLines()).isEqualTo(4L);
+            assertThat(simulation.getDiscountedCarts()).isEqualTo(2L);
+            assertThat(simulation.getDiscountedLines()).isEqualTo(2L);
+            assertThat(simulation.getHitRate()).isEqualTo(new BigDecimal("0.6667"));
+            assertThat(simulation.getSubtotal()).isEqualTo(new BigDecimal("35.47"));
+            // 0,99 com 10% dá 0,099, arredondado para 0,10 por unidade.
+            assertThat(simulation.getTotalDiscount()).isEqualTo(new BigDecimal("2.30"));
+            assertThat(simulation.getProducts()).extracting(SimulationProductDto::getProductId, SimulationProductDto::getLines,
+                            SimulationProductDto::getQuantity, SimulationProductDto::getDiscount)
+                    .containsExactly(
+                            tuple(1L, 1L, 2L, new BigDecimal("2.00")),
+                            tuple(2L, 1L, 3L, new BigDecimal("0.30")));
+        }
+
+        verifyNoInteractions(this.productRepository);
+    }
+
+    @Test
+    @DisplayName("simulate: Esperado que o resultado com o arquivo dividido em várias faixas seja o mesmo da conta sequencial")
+    public void givenRandomCartsWhenSimulateWithSplitsThenSameAsSequential() throws IOException {
+        Random random = new Random(7);
+        StringBuilder file = new StringBuilder();
+        Map<Long, BigDecimal> discounts = new TreeMap<>();
+        BigDecimal subtotal = BigDecimal.ZERO;
+        BigDecimal totalDiscount = BigDecimal.ZERO;
+        long discountedCarts = 0;
+        long lines = 0;
+
+        for (long cartId = 1; cartId <= 2_000; cartId++) {
+            boolean discounted = false;
+
+            for (int item = 1 + random.nextInt(6); item > 0; item--) {
+                long productId = 1 + random.nextInt(40);
+                long quantity = 1 + random.nextInt(5);
+                BigDecimal price = BigDecimal.valueOf(1 + random.nextInt(100_000), 2);
+                BigDecimal discount = productId % 3 == 0
+                        ? price.multiply(new BigDecimal("12.5")).movePointLeft(2).setScale(2, RoundingMode.HALF_EVEN).multiply(BigDecimal.valueOf(quantity))
+                        : BigDecimal.ZERO;
+
+                file.append(cartId).append(',').append(productId).append(',').append(quantity).append(',').append(price).append('\n');
+                subtotal = subtotal.add(price.multiply(BigDecimal.valueOf(quantity)));
+                totalDiscount = totalDiscount.add(discount);
+                discounted |= discount.signum() > 0;
+                lines++;
+
+                if (discount.signum() > 0) {
+                    discounts.merge(productId, discount, BigDecimal::add);
+                }
+            }
+
+            discountedCarts += discounted ? 1 : 0;
+        }
+
+        Path carts = this.write(file.toString());
+        Set<Long> productIds = Set.of(3L, 6L, 9L, 12L, 15L, 18L, 21L, 24L, 27L, 30L, 33L, 36L, 39L);
+        BigDecimal best = discounts.values().stream().max(BigDecimal::compareTo).orElseThrow();
+
+        for (long splitBytes : new long[]{1, 97, 4096, 1 << 30}) {
+            SimulationDto simulation = this.service(splitBytes).simulate(this.promotion(DiscountType.PERCENTAGE, "12.5", productIds, null), carts, 5);
+
+            assertThat(simulation.getCarts()).as("faixa de %s bytes", splitBytes).isEqualTo(2_000L);
+            assertThat(simulation.getLines()).isEqualTo(lines);
+            assertThat(simulation.getDiscountedCarts()).isEqualTo(discountedCarts);
+            assertThat(simulation.getSubtotal()).isEqualByComparingTo(subtotal);
+            assertThat(simulation.getTotalDiscount()).isEqualByComparingTo(totalDiscount);
+            assertThat(simulation.getProducts()).hasSize(5);
+            assertThat(simulation.getProducts().get(0).getDiscount()).isEqualByComparingTo(best);
+            assertThat(simulation.getProducts()).extracting(SimulationProductDto::getDiscount)
+                    .isSortedAccordingTo((a, b) -> b.compareTo(a));
+        }
+    }
+
+    @Test
+    @DisplayName("simulate: Esperado que o prefixo de nome entre no escopo e que um desconto fixo não passe do preço")
+    public void givenPrefixAndFixedDiscountWhenSimulateThenCappedAtPrice() throws IOException {
+        when(this.productRepository.findIdsByNamePrefix("barraca")).thenReturn(List.of(7L));
+
+        Path carts = this.write("1,7,2,3.00\n1,8,1,20.00\n2,7,1,30.00");
+        SimulationDto simulation = this.service(4).simulate(this.promotion(DiscountType.FIXED, "5.00", Set.of(), "Barraca"), carts, 50);
+
+        assertThat(simulation.getCarts()).isEqualTo(2L);
+        assertThat(simulation.getDiscountedCarts()).isEqualTo(2L);
+        assertThat(simulation.getTotalDiscount()).isEqualTo(new BigDecimal("11.00"));
+        assertThat(simulation.getProducts()).extracting(SimulationProductDto::getProductId).containsExactly(7L);
+    }
+
+    @Test
+    @DisplayName("simulate: Esperado que uma linha inválida retorne uma exceção com a posição dela no arquivo")
+    public void givenInvalidLineWhenSimulateThenThrows() throws IOException {
+        Path carts = this.write("1,1,1,10.00\n1,x,1,1\n2,1,1,1.00\n");
+
+        assertThat(assertThrows(BadRequestException.class, () -> this.service(4).simulate(this.promotion(DiscountType.FIXED, "1.00", Set.of(), null), carts, 50)))
+                .hasMessage("Linha inválida no byte 12 do arquivo de carrinhos.");
+        assertThat(assertThrows(BadRequestException.class, () -> this.service(4).simulate(this.promotion(DiscountType.FIXED, "1.00", Set.of(), null), this.write("1,1,1,1.005\n"), 50)))
+                .hasMessage("Linha inválida no byte 0 do arquivo de carrinhos.");
+    }
+
+    @Test
+    @DisplayName("simulate: Esperado que um percentual maior que 100 ou um limite fora da faixa retorne uma exceção")
+    public void givenInvalidPromotionWhenSimulateThenThrows() throws IOException {
+        Path carts = this.write("1,1,1,10.00\n");
+
+        assertThat(assertThrows(BadRequestException.class, () -> this.service(4).simulate(this.promotion(DiscountType.PERCENTAGE, "101", Set.of(), null), carts, 50)))
+                .hasMessage("O percentual de desconto deve ser no máximo 100.");
+        assertThat(assertThrows(BadRequestException.class, () -> this.service(4).simulate(this.promotion(DiscountType.PERCENTAGE, "10", Set.of(), null), carts, 501)))
+                .hasMessage("O limite deve estar entre 1 e 500.");
+    }
+
+    private SimulationService service(long splitBytes) {
+        return new SimulationService(this.productRepository, this.pool, DataSize.ofBytes(splitBytes));
+    }
+
+    private PromotionRequestDto promotion(DiscountType type, String value, Set<Long> productIds, String prefix) {
+        return new PromotionRequestDto()
+                .setName("Simulação")
+                .setDiscountType(type)
+                .setValue(new BigDecimal(value))
+                .setProductIds(productIds)
+                .setProductNamePrefix(prefix);
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(Files.createTempFile(this.directory, "carts-", ".csv"), content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,121 @@
+package com.loveacamp.promotions.services.impl;
+
+import com.loveacamp.promotions.entities.Promotion;
+import com.loveacamp.promotions.enums.DiscountType;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StackingSolverTest {
+    private static final DateTime NOW = new DateTime(2026, 10, 1, 12, 0);
+
+    @Test
+    @DisplayName("solve: Esperado que sem grupos seja escolhido o maior desconto isolado, com empate no menor id")
+    public void givenExclusivePromotionsWhenSolveThenHighestSingleDiscount() {
+        CompiledPromotion[] candidates = {
+                compile(2L, DiscountType.FIXED, "3.00", null, 0),
+                compile(1L, DiscountType.PERCENTAGE, "10", null, 0),
+                compile(3L, DiscountType.FIXED, "2.00", null, 0)};
+
+        assertThat(StackingSolver.solve(candidates, 3, new BigDecimal("30.00"))).isEqualTo(new Discount(1L, new BigDecimal("3.00")));
+        assertThat(StackingSolver.solve(candidates, 1, new BigDecimal("30.00"))).isEqualTo(new Discount(2L, new BigDecimal("3.00")));
+    }
+
+    @Test
+    @DisplayName("solve: Esperado que no máximo uma promoção por grupo seja acumulada, aplicadas pela prioridade")
+    public void givenGroupedPromotionsWhenSolveThenOnePerGroupInPriorityOrder() {
+        CompiledPromotion[] candidates = {
+                compile(1L, DiscountType.PERCENTAGE, "50", "site", 0),
+                compile(2L, DiscountType.PERCENTAGE, "40", "site", 0),
+                compile(3L, DiscountType.FIXED, "10.00", "cupom", 5)};
+
+        // 10,00 primeiro e 50% sobre os 90,00 restantes: 55,00, contra 60,00 se os 50% viessem antes.
+        assertThat(StackingSolver.solve(candidates, 3, new BigDecimal("100.00")))
+                .isEqualTo(new Discount(3L, new BigDecimal("55.00"), List.of(3L, 1L)));
+    }
+
+    @Test
+    @DisplayName("solve: Esperado que o desconto acumulado nunca passe do preço e que o empate fique com menos promoções")
+    public void givenDiscountsAbovePriceWhenSolveThenCappedAndFewestPromotions() {
+        CompiledPromotion[] candidates = {
+                compile(1L, DiscountType.FIXED, "8.00", "a", 0),
+                compile(2L, DiscountType.FIXED, "8.00", "b", 0),
+                compile(3L, DiscountType.FIXED, "10.00", "c", 0)};
+
+        assertThat(StackingSolver.solve(candidates, 3, new BigDecimal("10.00"))).isEqualTo(new Discount(3L, new BigDecimal("10.00")));
+    }
+
+    @Test
+    @DisplayName("solve: Esperado que a busca podada encontre o mesmo valor que a enumeração de todas as combinações")
+    public void givenRandomPromotionsWhenSolveThenSameAsBruteForce() {
+        Random random = new Random(42);
+
+        for (int round = 0; round < 500; round++) {
+            int count = 1 + random.nextInt(9);
+            CompiledPromotion[] candidates = new CompiledPromotion[count];
+
+            for (int i = 0; i < count; i++) {
+                boolean percentage = random.nextBoolean();
+                String group = random.nextInt(4) == 0 ? null : String.valueOf((char) ('a' + random.nextInt(4)));
+
+                candidates[i] = compile(i + 1L, percentage ? DiscountType.PERCENTAGE : DiscountType.FIXED,
+                        percentage ? String.valueOf(1 + random.nextInt(60)) : (1 + random.nextInt(40)) + ".00",
+                        group, random.nextInt(3));
+            }
+
+            BigDecimal price = BigDecimal.valueOf(1 + random.nextInt(10_000), 2);
+
+            assertThat(StackingSolver.solve(candidates, count, price).amount())
+                    .as("rodada %s", round)
+                    .isEqualByComparingTo(bruteForce(candidates, price));
+        }
+    }
+
+    private static BigDecimal bruteForce(CompiledPromotion[] candidates, BigDecimal price) {
+        BigDecimal best = BigDecimal.ZERO;
+
+        for (int mask = 1; mask < 1 << candidates.length; mask++) {
+            List<CompiledPromotion> chosen = new ArrayList<>();
+            Set<String> groups = new HashSet<>();
+            boolean valid = true;
+
+            for (int i = 0; i < candidates.length; i++) {
+                if ((mask & 1 << i) != 0) {
+                    chosen.add(candidates[i]);
+                    valid &= candidates[i].group() == null ? Integer.bitCount(mask) == 1 : groups.add(candidates[i].group());
+                }
+            }
+
+            if (!valid) {
+                continue;
+            }
+
+            chosen.sort(Comparator.comparingInt(CompiledPromotion::priority).reversed().thenComparingLong(CompiledPromotion::id));
+            BigDecimal remaining = price;
+
+            for (CompiledPromotion promotion : chosen) {
+                remaining = remaining.subtract(promotion.discount(remaining));
+            }
+
+            best = best.max(price.subtract(remaining));
+        }
+
+        return best;
+    }
+
+    private static CompiledPromotion compile(long id, DiscountType type, String value, String group, int priority) {
+        return CompiledPromotion.compile(new Promotion(id, "Promoção " + id, type, new BigDecimal(value), NOW.minusDays(1), NOW.plusDays(1))
+                .setExclusivityGroup(group)
+                .setPriority(priority));
+    }
+}
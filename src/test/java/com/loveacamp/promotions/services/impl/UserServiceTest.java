@@ -1,18 +1,23 @@
 package com.loveacamp.promotions.services.impl;
 
+import com.loveacamp.promotions.dto.CursorPageDto;
 import com.loveacamp.promotions.dto.UserDto;
 import com.loveacamp.promotions.dto.requests.UserRequestDto;
 import com.loveacamp.promotions.entities.User;
 import com.loveacamp.promotions.enums.UserLevel;
 import com.loveacamp.promotions.exception.BadRequestException;
 import com.loveacamp.promotions.repositories.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,25 +44,25 @@ class UserServiceTest {
     @Test
     @DisplayName("save: Esperado que ao receber um username existente, retorne uma exceção")
     public void givenExistsUserWhenSaveThenException() {
-        when(this.repository.findByUsername(eq(this.userRequestDto.getUsername()))).thenReturn(Optional.of(mock(User.class)));
+        when(this.repository.saveAndFlush(argThat(this::checkArgs)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new ConstraintViolationException("could not execute statement", new SQLException(), "uk_users_username")));
 
         BadRequestException badRequestException = assertThrows(BadRequestException.class, () -> this.service.save(this.userRequestDto));
 
         assertThat(badRequestException).hasMessage("Usuário já existe.");
-        verify(this.repository, times(1)).findByUsername(eq(this.userRequestDto.getUsername()));
+        verify(this.repository, times(1)).saveAndFlush(argThat(this::checkArgs));
         verifyNoMoreInteractions(this.repository);
     }
 
     @Test
     @DisplayName("save: Esperado que ao receber um username inexistente, retorne um usuário")
     public void givenNotExistsUserWhenSaveThenUser() {
-        when(this.repository.findByUsername(eq(this.userRequestDto.getUsername()))).thenReturn(Optional.empty());
-        when(this.repository.save(argThat(this::checkArgs))).thenReturn(createUser());
+        when(this.repository.saveAndFlush(argThat(this::checkArgs))).thenReturn(createUser());
 
         UserDto userDto = this.service.save(this.userRequestDto);
 
-        verify(this.repository, times(1)).findByUsername(eq(this.userRequestDto.getUsername()));
-        verify(this.repository, times(1)).save(argThat(this::checkArgs));
+        verify(this.repository, times(1)).saveAndFlush(argThat(this::checkArgs));
         verifyNoMoreInteractions(this.repository);
 
         assertThat(userDto).hasToString("UserDto({id:1, username:John doe, level:ADMIN})");
@@ -83,13 +88,13 @@ class UserServiceTest {
         Long id = 1L;
 
         when(this.repository.findById(eq(id))).thenReturn(Optional.of(createUser()));
-        when(this.repository.existsByUsernameNotId(eq(userRequestDto.getUsername()),eq(id))).thenReturn(true);
+        when(this.repository.existsByUsernameAndIdNot(eq(userRequestDto.getUsername()),eq(id))).thenReturn(true);
 
         BadRequestException badRequestException = assertThrows(BadRequestException.class, () -> this.service.update(id, this.userRequestDto));
 
         assertThat(badRequestException).hasMessage("Nome de usuário já vínculado a outra conta.");
         verify(this.repository, times(1)).findById(eq(id));
-        verify(this.repository, times(1)).existsByUsernameNotId(eq(userRequestDto.getUsername()),eq(id));
+        verify(this.repository, times(1)).existsByUsernameAndIdNot(eq(userRequestDto.getUsername()),eq(id));
         verifyNoMoreInteractions(this.repository);
     }
 
@@ -99,13 +104,13 @@ class UserServiceTest {
         Long id = 1L;
 
         when(this.repository.findById(eq(id))).thenReturn(Optional.of(createUser()));
-        when(this.repository.existsByUsernameNotId(eq(userRequestDto.getUsername()),eq(id))).thenReturn(false);
+        when(this.repository.existsByUsernameAndIdNot(eq(userRequestDto.getUsername()),eq(id))).thenReturn(false);
         when(this.repository.save(argThat(this::checkArgs))).thenReturn(createUser());
 
         UserDto userDto =  this.service.update(id, this.userRequestDto);
 
         verify(this.repository, times(1)).findById(eq(id));
-        verify(this.repository, times(1)).existsByUsernameNotId(eq(userRequestDto.getUsername()),eq(id));
+        verify(this.repository, times(1)).existsByUsernameAndIdNot(eq(userRequestDto.getUsername()),eq(id));
         verify(this.repository, times(1)).save(argThat(this::checkArgs));
         verifyNoMoreInteractions(this.repository);
 
@@ -115,14 +120,14 @@ class UserServiceTest {
     @Test
     @DisplayName("findAll: Esperado que retorne os usuários existentes")
     public void givenUserWhenFindAllThenUsers() {
-        when(this.repository.findAll())
+        when(this.repository.findByIdGreaterThanOrderByIdAsc(eq(0L), eq(PageRequest.ofSize(51))))
                 .thenReturn(List.of(createUser(1), createUser(2)));
 
-        List<UserDto> usersDto = this.service.findAll();
+        CursorPageDto<UserDto> usersDto = this.service.findAll(null, 50);
 
-        verify(this.repository, times(1)).findAll();
+        verify(this.repository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), eq(PageRequest.ofSize(51)));
         verifyNoMoreInteractions(this.repository);
-        assertThat(usersDto).hasToString("[UserDto({id:1, username:John doe, level:ADMIN}), UserDto({id:2, username:John doe, level:ADMIN})]");
+        assertThat(usersDto).hasToString("CursorPageDto({items:[UserDto({id:1, username:John doe, level:ADMIN}), UserDto({id:2, username:John doe, level:ADMIN})], next:null})");
     }
 
     private boolean checkArgs(User user) {
@@ -0,0 +1,108 @@
+package com.loveacamp.promotions.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BloomFilterTest {
+    @Test
+    @DisplayName("create: Esperado que o tamanho e a quantidade de hashes sigam a taxa de falsos positivos pedida")
+    public void givenExpectedInsertionsAndFppWhenCreateThenOptimalSize() {
+        BloomFilter filter = BloomFilter.create(1_000_000, 0.001);
+
+        assertThat(filter.bitSize()).isEqualTo(14_377_600);
+        assertThat(filter.bitSize() % 64).isZero();
+        assertThat(filter.hashFunctions()).isEqualTo(10);
+        assertThat(filter.sizeInBytes()).isEqualTo(1_797_200);
+        assertThat(filter.expectedFpp()).isZero();
+    }
+
+    @Test
+    @DisplayName("mightContain: Esperado que nenhum valor inserido seja recusado e os falsos positivos fiquem perto da taxa pedida")
+    public void givenInsertedValuesWhenMightContainThenNoFalseNegatives() {
+        BloomFilter filter = BloomFilter.create(100_000, 0.01);
+        Random random = new Random(42);
+
+        for (long value = 0; value < 100_000; value++) {
+            filter.put(value * 7_919);
+        }
+
+        for (long value = 0; value < 100_000; value++) {
+            assertThat(filter.mightContain(value * 7_919)).isTrue();
+        }
+
+        int falsePositives = 0;
+
+        for (int i = 0; i < 100_000; i++) {
+            // Bit 62 ligado: sempre maior que os valores inseridos.
+            if (filter.mightContain(random.nextLong() | 1L << 62)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives / 100_000.0).isCloseTo(0.01, within(0.003));
+        assertThat(filter.expectedFpp()).isCloseTo(0.01, within(0.001));
+    }
+
+    @Test
+    @DisplayName("put: Esperado que só a primeira inserção de um valor ligue bits")
+    public void givenRepeatedValueWhenPutThenUnchanged() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+
+        assertThat(filter.put(7L)).isTrue();
+        assertThat(filter.put(7L)).isFalse();
+        assertThat(filter.mightContain(8L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("put: Esperado que inserções concorrentes não se percam")
+    public void givenConcurrentPutsWhenMightContainThenAllPresent() throws Exception {
+        // Valores intercalados entre as threads: elas disputam as mesmas palavras o tempo todo.
+        BloomFilter filter = BloomFilter.create(200_000, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int t = 0; t < 8; t++) {
+                long thread = t;
+
+                futures.add(executor.submit(() -> {
+                    for (long value = thread; value < 200_000; value += 8) {
+                        filter.put(value);
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (long value = 0; value < 200_000; value++) {
+            assertThat(filter.mightContain(value)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("create: Esperado que parâmetros inválidos sejam recusados")
+    public void givenInvalidParametersWhenCreateThenException() {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, 1));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, Double.NaN));
+    }
+}
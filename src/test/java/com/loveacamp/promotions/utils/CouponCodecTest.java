@@ -0,0 +1,69 @@
+package com.loveacamp.promotions.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CouponCodecTest {
+    private final CouponCodec codec = new CouponCodec("segredo");
+
+    @Test
+    @DisplayName("encode: Esperado que códigos de promoções e séries diferentes nunca colidam e devolvam a promoção de origem")
+    public void givenSerialsWhenEncodeThenUniqueAndReversible() {
+        Set<Long> codes = new HashSet<>();
+
+        for (long promotionId : new long[]{0, 1, 2, CouponCodec.MAX_FIELD}) {
+            for (long serial = 0; serial < 50_000; serial++) {
+                long code = this.codec.encode(promotionId, serial);
+
+                assertThat(code).isBetween(0L, (1L << (2 * CouponCodec.FIELD_BITS)) - 1);
+                assertThat(this.codec.promotionIdOf(code)).isEqualTo(promotionId);
+                assertThat(codes.add(code)).isTrue();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("encode: Esperado que séries consecutivas não gerem códigos consecutivos e que a chave mude os códigos")
+    public void givenConsecutiveSerialsWhenEncodeThenNotSequential() {
+        long first = this.codec.encode(1, 0);
+        long second = this.codec.encode(1, 1);
+
+        assertThat(Math.abs(second - first)).isGreaterThan(1_000L);
+        assertThat(new CouponCodec("outro segredo").encode(1, 0)).isNotEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("CouponCodec: Esperado que um segredo vazio seja recusado")
+    public void givenBlankSecretWhenCreateThenException() {
+        assertThrows(IllegalArgumentException.class, () -> new CouponCodec(" "));
+        assertThrows(IllegalArgumentException.class, () -> new CouponCodec(null));
+    }
+
+    @Test
+    @DisplayName("format/parse: Esperado que o texto tenha 12 caracteres de Crockford e volte ao mesmo código, sem diferenciar maiúsculas")
+    public void givenCodeWhenFormatThenParseBack() {
+        long code = this.codec.encode(42, 7);
+        String text = CouponCodec.format(code);
+
+        assertThat(text).hasSize(CouponCodec.LENGTH).matches("[0-9A-HJKMNP-TV-Z]+");
+        assertThat(CouponCodec.parse(text)).isEqualTo(code);
+        assertThat(CouponCodec.parse(text.toLowerCase())).isEqualTo(code);
+        assertThat(CouponCodec.format(0)).isEqualTo("000000000000");
+    }
+
+    @Test
+    @DisplayName("parse: Esperado que textos mal formados devolvam -1")
+    public void givenInvalidTextWhenParseThenMinusOne() {
+        assertThat(CouponCodec.parse(null)).isEqualTo(-1);
+        assertThat(CouponCodec.parse("ABC")).isEqualTo(-1);
+        assertThat(CouponCodec.parse("ABCDEFGHIJKL")).isEqualTo(-1);
+        assertThat(CouponCodec.parse("ABCDEFGH-JKM")).isEqualTo(-1);
+        assertThat(CouponCodec.parse("ABCDEFGHJKMÇ")).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,86 @@
+package com.loveacamp.promotions.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HyperLogLogTest {
+    @Test
+    @DisplayName("estimate: Esperado que conte exatamente poucas pessoas e ignore repetições")
+    public void givenFewIdsWithRepetitionsWhenEstimateThenExact() {
+        HyperLogLog sketch = new HyperLogLog(14);
+
+        for (int i = 0; i < 3; i++) {
+            for (long id = 1; id <= 100; id++) {
+                sketch.add(id);
+            }
+        }
+
+        assertThat(sketch.estimate()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("estimate: Esperado que muitos ids distintos fiquem dentro de três desvios padrão")
+    public void givenManyIdsWhenEstimateThenWithinErrorBound() {
+        Random random = new Random(42);
+        HyperLogLog sketch = new HyperLogLog(14);
+
+        for (int i = 0; i < 1_000_000; i++) {
+            sketch.add(random.nextLong());
+        }
+
+        assertThat((double) sketch.estimate()).isCloseTo(1_000_000, within(1_000_000 * 3 * sketch.standardError()));
+    }
+
+    @Test
+    @DisplayName("merge: Esperado que juntar sketches seja igual a um sketch que viu a união, sem contar duas vezes")
+    public void givenOverlappingSketchesWhenMergeThenSameAsUnion() {
+        HyperLogLog a = new HyperLogLog(12);
+        HyperLogLog b = new HyperLogLog(12);
+        HyperLogLog union = new HyperLogLog(12);
+
+        for (long id = 0; id < 60_000; id++) {
+            a.add(id);
+            union.add(id);
+        }
+        for (long id = 40_000; id < 100_000; id++) {
+            b.add(id);
+            union.add(id);
+        }
+
+        assertThat(a.merge(b).estimate()).isEqualTo(union.estimate());
+        assertThat(a.merge(b).estimate()).isEqualTo(union.estimate());
+    }
+
+    @Test
+    @DisplayName("toBytes/fromBytes: Esperado o formato esparso para poucas pessoas, o denso para muitas, e a mesma estimativa")
+    public void givenSketchesWhenSerializeThenSameEstimate() {
+        HyperLogLog few = new HyperLogLog(14);
+        HyperLogLog many = new HyperLogLog(14);
+
+        for (long id = 0; id < 100; id++) {
+            few.add(id);
+        }
+        for (long id = 0; id < 100_000; id++) {
+            many.add(id);
+        }
+
+        assertThat(few.toBytes()).hasSizeLessThan(400);
+        assertThat(many.toBytes()).hasSize(2 + (1 << 14));
+        assertThat(HyperLogLog.fromBytes(few.toBytes()).estimate()).isEqualTo(few.estimate());
+        assertThat(HyperLogLog.fromBytes(many.toBytes()).estimate()).isEqualTo(many.estimate());
+        assertThat(new HyperLogLog(14).merge(few.toBytes()).merge(many.toBytes()).estimate()).isEqualTo(many.estimate());
+    }
+
+    @Test
+    @DisplayName("merge: Esperado que sketches de precisões diferentes sejam recusados")
+    public void givenDifferentPrecisionsWhenMergeThenException() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(12).merge(new HyperLogLog(14)));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(12).merge(new HyperLogLog(14).toBytes()));
+    }
+}
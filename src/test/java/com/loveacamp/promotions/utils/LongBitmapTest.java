@@ -0,0 +1,103 @@
+package com.loveacamp.promotions.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongBitmapTest {
+    @Test
+    @DisplayName("add/contains: Esperado que se comporte como um conjunto, com grupos esparsos, densos e ids negativos")
+    public void givenRandomIdsWhenAddThenSameAsSet() {
+        Random random = new Random(42);
+        LongBitmap bitmap = new LongBitmap();
+        TreeSet<Long> expected = new TreeSet<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            long id = this.randomId(random);
+
+            assertThat(bitmap.add(id)).isEqualTo(expected.add(id));
+        }
+
+        assertThat(bitmap.cardinality()).isEqualTo(expected.size());
+        for (int i = 0; i < 100_000; i++) {
+            long id = this.randomId(random);
+
+            assertThat(bitmap.contains(id)).isEqualTo(expected.contains(id));
+        }
+    }
+
+    @Test
+    @DisplayName("or/and/andNot: Esperado o mesmo resultado das operações de conjunto, inclusive depois de serializar")
+    public void givenTwoBitmapsWhenSetOperationsThenSameAsSets() {
+        Random random = new Random(7);
+        LongBitmap a = new LongBitmap();
+        LongBitmap b = new LongBitmap();
+        TreeSet<Long> expectedA = new TreeSet<>();
+        TreeSet<Long> expectedB = new TreeSet<>();
+
+        for (int i = 0; i < 50_000; i++) {
+            long id = this.randomId(random);
+            a.add(id);
+            expectedA.add(id);
+
+            id = this.randomId(random);
+            b.add(id);
+            expectedB.add(id);
+        }
+
+        TreeSet<Long> union = new TreeSet<>(expectedA);
+        union.addAll(expectedB);
+        TreeSet<Long> intersection = new TreeSet<>(expectedA);
+        intersection.retainAll(expectedB);
+        TreeSet<Long> difference = new TreeSet<>(expectedA);
+        difference.removeAll(expectedB);
+
+        assertThat(this.toList(LongBitmap.or(a, b))).containsExactlyElementsOf(this.unsignedOrder(union));
+        assertThat(this.toList(LongBitmap.and(a, b))).containsExactlyElementsOf(this.unsignedOrder(intersection));
+        assertThat(this.toList(LongBitmap.andNot(a, b))).containsExactlyElementsOf(this.unsignedOrder(difference));
+        assertThat(this.toList(LongBitmap.fromBytes(a.trim().toBytes()))).containsExactlyElementsOf(this.unsignedOrder(expectedA));
+    }
+
+    @Test
+    @DisplayName("sizeInBytes: Esperado que uma faixa densa de 1 milhão de ids ocupe cerca de 1 bit por id")
+    public void givenDenseRangeWhenSizeInBytesThenAboutOneBitPerId() {
+        LongBitmap bitmap = new LongBitmap();
+
+        for (long id = 1; id <= 1_000_000; id++) {
+            bitmap.add(id);
+        }
+
+        assertThat(bitmap.trim().sizeInBytes()).isLessThan(140_000);
+        assertThat(bitmap.toBytes().length).isLessThan(140_000);
+        assertThat(bitmap.contains(1_000_000)).isTrue();
+        assertThat(bitmap.contains(1_000_001)).isFalse();
+    }
+
+    private long randomId(Random random) {
+        return switch (random.nextInt(3)) {
+            case 0 -> random.nextInt(20_000);
+            case 1 -> 1L << 20 | random.nextInt(1 << 17);
+            default -> random.nextLong();
+        };
+    }
+
+    private List<Long> toList(LongBitmap bitmap) {
+        List<Long> ids = new ArrayList<>();
+        bitmap.forEach(ids::add);
+
+        return ids;
+    }
+
+    private List<Long> unsignedOrder(TreeSet<Long> ids) {
+        List<Long> ordered = new ArrayList<>(ids);
+        ordered.sort(Long::compareUnsigned);
+
+        return ordered;
+    }
+}
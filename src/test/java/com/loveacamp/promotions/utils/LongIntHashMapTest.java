@@ -0,0 +1,68 @@
+package com.loveacamp.promotions.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongIntHashMapTest {
+    @Test
+    @DisplayName("addTo/get: Esperado que se comporte como um HashMap de contadores, inclusive para a chave 0 e quando o valor zera")
+    public void givenRandomOperationsWhenCompareWithHashMapThenSameContent() {
+        LongIntHashMap map = new LongIntHashMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(5_000) - 100;
+            int delta = random.nextInt(3) - 1;
+            int value = expected.getOrDefault(key, 0) + delta;
+
+            if (value == 0) {
+                expected.remove(key);
+            } else {
+                expected.put(key, value);
+            }
+
+            assertThat(map.addTo(key, delta)).isEqualTo(value);
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = -100; key < 4_900; key++) {
+            assertThat(map.get(key)).isEqualTo(expected.getOrDefault(key, 0));
+        }
+    }
+
+    @Test
+    @DisplayName("forEach: Esperado que visite só as chaves com valor diferente de 0")
+    public void givenEntriesWhenForEachThenVisitsNonZero() {
+        LongIntHashMap map = new LongIntHashMap(2);
+        Map<Long, Integer> visited = new HashMap<>();
+
+        for (long key = 0; key < 100; key++) {
+            map.put(key * 31, (int) key + 1);
+        }
+        map.put(31L, 0);
+        map.forEach(visited::put);
+
+        assertThat(visited).hasSize(99).containsEntry(0L, 1).containsEntry(31L * 99, 100).doesNotContainKey(31L);
+    }
+
+    @Test
+    @DisplayName("memoryBytes: Esperado 12 bytes por posição da tabela, crescendo com o número de chaves")
+    public void givenEntriesWhenMemoryBytesThenTwelveBytesPerSlot() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        assertThat(map.memoryBytes()).isEqualTo(16 * 12);
+
+        for (long key = 1; key <= 1_000; key++) {
+            map.addTo(key, 1);
+        }
+
+        assertThat(map.memoryBytes()).isEqualTo(2_048 * 12);
+    }
+}
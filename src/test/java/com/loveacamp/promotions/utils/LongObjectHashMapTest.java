@@ -0,0 +1,67 @@
+package com.loveacamp.promotions.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongObjectHashMapTest {
+    @Test
+    @DisplayName("put/get/remove: Esperado que se comporte como um HashMap, inclusive para a chave 0 e após remoções")
+    public void givenRandomOperationsWhenCompareWithHashMapThenSameContent() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(5_000) - 100;
+
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                assertThat(map.put(key, "v" + i)).isEqualTo(expected.put(key, "v" + i));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = -100; key < 4_900; key++) {
+            assertThat(map.get(key)).isEqualTo(expected.get(key));
+        }
+    }
+
+    @Test
+    @DisplayName("copy: Esperado que a cópia seja independente do original")
+    public void givenCopyWhenChangeCopyThenOriginalUnchanged() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        map.put(0L, "zero");
+        map.put(1L, "um");
+
+        LongObjectHashMap<String> copy = map.copy();
+        copy.put(2L, "dois");
+        copy.remove(0L);
+
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.get(0L)).isEqualTo("zero");
+        assertThat(map.get(2L)).isNull();
+        assertThat(copy.size()).isEqualTo(2);
+        assertThat(copy.get(2L)).isEqualTo("dois");
+    }
+
+    @Test
+    @DisplayName("forEach: Esperado que visite cada entrada uma vez")
+    public void givenEntriesWhenForEachThenVisitsAll() {
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>(2);
+        Map<Long, Long> visited = new HashMap<>();
+
+        for (long key = 0; key < 100; key++) {
+            map.put(key * 31, key);
+        }
+        map.forEach(visited::put);
+
+        assertThat(visited).hasSize(100).containsEntry(0L, 0L).containsEntry(31L * 99, 99L);
+    }
+}
@@ -0,0 +1,61 @@
+package com.loveacamp.promotions.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedQuotaTest {
+    @Test
+    @DisplayName("tryAcquire: Esperado que threads concorrentes nunca consumam mais que o saldo, mesmo com o saldo numa única faixa")
+    public void givenConcurrentThreadsWhenTryAcquireThenNeverMoreThanAdded() throws InterruptedException {
+        StripedQuota quota = new StripedQuota(8);
+        AtomicLong acquired = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        quota.add(100_000);
+
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                while (quota.tryAcquire()) {
+                    acquired.incrementAndGet();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(acquired.get()).isEqualTo(100_000);
+        assertThat(quota.available()).isZero();
+        assertThat(quota.tryAcquire()).isFalse();
+    }
+
+    @Test
+    @DisplayName("drain: Esperado que devolva o saldo de todas as faixas e as deixe zeradas")
+    public void givenUnitsWhenDrainThenAllReturned() {
+        StripedQuota quota = new StripedQuota(3);
+        quota.add(5);
+        quota.tryAcquire();
+
+        assertThat(quota.available()).isEqualTo(4);
+        assertThat(quota.drain()).isEqualTo(4);
+        assertThat(quota.available()).isZero();
+        assertThat(quota.tryAcquire()).isFalse();
+    }
+}
@@ -0,0 +1,87 @@
+package com.loveacamp.promotions.utils;
+
+import com.loveacamp.promotions.utils.TimingWheel.Timeout;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+    private static final long TICK = 1_000;
+
+    private static final long START = 1_790_000_000_000L;
+
+    @Test
+    @DisplayName("advanceTo: Esperado que cada timeout dispare uma única vez, nunca antes do prazo e até um tick depois, em todos os níveis da roda")
+    public void givenRandomDeadlinesWhenAdvanceThenEachFiresOnTime() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK, START);
+        List<Timeout<Integer>> pending = new ArrayList<>();
+        Set<Integer> fired = new HashSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            // Até 30 dias à frente: passa pelas rodas 0, 1 e 2 e desce de roda várias vezes.
+            pending.add(wheel.schedule(START + random.nextLong(30L * 24 * 60 * 60 * 1000), i));
+        }
+
+        for (long now = START; !pending.isEmpty(); now += random.nextLong(4 * 60 * 60 * 1000)) {
+            for (Timeout<Integer> timeout : wheel.advanceTo(now)) {
+                assertThat(timeout.getDeadlineMillis()).isLessThanOrEqualTo(now);
+                assertThat(fired.add(timeout.getPayload())).isTrue();
+            }
+
+            long current = now;
+            pending.removeIf(timeout -> fired.contains(timeout.getPayload()));
+            assertThat(pending).allMatch(timeout -> timeout.getDeadlineMillis() > current - TICK);
+            assertThat(wheel.size()).isEqualTo(pending.size());
+        }
+
+        assertThat(fired).hasSize(20_000);
+    }
+
+    @Test
+    @DisplayName("advanceTo: Esperado que o prazo seja respeitado com precisão de um tick ao avançar tick a tick")
+    public void givenDeadlineWhenAdvanceTickByTickThenFiresOnDeadlineTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, START);
+        wheel.schedule(START + 300 * TICK + 1, "a");
+
+        assertThat(wheel.advanceTo(START + 300 * TICK)).isEmpty();
+        assertThat(wheel.advanceTo(START + 301 * TICK - 1)).isEmpty();
+        assertThat(wheel.advanceTo(START + 301 * TICK)).extracting(Timeout::getPayload).containsExactly("a");
+    }
+
+    @Test
+    @DisplayName("schedule: Esperado que um prazo já vencido dispare no próximo avanço")
+    public void givenPastDeadlineWhenScheduleThenFiresOnNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, START);
+        wheel.advanceTo(START + 10 * TICK);
+
+        wheel.schedule(START, "a");
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advanceTo(START + 10 * TICK)).extracting(Timeout::getPayload).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("cancel: Esperado que um timeout cancelado não dispare, inclusive os de prazo muito distante")
+    public void givenCancelledTimeoutWhenAdvanceThenNotFired() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, START);
+        Timeout<String> cancelled = wheel.schedule(START + 5 * TICK, "a");
+        Timeout<String> distant = wheel.schedule(START + 1000L * 365 * 24 * 60 * 60 * 1000, "b");
+        wheel.schedule(START + 5 * TICK, "c");
+
+        assertThat(wheel.cancel(cancelled)).isTrue();
+        assertThat(wheel.cancel(cancelled)).isFalse();
+        assertThat(wheel.cancel(distant)).isTrue();
+
+        assertThat(wheel.advanceTo(START + 5 * TICK)).extracting(Timeout::getPayload).containsExactly("c");
+        assertThat(wheel.size()).isZero();
+    }
+}